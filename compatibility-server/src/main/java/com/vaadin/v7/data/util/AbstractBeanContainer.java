@@ -134,6 +134,49 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
 
     }
 
+    /**
+     * Listener that updates the index of a property when its value changes in
+     * an item, and re-filters the container if the property is filtered.
+     */
+    private class PropertyIndexUpdater implements ValueChangeListener {
+
+        private final Object itemId;
+        private final Object propertyId;
+
+        private PropertyIndexUpdater(Object itemId, Object propertyId) {
+            this.itemId = itemId;
+            this.propertyId = propertyId;
+        }
+
+        @Override
+        public void valueChange(ValueChangeEvent event) {
+            updatePropertyIndex(itemId, propertyId);
+            if (isPropertyFiltered(propertyId)) {
+                filterAll();
+            }
+        }
+
+        private AbstractBeanContainer<?, ?> getContainer() {
+            return AbstractBeanContainer.this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof AbstractBeanContainer.PropertyIndexUpdater)) {
+                return false;
+            }
+            PropertyIndexUpdater other = (PropertyIndexUpdater) obj;
+            return getContainer() == other.getContainer()
+                    && itemId.equals(other.itemId)
+                    && propertyId.equals(other.propertyId);
+        }
+
+        @Override
+        public int hashCode() {
+            return itemId.hashCode() * 31 + propertyId.hashCode();
+        }
+    }
+
     /**
      * The resolver that finds the item ID for a bean, or null not to use
      * automatic resolving.
@@ -222,8 +265,10 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
         internalRemoveAllItems();
 
         // detach listeners from all Items
-        for (Item item : itemIdToItem.values()) {
-            removeAllValueChangeListeners(item);
+        for (Map.Entry<IDTYPE, BeanItem<BEANTYPE>> entry : itemIdToItem
+                .entrySet()) {
+            removeAllValueChangeListeners(entry.getValue());
+            removePropertyIndexUpdaters(entry.getKey(), entry.getValue());
         }
         itemIdToItem.clear();
 
@@ -272,6 +317,7 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
         if (internalRemoveItem(itemId)) {
             // detach listeners from Item
             removeAllValueChangeListeners(item);
+            removePropertyIndexUpdaters(itemId, item);
 
             // remove item
             itemIdToItem.remove(itemId);
@@ -361,6 +407,11 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
      *            The id of the property
      */
     private void addValueChangeListener(Item item, Object propertyId) {
+        if (isPropertyIndexed(propertyId)) {
+            // The index updater re-filters the container after updating the
+            // index
+            return;
+        }
         Property<?> property = item.getItemProperty(propertyId);
         if (property instanceof ValueChangeNotifier) {
             // avoid multiple notifications for the same property if
@@ -386,6 +437,113 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
         }
     }
 
+    /**
+     * Makes the index of the given property follow changes to the property
+     * value in an item.
+     *
+     * @param itemId
+     *            The id of the {@link Item}
+     * @param item
+     *            The {@link Item} that contains the property
+     * @param propertyId
+     *            The id of the indexed property
+     */
+    private void addPropertyIndexUpdater(Object itemId, Item item,
+            Object propertyId) {
+        Property<?> property = item.getItemProperty(propertyId);
+        if (property instanceof ValueChangeNotifier) {
+            ValueChangeNotifier notifier = (ValueChangeNotifier) property;
+            PropertyIndexUpdater updater = new PropertyIndexUpdater(itemId,
+                    propertyId);
+            notifier.removeValueChangeListener(updater);
+            notifier.addValueChangeListener(updater);
+        }
+    }
+
+    private void removePropertyIndexUpdater(Object itemId, Item item,
+            Object propertyId) {
+        Property<?> property = item.getItemProperty(propertyId);
+        if (property instanceof ValueChangeNotifier) {
+            ((ValueChangeNotifier) property).removeValueChangeListener(
+                    new PropertyIndexUpdater(itemId, propertyId));
+        }
+    }
+
+    private void removePropertyIndexUpdaters(Object itemId, Item item) {
+        for (Object propertyId : item.getItemPropertyIds()) {
+            if (isPropertyIndexed(propertyId)) {
+                removePropertyIndexUpdater(itemId, item, propertyId);
+            }
+        }
+    }
+
+    /**
+     * Adds an index of the values of a container property. Filtering with
+     * {@link com.vaadin.v7.data.util.filter.Compare Compare} filters and with
+     * {@link SimpleStringFilter}s that only match prefixes, e.g. filters added
+     * with {@link #addContainerFilter(Object, String, boolean, boolean)}, then
+     * only evaluates the filter for the items that can pass it according to the
+     * index. This speeds up filtering large containers at the cost of memory
+     * and of slightly slower adding of beans.
+     * <p>
+     * The index is updated when the property value is changed through the items
+     * of the container. It is not updated when an indexed property of a bean is
+     * changed directly on the bean. After such a change, the caller must either
+     * rebuild the index with {@link #removeContainerPropertyIndex(Object)} and
+     * {@link #addContainerPropertyIndex(Object)}, or remove the item and add it
+     * again. Otherwise filtering gives wrong results for the changed bean.
+     *
+     * @param propertyId
+     *            the id of the property to index
+     * @throws IllegalArgumentException
+     *             if there is no such property in the container
+     * @since 8.6
+     */
+    public void addContainerPropertyIndex(Object propertyId) {
+        if (!model.containsKey(propertyId)) {
+            throw new IllegalArgumentException(
+                    "No such property in the container: " + propertyId);
+        }
+        if (isPropertyIndexed(propertyId)) {
+            return;
+        }
+        addPropertyIndex(propertyId);
+        for (Map.Entry<IDTYPE, BeanItem<BEANTYPE>> entry : itemIdToItem
+                .entrySet()) {
+            // the index updater replaces the filtering listener
+            removeValueChangeListener(entry.getValue(), propertyId);
+            addPropertyIndexUpdater(entry.getKey(), entry.getValue(),
+                    propertyId);
+        }
+    }
+
+    /**
+     * Removes the index of the values of a container property.
+     *
+     * @param propertyId
+     *            the id of the indexed property
+     * @return true if the property was indexed, false otherwise
+     * @since 8.6
+     */
+    public boolean removeContainerPropertyIndex(Object propertyId) {
+        if (!isPropertyIndexed(propertyId)) {
+            return false;
+        }
+        boolean filtered = isPropertyFiltered(propertyId);
+        for (Map.Entry<IDTYPE, BeanItem<BEANTYPE>> entry : itemIdToItem
+                .entrySet()) {
+            removePropertyIndexUpdater(entry.getKey(), entry.getValue(),
+                    propertyId);
+        }
+        removePropertyIndex(propertyId);
+        if (filtered) {
+            for (Item item : itemIdToItem.values()) {
+                addValueChangeListener(item, propertyId);
+            }
+        }
+        return true;
+    }
+
     /**
      * Remove this contains as a listener for all the properties in the given
      * {@link Item}.
@@ -424,6 +582,13 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
             BeanItem<BEANTYPE> item) {
         itemIdToItem.put(itemId, item);
 
+        // keep indexes up to date on property changes
+        for (String propertyId : getContainerPropertyIds()) {
+            if (isPropertyIndexed(propertyId)) {
+                addPropertyIndexUpdater(itemId, item, propertyId);
+            }
+        }
+
         // add listeners to be able to update filtering on property
         // changes
         for (Filter filter : getFilters()) {
@@ -813,6 +978,7 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
      */
     @SuppressWarnings("unchecked")
     public void addNestedContainerBean(String propertyId) {
+        removeContainerPropertyIndex(propertyId);
         Class<?> propertyType = getType(propertyId);
         LinkedHashMap<String, VaadinPropertyDescriptor<Object>> pds = BeanItem
                 .getPropertyDescriptors((Class<Object>) propertyType);
@@ -841,6 +1007,8 @@ public abstract class AbstractBeanContainer<IDTYPE, BEANTYPE>
             return false;
         }
 
+        removeContainerPropertyIndex(propertyId);
+
         // Removes the Property to Property list and types
         model.remove(propertyId);
 
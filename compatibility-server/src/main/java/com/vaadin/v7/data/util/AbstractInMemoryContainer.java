@@ -15,19 +15,26 @@
  */
 package com.vaadin.v7.data.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EventObject;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.vaadin.data.provider.DataProvider;
 import com.vaadin.v7.data.Container;
 import com.vaadin.v7.data.Container.ItemSetChangeNotifier;
 import com.vaadin.v7.data.Item;
+import com.vaadin.v7.data.Property;
+import com.vaadin.v7.data.util.filter.And;
+import com.vaadin.v7.data.util.filter.Compare;
 import com.vaadin.v7.data.util.filter.SimpleStringFilter;
 import com.vaadin.v7.data.util.filter.UnsupportedFilterException;
 
@@ -129,6 +136,18 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
      */
     private ItemSorter itemSorter = new DefaultItemSorter();
 
+    /**
+     * Indexes of property values used for filtering, by property id. Null if no
+     * properties are indexed.
+     */
+    private Map<Object, PropertyValueIndex> propertyIndexes;
+
+    /**
+     * Positions of the item ids in {@link #allItemIds}, used for ordering the
+     * items found using the indexes. Rebuilt when found to be out of date.
+     */
+    private transient Map<Object, Integer> itemPositions;
+
     // Constructors
 
     /**
@@ -520,11 +539,17 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
         }
         setFilteredItemIds(new ListSet<ITEMIDTYPE>());
 
-        // Filter
+        // Filter, only checking items that can pass according to the indexes
+        Set<?> candidates = getIndexedCandidates();
+        List<ITEMIDTYPE> itemIds = getAllItemIds();
+        if (candidates != null && candidates.size() < itemIds.size() / 4) {
+            itemIds = getItemIdsInOrder(candidates);
+        }
         boolean equal = true;
         Iterator<ITEMIDTYPE> origIt = originalFilteredItemIds.iterator();
-        for (final ITEMIDTYPE id : getAllItemIds()) {
-            if (passesFilters(id)) {
+        for (final ITEMIDTYPE id : itemIds) {
+            if ((candidates == null || candidates.contains(id))
+                    && passesFilters(id)) {
                 // filtered list comes from the full list, can use ==
                 equal = equal && origIt.hasNext() && origIt.next() == id;
                 getFilteredItemIds().add(id);
@@ -558,6 +583,178 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
         return true;
     }
 
+    /**
+     * Finds the items that can pass all container filters using the property
+     * indexes. The result may contain items that do not pass the filters.
+     *
+     * @return the ids of the items that can pass the filters, or null if the
+     *         indexes cannot be used for any of the filters
+     */
+    private Set<?> getIndexedCandidates() {
+        if (propertyIndexes == null) {
+            return null;
+        }
+        Set<?> smallest = null;
+        for (Filter filter : getFilters()) {
+            Set<?> candidates = getIndexedCandidates(filter);
+            if (candidates != null && (smallest == null
+                    || candidates.size() < smallest.size())) {
+                smallest = candidates;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Returns the given item ids in the order of the container, ignoring ids
+     * that are not in the container.
+     */
+    private List<ITEMIDTYPE> getItemIdsInOrder(Set<?> ids) {
+        List<ITEMIDTYPE> allIds = getAllItemIds();
+        int[] positions = new int[ids.size()];
+        int count = 0;
+        boolean positionsRebuilt = false;
+        for (Object id : ids) {
+            Integer position = itemPositions != null ? itemPositions.get(id)
+                    : null;
+            if (position == null || position >= allIds.size()
+                    || !allIds.get(position).equals(id)) {
+                if (positionsRebuilt) {
+                    // not in the container
+                    continue;
+                }
+                itemPositions = new HashMap<Object, Integer>();
+                for (int i = 0; i < allIds.size(); i++) {
+                    itemPositions.put(allIds.get(i), i);
+                }
+                positionsRebuilt = true;
+                position = itemPositions.get(id);
+                if (position == null) {
+                    continue;
+                }
+            }
+            positions[count++] = position;
+        }
+        Arrays.sort(positions, 0, count);
+        List<ITEMIDTYPE> result = new ArrayList<ITEMIDTYPE>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(allIds.get(positions[i]));
+        }
+        return result;
+    }
+
+    private Set<?> getIndexedCandidates(Filter filter) {
+        Object propertyId;
+        if (filter instanceof And) {
+            Set<?> smallest = null;
+            for (Filter subFilter : ((And) filter).getFilters()) {
+                Set<?> candidates = getIndexedCandidates(subFilter);
+                if (candidates != null && (smallest == null
+                        || candidates.size() < smallest.size())) {
+                    smallest = candidates;
+                }
+            }
+            return smallest;
+        } else if (filter instanceof Compare) {
+            propertyId = ((Compare) filter).getPropertyId();
+        } else if (filter instanceof SimpleStringFilter) {
+            propertyId = ((SimpleStringFilter) filter).getPropertyId();
+        } else {
+            return null;
+        }
+        PropertyValueIndex index = propertyIndexes.get(propertyId);
+        return index != null ? index.getCandidates(filter) : null;
+    }
+
+    /**
+     * Adds an index of the values of a property, used for filtering. When the
+     * container is filtered, {@link Compare} filters and
+     * {@link SimpleStringFilter}s that only match prefixes are not evaluated
+     * for the items that the index shows cannot pass them.
+     * <p>
+     * The index is updated when items are added or removed. Subclasses must
+     * call {@link #updatePropertyIndex(Object, Object)} when the value of an
+     * indexed property changes.
+     * <p>
+     * This can be used to implement indexing in subclasses.
+     *
+     * @param propertyId
+     *            the id of the property to index
+     * @since 8.6
+     */
+    protected void addPropertyIndex(Object propertyId) {
+        if (propertyIndexes == null) {
+            propertyIndexes = new HashMap<Object, PropertyValueIndex>();
+        } else if (propertyIndexes.containsKey(propertyId)) {
+            return;
+        }
+        PropertyValueIndex index = new PropertyValueIndex();
+        for (ITEMIDTYPE itemId : getAllItemIds()) {
+            index.add(itemId,
+                    getIndexedValue(getUnfilteredItem(itemId), propertyId));
+        }
+        propertyIndexes.put(propertyId, index);
+    }
+
+    /**
+     * Removes the index of the values of a property.
+     *
+     * @param propertyId
+     *            the id of the indexed property
+     * @return true if the property was indexed, false otherwise
+     * @since 8.6
+     */
+    protected boolean removePropertyIndex(Object propertyId) {
+        if (propertyIndexes == null
+                || propertyIndexes.remove(propertyId) == null) {
+            return false;
+        }
+        if (propertyIndexes.isEmpty()) {
+            propertyIndexes = null;
+            itemPositions = null;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the values of a property are indexed.
+     *
+     * @param propertyId
+     *            the id of the property
+     * @return true if the property is indexed, false otherwise
+     * @since 8.6
+     */
+    protected boolean isPropertyIndexed(Object propertyId) {
+        return propertyIndexes != null
+                && propertyIndexes.containsKey(propertyId);
+    }
+
+    /**
+     * Updates the index of a property after its value has changed in an item.
+     * Does nothing if the property is not indexed.
+     *
+     * @param itemId
+     *            the id of the item
+     * @param propertyId
+     *            the id of the property
+     * @since 8.6
+     */
+    protected void updatePropertyIndex(Object itemId, Object propertyId) {
+        PropertyValueIndex index = propertyIndexes != null
+                ? propertyIndexes.get(propertyId)
+                : null;
+        if (index != null) {
+            index.remove(itemId);
+            index.add(itemId,
+                    getIndexedValue(getUnfilteredItem(itemId), propertyId));
+        }
+    }
+
+    private static Object getIndexedValue(Item item, Object propertyId) {
+        Property<?> property = item.getItemProperty(propertyId);
+        return property != null ? property.getValue() : null;
+    }
+
     /**
      * Adds a container filter and re-filter the view.
      *
@@ -776,6 +973,11 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
         if (isFiltered()) {
             getFilteredItemIds().clear();
         }
+        if (propertyIndexes != null) {
+            for (PropertyValueIndex index : propertyIndexes.values()) {
+                index.clear();
+            }
+        }
     }
 
     /**
@@ -799,6 +1001,11 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
         if (result && isFiltered()) {
             getFilteredItemIds().remove(itemId);
         }
+        if (result && propertyIndexes != null) {
+            for (PropertyValueIndex index : propertyIndexes.values()) {
+                index.remove(itemId);
+            }
+        }
 
         return result;
     }
@@ -844,6 +1051,13 @@ public abstract class AbstractInMemoryContainer<ITEMIDTYPE, PROPERTYIDCLASS, ITE
         // by the caller after calling this method.
         getAllItemIds().add(position, itemId);
         registerNewItem(position, itemId, item);
+        if (propertyIndexes != null) {
+            for (Map.Entry<Object, PropertyValueIndex> entry : propertyIndexes
+                    .entrySet()) {
+                entry.getValue().add(itemId,
+                        getIndexedValue(item, entry.getKey()));
+            }
+        }
 
         return item;
     }
@@ -16,18 +16,39 @@
 
 package com.vaadin.v7.data.util;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.vaadin.server.Resource;
 import com.vaadin.v7.util.FileTypeResolver;
@@ -37,6 +58,13 @@ import com.vaadin.v7.data.Property;
 
 /**
  * A hierarchical container wrapper for a filesystem.
+ * <p>
+ * Directory listings are read lazily with {@link DirectoryStream} and cached.
+ * By default, a cached listing is reused only while the last modified time of
+ * the directory is unchanged. When watching is enabled with
+ * {@link #setWatchingEnabled(boolean)}, cached listings and file attributes are
+ * instead kept up to date with a {@link WatchService}, and the changes are
+ * applied by {@link #refreshChangedDirectories()}.
  *
  * @author Vaadin Ltd.
  * @since 3.0
@@ -47,7 +75,8 @@ import com.vaadin.v7.data.Property;
  */
 @Deprecated
 @SuppressWarnings("serial")
-public class FilesystemContainer implements Container.Hierarchical {
+public class FilesystemContainer
+        implements Container.Hierarchical, Container.ItemSetChangeNotifier {
 
     /**
      * String identifier of a file's "name" property.
@@ -108,6 +137,28 @@ public class FilesystemContainer implements Container.Hierarchical {
 
     private boolean recursive = true;
 
+    /**
+     * Time in milliseconds after the last modification of a directory during
+     * which its listing is not trusted, as a later modification might not
+     * change the last modified time on file systems with a coarse timestamp
+     * resolution.
+     */
+    private static final long MODIFICATION_TIME_GRANULARITY = 2000;
+
+    /** Cached directory listings, created when first needed */
+    private transient Map<File, DirectoryListing> listings;
+
+    /** Cached file attributes, only used for files in watched directories */
+    private transient Map<File, BasicFileAttributes> attributes;
+
+    private boolean watchingEnabled = false;
+
+    private transient WatchService watchService;
+
+    private transient Map<WatchKey, File> watchedDirectories;
+
+    private LinkedList<Container.ItemSetChangeListener> itemSetChangeListeners;
+
     /**
      * Constructs a new <code>FileSystemContainer</code> with the specified file
      * as the root of the filesystem. The files are included recursively.
@@ -204,7 +255,7 @@ public class FilesystemContainer implements Container.Hierarchical {
     @Override
     public boolean areChildrenAllowed(Object itemId) {
         return itemId instanceof File && ((File) itemId).canRead()
-                && ((File) itemId).isDirectory();
+                && isDirectory((File) itemId);
     }
 
     /*
@@ -218,21 +269,11 @@ public class FilesystemContainer implements Container.Hierarchical {
         if (!(itemId instanceof File)) {
             return Collections.unmodifiableCollection(new LinkedList<File>());
         }
-        File[] f;
-        if (filter != null) {
-            f = ((File) itemId).listFiles(filter);
-        } else {
-            f = ((File) itemId).listFiles();
-        }
-
-        if (f == null) {
+        List<File> l = listFiles((File) itemId);
+        if (l == null) {
             return Collections.unmodifiableCollection(new LinkedList<File>());
         }
-
-        final List<File> l = Arrays.asList(f);
-        Collections.sort(l);
-
-        return Collections.unmodifiableCollection(l);
+        return l;
     }
 
     /*
@@ -258,13 +299,25 @@ public class FilesystemContainer implements Container.Hierarchical {
         if (!(itemId instanceof File)) {
             return false;
         }
-        String[] l;
-        if (filter != null) {
-            l = ((File) itemId).list(filter);
-        } else {
-            l = ((File) itemId).list();
+        File directory = (File) itemId;
+        DirectoryListing listing = getValidListing(directory);
+        if (listing != null) {
+            return !listing.files.isEmpty();
+        }
+
+        // Stop at the first accepted file instead of listing the directory
+        try (DirectoryStream<Path> stream = Files
+                .newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                if (filter == null || filter.accept(directory,
+                        path.getFileName().toString())) {
+                    return true;
+                }
+            }
+        } catch (IOException | SecurityException | InvalidPathException e) {
+            // Not a readable directory
         }
-        return (l != null) && (l.length > 0);
+        return false;
     }
 
     /*
@@ -294,27 +347,13 @@ public class FilesystemContainer implements Container.Hierarchical {
     @Override
     public Collection<File> rootItemIds() {
 
-        File[] f;
-
         // in single root case we use children
-        if (roots.length == 1) {
-            if (filter != null) {
-                f = roots[0].listFiles(filter);
-            } else {
-                f = roots[0].listFiles();
-            }
-        } else {
-            f = roots;
-        }
+        List<File> l = roots.length == 1 ? listFiles(roots[0]) : sortedRoots();
 
-        if (f == null) {
+        if (l == null) {
             return Collections.unmodifiableCollection(new LinkedList<File>());
         }
-
-        final List<File> l = Arrays.asList(f);
-        Collections.sort(l);
-
-        return Collections.unmodifiableCollection(l);
+        return l;
     }
 
     /**
@@ -413,23 +452,16 @@ public class FilesystemContainer implements Container.Hierarchical {
      *            the root file where to start adding files
      */
     private void addItemIds(Collection<File> col, File f) {
-        File[] l;
-        if (filter != null) {
-            l = f.listFiles(filter);
-        } else {
-            l = f.listFiles();
-        }
-        if (l == null) {
-            // File.listFiles returns null if File does not exist or if there
-            // was an IO error (permission denied)
+        List<File> ll = listFiles(f);
+        if (ll == null) {
+            // listFiles returns null if File does not exist or if there was an
+            // IO error (permission denied)
             return;
         }
-        final List<File> ll = Arrays.asList(l);
-        Collections.sort(ll);
 
         for (final File lf : ll) {
             col.add(lf);
-            if (lf.isDirectory()) {
+            if (isDirectory(lf)) {
                 addItemIds(col, lf);
             }
         }
@@ -449,25 +481,7 @@ public class FilesystemContainer implements Container.Hierarchical {
             }
             return Collections.unmodifiableCollection(col);
         } else {
-            File[] f;
-            if (roots.length == 1) {
-                if (filter != null) {
-                    f = roots[0].listFiles(filter);
-                } else {
-                    f = roots[0].listFiles();
-                }
-            } else {
-                f = roots;
-            }
-
-            if (f == null) {
-                return Collections
-                        .unmodifiableCollection(new LinkedList<File>());
-            }
-
-            final List<File> l = Arrays.asList(f);
-            Collections.sort(l);
-            return Collections.unmodifiableCollection(l);
+            return rootItemIds();
         }
 
     }
@@ -558,19 +572,14 @@ public class FilesystemContainer implements Container.Hierarchical {
      *            the root to start counting from.
      */
     private int getFileCounts(File directory) {
-        File[] l;
-        if (filter != null) {
-            l = directory.listFiles(filter);
-        } else {
-            l = directory.listFiles();
-        }
+        List<File> l = listFiles(directory);
 
         if (l == null) {
             return 0;
         }
-        int ret = l.length;
+        int ret = l.size();
         for (File f : l) {
-            if (f.isDirectory()) {
+            if (isDirectory(f)) {
                 ret += getFileCounts(f);
             }
         }
@@ -593,21 +602,7 @@ public class FilesystemContainer implements Container.Hierarchical {
             }
             return counts;
         } else {
-            File[] f;
-            if (roots.length == 1) {
-                if (filter != null) {
-                    f = roots[0].listFiles(filter);
-                } else {
-                    f = roots[0].listFiles();
-                }
-            } else {
-                f = roots;
-            }
-
-            if (f == null) {
-                return 0;
-            }
-            return f.length;
+            return rootItemIds().size();
         }
     }
 
@@ -696,7 +691,9 @@ public class FilesystemContainer implements Container.Hierarchical {
          * @return Date
          */
         public Date lastModified() {
-            return new Date(file.lastModified());
+            BasicFileAttributes attrs = getAttributes(file);
+            return new Date(
+                    attrs != null ? attrs.lastModifiedTime().toMillis() : 0);
         }
 
         /**
@@ -723,10 +720,11 @@ public class FilesystemContainer implements Container.Hierarchical {
          * @return size
          */
         public long getSize() {
-            if (file.isDirectory()) {
+            BasicFileAttributes attrs = getAttributes(file);
+            if (attrs == null || attrs.isDirectory()) {
                 return 0;
             }
-            return file.length();
+            return attrs.size();
         }
 
         /**
@@ -803,6 +801,389 @@ public class FilesystemContainer implements Container.Hierarchical {
 
     }
 
+    /**
+     * A cached listing of the accepted files in a directory.
+     */
+    private static class DirectoryListing implements Serializable {
+        private final List<File> files;
+        private final long lastModified;
+        private final long listedAt;
+        private final boolean watched;
+
+        private DirectoryListing(List<File> files, long lastModified,
+                long listedAt, boolean watched) {
+            this.files = files;
+            this.lastModified = lastModified;
+            this.listedAt = listedAt;
+            this.watched = watched;
+        }
+    }
+
+    /**
+     * An item set change event fired by {@link #refreshChangedDirectories()}
+     * when the contents of a directory have changed.
+     *
+     * @since 8.6
+     */
+    @Deprecated
+    public static class DirectoryChangeEvent extends EventObject
+            implements Container.ItemSetChangeEvent {
+
+        private final File directory;
+
+        private DirectoryChangeEvent(FilesystemContainer source,
+                File directory) {
+            super(source);
+            this.directory = directory;
+        }
+
+        @Override
+        public Container getContainer() {
+            return (Container) getSource();
+        }
+
+        /**
+         * Gets the directory whose contents have changed.
+         *
+         * @return the changed directory, or <code>null</code> if changes were
+         *         lost and the contents of any directory may have changed
+         */
+        public File getDirectory() {
+            return directory;
+        }
+    }
+
+    /**
+     * Gets the sorted files in a directory that are accepted by the filter. The
+     * listing is cached and reused while it is known to be up to date.
+     *
+     * @param directory
+     *            the directory to list
+     * @return an unmodifiable sorted list of the files, or <code>null</code> if
+     *         the directory could not be read
+     */
+    private List<File> listFiles(File directory) {
+        DirectoryListing listing = getValidListing(directory);
+        if (listing != null) {
+            return listing.files;
+        }
+
+        // Read before listing so that concurrent changes invalidate the result
+        long lastModified = getLastModified(directory);
+        List<File> files = new ArrayList<File>();
+        try (DirectoryStream<Path> stream = Files
+                .newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (filter == null || filter.accept(directory, name)) {
+                    files.add(new File(directory, name));
+                }
+            }
+        } catch (IOException | SecurityException | InvalidPathException e) {
+            // Does not exist, is not a directory or cannot be read
+            return null;
+        }
+        Collections.sort(files);
+
+        listing = new DirectoryListing(Collections.unmodifiableList(files),
+                lastModified, System.currentTimeMillis(), watch(directory));
+        getListings().put(directory, listing);
+        return listing.files;
+    }
+
+    /**
+     * Gets the cached listing of a directory if it is up to date. Listings of
+     * watched directories are kept up to date by
+     * {@link #refreshChangedDirectories()}. Other listings are up to date if
+     * the directory has not been modified since it was listed.
+     */
+    private DirectoryListing getValidListing(File directory) {
+        DirectoryListing listing = listings != null ? listings.get(directory)
+                : null;
+        if (listing == null || listing.watched && watchService != null) {
+            return listing;
+        }
+        long lastModified = getLastModified(directory);
+        if (lastModified != -1 && lastModified == listing.lastModified
+                && listing.listedAt
+                        - lastModified > MODIFICATION_TIME_GRANULARITY) {
+            return listing;
+        }
+        listings.remove(directory);
+        return null;
+    }
+
+    private Map<File, DirectoryListing> getListings() {
+        if (listings == null) {
+            listings = new HashMap<File, DirectoryListing>();
+        }
+        return listings;
+    }
+
+    private static long getLastModified(File file) {
+        try {
+            return Files.getLastModifiedTime(file.toPath()).toMillis();
+        } catch (IOException | SecurityException | InvalidPathException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets the attributes of a file. Attributes of files in watched directories
+     * are cached.
+     *
+     * @return the attributes or <code>null</code> if the file does not exist or
+     *         cannot be read
+     */
+    private BasicFileAttributes getAttributes(File file) {
+        BasicFileAttributes attrs = attributes != null ? attributes.get(file)
+                : null;
+        if (attrs == null) {
+            try {
+                attrs = Files.readAttributes(file.toPath(),
+                        BasicFileAttributes.class);
+            } catch (IOException | SecurityException | InvalidPathException e) {
+                return null;
+            }
+            DirectoryListing parentListing = listings != null
+                    ? listings.get(file.getParentFile())
+                    : null;
+            if (parentListing != null && parentListing.watched
+                    && watchService != null) {
+                if (attributes == null) {
+                    attributes = new HashMap<File, BasicFileAttributes>();
+                }
+                attributes.put(file, attrs);
+            }
+        }
+        return attrs;
+    }
+
+    private boolean isDirectory(File file) {
+        BasicFileAttributes attrs = getAttributes(file);
+        return attrs != null && attrs.isDirectory();
+    }
+
+    private List<File> sortedRoots() {
+        List<File> l = new ArrayList<File>(Arrays.asList(roots));
+        Collections.sort(l);
+        return Collections.unmodifiableList(l);
+    }
+
+    /**
+     * Registers a directory to the watch service if watching is enabled.
+     *
+     * @return <code>true</code> if the directory is watched
+     */
+    private boolean watch(File directory) {
+        if (!watchingEnabled) {
+            return false;
+        }
+        try {
+            Path path = directory.toPath();
+            if (watchService == null) {
+                watchService = path.getFileSystem().newWatchService();
+                watchedDirectories = new HashMap<WatchKey, File>();
+            }
+            WatchKey key = path.register(watchService, ENTRY_CREATE,
+                    ENTRY_DELETE, ENTRY_MODIFY);
+            watchedDirectories.put(key, directory);
+            return true;
+        } catch (IOException | UnsupportedOperationException
+                | IllegalArgumentException e) {
+            getLogger().log(Level.FINE,
+                    "Could not watch directory " + directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the cached listings of a directory and its subdirectories, and
+     * stops watching them.
+     */
+    private void forgetDirectory(File directory) {
+        if (listings == null) {
+            return;
+        }
+        String prefix = directory.getPath() + File.separator;
+        for (Iterator<File> i = listings.keySet().iterator(); i.hasNext();) {
+            File f = i.next();
+            if (f.equals(directory) || f.getPath().startsWith(prefix)) {
+                i.remove();
+            }
+        }
+        if (watchedDirectories != null) {
+            for (Iterator<Map.Entry<WatchKey, File>> i = watchedDirectories
+                    .entrySet().iterator(); i.hasNext();) {
+                Map.Entry<WatchKey, File> entry = i.next();
+                File f = entry.getValue();
+                if (f.equals(directory) || f.getPath().startsWith(prefix)) {
+                    entry.getKey().cancel();
+                    i.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears all cached listings and attributes and stops watching.
+     */
+    private void clearListings() {
+        listings = null;
+        attributes = null;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                getLogger().log(Level.FINE, "Could not close watch service", e);
+            }
+            watchService = null;
+            watchedDirectories = null;
+        }
+    }
+
+    /**
+     * Sets whether the listed directories are watched for changes. When
+     * watching is enabled, cached directory listings and file attributes are
+     * used without checking the file system, and changes reported by the file
+     * system are applied when {@link #refreshChangedDirectories()} is called.
+     * <p>
+     * Watching uses a {@link WatchService} of the file system of the
+     * directories. Disable watching to release it when the container is no
+     * longer used.
+     *
+     * @param watchingEnabled
+     *            <code>true</code> to watch the listed directories,
+     *            <code>false</code> to check for changes whenever a directory
+     *            is accessed
+     * @since 8.6
+     */
+    public void setWatchingEnabled(boolean watchingEnabled) {
+        if (this.watchingEnabled != watchingEnabled) {
+            this.watchingEnabled = watchingEnabled;
+            clearListings();
+        }
+    }
+
+    /**
+     * Returns whether the listed directories are watched for changes.
+     *
+     * @return <code>true</code> if watching is enabled, <code>false</code>
+     *         otherwise
+     * @since 8.6
+     */
+    public boolean isWatchingEnabled() {
+        return watchingEnabled;
+    }
+
+    /**
+     * Applies the changes reported by the file system since the previous call
+     * to the cached directory listings, and fires a
+     * {@link DirectoryChangeEvent} for each directory whose contents have
+     * changed. Does nothing unless watching is enabled.
+     * <p>
+     * Changes are only applied when this method is called, so the contents of
+     * the container do not change while components are using it. Call this
+     * method periodically while holding the session lock, e.g. from a poll
+     * listener of the UI.
+     *
+     * @return <code>true</code> if any directory has changed,
+     *         <code>false</code> otherwise
+     * @since 8.6
+     */
+    public boolean refreshChangedDirectories() {
+        if (watchService == null) {
+            return false;
+        }
+        Set<File> changedDirectories = new LinkedHashSet<File>();
+        boolean overflow = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            File directory = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || directory == null) {
+                    overflow = true;
+                    continue;
+                }
+                File file = new File(directory, event.context().toString());
+                if (attributes != null) {
+                    attributes.remove(file);
+                }
+                if (event.kind() != ENTRY_MODIFY) {
+                    // Files added or removed
+                    forgetDirectory(file);
+                    if (listings != null) {
+                        listings.remove(directory);
+                    }
+                }
+                changedDirectories.add(directory);
+            }
+            if (!key.reset() && directory != null) {
+                forgetDirectory(directory);
+            }
+        }
+
+        if (overflow) {
+            clearListings();
+            fireItemSetChange(new DirectoryChangeEvent(this, null));
+            return true;
+        }
+        for (File directory : changedDirectories) {
+            fireItemSetChange(new DirectoryChangeEvent(this, directory));
+        }
+        return !changedDirectories.isEmpty();
+    }
+
+    private void fireItemSetChange(Container.ItemSetChangeEvent event) {
+        if (itemSetChangeListeners != null) {
+            for (Object l : itemSetChangeListeners.toArray()) {
+                ((Container.ItemSetChangeListener) l)
+                        .containerItemSetChange(event);
+            }
+        }
+    }
+
+    @Override
+    public void addItemSetChangeListener(
+            Container.ItemSetChangeListener listener) {
+        if (itemSetChangeListeners == null) {
+            itemSetChangeListeners = new LinkedList<Container.ItemSetChangeListener>();
+        }
+        itemSetChangeListeners.add(listener);
+    }
+
+    /**
+     * @deprecated As of 7.0, replaced by
+     *             {@link #addItemSetChangeListener(Container.ItemSetChangeListener)}
+     */
+    @Override
+    @Deprecated
+    public void addListener(Container.ItemSetChangeListener listener) {
+        addItemSetChangeListener(listener);
+    }
+
+    @Override
+    public void removeItemSetChangeListener(
+            Container.ItemSetChangeListener listener) {
+        if (itemSetChangeListeners != null) {
+            itemSetChangeListeners.remove(listener);
+        }
+    }
+
+    /**
+     * @deprecated As of 7.0, replaced by
+     *             {@link #removeItemSetChangeListener(Container.ItemSetChangeListener)}
+     */
+    @Override
+    @Deprecated
+    public void removeListener(Container.ItemSetChangeListener listener) {
+        removeItemSetChangeListener(listener);
+    }
+
+    private static final Logger getLogger() {
+        return Logger.getLogger(FilesystemContainer.class.getName());
+    }
+
     /**
      * Returns the file filter used to limit the files in this container.
      *
@@ -820,6 +1201,7 @@ public class FilesystemContainer implements Container.Hierarchical {
      */
     public void setFilter(FilenameFilter filter) {
         this.filter = filter;
+        clearListings();
     }
 
     /**
@@ -830,7 +1212,7 @@ public class FilesystemContainer implements Container.Hierarchical {
      *            container.
      */
     public void setFilter(String extension) {
-        filter = new FileExtensionFilter(extension);
+        setFilter(new FileExtensionFilter(extension));
     }
 
     /**
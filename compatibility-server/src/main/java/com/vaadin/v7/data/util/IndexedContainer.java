@@ -306,6 +306,7 @@ public class IndexedContainer
         // Removes the Property to Property list and types
         propertyIds.remove(propertyId);
         types.remove(propertyId);
+        removePropertyIndex(propertyId);
         if (defaultPropertyValues != null) {
             defaultPropertyValues.remove(propertyId);
         }
@@ -862,6 +863,8 @@ public class IndexedContainer
                                 + getType().getName() + " was expected");
             }
 
+            updatePropertyIndex(itemId, propertyId);
+
             // update the container filtering if this property is being filtered
             if (isPropertyFiltered(propertyId)) {
                 filterAll();
@@ -1075,4 +1078,39 @@ public class IndexedContainer
         return super.getContainerFilters();
     }
 
+    /**
+     * Adds an index of the values of a container property. Filtering with
+     * {@link com.vaadin.v7.data.util.filter.Compare Compare} filters and with
+     * {@link SimpleStringFilter}s that only match prefixes, e.g. filters added
+     * with {@link #addContainerFilter(Object, String, boolean, boolean)}, then
+     * only evaluates the filter for the items that can pass it according to the
+     * index. This speeds up filtering large containers at the cost of memory
+     * and of slightly slower adding of items and setting of values.
+     *
+     * @param propertyId
+     *            the id of the property to index
+     * @throws IllegalArgumentException
+     *             if there is no such property in the container
+     * @since 8.6
+     */
+    public void addContainerPropertyIndex(Object propertyId) {
+        if (!propertyIds.contains(propertyId)) {
+            throw new IllegalArgumentException(
+                    "No such property in the container: " + propertyId);
+        }
+        addPropertyIndex(propertyId);
+    }
+
+    /**
+     * Removes the index of the values of a container property.
+     *
+     * @param propertyId
+     *            the id of the indexed property
+     * @return true if the property was indexed, false otherwise
+     * @since 8.6
+     */
+    public boolean removeContainerPropertyIndex(Object propertyId) {
+        return removePropertyIndex(propertyId);
+    }
+
 }
@@ -21,6 +21,7 @@ import static com.vaadin.util.ReflectTools.convertPrimitiveType;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -86,6 +87,13 @@ public class MethodProperty<T> extends AbstractProperty<T> {
      */
     private transient Method setMethod, getMethod;
 
+    /**
+     * Method handles for the getter and setter, resolved on first use. Null if
+     * the methods must be called with {@link Method#invoke(Object, Object...)}.
+     */
+    private transient MethodHandle setHandle, getHandle;
+    private transient boolean handlesResolved;
+
     /**
      * Index of the new value in the argument list for the setter method. If the
      * setter method requires several parameters, this index tells which one is
@@ -597,12 +605,36 @@ public class MethodProperty<T> extends AbstractProperty<T> {
         try {
             if (instance == null) {
                 return null;
-            } else {
+            }
+            resolveHandles();
+            if (getHandle == null) {
                 return (T) getMethod.invoke(instance, getArgs);
             }
         } catch (final Throwable e) {
             throw new MethodException(this, e);
         }
+        try {
+            return (T) (Object) getHandle.invokeExact(instance);
+        } catch (final Throwable e) {
+            // Same cause as when calling through reflection
+            throw new MethodException(this, new InvocationTargetException(e));
+        }
+    }
+
+    /**
+     * Looks up the method handles for calling the getter and setter if they are
+     * called with the default arguments.
+     */
+    private void resolveHandles() {
+        if (handlesResolved) {
+            return;
+        }
+        getHandle = getArgs.length == 0 ? PropertyAccessors.getGetter(getMethod)
+                : null;
+        setHandle = setMethod != null && setArgs.length == 1
+                ? PropertyAccessors.getSetter(setMethod)
+                : null;
+        handlesResolved = true;
     }
 
     /**
@@ -632,6 +664,7 @@ public class MethodProperty<T> extends AbstractProperty<T> {
             this.setArgs = Arrays.copyOf(setArgs, setArgs.length);
         }
         this.setArgumentIndex = setArgumentIndex;
+        handlesResolved = false;
     }
 
     /**
@@ -666,6 +699,15 @@ public class MethodProperty<T> extends AbstractProperty<T> {
      */
     protected void invokeSetMethod(T value) {
 
+        resolveHandles();
+        if (setHandle != null) {
+            try {
+                setHandle.invokeExact(instance, (Object) value);
+            } catch (final Throwable e) {
+                throw new MethodException(this, e);
+            }
+            return;
+        }
         try {
             // Construct a temporary argument array only if needed
             if (setArgs.length == 1) {
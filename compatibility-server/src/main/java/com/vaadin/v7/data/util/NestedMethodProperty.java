@@ -20,6 +20,7 @@ import static com.vaadin.util.ReflectTools.convertPrimitiveType;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -63,6 +64,15 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
      */
     private transient Method setMethod;
 
+    /**
+     * Method handles for the getter chain and the setter, resolved on first
+     * use. Null if the methods must be called with
+     * {@link Method#invoke(Object, Object...)}.
+     */
+    private transient MethodHandle[] getHandles;
+    private transient MethodHandle setHandle;
+    private transient boolean handlesResolved;
+
     /**
      * Bean instance used as a starting point for accessing the property value.
      */
@@ -118,6 +128,28 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
         initialize(instanceClass, propertyName);
     }
 
+    /**
+     * For internal use to create a property for a bean instance reusing the
+     * methods already resolved for another property with the same name and bean
+     * class.
+     *
+     * @param instance
+     *            top-level bean to which the property applies
+     * @param template
+     *            property with the same name, for the class of the instance
+     */
+    NestedMethodProperty(Object instance, NestedMethodProperty<T> template) {
+        this.instance = instance;
+        propertyName = template.propertyName;
+        type = template.type;
+        getMethods = template.getMethods;
+        setMethod = template.setMethod;
+        template.resolveHandles();
+        getHandles = template.getHandles;
+        setHandle = template.setHandle;
+        handlesResolved = true;
+    }
+
     /**
      * Initializes most of the internal fields based on the top-level bean
      * instance and property name (dot-separated string).
@@ -186,6 +218,7 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
         this.propertyName = propertyName;
         this.getMethods = getMethods;
         this.setMethod = setMethod;
+        handlesResolved = false;
     }
 
     @Override
@@ -207,6 +240,23 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
      */
     @Override
     public T getValue() {
+        resolveHandles();
+        if (getHandles != null) {
+            try {
+                Object object = instance;
+                for (MethodHandle handle : getHandles) {
+                    object = (Object) handle.invokeExact(object);
+                    if (object == null) {
+                        return null;
+                    }
+                }
+                return (T) object;
+            } catch (final Throwable e) {
+                // Same cause as when calling through reflection
+                throw new MethodException(this,
+                        new InvocationTargetException(e));
+            }
+        }
         try {
             Object object = instance;
             for (Method m : getMethods) {
@@ -221,6 +271,28 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
         }
     }
 
+    /**
+     * Looks up the method handles for calling the getters and the setter.
+     */
+    private void resolveHandles() {
+        if (handlesResolved) {
+            return;
+        }
+        MethodHandle[] handles = new MethodHandle[getMethods.size()];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = PropertyAccessors.getGetter(getMethods.get(i));
+            if (handles[i] == null) {
+                handles = null;
+                break;
+            }
+        }
+        getHandles = handles;
+        setHandle = setMethod != null && getHandles != null
+                ? PropertyAccessors.getSetter(setMethod)
+                : null;
+        handlesResolved = true;
+    }
+
     /**
      * Sets the value of the property. The new value must be assignable to the
      * type of this property.
@@ -249,6 +321,22 @@ public class NestedMethodProperty<T> extends AbstractProperty<T> {
      * @param value
      */
     protected void invokeSetMethod(T value) {
+        resolveHandles();
+        if (setHandle != null) {
+            try {
+                Object object = instance;
+                for (int i = 0; i < getHandles.length - 1; i++) {
+                    object = (Object) getHandles[i].invokeExact(object);
+                    if (object == null) {
+                        return;
+                    }
+                }
+                setHandle.invokeExact(object, (Object) value);
+            } catch (final Throwable e) {
+                throw new MethodException(this, e);
+            }
+            return;
+        }
         try {
             Object object = instance;
             for (int i = 0; i < getMethods.size() - 1; i++) {
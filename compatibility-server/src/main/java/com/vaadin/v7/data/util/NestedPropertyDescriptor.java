@@ -37,6 +37,13 @@ public class NestedPropertyDescriptor<BT>
 
     private final String name;
     private final Class<?> propertyType;
+    private final Class<BT> beanType;
+
+    /**
+     * Property for the bean type, used for sharing the resolved methods with
+     * the created properties. Not serialized, created again when needed.
+     */
+    private transient NestedMethodProperty<Object> template;
 
     /**
      * Creates a property descriptor that can create MethodProperty instances to
@@ -52,9 +59,9 @@ public class NestedPropertyDescriptor<BT>
     public NestedPropertyDescriptor(String name, Class<BT> beanType)
             throws IllegalArgumentException {
         this.name = name;
-        NestedMethodProperty<?> property = new NestedMethodProperty<Object>(
-                beanType, name);
-        this.propertyType = property.getType();
+        this.beanType = beanType;
+        template = new NestedMethodProperty<Object>(beanType, name);
+        this.propertyType = template.getType();
     }
 
     @Override
@@ -69,7 +76,14 @@ public class NestedPropertyDescriptor<BT>
 
     @Override
     public Property<?> createProperty(BT bean) {
-        return new NestedMethodProperty<Object>(bean, name);
+        if (bean == null || bean.getClass() != beanType) {
+            // Subclasses may have different methods for the property
+            return new NestedMethodProperty<Object>(bean, name);
+        }
+        if (template == null) {
+            template = new NestedMethodProperty<Object>(beanType, name);
+        }
+        return new NestedMethodProperty<Object>(bean, template);
     }
 
 }
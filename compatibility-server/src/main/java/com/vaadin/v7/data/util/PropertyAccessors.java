@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.v7.data.util;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of method handles used by {@link MethodProperty} and
+ * {@link NestedMethodProperty} for calling bean getters and setters without
+ * going through {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * A handle is created once per method and shared by all properties and property
+ * descriptors using the method. Method handles are not serializable, so
+ * properties keep them in transient fields and look them up again after
+ * deserialization.
+ *
+ * @since 8.6
+ * @deprecated As of 8.0, replaced by {@link com.vaadin.data.ValueProvider} and
+ *             {@link com.vaadin.server.Setter}
+ */
+@Deprecated
+final class PropertyAccessors implements Serializable {
+
+    private static final MethodType GETTER_TYPE = MethodType
+            .methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType
+            .methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Marks methods that cannot be called through a method handle, since
+     * concurrent maps cannot contain null values.
+     */
+    private static final MethodHandle UNAVAILABLE = MethodHandles
+            .constant(Object.class, null);
+
+    private static final ConcurrentMap<Method, MethodHandle> GETTERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Method, MethodHandle> SETTERS = new ConcurrentHashMap<>();
+
+    private PropertyAccessors() {
+        // Only static helpers
+    }
+
+    /**
+     * Gets a handle for calling the given getter method without arguments. The
+     * type of the handle is <code>(Object)Object</code>.
+     *
+     * @param getter
+     *            the getter method, not <code>null</code>
+     * @return a handle for the getter or <code>null</code> if the method is not
+     *         accessible through a method handle
+     */
+    static MethodHandle getGetter(Method getter) {
+        return get(GETTERS, getter, GETTER_TYPE);
+    }
+
+    /**
+     * Gets a handle for calling the given setter method with one argument. The
+     * type of the handle is <code>(Object,Object)void</code>.
+     *
+     * @param setter
+     *            the setter method, not <code>null</code>
+     * @return a handle for the setter or <code>null</code> if the method is not
+     *         accessible through a method handle
+     */
+    static MethodHandle getSetter(Method setter) {
+        return get(SETTERS, setter, SETTER_TYPE);
+    }
+
+    private static MethodHandle get(ConcurrentMap<Method, MethodHandle> cache,
+            Method method, MethodType type) {
+        MethodHandle handle = cache.computeIfAbsent(method,
+                m -> createHandle(m, type));
+        return handle == UNAVAILABLE ? null : handle;
+    }
+
+    private static MethodHandle createHandle(Method method, MethodType type) {
+        if (method.getParameterCount() != type.parameterCount() - 1) {
+            return UNAVAILABLE;
+        }
+        try {
+            // Only public methods of public classes, just like Method.invoke
+            // from this package
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return UNAVAILABLE;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.v7.data.util;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.vaadin.v7.data.Container.Filter;
+import com.vaadin.v7.data.util.filter.Compare;
+import com.vaadin.v7.data.util.filter.Compare.Operation;
+import com.vaadin.v7.data.util.filter.SimpleStringFilter;
+
+/**
+ * Index of the values of one property of the items in an
+ * {@link AbstractInMemoryContainer}. Used for finding the items that can pass a
+ * filter without evaluating the filter for every item in the container.
+ * <p>
+ * As long as all values of the property are {@link Comparable} and of the same
+ * class, the items are indexed in a sorted map, which can be used for
+ * {@link Compare} filters of any kind. Otherwise a hash map is used, which can
+ * only be used for {@link Compare.Equal} filters with values that are not
+ * comparable. The string representations of the values are indexed in a sorted
+ * map when first needed for a {@link SimpleStringFilter} that only matches
+ * prefixes.
+ *
+ * @since 8.6
+ * @deprecated As of 8.0, replaced by
+ *             {@link com.vaadin.data.provider.DataProvider}
+ */
+@Deprecated
+class PropertyValueIndex implements Serializable {
+
+    /** The indexed value of each item, including null values */
+    private final Map<Object, Object> values = new HashMap<Object, Object>();
+
+    /** Items with a null value */
+    private final Set<Object> nullItems = new HashSet<Object>();
+
+    /** Items by non-null value, a TreeMap while sorted is true */
+    private Map<Object, Set<Object>> itemsByValue = new TreeMap<Object, Set<Object>>();
+    private boolean sorted = true;
+
+    /** The class of all non-null values while sorted is true */
+    private Class<?> valueClass;
+
+    /** Items by value string, null until needed */
+    private TreeMap<String, Set<Object>> itemsByString;
+    private TreeMap<String, Set<Object>> itemsByLowerCaseString;
+
+    /**
+     * Adds an item to the index.
+     *
+     * @param itemId
+     *            the id of the item, not already in the index
+     * @param value
+     *            the value of the indexed property of the item, may be null
+     */
+    public void add(Object itemId, Object value) {
+        values.put(itemId, value);
+        if (value == null) {
+            nullItems.add(itemId);
+            return;
+        }
+        if (sorted) {
+            if (value instanceof Comparable
+                    && (valueClass == null || valueClass == value.getClass())) {
+                valueClass = value.getClass();
+            } else {
+                itemsByValue = new HashMap<Object, Set<Object>>(itemsByValue);
+                sorted = false;
+                valueClass = null;
+            }
+        }
+        addTo(itemsByValue, value, itemId);
+        if (itemsByString != null) {
+            addTo(itemsByString, value.toString(), itemId);
+        }
+        if (itemsByLowerCaseString != null) {
+            addTo(itemsByLowerCaseString,
+                    value.toString().toLowerCase(Locale.ROOT), itemId);
+        }
+    }
+
+    /**
+     * Removes an item from the index.
+     *
+     * @param itemId
+     *            the id of the item, ignored if not in the index
+     */
+    public void remove(Object itemId) {
+        if (!values.containsKey(itemId)) {
+            return;
+        }
+        Object value = values.remove(itemId);
+        if (value == null) {
+            nullItems.remove(itemId);
+            return;
+        }
+        removeFrom(itemsByValue, value, itemId);
+        if (itemsByString != null) {
+            removeFrom(itemsByString, value.toString(), itemId);
+        }
+        if (itemsByLowerCaseString != null) {
+            removeFrom(itemsByLowerCaseString,
+                    value.toString().toLowerCase(Locale.ROOT), itemId);
+        }
+    }
+
+    /**
+     * Removes all items from the index.
+     */
+    public void clear() {
+        values.clear();
+        nullItems.clear();
+        itemsByValue = new TreeMap<Object, Set<Object>>();
+        sorted = true;
+        valueClass = null;
+        itemsByString = null;
+        itemsByLowerCaseString = null;
+    }
+
+    /**
+     * Finds the items that can pass the given filter. The filter must apply to
+     * the indexed property. The result may contain items that do not pass the
+     * filter, so the filter must still be evaluated for them.
+     *
+     * @param filter
+     *            the filter for the indexed property
+     * @return the ids of the items that can pass the filter, or null if the
+     *         index cannot be used for the filter. The returned set must not be
+     *         modified.
+     */
+    public Set<Object> getCandidates(Filter filter) {
+        if (filter instanceof Compare) {
+            return getCandidates((Compare) filter);
+        } else if (filter instanceof SimpleStringFilter) {
+            return getCandidates((SimpleStringFilter) filter);
+        }
+        return null;
+    }
+
+    private Set<Object> getCandidates(Compare filter) {
+        Object value = filter.getValue();
+        Operation operation = filter.getOperation();
+        if (value == null) {
+            return operation == Operation.EQUAL ? nullItems : null;
+        }
+        if (!sorted || !(value instanceof Comparable)
+                || valueClass != null && valueClass != value.getClass()) {
+            if (operation == Operation.EQUAL && !sorted
+                    && !(value instanceof Comparable)) {
+                return nonNull(itemsByValue.get(value));
+            }
+            // Comparing values of different classes, fall back to filtering
+            return null;
+        }
+
+        NavigableMap<Object, Set<Object>> map = (NavigableMap<Object, Set<Object>>) itemsByValue;
+        switch (operation) {
+        case EQUAL:
+            return nonNull(map.get(value));
+        case GREATER:
+            // Compare considers null greater than any other value
+            return union(map.tailMap(value, false).values(), nullItems);
+        case GREATER_OR_EQUAL:
+            return union(map.tailMap(value, true).values(), nullItems);
+        case LESS:
+            return union(map.headMap(value, false).values(), null);
+        case LESS_OR_EQUAL:
+            return union(map.headMap(value, true).values(), null);
+        }
+        return null;
+    }
+
+    private Set<Object> getCandidates(SimpleStringFilter filter) {
+        if (!filter.isOnlyMatchPrefix()) {
+            return null;
+        }
+        TreeMap<String, Set<Object>> map = getStringIndex(
+                filter.isIgnoreCase());
+        String prefix = filter.getFilterString();
+        if (prefix.isEmpty()) {
+            return union(map.values(), null);
+        }
+        char last = prefix.charAt(prefix.length() - 1);
+        SortedMap<String, Set<Object>> matches;
+        if (last == Character.MAX_VALUE) {
+            matches = map.tailMap(prefix);
+        } else {
+            // All strings with the prefix are smaller than this one
+            String end = prefix.substring(0, prefix.length() - 1)
+                    + (char) (last + 1);
+            matches = map.subMap(prefix, end);
+        }
+        return union(matches.values(), null);
+    }
+
+    private TreeMap<String, Set<Object>> getStringIndex(boolean lowerCase) {
+        TreeMap<String, Set<Object>> map = lowerCase ? itemsByLowerCaseString
+                : itemsByString;
+        if (map == null) {
+            map = new TreeMap<String, Set<Object>>();
+            for (Map.Entry<Object, Object> entry : values.entrySet()) {
+                if (entry.getValue() != null) {
+                    String string = entry.getValue().toString();
+                    addTo(map, lowerCase ? string.toLowerCase(Locale.ROOT)
+                            : string, entry.getKey());
+                }
+            }
+            if (lowerCase) {
+                itemsByLowerCaseString = map;
+            } else {
+                itemsByString = map;
+            }
+        }
+        return map;
+    }
+
+    private static <K> void addTo(Map<K, Set<Object>> map, K key,
+            Object itemId) {
+        Set<Object> items = map.get(key);
+        if (items == null) {
+            items = new HashSet<Object>();
+            map.put(key, items);
+        }
+        items.add(itemId);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Object>> map, K key,
+            Object itemId) {
+        Set<Object> items = map.get(key);
+        if (items != null && items.remove(itemId) && items.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static Set<Object> nonNull(Set<Object> items) {
+        return items != null ? items : Collections.emptySet();
+    }
+
+    private static Set<Object> union(Collection<Set<Object>> sets,
+            Set<Object> extra) {
+        Set<Object> result = new HashSet<Object>();
+        for (Set<Object> items : sets) {
+            result.addAll(items);
+        }
+        if (extra != null) {
+            result.addAll(extra);
+        }
+        return result;
+    }
+}
@@ -21,6 +21,7 @@ import java.io.ObjectOutputStream;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +32,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -120,6 +125,16 @@ public class SQLContainer implements Container.Filterable,
     /** Cache flush notification system enabled. Disabled by default. */
     private boolean notificationsEnabled;
 
+    /** Executor for reading the next page in advance, null if disabled */
+    private transient Executor readAheadExecutor;
+
+    /** Page being read in advance and its offset, null if none */
+    private transient FutureTask<ResultSet> readAhead;
+    private transient int readAheadOffset;
+
+    /** Index most recently requested through getIdByIndex */
+    private transient int lastRequestedIndex;
+
     /**
      * Prevent instantiation without a QueryDelegate.
      */
@@ -642,10 +657,12 @@ public class SQLContainer implements Container.Filterable,
         // make sure the size field is valid
         updateCount();
         if (index < size) {
-            if (itemIndexes.keySet().contains(index)) {
-                return itemIndexes.get(index);
+            if (!itemIndexes.keySet().contains(index)) {
+                updateOffsetAndCache(index);
+            }
+            if (readAheadExecutor != null) {
+                readAheadIfSequential(index);
             }
-            updateOffsetAndCache(index);
             return itemIndexes.get(index);
         } else {
             // The index is in the added items
@@ -801,6 +818,10 @@ public class SQLContainer implements Container.Filterable,
         currentOffset = 0;
         cachedItems.clear();
         itemIndexes.clear();
+        cancelReadAhead();
+        if (queryDelegate instanceof TableQuery) {
+            ((TableQuery) queryDelegate).clearPageBoundaries();
+        }
         fireContentsChange();
     }
 
@@ -870,6 +891,40 @@ public class SQLContainer implements Container.Filterable,
         cachedItems.setCacheLimit(CACHE_RATIO * getPageLength() + cacheOverlap);
     }
 
+    /**
+     * Sets the executor used for reading rows in advance. When an executor is
+     * set and items are requested in ascending index order, e.g. when a Table
+     * is scrolled down, the page following the cached rows is read in the
+     * background before it is needed. The rows are taken into use when they are
+     * first requested, on the thread accessing the container.
+     * <p>
+     * Reading ahead is only supported when the query delegate is a
+     * {@link TableQuery}. The rows are read using a separate connection from
+     * its connection pool, so the pool should allow at least two connections
+     * per container that reads ahead.
+     *
+     * @param readAheadExecutor
+     *            the executor to read rows with, or null to not read rows in
+     *            advance (the default)
+     * @since 8.6
+     */
+    public void setReadAheadExecutor(Executor readAheadExecutor) {
+        this.readAheadExecutor = readAheadExecutor;
+        if (readAheadExecutor == null) {
+            cancelReadAhead();
+        }
+    }
+
+    /**
+     * Returns the executor used for reading rows in advance.
+     *
+     * @return the executor, or null if rows are not read in advance
+     * @since 8.6
+     */
+    public Executor getReadAheadExecutor() {
+        return readAheadExecutor;
+    }
+
     /**
      * Adds the given OrderBy to this container and refreshes the container
      * contents with the new sorting rules.
@@ -904,41 +959,11 @@ public class SQLContainer implements Container.Filterable,
             getLogger().log(Level.FINER,
                     "Commiting changes through delegate...");
             queryDelegate.beginTransaction();
-            /* Perform buffered deletions */
-            for (RowItem item : removedItems.values()) {
-                try {
-                    if (!queryDelegate.removeRow(item)) {
-                        throw new SQLException(
-                                "Removal failed for row with ID: "
-                                        + item.getId());
-                    }
-                } catch (IllegalArgumentException e) {
-                    throw new SQLException(
-                            "Removal failed for row with ID: " + item.getId(),
-                            e);
-                }
-            }
-            /* Perform buffered modifications */
-            for (RowItem item : modifiedItems) {
-                if (!removedItems.containsKey(item.getId())) {
-                    if (queryDelegate.storeRow(item) > 0) {
-                        /*
-                         * Also reset the modified state in the item in case it
-                         * is reused e.g. in a form.
-                         */
-                        item.commit();
-                    } else {
-                        queryDelegate.rollback();
-                        refresh();
-                        throw new ConcurrentModificationException(
-                                "Item with the ID '" + item.getId()
-                                        + "' has been externally modified.");
-                    }
-                }
-            }
-            /* Perform buffered additions */
-            for (RowItem item : addedItems) {
-                queryDelegate.storeRow(item);
+            if (queryDelegate instanceof TableQuery
+                    && ((TableQuery) queryDelegate).isBatchUpdatesEnabled()) {
+                storeChangesInBatches((TableQuery) queryDelegate);
+            } else {
+                storeChanges();
             }
             queryDelegate.commit();
             removedItems.clear();
@@ -957,6 +982,102 @@ public class SQLContainer implements Container.Filterable,
         }
     }
 
+    /**
+     * Stores the buffered removals, modifications and additions one row at a
+     * time through the query delegate.
+     */
+    private void storeChanges() throws SQLException {
+        /* Perform buffered deletions */
+        for (RowItem item : removedItems.values()) {
+            try {
+                if (!queryDelegate.removeRow(item)) {
+                    throw new SQLException(
+                            "Removal failed for row with ID: " + item.getId());
+                }
+            } catch (IllegalArgumentException e) {
+                throw new SQLException(
+                        "Removal failed for row with ID: " + item.getId(), e);
+            }
+        }
+        /* Perform buffered modifications */
+        for (RowItem item : modifiedItems) {
+            if (!removedItems.containsKey(item.getId())) {
+                if (queryDelegate.storeRow(item) > 0) {
+                    /*
+                     * Also reset the modified state in the item in case it is
+                     * reused e.g. in a form.
+                     */
+                    item.commit();
+                } else {
+                    queryDelegate.rollback();
+                    refresh();
+                    throw new ConcurrentModificationException(
+                            "Item with the ID '" + item.getId()
+                                    + "' has been externally modified.");
+                }
+            }
+        }
+        /* Perform buffered additions */
+        for (RowItem item : addedItems) {
+            queryDelegate.storeRow(item);
+        }
+    }
+
+    /**
+     * Stores the buffered removals, modifications and additions using the batch
+     * methods of the table query.
+     */
+    private void storeChangesInBatches(TableQuery query) throws SQLException {
+        /* Perform buffered deletions */
+        List<RowItem> removed = new ArrayList<RowItem>(removedItems.values());
+        int[] results;
+        try {
+            results = query.removeRows(removed);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Removal failed", e);
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (isFailedUpdate(results[i])) {
+                throw new SQLException("Removal failed for row with ID: "
+                        + removed.get(i).getId());
+            }
+        }
+        /* Perform buffered modifications and additions */
+        List<RowItem> stored = new ArrayList<RowItem>();
+        for (RowItem item : modifiedItems) {
+            if (!removedItems.containsKey(item.getId())) {
+                stored.add(item);
+            }
+        }
+        int modifiedCount = stored.size();
+        stored.addAll(addedItems);
+        results = query.storeRows(stored);
+        for (int i = 0; i < modifiedCount; i++) {
+            if (isFailedUpdate(results[i])) {
+                query.rollback();
+                refresh();
+                throw new ConcurrentModificationException(
+                        "Item with the ID '" + stored.get(i).getId()
+                                + "' has been externally modified.");
+            }
+        }
+        for (int i = 0; i < modifiedCount; i++) {
+            /*
+             * Also reset the modified state in the item in case it is reused
+             * e.g. in a form.
+             */
+            stored.get(i).commit();
+        }
+    }
+
+    /**
+     * Checks whether an update count returned by the batch methods of a table
+     * query means that the row was not updated or removed.
+     */
+    private static boolean isFailedUpdate(int count) {
+        return count == 0 || count == Statement.EXECUTE_FAILED;
+    }
+
     /**
      * Rolls back all the changes, additions and removals made to the items of
      * this container.
@@ -1040,6 +1161,80 @@ public class SQLContainer implements Container.Filterable,
         getPage();
     }
 
+    /**
+     * Starts reading the page following the cached rows in the background if
+     * items are requested in ascending order and the given index is on the last
+     * page of the cached rows.
+     *
+     * @param index
+     *            the requested index, must be cached
+     */
+    private void readAheadIfSequential(int index) {
+        boolean ascending = index > lastRequestedIndex;
+        lastRequestedIndex = index;
+        int fetchedRows = pageLength * CACHE_RATIO + cacheOverlap;
+        int cacheEnd = currentOffset + fetchedRows;
+        if (!ascending || index < cacheEnd - pageLength || cacheEnd >= size
+                || !(queryDelegate instanceof TableQuery)) {
+            return;
+        }
+        // The offset updateOffsetAndCache will use for the next index
+        int nextOffset = (cacheEnd / pageLength) * pageLength - cacheOverlap;
+        if (readAhead != null && readAheadOffset == nextOffset) {
+            return;
+        }
+        cancelReadAhead();
+        FutureTask<ResultSet> task = new FutureTask<ResultSet>(
+                ((TableQuery) queryDelegate).prepareReadAhead(nextOffset,
+                        fetchedRows));
+        try {
+            readAheadExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            getLogger().log(Level.FINE, "Reading ahead was rejected", e);
+            return;
+        }
+        readAhead = task;
+        readAheadOffset = nextOffset;
+        getLogger().log(Level.FINER, "Reading {0} rows ahead starting from {1}",
+                new Object[] { fetchedRows, nextOffset });
+    }
+
+    /**
+     * Returns the rows read in advance for the current offset, waiting for the
+     * read to complete if necessary. Rows read in advance for another offset
+     * are discarded.
+     *
+     * @return the rows starting from the current offset, or null if they have
+     *         not been read in advance
+     */
+    private ResultSet takeReadAhead() {
+        FutureTask<ResultSet> task = readAhead;
+        if (task == null) {
+            return null;
+        }
+        if (readAheadOffset != currentOffset) {
+            cancelReadAhead();
+            return null;
+        }
+        readAhead = null;
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            getLogger().log(Level.FINE, "Reading ahead failed", e.getCause());
+            return null;
+        }
+    }
+
+    private void cancelReadAhead() {
+        if (readAhead != null) {
+            readAhead.cancel(false);
+            readAhead = null;
+        }
+    }
+
     /**
      * Fetches new count of rows from the data source, if needed.
      */
@@ -1192,9 +1387,14 @@ public class SQLContainer implements Container.Filterable,
                 getLogger().log(Level.FINE,
                         "The query delegate doesn't support sorting", e);
             }
-            queryDelegate.beginTransaction();
             int fetchedRows = pageLength * CACHE_RATIO + cacheOverlap;
-            rs = queryDelegate.getResults(currentOffset, fetchedRows);
+            ResultSet readAheadRows = takeReadAhead();
+            if (readAheadRows != null) {
+                rs = readAheadRows;
+            } else {
+                queryDelegate.beginTransaction();
+                rs = queryDelegate.getResults(currentOffset, fetchedRows);
+            }
             rsmd = rs.getMetaData();
             List<String> pKeys = queryDelegate.getPrimaryKeyColumns();
             // }
@@ -1205,7 +1405,12 @@ public class SQLContainer implements Container.Filterable,
                 rowCount = currentOffset = 0;
                 setPageLengthInternal(size);
             }
+            int resultIndex = currentOffset;
             while (rs.next()) {
+                if (queryDelegate instanceof TableQuery) {
+                    ((TableQuery) queryDelegate).rowFetched(resultIndex, rs);
+                }
+                resultIndex++;
                 List<ColumnProperty> itemProperties = new ArrayList<ColumnProperty>();
                 /* Generate row itemId based on primary key(s) */
                 Object[] itemId = new Object[pKeys.size()];
@@ -1272,9 +1477,13 @@ public class SQLContainer implements Container.Filterable,
                     rowCount++;
                 }
             }
-            rs.getStatement().close();
-            rs.close();
-            queryDelegate.commit();
+            if (readAheadRows != null) {
+                rs.close();
+            } else {
+                rs.getStatement().close();
+                rs.close();
+                queryDelegate.commit();
+            }
             getLogger().log(Level.FINER, "Fetched {0} rows starting from {1}",
                     new Object[] { fetchedRows, currentOffset });
         } catch (SQLException e) {
@@ -0,0 +1,612 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.v7.data.util.sqlcontainer.connection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBCConnectionPool implementation for applications where many sessions use
+ * the database concurrently. Can be used instead of
+ * {@link SimpleJDBCConnectionPool} with any SQLContainer query delegate.
+ * <p>
+ * Unlike {@link SimpleJDBCConnectionPool}, this pool does not synchronize
+ * reserving and releasing connections. Instead of failing immediately when all
+ * connections are in use, {@link #reserveConnection()} waits for a connection
+ * to be released for at most the configured maximum wait time. Connections that
+ * have been idle for a while are validated before they are handed out, and
+ * closed after they have been idle for too long. Connections that have been
+ * reserved for longer than a configurable threshold are reported as possibly
+ * leaked.
+ * <p>
+ * The pool keeps statistics about the number of active and idle connections and
+ * about the time spent waiting for a connection.
+ *
+ * @since 8.6
+ * @deprecated As of 8.0, no replacement available.
+ */
+@Deprecated
+public class ConcurrentJDBCConnectionPool implements JDBCConnectionPool {
+
+    private static class IdleConnection implements Serializable {
+        private final Connection connection;
+        private final long idleSince = System.currentTimeMillis();
+
+        private IdleConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static class Reservation implements Serializable {
+        private final long reservedAt = System.currentTimeMillis();
+        private final Throwable reservedBy;
+        private volatile boolean reported;
+
+        private Reservation(boolean recordStackTrace) {
+            reservedBy = recordStackTrace
+                    ? new Throwable("Connection reserved by thread "
+                            + Thread.currentThread().getName())
+                    : null;
+        }
+    }
+
+    private final int initialConnections;
+    private final int maxConnections;
+
+    private final String driverName;
+    private final String connectionUri;
+    private final String userName;
+    private final String password;
+
+    private volatile long maxWaitMillis = 30000;
+    private volatile int validationTimeout = 5;
+    private volatile long validationIdleMillis = 30000;
+    private volatile long maxIdleMillis = 600000;
+    private volatile long leakDetectionThresholdMillis = 0;
+
+    private transient Semaphore permits;
+    private transient ConcurrentLinkedDeque<IdleConnection> idleConnections;
+    private transient AtomicInteger idleCount;
+    private transient ConcurrentMap<Connection, Reservation> reservedConnections;
+    private transient AtomicBoolean initialized;
+    private transient volatile boolean destroyed;
+
+    private transient AtomicLong reservationCount;
+    private transient AtomicLong totalWaitNanos;
+    private transient AtomicLong maxWaitNanos;
+    private transient AtomicLong timeoutCount;
+
+    /**
+     * Creates a new connection pool with 5 initial and at most 20 connections.
+     *
+     * @param driverName
+     *            the class name of the JDBC driver
+     * @param connectionUri
+     *            the JDBC URI of the database
+     * @param userName
+     *            the database user name
+     * @param password
+     *            the database password
+     */
+    public ConcurrentJDBCConnectionPool(String driverName, String connectionUri,
+            String userName, String password) {
+        this(driverName, connectionUri, userName, password, 5, 20);
+    }
+
+    /**
+     * Creates a new connection pool.
+     *
+     * @param driverName
+     *            the class name of the JDBC driver
+     * @param connectionUri
+     *            the JDBC URI of the database
+     * @param userName
+     *            the database user name
+     * @param password
+     *            the database password
+     * @param initialConnections
+     *            the number of connections to open when the first connection is
+     *            reserved
+     * @param maxConnections
+     *            the maximum number of connections reserved at the same time
+     */
+    public ConcurrentJDBCConnectionPool(String driverName, String connectionUri,
+            String userName, String password, int initialConnections,
+            int maxConnections) {
+        if (driverName == null) {
+            throw new IllegalArgumentException(
+                    "JDBC driver class name must be given.");
+        }
+        if (connectionUri == null) {
+            throw new IllegalArgumentException(
+                    "Database connection URI must be given.");
+        }
+        if (userName == null) {
+            throw new IllegalArgumentException(
+                    "Database username must be given.");
+        }
+        if (password == null) {
+            throw new IllegalArgumentException(
+                    "Database password must be given.");
+        }
+        if (maxConnections < 1 || initialConnections < 0
+                || initialConnections > maxConnections) {
+            throw new IllegalArgumentException(
+                    "The maximum number of connections must be positive and not less than the initial number of connections.");
+        }
+        this.driverName = driverName;
+        this.connectionUri = connectionUri;
+        this.userName = userName;
+        this.password = password;
+        this.initialConnections = initialConnections;
+        this.maxConnections = maxConnections;
+
+        /* Initialize JDBC driver */
+        try {
+            Class.forName(driverName).newInstance();
+        } catch (Exception ex) {
+            throw new RuntimeException("Specified JDBC Driver: " + driverName
+                    + " - initialization failed.", ex);
+        }
+        initializeState();
+    }
+
+    private void initializeState() {
+        permits = new Semaphore(maxConnections, true);
+        idleConnections = new ConcurrentLinkedDeque<IdleConnection>();
+        idleCount = new AtomicInteger();
+        reservedConnections = new ConcurrentHashMap<Connection, Reservation>();
+        initialized = new AtomicBoolean();
+        reservationCount = new AtomicLong();
+        totalWaitNanos = new AtomicLong();
+        maxWaitNanos = new AtomicLong();
+        timeoutCount = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If all connections are in use, waits until one is released or the maximum
+     * wait time has passed.
+     *
+     * @throws SQLException
+     *             if no connection became available in time, if the pool has
+     *             been destroyed or if opening a new connection fails
+     */
+    @Override
+    public Connection reserveConnection() throws SQLException {
+        if (destroyed) {
+            throw new SQLException("The connection pool has been destroyed.");
+        }
+        if (initialized.compareAndSet(false, true)) {
+            for (int i = 0; i < initialConnections; i++) {
+                addIdleConnection(createConnection());
+            }
+        }
+        if (leakDetectionThresholdMillis > 0) {
+            reportLeakedConnections();
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire()
+                    || permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(
+                    "Interrupted while waiting for a database connection.", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        long max;
+        while (waited > (max = maxWaitNanos.get())
+                && !maxWaitNanos.compareAndSet(max, waited)) {
+            // Retry until the maximum is updated or no longer smaller
+        }
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLException("No database connection became available in "
+                    + maxWaitMillis + " ms. " + getActiveConnections()
+                    + " connections are in use.");
+        }
+        if (destroyed) {
+            // Woken up by destroy(), let the next waiting thread fail too
+            permits.release();
+            throw new SQLException("The connection pool has been destroyed.");
+        }
+
+        try {
+            Connection connection = takeIdleConnection();
+            if (connection == null) {
+                connection = createConnection();
+            }
+            reservedConnections.put(connection,
+                    new Reservation(leakDetectionThresholdMillis > 0));
+            reservationCount.incrementAndGet();
+            return connection;
+        } catch (SQLException e) {
+            permits.release();
+            throw e;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the most recently used idle connection that is still usable, or
+     * returns null if there is none.
+     */
+    private Connection takeIdleConnection() {
+        IdleConnection idle;
+        while ((idle = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (isExpired(idle)) {
+                close(idle.connection);
+            } else if (isValid(idle)) {
+                return idle.connection;
+            } else {
+                getLogger().log(Level.FINE,
+                        "Discarding idle connection that failed validation");
+                close(idle.connection);
+            }
+        }
+        return null;
+    }
+
+    private boolean isExpired(IdleConnection idle) {
+        return maxIdleMillis > 0
+                && System.currentTimeMillis() - idle.idleSince > maxIdleMillis;
+    }
+
+    private boolean isValid(IdleConnection idle) {
+        if (validationTimeout <= 0 || System.currentTimeMillis()
+                - idle.idleSince < validationIdleMillis) {
+            return true;
+        }
+        try {
+            return idle.connection.isValid(validationTimeout);
+        } catch (SQLException e) {
+            return false;
+        } catch (AbstractMethodError e) {
+            // Driver implemented against JDBC 3 or older
+            return true;
+        }
+    }
+
+    @Override
+    public void releaseConnection(Connection conn) {
+        if (conn == null || reservedConnections.remove(conn) == null) {
+            return;
+        }
+        try {
+            /* Try to roll back if necessary */
+            try {
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                }
+            } catch (SQLException e) {
+                /* Roll back failed, close and discard connection */
+                close(conn);
+                return;
+            }
+            if (destroyed) {
+                close(conn);
+            } else {
+                addIdleConnection(conn);
+                evictIdleConnections();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void addIdleConnection(Connection connection) {
+        idleConnections.offerFirst(new IdleConnection(connection));
+        idleCount.incrementAndGet();
+    }
+
+    /**
+     * Closes the connections that have been idle for longer than the maximum
+     * idle time. Connections are also evicted whenever a connection is
+     * released, so this method only needs to be called to close connections
+     * while the pool is not being used.
+     */
+    public void evictIdleConnections() {
+        // The least recently used connections are at the end of the deque
+        IdleConnection idle;
+        while ((idle = idleConnections.peekLast()) != null && isExpired(idle)) {
+            if (idleConnections.removeLastOccurrence(idle)) {
+                idleCount.decrementAndGet();
+                close(idle.connection);
+            }
+        }
+    }
+
+    /**
+     * Logs a warning for each connection that has been reserved for longer than
+     * the leak detection threshold, including the stack trace of the code that
+     * reserved it. Each connection is reported only once. This is also done
+     * automatically whenever a connection is reserved.
+     */
+    public void reportLeakedConnections() {
+        long threshold = leakDetectionThresholdMillis;
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Reservation reservation : reservedConnections.values()) {
+            if (!reservation.reported
+                    && now - reservation.reservedAt > threshold) {
+                reservation.reported = true;
+                getLogger().log(Level.WARNING,
+                        "A database connection has been reserved for "
+                                + (now - reservation.reservedAt)
+                                + " ms and may have been leaked",
+                        reservation.reservedBy);
+            }
+        }
+    }
+
+    private Connection createConnection() throws SQLException {
+        Connection c = DriverManager.getConnection(connectionUri, userName,
+                password);
+        c.setAutoCommit(false);
+        if (driverName.toLowerCase(Locale.ROOT).contains("mysql")) {
+            try {
+                Statement s = c.createStatement();
+                s.execute("SET SESSION sql_mode = 'ANSI'");
+                s.close();
+            } catch (Exception e) {
+                // Failed to set ansi mode; continue
+            }
+        }
+        return c;
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // No need to do anything
+        }
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        // Wake up the threads waiting for a connection so that they fail
+        permits.release(maxConnections);
+        IdleConnection idle;
+        while ((idle = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            close(idle.connection);
+        }
+        for (Connection c : reservedConnections.keySet()) {
+            close(c);
+        }
+    }
+
+    /**
+     * Sets the maximum time {@link #reserveConnection()} waits for a connection
+     * to become available when all connections are in use. The default is 30
+     * seconds.
+     *
+     * @param maxWaitMillis
+     *            the maximum wait time in milliseconds, 0 to fail immediately
+     */
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Gets the maximum time to wait for a connection to become available.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Sets the timeout for validating idle connections using
+     * {@link Connection#isValid(int)} before they are reserved. The default is
+     * 5 seconds.
+     *
+     * @see #setValidationIdleMillis(long)
+     *
+     * @param validationTimeout
+     *            the validation timeout in seconds, 0 to not validate
+     *            connections
+     */
+    public void setValidationTimeout(int validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    /**
+     * Gets the timeout for validating idle connections.
+     *
+     * @return the validation timeout in seconds, 0 if connections are not
+     *         validated
+     */
+    public int getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * Sets how long a connection must have been idle before it is validated
+     * when reserved. Validation requires a round trip to the database, so
+     * connections that have been used recently are handed out without
+     * validating them. The default is 30 seconds.
+     *
+     * @param validationIdleMillis
+     *            the idle time in milliseconds after which connections are
+     *            validated, 0 to validate connections every time they are
+     *            reserved
+     */
+    public void setValidationIdleMillis(long validationIdleMillis) {
+        this.validationIdleMillis = validationIdleMillis;
+    }
+
+    /**
+     * Gets how long a connection must have been idle before it is validated
+     * when reserved.
+     *
+     * @return the idle time in milliseconds after which connections are
+     *         validated
+     */
+    public long getValidationIdleMillis() {
+        return validationIdleMillis;
+    }
+
+    /**
+     * Sets the time after which an idle connection is closed. The default is 10
+     * minutes.
+     *
+     * @param maxIdleMillis
+     *            the maximum idle time in milliseconds, 0 to never close idle
+     *            connections
+     */
+    public void setMaxIdleMillis(long maxIdleMillis) {
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    /**
+     * Gets the time after which an idle connection is closed.
+     *
+     * @return the maximum idle time in milliseconds, 0 if idle connections are
+     *         never closed
+     */
+    public long getMaxIdleMillis() {
+        return maxIdleMillis;
+    }
+
+    /**
+     * Sets the time after which a reserved connection that has not been
+     * released is reported as possibly leaked. When enabled, the stack trace of
+     * each reservation is recorded so that it can be included in the report.
+     * Leak detection is disabled by default.
+     *
+     * @param leakDetectionThresholdMillis
+     *            the threshold in milliseconds, 0 to disable leak detection
+     */
+    public void setLeakDetectionThresholdMillis(
+            long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Gets the time after which a reserved connection is reported as possibly
+     * leaked.
+     *
+     * @return the threshold in milliseconds, 0 if leak detection is disabled
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Gets the number of connections currently reserved.
+     *
+     * @return the number of active connections
+     */
+    public int getActiveConnections() {
+        return reservedConnections.size();
+    }
+
+    /**
+     * Gets the number of open connections not currently reserved.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnections() {
+        return idleCount.get();
+    }
+
+    /**
+     * Gets an estimate of the number of threads waiting for a connection.
+     *
+     * @return the number of waiting threads
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Gets the number of successfully reserved connections since the pool was
+     * created.
+     *
+     * @return the number of reservations
+     */
+    public long getReservationCount() {
+        return reservationCount.get();
+    }
+
+    /**
+     * Gets the number of reservations that failed because no connection became
+     * available within the maximum wait time.
+     *
+     * @return the number of timed out reservations
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Gets the total time threads have spent waiting for a connection.
+     *
+     * @return the total wait time in milliseconds
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * Gets the longest time a thread has spent waiting for a connection.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    public long getLongestWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initializeState();
+    }
+
+    private static final Logger getLogger() {
+        return Logger.getLogger(ConcurrentJDBCConnectionPool.class.getName());
+    }
+}
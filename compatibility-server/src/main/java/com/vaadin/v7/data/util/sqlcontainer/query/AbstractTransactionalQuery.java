@@ -170,6 +170,16 @@ public abstract class AbstractTransactionalQuery implements Serializable {
         return connectionPool.reserveConnection();
     }
 
+    /**
+     * Returns the connection pool used by this query.
+     *
+     * @return the connection pool
+     * @since 8.6
+     */
+    protected JDBCConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     protected boolean isInTransaction() {
         return activeConnection != null;
     }
@@ -22,19 +22,31 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EventObject;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
 import com.vaadin.v7.data.Container.Filter;
+import com.vaadin.v7.data.util.filter.And;
 import com.vaadin.v7.data.util.filter.Compare.Equal;
+import com.vaadin.v7.data.util.filter.Compare.Greater;
+import com.vaadin.v7.data.util.filter.Compare.Less;
+import com.vaadin.v7.data.util.filter.Or;
 import com.vaadin.v7.data.util.sqlcontainer.ColumnProperty;
 import com.vaadin.v7.data.util.sqlcontainer.OptimisticLockException;
 import com.vaadin.v7.data.util.sqlcontainer.RowId;
@@ -86,6 +98,42 @@ public class TableQuery extends AbstractTransactionalQuery
     /** Row ID change events, stored until commit() is called */
     private final List<RowIdChangeEvent> bufferedEvents = new ArrayList<RowIdChangeEvent>();
 
+    /**
+     * Maximum number of page boundaries remembered for keyset pagination.
+     */
+    private static final int MAX_PAGE_BOUNDARIES = 1000;
+
+    /** True to fetch following rows by seeking from known page boundaries */
+    private boolean keysetPagingEnabled = false;
+    /**
+     * Sort key values of rows read from fetched pages, by row index. Only the
+     * last row read from each result set is remembered.
+     */
+    private final TreeMap<Integer, Object[]> pageBoundaries = new TreeMap<Integer, Object[]>();
+    /** The most recently fetched row, not yet stored as a page boundary */
+    private int fetchedRowIndex = -1;
+    private Object[] fetchedRowKey;
+    /** Result set the sort key column indexes have been resolved for */
+    private transient ResultSet fetchedResultSet;
+    /**
+     * Column indexes of the sort key in {@link #fetchedResultSet}, or null if
+     * the sort key may contain NULL values and cannot be used for seeking.
+     */
+    private transient int[] fetchedKeyColumns;
+
+    /**
+     * Maximum number of rows sent to the database in a single batch.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /** True to execute updates and deletes with identical SQL in batches */
+    private boolean batchUpdatesEnabled = false;
+    /**
+     * Statements prepared during the current transaction, by SQL string. Closed
+     * when the transaction ends.
+     */
+    private transient Map<String, PreparedStatement> statementCache;
+
     /** Set to true to output generated SQL Queries to System.out */
     private final boolean debug = false;
 
@@ -228,12 +276,85 @@ public class TableQuery extends AbstractTransactionalQuery
     @Override
     public ResultSet getResults(int offset, int pagelength)
             throws SQLException {
+        return executeQuery(generateSelectQuery(offset, pagelength));
+    }
+
+    /**
+     * Prepares reading the given rows on another thread. The query is generated
+     * immediately using the current filters and sort order. The returned task
+     * executes it on a connection of its own reserved from the connection pool,
+     * independently of any transaction of this query, and returns the rows as a
+     * disconnected {@link CachedRowSet}.
+     * <p>
+     * The task does not access this query, so it can be run while this query is
+     * being used by another thread.
+     *
+     * @param offset
+     *            the index of the first row to read
+     * @param pagelength
+     *            the number of rows to read
+     * @return a task reading the rows
+     * @since 8.6
+     */
+    public Callable<ResultSet> prepareReadAhead(int offset, int pagelength) {
+        final StatementHelper sh = generateSelectQuery(offset, pagelength);
+        final JDBCConnectionPool pool = getConnectionPool();
+        return () -> {
+            Connection connection = pool.reserveConnection();
+            try (PreparedStatement pstmt = connection
+                    .prepareStatement(sh.getQueryString())) {
+                sh.setParameterValuesToStatement(pstmt);
+                getLogger().log(Level.FINE, "DB -> {0} (read-ahead)",
+                        sh.getQueryString());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    CachedRowSet rowSet = RowSetProvider.newFactory()
+                            .createCachedRowSet();
+                    rowSet.populate(rs);
+                    return rowSet;
+                }
+            } finally {
+                try {
+                    if (!connection.getAutoCommit()) {
+                        connection.rollback();
+                    }
+                } finally {
+                    pool.releaseConnection(connection);
+                }
+            }
+        };
+    }
+
+    private StatementHelper generateSelectQuery(int offset, int pagelength) {
         StatementHelper sh;
-        /*
-         * If no ordering is explicitly set, results will be ordered by the
-         * first primary key column.
-         */
-        if (orderBys == null || orderBys.isEmpty()) {
+        if (keysetPagingEnabled) {
+            List<OrderBy> ob = getKeysetOrder();
+            storeFetchedRow();
+            Entry<Integer, Object[]> boundary = pageBoundaries
+                    .floorEntry(offset - 1);
+            if (boundary != null) {
+                /*
+                 * Seek past the closest known row before the requested one and
+                 * only skip the rows between them.
+                 */
+                List<Filter> seekFilters = new ArrayList<Filter>();
+                if (filters != null) {
+                    seekFilters.addAll(filters);
+                }
+                seekFilters.add(createSeekFilter(ob, boundary.getValue()));
+                getLogger().log(Level.FINE, "Seeking to row {0} from row {1}",
+                        new Object[] { offset, boundary.getKey() });
+                sh = sqlGenerator.generateSelectQuery(getFullTableName(),
+                        seekFilters, ob, offset - boundary.getKey() - 1,
+                        pagelength, null);
+            } else {
+                sh = sqlGenerator.generateSelectQuery(getFullTableName(),
+                        filters, ob, offset, pagelength, null);
+            }
+        } else if (orderBys == null || orderBys.isEmpty()) {
+            /*
+             * If no ordering is explicitly set, results will be ordered by the
+             * first primary key column.
+             */
             List<OrderBy> ob = new ArrayList<OrderBy>();
             for (int i = 0; i < primaryKeyColumns.size(); i++) {
                 ob.add(new OrderBy(primaryKeyColumns.get(i), true));
@@ -244,7 +365,187 @@ public class TableQuery extends AbstractTransactionalQuery
             sh = sqlGenerator.generateSelectQuery(getFullTableName(), filters,
                     orderBys, offset, pagelength, null);
         }
-        return executeQuery(sh);
+        return sh;
+    }
+
+    /**
+     * Enables or disables keyset pagination. When enabled, the sort key of the
+     * last row read from each fetched page is remembered. A later request for
+     * rows after a remembered row then selects rows with a greater sort key
+     * instead of making the database skip all preceding rows using an offset.
+     * Only the rows between the closest remembered row and the requested offset
+     * are skipped, so random jumps fall back to plain offsets.
+     * <p>
+     * The primary key columns are appended to the sort order to make it
+     * unambiguous. Rows are only remembered when no column of the sort order
+     * can be NULL. Remembered rows are cleared when the filters or sort order
+     * change, when rows are stored or removed through this query and when
+     * {@link #clearPageBoundaries()} is called.
+     * <p>
+     * Rows are remembered through {@link #rowFetched(int, ResultSet)}, which
+     * {@link com.vaadin.v7.data.util.sqlcontainer.SQLContainer SQLContainer}
+     * calls for every row it reads.
+     *
+     * @param keysetPagingEnabled
+     *            true to enable keyset pagination, false to always use offsets
+     * @since 8.6
+     */
+    public void setKeysetPagingEnabled(boolean keysetPagingEnabled) {
+        this.keysetPagingEnabled = keysetPagingEnabled;
+        clearPageBoundaries();
+    }
+
+    /**
+     * Returns whether keyset pagination is enabled.
+     *
+     * @see #setKeysetPagingEnabled(boolean)
+     *
+     * @return true if keyset pagination is enabled
+     * @since 8.6
+     */
+    public boolean isKeysetPagingEnabled() {
+        return keysetPagingEnabled;
+    }
+
+    /**
+     * Notifies this query that the current row of a result set returned by
+     * {@link #getResults(int, int)} has been read. If keyset pagination is
+     * enabled, the last row read is remembered as a starting point for fetching
+     * the rows after it.
+     *
+     * @param index
+     *            the index of the row in the full, sorted and filtered result
+     * @param rs
+     *            the result set, positioned on the row
+     * @throws SQLException
+     * @since 8.6
+     */
+    public void rowFetched(int index, ResultSet rs) throws SQLException {
+        if (!keysetPagingEnabled) {
+            return;
+        }
+        if (rs != fetchedResultSet) {
+            fetchedResultSet = rs;
+            fetchedKeyColumns = resolveKeyColumns(rs);
+        }
+        if (fetchedKeyColumns == null) {
+            return;
+        }
+        Object[] key = new Object[fetchedKeyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = rs.getObject(fetchedKeyColumns[i]);
+        }
+        fetchedRowIndex = index;
+        fetchedRowKey = key;
+    }
+
+    /**
+     * Forgets all rows remembered for keyset pagination. Should be called when
+     * the table may have been modified by someone else.
+     *
+     * @since 8.6
+     */
+    public void clearPageBoundaries() {
+        pageBoundaries.clear();
+        fetchedRowKey = null;
+        fetchedResultSet = null;
+    }
+
+    private void storeFetchedRow() {
+        if (fetchedRowKey == null) {
+            return;
+        }
+        pageBoundaries.put(fetchedRowIndex, fetchedRowKey);
+        fetchedRowKey = null;
+        if (pageBoundaries.size() > MAX_PAGE_BOUNDARIES) {
+            // Drop the boundary farthest away from the latest one
+            int distanceToFirst = fetchedRowIndex - pageBoundaries.firstKey();
+            int distanceToLast = pageBoundaries.lastKey() - fetchedRowIndex;
+            if (distanceToFirst > distanceToLast) {
+                pageBoundaries.pollFirstEntry();
+            } else {
+                pageBoundaries.pollLastEntry();
+            }
+        }
+    }
+
+    private int[] resolveKeyColumns(ResultSet rs) throws SQLException {
+        List<OrderBy> ob = getKeysetOrder();
+        ResultSetMetaData rsmd = rs.getMetaData();
+        int[] columns = new int[ob.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = rs.findColumn(ob.get(i).getColumn());
+            if (rsmd.isNullable(columns[i]) != ResultSetMetaData.columnNoNulls
+                    && !primaryKeyColumns.contains(ob.get(i).getColumn())) {
+                return null;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the sort order followed by the primary key columns not already
+     * part of it, making the order of rows unambiguous.
+     */
+    private List<OrderBy> getKeysetOrder() {
+        List<OrderBy> ob = new ArrayList<OrderBy>();
+        List<String> columns = new ArrayList<String>();
+        if (orderBys != null) {
+            for (OrderBy orderBy : orderBys) {
+                ob.add(orderBy);
+                columns.add(orderBy.getColumn());
+            }
+        }
+        for (String column : primaryKeyColumns) {
+            if (!columns.contains(column)) {
+                ob.add(new OrderBy(column, true));
+            }
+        }
+        return ob;
+    }
+
+    /**
+     * Creates a filter accepting the rows following the row with the given sort
+     * key, i.e. (c1 > v1) OR (c1 = v1 AND c2 > v2) OR ... with the comparisons
+     * reversed for descending columns.
+     */
+    private static Filter createSeekFilter(List<OrderBy> ob, Object[] key) {
+        List<Filter> alternatives = new ArrayList<Filter>();
+        for (int i = 0; i < ob.size(); i++) {
+            Filter[] conditions = new Filter[i + 1];
+            for (int j = 0; j < i; j++) {
+                conditions[j] = new Equal(ob.get(j).getColumn(), key[j]);
+            }
+            String column = ob.get(i).getColumn();
+            conditions[i] = ob.get(i).isAscending()
+                    ? new Greater(column, key[i])
+                    : new Less(column, key[i]);
+            alternatives.add(conditions.length == 1 ? conditions[0]
+                    : new And(conditions));
+        }
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+        return new Or(alternatives.toArray(new Filter[alternatives.size()]));
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? Collections.<T> emptyList() : list;
+    }
+
+    private static boolean isSameOrder(List<OrderBy> a, List<OrderBy> b) {
+        a = nullToEmpty(a);
+        b = nullToEmpty(b);
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).getColumn().equals(b.get(i).getColumn())
+                    || a.get(i).isAscending() != b.get(i).isAscending()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -261,6 +562,7 @@ public class TableQuery extends AbstractTransactionalQuery
         }
         StatementHelper sh;
         int result = 0;
+        clearPageBoundaries();
         if (row.getId() instanceof TemporaryRowId) {
             setVersionColumnFlagInProperty(row);
             sh = sqlGenerator.generateInsertQuery(getFullTableName(), row);
@@ -278,6 +580,202 @@ public class TableQuery extends AbstractTransactionalQuery
         return result;
     }
 
+    /**
+     * Stores the given rows in the database table. Existing rows are updated
+     * before new rows are inserted. New rows are inserted one at a time to get
+     * their generated keys. If batch updates are enabled, updates with
+     * identical SQL are executed as JDBC batches, otherwise one at a time.
+     *
+     * @see #setBatchUpdatesEnabled(boolean)
+     *
+     * @param rows
+     *            the rows to store, not null
+     * @return the number of affected database rows for each row, in the same
+     *         order as the given rows, or {@link Statement#SUCCESS_NO_INFO} if
+     *         the database did not report the number for a batched row
+     * @throws OptimisticLockException
+     *             if a version column is set and some row was not updated
+     * @throws SQLException
+     * @since 8.6
+     */
+    public int[] storeRows(List<RowItem> rows) throws SQLException {
+        if (rows == null) {
+            throw new IllegalArgumentException(
+                    "Rows argument must be non-null.");
+        }
+        clearPageBoundaries();
+        int[] results = new int[rows.size()];
+        StatementHelper[] statements = new StatementHelper[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            RowItem row = rows.get(i);
+            if (!(row.getId() instanceof TemporaryRowId)) {
+                setVersionColumnFlagInProperty(row);
+                statements[i] = sqlGenerator
+                        .generateUpdateQuery(getFullTableName(), row);
+            }
+        }
+        // Updates first, e.g. an updated row may release a unique key used by
+        // an inserted row
+        executeUpdates(statements, results);
+        for (int i = 0; i < rows.size(); i++) {
+            RowItem row = rows.get(i);
+            if (row.getId() instanceof TemporaryRowId) {
+                setVersionColumnFlagInProperty(row);
+                results[i] = executeUpdateReturnKeys(sqlGenerator
+                        .generateInsertQuery(getFullTableName(), row), row);
+            }
+        }
+        if (versionColumn != null) {
+            for (int i = 0; i < results.length; i++) {
+                if (isFailedUpdate(results[i])) {
+                    throw new OptimisticLockException(
+                            "Someone else changed the row that was being updated.",
+                            rows.get(i).getId());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Removes the given rows from the database table. If batch updates are
+     * enabled, the deletes are executed as JDBC batches, otherwise one at a
+     * time.
+     *
+     * @see #setBatchUpdatesEnabled(boolean)
+     *
+     * @param rows
+     *            the rows to remove, not null
+     * @return the number of removed database rows for each row, in the same
+     *         order as the given rows, or {@link Statement#SUCCESS_NO_INFO} if
+     *         the database did not report the number for a batched row
+     * @throws OptimisticLockException
+     *             if a version column is set and some row was not removed
+     * @throws SQLException
+     * @since 8.6
+     */
+    public int[] removeRows(List<RowItem> rows) throws SQLException {
+        if (rows == null) {
+            throw new IllegalArgumentException(
+                    "Rows argument must be non-null.");
+        }
+        clearPageBoundaries();
+        int[] results = new int[rows.size()];
+        StatementHelper[] statements = new StatementHelper[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            statements[i] = sqlGenerator.generateDeleteQuery(getFullTableName(),
+                    primaryKeyColumns, versionColumn, rows.get(i));
+        }
+        executeUpdates(statements, results);
+        if (versionColumn != null) {
+            for (int i = 0; i < results.length; i++) {
+                if (isFailedUpdate(results[i])) {
+                    throw new OptimisticLockException(
+                            "Someone else changed the row that was being deleted.",
+                            rows.get(i).getId());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Enables or disables batch updates. When enabled, {@link #storeRows(List)}
+     * and {@link #removeRows(List)} group the rows by the generated SQL and
+     * execute each group with a single JDBC batch, which
+     * {@link com.vaadin.v7.data.util.sqlcontainer.SQLContainer#commit()
+     * SQLContainer.commit()} then uses for all buffered changes.
+     * <p>
+     * Some JDBC drivers do not report the number of rows affected by each
+     * statement of a batch. Concurrent modifications cannot be detected for
+     * such rows even if a version column is set.
+     *
+     * @param batchUpdatesEnabled
+     *            true to use batches, false to execute one statement per row
+     * @since 8.6
+     */
+    public void setBatchUpdatesEnabled(boolean batchUpdatesEnabled) {
+        this.batchUpdatesEnabled = batchUpdatesEnabled;
+    }
+
+    /**
+     * Returns whether batch updates are enabled.
+     *
+     * @see #setBatchUpdatesEnabled(boolean)
+     *
+     * @return true if batch updates are enabled
+     * @since 8.6
+     */
+    public boolean isBatchUpdatesEnabled() {
+        return batchUpdatesEnabled;
+    }
+
+    /**
+     * Checks whether an update count means that the row was not updated or
+     * removed.
+     */
+    private static boolean isFailedUpdate(int count) {
+        return count == 0 || count == Statement.EXECUTE_FAILED;
+    }
+
+    /**
+     * Executes the given statements, skipping null ones, and stores the numbers
+     * of affected rows in the corresponding positions of the results array.
+     */
+    private void executeUpdates(StatementHelper[] statements, int[] results)
+            throws SQLException {
+        // Group by SQL, keeping the order in which the SQL first occurs
+        Map<String, List<Integer>> groups = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < statements.length; i++) {
+            if (statements[i] == null) {
+                continue;
+            }
+            String sql = statements[i].getQueryString();
+            List<Integer> group = groups.get(sql);
+            if (group == null) {
+                group = new ArrayList<Integer>();
+                groups.put(sql, group);
+            }
+            group.add(i);
+        }
+        for (Entry<String, List<Integer>> group : groups.entrySet()) {
+            List<Integer> indexes = group.getValue();
+            if (!batchUpdatesEnabled || indexes.size() == 1) {
+                for (int index : indexes) {
+                    results[index] = executeUpdate(statements[index]);
+                }
+            } else {
+                executeBatch(group.getKey(), indexes, statements, results);
+            }
+        }
+    }
+
+    private void executeBatch(String sql, List<Integer> indexes,
+            StatementHelper[] statements, int[] results) throws SQLException {
+        Connection connection = getConnection();
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = prepareStatement(connection, sql, false);
+            getLogger().log(Level.FINE, "DB -> {0} (batch of {1})",
+                    new Object[] { sql, indexes.size() });
+            int size = indexes.size();
+            for (int start = 0; start < size; start += MAX_BATCH_SIZE) {
+                int end = Math.min(start + MAX_BATCH_SIZE, size);
+                for (int i = start; i < end; i++) {
+                    statements[indexes.get(i)]
+                            .setParameterValuesToStatement(pstmt);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int i = start; i < end; i++) {
+                    results[indexes.get(i)] = counts[i - start];
+                }
+            }
+        } finally {
+            releaseStatement(connection, pstmt, null);
+        }
+    }
+
     private void setVersionColumnFlagInProperty(RowItem row) {
         ColumnProperty versionProperty = (ColumnProperty) row
                 .getItemProperty(versionColumn);
@@ -299,6 +797,7 @@ public class TableQuery extends AbstractTransactionalQuery
      * @throws SQLException
      */
     public RowId storeRowImmediately(RowItem row) throws SQLException {
+        clearPageBoundaries();
         beginTransaction();
         /* Set version column, if one is provided */
         setVersionColumnFlagInProperty(row);
@@ -335,21 +834,30 @@ public class TableQuery extends AbstractTransactionalQuery
     @Override
     public void setFilters(List<Filter> filters)
             throws UnsupportedOperationException {
+        if (!nullToEmpty(filters).equals(nullToEmpty(this.filters))) {
+            clearPageBoundaries();
+        }
         if (filters == null) {
             this.filters = null;
             return;
         }
-        this.filters = Collections.unmodifiableList(filters);
+        // Copied, the caller may change its list before the next call
+        this.filters = Collections
+                .unmodifiableList(new ArrayList<Filter>(filters));
     }
 
     @Override
     public void setOrderBy(List<OrderBy> orderBys)
             throws UnsupportedOperationException {
+        if (!isSameOrder(orderBys, this.orderBys)) {
+            clearPageBoundaries();
+        }
         if (orderBys == null) {
             this.orderBys = null;
             return;
         }
-        this.orderBys = Collections.unmodifiableList(orderBys);
+        this.orderBys = Collections
+                .unmodifiableList(new ArrayList<OrderBy>(orderBys));
     }
 
     @Override
@@ -362,6 +870,7 @@ public class TableQuery extends AbstractTransactionalQuery
     @Override
     public void commit() throws UnsupportedOperationException, SQLException {
         getLogger().log(Level.FINE, "DB -> commit");
+        closeCachedStatements();
         super.commit();
 
         /* Handle firing row ID change events */
@@ -380,6 +889,7 @@ public class TableQuery extends AbstractTransactionalQuery
     @Override
     public void rollback() throws UnsupportedOperationException, SQLException {
         getLogger().log(Level.FINE, "DB -> rollback");
+        closeCachedStatements();
         super.rollback();
     }
 
@@ -497,13 +1007,13 @@ public class TableQuery extends AbstractTransactionalQuery
         Connection connection = null;
         try {
             connection = getConnection();
-            pstmt = connection.prepareStatement(sh.getQueryString());
+            pstmt = prepareStatement(connection, sh.getQueryString(), false);
             sh.setParameterValuesToStatement(pstmt);
             getLogger().log(Level.FINE, "DB -> {0}", sh.getQueryString());
             int retval = pstmt.executeUpdate();
             return retval;
         } finally {
-            releaseConnection(connection, pstmt, null);
+            releaseStatement(connection, pstmt, null);
         }
     }
 
@@ -529,8 +1039,7 @@ public class TableQuery extends AbstractTransactionalQuery
         Connection connection = null;
         try {
             connection = getConnection();
-            pstmt = connection.prepareStatement(sh.getQueryString(),
-                    primaryKeyColumns.toArray(new String[0]));
+            pstmt = prepareStatement(connection, sh.getQueryString(), true);
             sh.setParameterValuesToStatement(pstmt);
             getLogger().log(Level.FINE, "DB -> {0}", sh.getQueryString());
             int result = pstmt.executeUpdate();
@@ -539,8 +1048,81 @@ public class TableQuery extends AbstractTransactionalQuery
             bufferedEvents.add(new RowIdChangeEvent(row.getId(), newId));
             return result;
         } finally {
-            releaseConnection(connection, pstmt, genKeys);
+            releaseStatement(connection, pstmt, genKeys);
+        }
+    }
+
+    /**
+     * Prepares an update statement. Within a transaction, statements are cached
+     * and reused for identical SQL until the transaction ends.
+     *
+     * @param connection
+     *            the connection to prepare the statement with
+     * @param sql
+     *            the SQL of the statement
+     * @param returnKeys
+     *            true to make the statement return the generated primary key
+     *            values
+     * @return a prepared statement, to be released using
+     *         {@link #releaseStatement(Connection, PreparedStatement, ResultSet)}
+     * @throws SQLException
+     */
+    private PreparedStatement prepareStatement(Connection connection,
+            String sql, boolean returnKeys) throws SQLException {
+        if (!isInTransaction()) {
+            return doPrepareStatement(connection, sql, returnKeys);
+        }
+        if (statementCache == null) {
+            statementCache = new HashMap<String, PreparedStatement>();
+        }
+        String key = (returnKeys ? "K" : "U") + sql;
+        PreparedStatement pstmt = statementCache.get(key);
+        if (pstmt == null) {
+            pstmt = doPrepareStatement(connection, sql, returnKeys);
+            statementCache.put(key, pstmt);
+        }
+        return pstmt;
+    }
+
+    private PreparedStatement doPrepareStatement(Connection connection,
+            String sql, boolean returnKeys) throws SQLException {
+        if (returnKeys) {
+            return connection.prepareStatement(sql,
+                    primaryKeyColumns.toArray(new String[0]));
+        }
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Releases a statement prepared using
+     * {@link #prepareStatement(Connection, String, boolean)}. Statements cached
+     * for the transaction are only cleared, other statements are closed.
+     */
+    private void releaseStatement(Connection connection,
+            PreparedStatement pstmt, ResultSet rs) throws SQLException {
+        if (pstmt != null && isInTransaction()) {
+            try {
+                pstmt.clearParameters();
+            } finally {
+                releaseConnection(connection, null, rs);
+            }
+        } else {
+            releaseConnection(connection, pstmt, rs);
+        }
+    }
+
+    private void closeCachedStatements() {
+        if (statementCache == null) {
+            return;
+        }
+        for (PreparedStatement pstmt : statementCache.values()) {
+            try {
+                pstmt.close();
+            } catch (SQLException e) {
+                getLogger().log(Level.FINE, "Failed to close statement", e);
+            }
         }
+        statementCache = null;
     }
 
     /**
@@ -669,6 +1251,7 @@ public class TableQuery extends AbstractTransactionalQuery
             getLogger().log(Level.FINE, "Removing row with id: {0}",
                     row.getId().getId()[0]);
         }
+        clearPageBoundaries();
         if (executeUpdate(sqlGenerator.generateDeleteQuery(getFullTableName(),
                 primaryKeyColumns, versionColumn, row)) == 1) {
             return true;
@@ -590,6 +590,27 @@ public class Table extends AbstractSelect implements Action.Container,
 
     private boolean rowCacheInvalidated;
 
+    /**
+     * Kinds of changes to the rows in the page buffer that can be sent to the
+     * client without repainting all rows.
+     */
+    private enum RowChange {
+        UPDATE, INSERT, REMOVE;
+    }
+
+    /**
+     * The change made to the rows in the page buffer since the last paint, or
+     * null if there is no such change. Only used when the row cache has not
+     * been invalidated.
+     */
+    private RowChange pendingRowChange;
+
+    private int firstChangedRowIndex;
+
+    private int changedRowCount;
+
+    private boolean deleteRowsBelowChange;
+
     private RowGenerator rowGenerator = null;
 
     private final Map<Field<?>, Property<?>> associatedProperties = new HashMap<Field<?>, Property<?>>();
@@ -1755,6 +1776,7 @@ public class Table extends AbstractSelect implements Action.Container,
 
         // Saves the results to internal buffer
         pageBuffer = getVisibleCellsNoCache(firstIndex, rows, true);
+        pendingRowChange = null;
 
         if (rows > 0) {
             pageBufferFirstIndex = firstIndex;
@@ -1956,6 +1978,206 @@ public class Table extends AbstractSelect implements Action.Container,
         return cells;
     }
 
+    /**
+     * Checks whether the rows in the page buffer can be changed in place and
+     * the change sent to the client as a partial row update.
+     *
+     * @return true if a partial row update is possible
+     */
+    private boolean canChangeRowsInPageBuffer() {
+        return isAttached() && isContentRefreshesEnabled && !isBeingPainted
+                && !isRowCacheInvalidated() && pageBuffer != null
+                && pageBuffer[CELL_ITEMID].length > 0
+                && items instanceof Container.Indexed
+                && !shouldHideNullSelectionItem();
+    }
+
+    /**
+     * Re-renders the rows in the page buffer that show the given property,
+     * without touching the other rows. Components in the re-rendered rows that
+     * are still used after the update are kept attached.
+     *
+     * @param property
+     *            the property whose value has changed
+     * @return true if the rows were re-rendered, false if the property is not
+     *         shown in the page buffer and the whole buffer must be refreshed
+     */
+    private boolean refreshRowsOfProperty(Property<?> property) {
+        if (!isAttached() || !isContentRefreshesEnabled || isBeingPainted
+                || pageBuffer == null
+                || !listenedProperties.contains(property)) {
+            return false;
+        }
+
+        final Object[] colids = getVisibleColumns();
+        final int bufferSize = pageBuffer[CELL_ITEMID].length;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < bufferSize; i++) {
+            if (pageBuffer[CELL_GENERATED_ROW][i] != null) {
+                continue;
+            }
+            Object itemId = pageBuffer[CELL_ITEMID][i];
+            for (Object colId : colids) {
+                if (!columnGenerators.containsKey(colId)
+                        && !isColumnCollapsed(colId) && property
+                                .equals(getContainerProperty(itemId, colId))) {
+                    if (first == -1) {
+                        first = i;
+                    }
+                    last = i;
+                    break;
+                }
+            }
+        }
+        if (first == -1) {
+            return false;
+        }
+
+        int firstIndex = pageBufferFirstIndex + first;
+        int rows = last - first + 1;
+        refreshRowsInPageBuffer(firstIndex, rows);
+
+        if (isRowCacheInvalidated()) {
+            // All rows will be painted anyway
+        } else if (pendingRowChange == null && canChangeRowsInPageBuffer()) {
+            pendingRowChange = RowChange.UPDATE;
+            firstChangedRowIndex = firstIndex;
+            changedRowCount = rows;
+        } else if (pendingRowChange == RowChange.UPDATE) {
+            int lastIndex = Math.max(firstIndex + rows,
+                    firstChangedRowIndex + changedRowCount) - 1;
+            firstChangedRowIndex = Math.min(firstIndex, firstChangedRowIndex);
+            changedRowCount = lastIndex - firstChangedRowIndex + 1;
+        } else {
+            // The page buffer is up to date, but the changes cannot be sent as
+            // a single partial update
+            setRowCacheInvalidated(true);
+        }
+        maybeThrowCacheUpdateExceptions();
+        return true;
+    }
+
+    /**
+     * Renders the given rows of the page buffer again without reusing their
+     * cached values.
+     *
+     * @param firstIndex
+     *            index of the first row to render, must be in the page buffer
+     * @param rows
+     *            the number of rows to render, must be in the page buffer
+     */
+    private void refreshRowsInPageBuffer(int firstIndex, int rows) {
+        int cacheIx = firstIndex - pageBufferFirstIndex;
+        HashSet<Component> oldComponents = new HashSet<Component>();
+        for (int i = CELL_FIRSTCOL; i < pageBuffer.length; i++) {
+            for (int ix = cacheIx; ix < cacheIx + rows; ix++) {
+                if (pageBuffer[i][ix] instanceof Component) {
+                    oldComponents.add((Component) pageBuffer[i][ix]);
+                }
+            }
+        }
+
+        Object[][] cells = getVisibleCellsNoCache(firstIndex, rows, false,
+                false);
+        for (int i = 0; i < pageBuffer.length; i++) {
+            for (int ix = 0; ix < cells[CELL_ITEMID].length; ix++) {
+                pageBuffer[i][cacheIx + ix] = cells[i][ix];
+                oldComponents.remove(cells[i][ix]);
+            }
+        }
+
+        // Components that were replaced are no longer rendered
+        for (Component c : oldComponents) {
+            visibleComponents.remove(c);
+            unregisterComponent(c);
+        }
+    }
+
+    /**
+     * Applies an item addition or removal to the page buffer if the changed
+     * rows are in the page buffer, so that only the changed rows need to be
+     * rendered and sent to the client.
+     *
+     * @param event
+     *            the item set change event from the container
+     * @return true if the page buffer was updated, false if the whole buffer
+     *         must be refreshed
+     */
+    private boolean changeRowsInPageBuffer(Container.ItemSetChangeEvent event) {
+        if (!canChangeRowsInPageBuffer() || pendingRowChange != null
+                || !isItemSetChangeIndexed() || event.getContainer() != items
+                || getRowHeaderMode() == RowHeaderMode.INDEX
+                || repairOnReAddAllRowsDataScrollPositionItemIndex != -1) {
+            return false;
+        }
+
+        final int bufferSize = pageBuffer[CELL_ITEMID].length;
+        if (event instanceof Container.Indexed.ItemAddEvent) {
+            Container.Indexed.ItemAddEvent addEvent = (Container.Indexed.ItemAddEvent) event;
+            int firstIndex = addEvent.getFirstIndex();
+            int count = addEvent.getAddedItemsCount();
+            // Rows can be inserted inside the page buffer or appended to it
+            // if it already ends with the last item
+            boolean inPageBuffer = firstIndex >= pageBufferFirstIndex
+                    && firstIndex < pageBufferFirstIndex + bufferSize;
+            boolean appended = firstIndex == pageBufferFirstIndex + bufferSize
+                    && firstIndex + count == size();
+            if (count <= 0 || !(inPageBuffer || appended)
+                    || firstIndex > getMaxPageBufferIndex()
+                    || !addEvent.getFirstItemId()
+                            .equals(getIdByIndex(firstIndex))) {
+                return false;
+            }
+
+            setCurrentPageFirstItemIndex(getCurrentPageFirstItemIndex(), false);
+            Object[][] cells = getVisibleCellsInsertIntoCache(firstIndex,
+                    count);
+            pendingRowChange = RowChange.INSERT;
+            firstChangedRowIndex = firstIndex;
+            changedRowCount = cells[CELL_ITEMID].length;
+            deleteRowsBelowChange = changedRowCount < count;
+        } else if (event instanceof Container.Indexed.ItemRemoveEvent) {
+            Container.Indexed.ItemRemoveEvent removeEvent = (Container.Indexed.ItemRemoveEvent) event;
+            int firstIndex = removeEvent.getFirstIndex();
+            int count = removeEvent.getRemovedItemsCount();
+            int cacheIx = firstIndex - pageBufferFirstIndex;
+            int maxFirstIndex = Math.max(size() - getPageLength(), 0);
+            if (count <= 0 || cacheIx < 0 || cacheIx + count > bufferSize
+                    || !removeEvent.getFirstItemId()
+                            .equals(pageBuffer[CELL_ITEMID][cacheIx])
+                    || size() == 0
+                    || getCurrentPageFirstItemIndex() > maxFirstIndex) {
+                return false;
+            }
+
+            // Keys of the remaining rows stay valid in the client
+            for (int ix = cacheIx; ix < cacheIx + count; ix++) {
+                itemIdMapper.remove(pageBuffer[CELL_ITEMID][ix]);
+            }
+            setCurrentPageFirstItemIndex(getCurrentPageFirstItemIndex(), false);
+            removeRowsFromCacheAndFillBottom(firstIndex, count);
+            pendingRowChange = RowChange.REMOVE;
+            firstChangedRowIndex = firstIndex;
+            changedRowCount = count;
+        } else {
+            return false;
+        }
+        maybeThrowCacheUpdateExceptions();
+        return true;
+    }
+
+    /**
+     * Returns whether the item indexes in the item set change events of the
+     * container are the same as the row indexes of this table.
+     *
+     * @return true if item additions and removals can be applied to the rows
+     *         based on the event indexes, false to always refresh all rows
+     */
+    boolean isItemSetChangeIndexed() {
+        return true;
+    }
+
     /**
      * @param firstIndex
      *            The position where new rows should be inserted
@@ -2141,6 +2363,23 @@ public class Table extends AbstractSelect implements Action.Container,
      */
     private Object[][] getVisibleCellsNoCache(int firstIndex, int rows,
             boolean replaceListeners) {
+        return getVisibleCellsNoCache(firstIndex, rows, replaceListeners, true);
+    }
+
+    /**
+     * Render rows with index "firstIndex" to "firstIndex+rows-1" to a new
+     * buffer, optionally ignoring the values in the current page buffer.
+     *
+     * @param firstIndex
+     * @param rows
+     * @param replaceListeners
+     * @param reuseCachedCells
+     *            true to reuse values from the current page buffer if the rows
+     *            are found there, false to always fetch or generate the values
+     * @return
+     */
+    private Object[][] getVisibleCellsNoCache(int firstIndex, int rows,
+            boolean replaceListeners, boolean reuseCachedCells) {
         if (getLogger().isLoggable(Level.FINEST)) {
             getLogger().log(Level.FINEST,
                     "Render visible cells for rows {0}-{1}",
@@ -2173,7 +2412,8 @@ public class Table extends AbstractSelect implements Action.Container,
                     || Component.class.isAssignableFrom(getType(colids[i]));
         }
         int firstIndexNotInCache;
-        if (pageBuffer != null && pageBuffer[CELL_ITEMID].length > 0) {
+        if (reuseCachedCells && pageBuffer != null
+                && pageBuffer[CELL_ITEMID].length > 0) {
             firstIndexNotInCache = pageBufferFirstIndex
                     + pageBuffer[CELL_ITEMID].length;
         } else {
@@ -3281,6 +3521,8 @@ public class Table extends AbstractSelect implements Action.Container,
         } else if (target.isFullRepaint() || isRowCacheInvalidated()) {
             paintRows(target, cells, actionSet);
             setRowCacheInvalidated(false);
+        } else if (pendingRowChange != null) {
+            paintRowChange(target, actionSet);
         }
 
         /*
@@ -3412,6 +3654,44 @@ public class Table extends AbstractSelect implements Action.Container,
         maybeThrowCacheUpdateExceptions();
     }
 
+    /**
+     * Paints the rows changed in the page buffer since the last paint as a
+     * partial row update.
+     */
+    private void paintRowChange(PaintTarget target, Set<Action> actionSet)
+            throws PaintException {
+        final boolean[] iscomponent = findCellsWithComponents();
+        int firstIx = firstChangedRowIndex;
+        int count = changedRowCount;
+
+        if (pendingRowChange == RowChange.UPDATE) {
+            target.startTag("urows");
+            target.addAttribute("firsturowix", firstIx);
+            target.addAttribute("numurows", count);
+        } else {
+            target.startTag("prows");
+            target.addAttribute("firstprowix", firstIx);
+            target.addAttribute("numprows", count);
+            if (pendingRowChange == RowChange.REMOVE) {
+                target.addAttribute("hide", true);
+            } else if (deleteRowsBelowChange) {
+                target.addAttribute("delbelow", true);
+            }
+        }
+
+        if (pendingRowChange != RowChange.REMOVE) {
+            int cacheIx = firstIx - pageBufferFirstIndex;
+            for (int indexInRowbuffer = cacheIx; indexInRowbuffer < cacheIx
+                    + count; indexInRowbuffer++) {
+                paintRow(target, pageBuffer, isEditable(), actionSet,
+                        iscomponent, indexInRowbuffer,
+                        pageBuffer[CELL_ITEMID][indexInRowbuffer]);
+            }
+        }
+
+        target.endTag(pendingRowChange == RowChange.UPDATE ? "urows" : "prows");
+    }
+
     /**
      * Subclass and override this to enable partial row updates and additions,
      * which bypass the normal caching mechanism. This is useful for e.g.
@@ -3540,6 +3820,7 @@ public class Table extends AbstractSelect implements Action.Container,
         reqFirstRowToPaint = -1;
         reqRowsToPaint = -1;
         containerChangeToBeRendered = false;
+        pendingRowChange = null;
         target.addVariable(this, "reqrows", reqRowsToPaint);
         target.addVariable(this, "reqfirstrow", reqFirstRowToPaint);
     }
@@ -4208,7 +4489,7 @@ public class Table extends AbstractSelect implements Action.Container,
         if (equals(event.getProperty())
                 || event.getProperty() == getPropertyDataSource()) {
             super.valueChange(event);
-        } else {
+        } else if (!refreshRowsOfProperty(event.getProperty())) {
             refreshRowCache();
             containerChangeToBeRendered = true;
         }
@@ -4504,6 +4785,13 @@ public class Table extends AbstractSelect implements Action.Container,
             return;
         }
 
+        if (changeRowsInPageBuffer(event)) {
+            // Row keys remain valid, only the changed rows are sent
+            fireItemSetChange();
+            markAsDirty();
+            return;
+        }
+
         super.containerItemSetChange(event);
 
         // super method clears the key map, must inform client about this to
@@ -633,6 +633,12 @@ public class TreeTable extends Table implements Hierarchical {
         super.containerItemSetChange(event);
     }
 
+    @Override
+    boolean isItemSetChangeIndexed() {
+        // Event indexes refer to the container, not to the visible rows
+        return false;
+    }
+
     @Override
     protected Object getIdByIndex(int index) {
         return getContainerStrategy().getIdByIndex(index);
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.v7.ui.components.calendar.event;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.TreeSet;
+
+import com.vaadin.v7.ui.components.calendar.event.CalendarEventProvider.EventSetChangeListener;
+import com.vaadin.v7.ui.components.calendar.event.CalendarEventProvider.EventSetChangeNotifier;
+
+/**
+ * Event provider that caches the events of another event provider by day.
+ * <p>
+ * When events are requested for a date range, only the days in the range that
+ * are not already cached are queried from the wrapped provider, in as few
+ * queries as possible. Navigating back and forth in a
+ * {@link com.vaadin.v7.ui.Calendar Calendar} or repainting it thus does not
+ * query the wrapped provider again.
+ * <p>
+ * Events added or removed through this provider only invalidate the days of
+ * those events. Changes made directly to the wrapped provider can be signaled
+ * with {@link #invalidate(Date, Date)} for the affected date range. If the
+ * wrapped provider is an {@link EventSetChangeNotifier}, its change events
+ * invalidate the whole cache since they do not tell what changed.
+ * <p>
+ * The wrapped provider must return all events that overlap the requested date
+ * range. The events are assumed not to change their dates without the cache
+ * being invalidated.
+ *
+ * @since 8.6
+ * @deprecated As of 8.0, no replacement available.
+ */
+@SuppressWarnings("serial")
+@Deprecated
+public class CachingEventProvider implements CalendarEditableEventProvider,
+        EventSetChangeNotifier, EventSetChangeListener {
+
+    private final CalendarEventProvider provider;
+
+    /** Used for finding the day boundaries */
+    private final java.util.Calendar calendar;
+
+    /** Start times of the days for which the events have been queried */
+    private final TreeSet<Long> cachedDays = new TreeSet<Long>();
+
+    private final List<CachedEvent> cachedEvents = new ArrayList<CachedEvent>();
+
+    private final List<EventSetChangeListener> listeners = new ArrayList<EventSetChangeListener>();
+
+    /** Set while this provider is changing the wrapped provider */
+    private boolean ignoreProviderChanges = false;
+
+    /**
+     * An event in the cache, with the start times of the first and the last day
+     * of the event when it was cached.
+     */
+    private static class CachedEvent implements Serializable {
+        private final CalendarEvent event;
+        private final long firstDay;
+        private final long lastDay;
+
+        private CachedEvent(CalendarEvent event, long firstDay, long lastDay) {
+            this.event = event;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+
+        private boolean overlapsDays(long first, long last) {
+            return firstDay <= last && lastDay >= first;
+        }
+    }
+
+    /**
+     * Creates a caching event provider for the given provider. The days are
+     * determined in the default time zone.
+     *
+     * @param provider
+     *            the event provider to cache events of, not <code>null</code>
+     */
+    public CachingEventProvider(CalendarEventProvider provider) {
+        this(provider, TimeZone.getDefault());
+    }
+
+    /**
+     * Creates a caching event provider for the given provider. The days are
+     * determined in the given time zone, which should be the time zone of the
+     * calendar showing the events.
+     *
+     * @param provider
+     *            the event provider to cache events of, not <code>null</code>
+     * @param timeZone
+     *            the time zone for determining the days, not <code>null</code>
+     */
+    public CachingEventProvider(CalendarEventProvider provider,
+            TimeZone timeZone) {
+        if (provider == null) {
+            throw new IllegalArgumentException(
+                    "Calendar event provider cannot be null");
+        }
+        this.provider = provider;
+        calendar = java.util.Calendar.getInstance(timeZone);
+        if (provider instanceof EventSetChangeNotifier) {
+            ((EventSetChangeNotifier) provider).addEventSetChangeListener(this);
+        }
+    }
+
+    /**
+     * Gets the event provider whose events are cached.
+     *
+     * @return the wrapped event provider
+     */
+    public CalendarEventProvider getProvider() {
+        return provider;
+    }
+
+    @Override
+    public List<CalendarEvent> getEvents(Date startDate, Date endDate) {
+        long from = startDate.getTime();
+        long to = endDate.getTime();
+        fetchMissingDays(getDay(from), getDay(to));
+
+        List<CalendarEvent> events = new ArrayList<CalendarEvent>();
+        for (CachedEvent cached : cachedEvents) {
+            CalendarEvent event = cached.event;
+            // Same condition as in BasicEventProvider
+            if (event.getStart() != null && event.getEnd() != null
+                    && event.getStart().getTime() <= to
+                    && event.getEnd().getTime() >= from) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Queries the events for the days that are not cached, one query for each
+     * run of consecutive missing days.
+     */
+    private void fetchMissingDays(long firstDay, long lastDay) {
+        Long runStart = null;
+        long day = firstDay;
+        while (day <= lastDay) {
+            long nextDay = getNextDay(day);
+            if (cachedDays.contains(day)) {
+                if (runStart != null) {
+                    fetchDays(runStart, day);
+                    runStart = null;
+                }
+            } else if (runStart == null) {
+                runStart = day;
+            }
+            day = nextDay;
+        }
+        if (runStart != null) {
+            fetchDays(runStart, day);
+        }
+    }
+
+    /**
+     * Queries the events from the start of the first day to the start of the
+     * day after the last day, and marks the days as cached.
+     */
+    private void fetchDays(long firstDay, long endDay) {
+        List<CalendarEvent> events = provider.getEvents(new Date(firstDay),
+                new Date(endDay - 1));
+        if (events != null) {
+            for (CalendarEvent event : events) {
+                if (event.getStart() == null || event.getEnd() == null) {
+                    continue;
+                }
+                long eventFirstDay = getDay(event.getStart().getTime());
+                long eventLastDay = getDay(event.getEnd().getTime());
+                // Events that overlap already cached days were already
+                // returned by earlier queries
+                if (cachedDays.subSet(eventFirstDay, true, eventLastDay, true)
+                        .isEmpty()) {
+                    cachedEvents.add(new CachedEvent(event, eventFirstDay,
+                            eventLastDay));
+                }
+            }
+        }
+        for (long day = firstDay; day < endDay; day = getNextDay(day)) {
+            cachedDays.add(day);
+        }
+    }
+
+    /**
+     * Removes the events of the days in the given date range from the cache, so
+     * that they are queried again from the wrapped provider when needed. Cached
+     * events that overlap these days are also removed, and so are the other
+     * days of those events.
+     * <p>
+     * A change event is sent to the listeners of this provider.
+     *
+     * @param startDate
+     *            the start of the date range to invalidate
+     * @param endDate
+     *            the end of the date range to invalidate
+     */
+    public void invalidate(Date startDate, Date endDate) {
+        removeDays(getDay(startDate.getTime()), getDay(endDate.getTime()));
+        fireEventSetChange();
+    }
+
+    /**
+     * Removes all events from the cache, so that they are queried again from
+     * the wrapped provider when needed.
+     * <p>
+     * A change event is sent to the listeners of this provider.
+     */
+    public void invalidateAll() {
+        cachedDays.clear();
+        cachedEvents.clear();
+        fireEventSetChange();
+    }
+
+    private void removeDays(long firstDay, long lastDay) {
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            for (Iterator<CachedEvent> i = cachedEvents.iterator(); i
+                    .hasNext();) {
+                CachedEvent cached = i.next();
+                if (cached.overlapsDays(firstDay, lastDay)) {
+                    i.remove();
+                    removed = true;
+                    // The other days of the event must be queried again
+                    // for the event to be cached again
+                    firstDay = Math.min(firstDay, cached.firstDay);
+                    lastDay = Math.max(lastDay, cached.lastDay);
+                }
+            }
+        }
+        cachedDays.subSet(firstDay, true, lastDay, true).clear();
+    }
+
+    @Override
+    public void addEvent(CalendarEvent event) {
+        ignoreProviderChanges = true;
+        try {
+            getEditableProvider().addEvent(event);
+        } finally {
+            ignoreProviderChanges = false;
+        }
+        invalidate(event.getStart(), event.getEnd());
+    }
+
+    @Override
+    public void removeEvent(CalendarEvent event) {
+        ignoreProviderChanges = true;
+        try {
+            getEditableProvider().removeEvent(event);
+        } finally {
+            ignoreProviderChanges = false;
+        }
+        for (CachedEvent cached : cachedEvents) {
+            if (cached.event == event) {
+                // The event may have been moved after it was cached
+                removeDays(cached.firstDay, cached.lastDay);
+                break;
+            }
+        }
+        invalidate(event.getStart(), event.getEnd());
+    }
+
+    private CalendarEditableEventProvider getEditableProvider() {
+        if (provider instanceof CalendarEditableEventProvider) {
+            return (CalendarEditableEventProvider) provider;
+        }
+        throw new UnsupportedOperationException(
+                "Event provider does not support adding or removing events");
+    }
+
+    @Override
+    public void eventSetChange(EventSetChangeEvent changeEvent) {
+        if (!ignoreProviderChanges) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void addEventSetChangeListener(EventSetChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeEventSetChangeListener(EventSetChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Fires an event set change event to the listeners of this provider.
+     */
+    protected void fireEventSetChange() {
+        EventSetChangeEvent event = new EventSetChangeEvent(this);
+        for (EventSetChangeListener listener : new ArrayList<EventSetChangeListener>(
+                listeners)) {
+            listener.eventSetChange(event);
+        }
+    }
+
+    private long getDay(long time) {
+        calendar.setTimeInMillis(time);
+        calendar.set(java.util.Calendar.HOUR_OF_DAY, 0);
+        calendar.set(java.util.Calendar.MINUTE, 0);
+        calendar.set(java.util.Calendar.SECOND, 0);
+        calendar.set(java.util.Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private long getNextDay(long day) {
+        calendar.setTimeInMillis(day);
+        calendar.add(java.util.Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+}
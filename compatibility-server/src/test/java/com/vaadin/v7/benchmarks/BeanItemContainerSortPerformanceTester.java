@@ -0,0 +1,126 @@
+package com.vaadin.v7.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.vaadin.v7.data.util.BeanItemContainer;
+
+/*
+ * Measures how long sorting a BeanItemContainer with 100000 beans takes, both
+ * by a simple bean property and by a nested property. Sorting reads the
+ * property values through MethodProperty and NestedMethodProperty, so this
+ * mostly measures the cost of calling the bean getters.
+ *
+ * Run with -server. Your results will vary.
+ */
+public class BeanItemContainerSortPerformanceTester {
+
+    private static final int BEANS = 100000;
+    private static final int ROUNDS = 5;
+
+    public static class Address {
+        private String city;
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private int age;
+        private Address address;
+
+        public Person(String name, int age, Address address) {
+            this.name = name;
+            this.age = age;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<Person> persons = new ArrayList<>(BEANS);
+        for (int i = 0; i < BEANS; i++) {
+            persons.add(new Person("Person " + random.nextInt(BEANS),
+                    random.nextInt(100),
+                    new Address("City " + random.nextInt(1000))));
+        }
+
+        long start = System.nanoTime();
+        BeanItemContainer<Person> container = new BeanItemContainer<>(
+                Person.class, persons);
+        container.addNestedContainerProperty("address.city");
+        report("create container", System.nanoTime() - start);
+
+        // warmup
+        for (int i = 0; i < ROUNDS; i++) {
+            sort(container, "name");
+            sort(container, "address.city");
+        }
+
+        report("sort by name", sortRounds(container, "name"));
+        report("sort by age", sortRounds(container, "age"));
+        report("sort by address.city", sortRounds(container, "address.city"));
+    }
+
+    /*
+     * Returns the average time of one sort in nanoseconds.
+     */
+    private static long sortRounds(BeanItemContainer<Person> container,
+            String propertyId) {
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            total += sort(container, propertyId);
+        }
+        return total / ROUNDS;
+    }
+
+    private static long sort(BeanItemContainer<Person> container,
+            String propertyId) {
+        // Alternate the direction so that every round does the same work
+        container.sort(new Object[] { propertyId }, new boolean[] { false });
+        long start = System.nanoTime();
+        container.sort(new Object[] { propertyId }, new boolean[] { true });
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.println(
+                name + ": " + (nanos / 1000000) + " ms (" + BEANS + " beans)");
+    }
+
+}
@@ -989,4 +989,23 @@ public class BeanItemContainerTest extends AbstractBeanContainerTestBase {
                 .getItemProperty("address.street").getValue());
 
     }
+
+    @Test
+    public void propertyIndex_propertyValueChanged_filteringUpdated() {
+        BeanItemContainer<ClassName> container = getContainer();
+        initializeContainer(container);
+        container.addContainerPropertyIndex(SIMPLE_NAME);
+        container.addContainerFilter(SIMPLE_NAME, "tabsh", true, true);
+        assertEquals(1, container.size());
+
+        ClassName bean = container.getIdByIndex(0);
+        ClassName other = nameToBean.get("com.vaadin.ui.Label");
+        container.getItem(other).getItemProperty(SIMPLE_NAME)
+                .setValue("TabSheetLike");
+        assertEquals(Arrays.asList(other, bean), container.getItemIds());
+
+        container.removeContainerPropertyIndex(SIMPLE_NAME);
+        container.getItem(other).getItemProperty(SIMPLE_NAME).setValue("Label");
+        assertEquals(Arrays.asList(bean), container.getItemIds());
+    }
 }
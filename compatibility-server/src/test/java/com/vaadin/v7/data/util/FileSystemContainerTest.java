@@ -1,17 +1,120 @@
 package com.vaadin.v7.data.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.v7.data.util.FilesystemContainer.DirectoryChangeEvent;
 
 public class FileSystemContainerTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void nonExistingDirectory() {
         FilesystemContainer fsc = new FilesystemContainer(
                 new File("/non/existing"));
         assertTrue(fsc.getItemIds().isEmpty());
     }
+
+    @Test
+    public void recursiveContainer_filesListedInOrder() throws IOException {
+        File root = folder.getRoot();
+        File dir = folder.newFolder("b");
+        File a = folder.newFile("a.txt");
+        File c = folder.newFile("b/c.txt");
+        File d = folder.newFile("d.txt");
+
+        FilesystemContainer fsc = new FilesystemContainer(root);
+
+        assertEquals(Arrays.asList(a, dir, c, d),
+                new ArrayList<Object>(fsc.getItemIds()));
+        assertEquals(4, fsc.size());
+        assertEquals(Arrays.asList(a, dir, d),
+                new ArrayList<Object>(fsc.rootItemIds()));
+        assertTrue(fsc.hasChildren(dir));
+        assertFalse(fsc.hasChildren(a));
+        assertTrue(fsc.areChildrenAllowed(dir));
+        assertFalse(fsc.areChildrenAllowed(a));
+    }
+
+    @Test
+    public void filter_appliedToListingsAndHasChildren() throws IOException {
+        File dir = folder.newFolder("dir");
+        folder.newFile("dir/a.csv");
+
+        FilesystemContainer fsc = new FilesystemContainer(folder.getRoot(),
+                "txt", true);
+        assertFalse(fsc.hasChildren(dir));
+
+        File txt = folder.newFile("dir/b.txt");
+        assertTrue(fsc.hasChildren(dir));
+        assertEquals(Arrays.asList(txt),
+                new ArrayList<Object>(fsc.getChildren(dir)));
+    }
+
+    @Test
+    public void getChildren_directoryNotModified_listingReused()
+            throws IOException {
+        File dir = folder.newFolder("dir");
+        folder.newFile("dir/a.txt");
+        long modified = System.currentTimeMillis() - 60000;
+        assertTrue(dir.setLastModified(modified));
+
+        FilesystemContainer fsc = new FilesystemContainer(folder.getRoot());
+        Collection<File> children = fsc.getChildren(dir);
+        assertSame(children, fsc.getChildren(dir));
+
+        File b = folder.newFile("dir/b.txt");
+        assertTrue(dir.setLastModified(modified + 10000));
+
+        Collection<File> changed = fsc.getChildren(dir);
+        assertNotSame(children, changed);
+        assertTrue(changed.contains(b));
+    }
+
+    @Test
+    public void watching_fileAdded_eventForChangedDirectoryOnly()
+            throws Exception {
+        File dir = folder.newFolder("dir");
+        File other = folder.newFolder("other");
+        folder.newFile("dir/a.txt");
+
+        FilesystemContainer fsc = new FilesystemContainer(folder.getRoot());
+        fsc.setWatchingEnabled(true);
+        List<File> changedDirectories = new ArrayList<File>();
+        fsc.addItemSetChangeListener(event -> changedDirectories
+                .add(((DirectoryChangeEvent) event).getDirectory()));
+
+        assertEquals(1, fsc.getChildren(dir).size());
+        assertTrue(fsc.getChildren(other).isEmpty());
+        assertFalse(fsc.refreshChangedDirectories());
+
+        File b = folder.newFile("dir/b.txt");
+        long timeout = System.currentTimeMillis() + 20000;
+        while (!fsc.refreshChangedDirectories()
+                && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(Arrays.asList(dir), changedDirectories);
+        assertTrue(fsc.getChildren(dir).contains(b));
+        assertEquals(4, fsc.size());
+
+        fsc.setWatchingEnabled(false);
+    }
 }
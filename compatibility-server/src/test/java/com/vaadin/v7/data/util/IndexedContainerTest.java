@@ -4,16 +4,23 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Test;
 
+import com.vaadin.v7.data.Container.Filter;
 import com.vaadin.v7.data.Container.Indexed.ItemAddEvent;
 import com.vaadin.v7.data.Container.Indexed.ItemRemoveEvent;
 import com.vaadin.v7.data.Container.ItemSetChangeListener;
 import com.vaadin.v7.data.Item;
+import com.vaadin.v7.data.util.filter.And;
+import com.vaadin.v7.data.util.filter.Compare;
+import com.vaadin.v7.data.util.filter.SimpleStringFilter;
 
 public class IndexedContainerTest extends AbstractInMemoryContainerTestBase {
 
@@ -529,4 +536,73 @@ public class IndexedContainerTest extends AbstractInMemoryContainerTestBase {
         ic.addItem(object1);
         assertNull(ic.getContainerProperty(object1, null));
     }
+
+    @Test
+    public void propertyIndex_sameFilteringResultsAsWithoutIndex() {
+        IndexedContainer indexed = createPeopleContainer();
+        indexed.addContainerPropertyIndex("name");
+        indexed.addContainerPropertyIndex("age");
+        IndexedContainer plain = createPeopleContainer();
+
+        Filter[] filters = { new SimpleStringFilter("name", "b", true, true),
+                new SimpleStringFilter("name", "B", false, true),
+                new SimpleStringFilter("name", "ob", false, false),
+                new Compare.Equal("age", 42), new Compare.Equal("age", null),
+                new Compare.Greater("age", 60),
+                new Compare.GreaterOrEqual("age", 60),
+                new Compare.Less("age", 10), new Compare.LessOrEqual("age", 10),
+                new And(new SimpleStringFilter("name", "c", true, true),
+                        new Compare.Less("age", 50)) };
+        for (Filter filter : filters) {
+            indexed.removeAllContainerFilters();
+            plain.removeAllContainerFilters();
+            indexed.addContainerFilter(filter);
+            plain.addContainerFilter(filter);
+            assertEquals(plain.getItemIds(), indexed.getItemIds());
+        }
+    }
+
+    @Test
+    public void propertyIndex_itemsAndValuesChanged_indexUpdated() {
+        IndexedContainer container = createPeopleContainer();
+        container.addContainerPropertyIndex("age");
+        Item filteredItem = container.getItem(5);
+        container.addContainerFilter(new Compare.Equal("age", 200));
+        assertEquals(0, container.size());
+
+        filteredItem.getItemProperty("age").setValue(200);
+        assertEquals(Collections.singletonList(5), container.getItemIds());
+
+        Item item = container.addItem(1000);
+        item.getItemProperty("age").setValue(200);
+        assertEquals(Arrays.asList(5, 1000), container.getItemIds());
+
+        container.removeItem(5);
+        assertEquals(Collections.singletonList(1000), container.getItemIds());
+
+        container.getContainerProperty(1000, "age").setValue(20);
+        assertEquals(0, container.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addContainerPropertyIndex_nonExistingProperty_throws() {
+        new IndexedContainer().addContainerPropertyIndex("xyz");
+    }
+
+    private static IndexedContainer createPeopleContainer() {
+        String[] names = { "Bob", "bill", "Carol", "Chris", null, "Dave",
+                "alice", "Bobby" };
+        IndexedContainer container = new IndexedContainer();
+        container.addContainerProperty("name", String.class, null);
+        container.addContainerProperty("age", Integer.class, null);
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            Item item = container.addItem(i);
+            item.getItemProperty("name")
+                    .setValue(names[random.nextInt(names.length)]);
+            item.getItemProperty("age")
+                    .setValue(i % 17 == 0 ? null : random.nextInt(100));
+        }
+        return container;
+    }
 }
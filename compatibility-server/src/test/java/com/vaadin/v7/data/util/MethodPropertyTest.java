@@ -1,10 +1,20 @@
 package com.vaadin.v7.data.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationTargetException;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.v7.data.util.MethodProperty.MethodException;
 import com.vaadin.v7.data.util.NestedMethodPropertyTest.Address;
 
 public class MethodPropertyTest {
@@ -58,4 +68,66 @@ public class MethodPropertyTest {
 
     }
 
+    @Test
+    public void setPrimitiveValue() {
+        MethodProperty<Integer> mp = new MethodProperty<Integer>(testObject,
+                "postalCodePrimitive");
+        mp.setValue(456);
+        assertEquals(456, testObject.getPostalCodePrimitive());
+        assertEquals(Integer.valueOf(456), mp.getValue());
+    }
+
+    @Test
+    public void getterThrows_causeIsInvocationTargetException() {
+        MethodProperty<Object> mp = new MethodProperty<Object>(
+                new ThrowingBean(), "value");
+        try {
+            mp.getValue();
+            fail("Expected MethodException");
+        } catch (MethodException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            assertTrue(e.getCause()
+                    .getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void setterThrows_causeIsTargetException() {
+        MethodProperty<Object> mp = new MethodProperty<Object>(
+                new ThrowingBean(), "value");
+        try {
+            mp.setValue("foo");
+            fail("Expected MethodException");
+        } catch (MethodException e) {
+            assertTrue(e.getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void serialization() throws IOException, ClassNotFoundException {
+        MethodProperty<String> mp = new MethodProperty<String>(testObject,
+                "street");
+        assertEquals("some street", mp.getValue());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new ObjectOutputStream(baos).writeObject(mp);
+        @SuppressWarnings("unchecked")
+        MethodProperty<String> mp2 = (MethodProperty<String>) new ObjectInputStream(
+                new ByteArrayInputStream(baos.toByteArray())).readObject();
+
+        assertEquals("some street", mp2.getValue());
+        mp2.setValue("Foo street");
+        assertEquals("Foo street", mp2.getValue());
+    }
+
+    public static class ThrowingBean {
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
 }
@@ -16,6 +16,8 @@ import java.io.Serializable;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.v7.data.Property;
+
 public class NestedMethodPropertyTest {
 
     public static class Address implements Serializable {
@@ -344,6 +346,26 @@ public class NestedMethodPropertyTest {
         assertNull(property2.getValue());
     }
 
+    @Test
+    public void testPropertiesFromDescriptor() {
+        NestedPropertyDescriptor<Team> descriptor = new NestedPropertyDescriptor<Team>(
+                "manager.address.street", Team.class);
+        Team otherTeam = new Team("Other team",
+                new Person("Someone", new Address("The street", 1234)));
+
+        Property<String> streetProperty = (Property<String>) descriptor
+                .createProperty(vaadin);
+        Property<String> otherStreetProperty = (Property<String>) descriptor
+                .createProperty(otherTeam);
+        assertEquals("Ruukinkatu 2-4", streetProperty.getValue());
+        assertEquals("The street", otherStreetProperty.getValue());
+
+        otherStreetProperty.setValue("Other street");
+        assertEquals("Other street",
+                otherTeam.getManager().getAddress().getStreet());
+        assertEquals("Ruukinkatu 2-4", streetProperty.getValue());
+    }
+
     @Test
     public void testIsReadOnly() {
         NestedMethodProperty<String> streetProperty = new NestedMethodProperty<String>(
@@ -22,6 +22,9 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.easymock.EasyMock;
 import org.junit.After;
@@ -217,6 +220,51 @@ public class SQLContainerTableQueryTest {
                 is("Person 1337"));
     }
 
+    @Test
+    public void getIdByIndex_keysetPaging_sameIdsAsWithOffsets()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        query.setKeysetPagingEnabled(true);
+        container.refresh();
+        SQLContainer offsetContainer = new SQLContainer(
+                getTableQuery("people"));
+        container.sort(new Object[] { ID }, new boolean[] { false });
+        offsetContainer.sort(new Object[] { ID }, new boolean[] { false });
+
+        for (int i = 0; i < 5000; i += 7) {
+            assertEquals(offsetContainer.getIdByIndex(i),
+                    container.getIdByIndex(i));
+        }
+    }
+
+    @Test
+    public void getIdByIndex_readAhead_sameItemsAsWithoutReadAhead()
+            throws Exception {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        container.refresh();
+        SQLContainer plainContainer = new SQLContainer(getTableQuery("people"));
+        AtomicInteger pagesReadAhead = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        container.setReadAheadExecutor(command -> {
+            pagesReadAhead.incrementAndGet();
+            executor.execute(command);
+        });
+
+        try {
+            for (int i = 0; i < 5000; i += 3) {
+                Object id = container.getIdByIndex(i);
+                assertEquals(plainContainer.getIdByIndex(i), id);
+                assertEquals(
+                        plainContainer.getItem(id).getItemProperty(NAME)
+                                .getValue(),
+                        container.getItem(id).getItemProperty(NAME).getValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(pagesReadAhead.get() > 0);
+    }
+
     @Test
     public void getItemIds_table_returnsItemIdsWithKeys0through3()
             throws SQLException {
@@ -1032,6 +1080,91 @@ public class SQLContainerTableQueryTest {
         assertEquals(size - 1, container.size());
     }
 
+    @Test
+    public void commit_batchUpdates_allChangesWrittenToDB()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        query.setBatchUpdatesEnabled(true);
+        container.refresh();
+        for (int i = 10; i < 2010; i++) {
+            container.getContainerProperty(getRowId(i), NAME)
+                    .setValue("Batch " + i);
+        }
+        container.removeItem(getRowId(3000));
+        container.removeItem(getRowId(3001));
+        Object added = container.addItem();
+        container.getContainerProperty(added, NAME).setValue("Added");
+        List<Object> newIds = new ArrayList<Object>();
+        query.addRowIdChangeListener(event -> newIds.add(event.getNewRowId()));
+
+        container.commit();
+
+        assertEquals(4999, container.size());
+        assertEquals("Batch 1337", container
+                .getContainerProperty(getRowId(1337), NAME).getValue());
+        assertEquals("Batch 2009", container
+                .getContainerProperty(getRowId(2009), NAME).getValue());
+        assertFalse(container.containsId(getRowId(3000)));
+        assertEquals(1, newIds.size());
+        assertEquals("Added",
+                container.getContainerProperty(newIds.get(0), NAME).getValue());
+        assertFalse(container.isModified());
+    }
+
+    @Test
+    public void commit_batchUpdatesUniqueValueMovedToAddedRow_updatedFirst()
+            throws SQLException {
+        Connection conn = connectionPool.reserveConnection();
+        Statement statement = conn.createStatement();
+        statement.execute(
+                "alter table people add constraint people_name_unique unique (name)");
+        statement.close();
+        conn.commit();
+        connectionPool.releaseConnection(conn);
+        query.setBatchUpdatesEnabled(true);
+
+        Object oldName = container.getContainerProperty(existingItemId, NAME)
+                .getValue();
+        container.getContainerProperty(existingItemId, NAME)
+                .setValue("Renamed");
+        Object added = container.addItem();
+        container.getContainerProperty(added, NAME).setValue(oldName);
+
+        container.commit();
+
+        assertEquals(5, container.size());
+        assertEquals("Renamed", container
+                .getContainerProperty(existingItemId, NAME).getValue());
+    }
+
+    @Test(expected = OptimisticLockException.class)
+    public void commit_batchUpdatesRowRemovedByOthers_shouldFail()
+            throws SQLException {
+        DataGenerator.addVersionedData(connectionPool);
+        Connection conn = connectionPool.reserveConnection();
+        Statement statement = conn.createStatement();
+        statement.executeUpdate(
+                "insert into VERSIONED values(default, 'Junk', default)");
+        conn.commit();
+
+        TableQuery versionedQuery = getTableQuery("versioned");
+        versionedQuery.setVersionColumn("VERSION");
+        versionedQuery.setBatchUpdatesEnabled(true);
+        SQLContainer versioned = new SQLContainer(versionedQuery);
+        // Both rows produce the same update statement and go in one batch
+        for (Object id : versioned.getItemIds()) {
+            versioned.getContainerProperty(id, "TEXT").setValue("foo");
+        }
+
+        statement.executeUpdate(
+                "DELETE FROM versioned WHERE ID = (SELECT MIN(ID) FROM versioned)");
+        statement.close();
+        conn.commit();
+        connectionPool.releaseConnection(conn);
+
+        versioned.commit();
+    }
+
     @Test
     public void rollback_tableItemAdded_discardsAddedItem()
             throws SQLException {
@@ -0,0 +1,199 @@
+package com.vaadin.v7.data.util.sqlcontainer.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.v7.data.util.sqlcontainer.DataGenerator;
+import com.vaadin.v7.data.util.sqlcontainer.SQLContainer;
+import com.vaadin.v7.data.util.sqlcontainer.SQLTestsConstants;
+import com.vaadin.v7.data.util.sqlcontainer.query.TableQuery;
+
+public class ConcurrentJDBCConnectionPoolTest {
+    private ConcurrentJDBCConnectionPool connectionPool;
+
+    @Before
+    public void setUp() throws SQLException {
+        connectionPool = new ConcurrentJDBCConnectionPool(
+                SQLTestsConstants.dbDriver, SQLTestsConstants.dbURL,
+                SQLTestsConstants.dbUser, SQLTestsConstants.dbPwd, 2, 2);
+        connectionPool.setMaxWaitMillis(50);
+    }
+
+    @After
+    public void tearDown() {
+        connectionPool.destroy();
+    }
+
+    @Test
+    public void reserveConnection_reserveNewConnection_returnsConnection()
+            throws SQLException {
+        Connection conn = connectionPool.reserveConnection();
+        assertNotNull(conn);
+        assertEquals(1, connectionPool.getActiveConnections());
+        assertEquals(1, connectionPool.getIdleConnections());
+    }
+
+    @Test
+    public void releaseConnection_connectionReused() throws SQLException {
+        Connection conn = connectionPool.reserveConnection();
+        connectionPool.releaseConnection(conn);
+        assertFalse(conn.isClosed());
+        assertSame(conn, connectionPool.reserveConnection());
+    }
+
+    @Test
+    public void reserveConnection_noConnectionsLeft_failsAfterTimeout()
+            throws SQLException {
+        connectionPool.reserveConnection();
+        connectionPool.reserveConnection();
+        try {
+            connectionPool.reserveConnection();
+            fail("Reserving connection didn't fail even though no connections are available!");
+        } catch (SQLException e) {
+            // Expected
+        }
+        assertEquals(1, connectionPool.getTimeoutCount());
+        assertEquals(2, connectionPool.getReservationCount());
+        assertTrue(connectionPool.getLongestWaitMillis() >= 40);
+    }
+
+    @Test
+    public void reserveConnection_connectionReleasedWhileWaiting_returnsConnection()
+            throws Exception {
+        connectionPool.setMaxWaitMillis(5000);
+        final Connection conn = connectionPool.reserveConnection();
+        connectionPool.reserveConnection();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> release = executor.submit(() -> {
+                while (connectionPool.getWaitingThreads() == 0) {
+                    Thread.yield();
+                }
+                connectionPool.releaseConnection(conn);
+            });
+            assertSame(conn, connectionPool.reserveConnection());
+            release.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void releaseConnection_unknownConnection_ignored()
+            throws SQLException {
+        Connection conn = connectionPool.reserveConnection();
+        connectionPool.releaseConnection(conn);
+        connectionPool.releaseConnection(conn);
+        connectionPool.releaseConnection(null);
+
+        connectionPool.reserveConnection();
+        connectionPool.reserveConnection();
+        try {
+            connectionPool.reserveConnection();
+            fail("Releasing a connection twice should not add permits");
+        } catch (SQLException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void reserveConnection_idleConnectionClosed_replaced()
+            throws SQLException {
+        connectionPool.setValidationIdleMillis(0);
+        Connection conn = connectionPool.reserveConnection();
+        connectionPool.releaseConnection(conn);
+        conn.close();
+
+        Connection newConn = connectionPool.reserveConnection();
+        assertNotSame(conn, newConn);
+        assertFalse(newConn.isClosed());
+    }
+
+    @Test
+    public void destroy_waitingThreadFailsImmediately() throws Exception {
+        connectionPool.setMaxWaitMillis(30000);
+        connectionPool.reserveConnection();
+        connectionPool.reserveConnection();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> destroy = executor.submit(() -> {
+                while (connectionPool.getWaitingThreads() == 0) {
+                    Thread.yield();
+                }
+                connectionPool.destroy();
+            });
+            long start = System.currentTimeMillis();
+            try {
+                connectionPool.reserveConnection();
+                fail("Reserving a connection from a destroyed pool should fail");
+            } catch (SQLException e) {
+                // Expected
+            }
+            assertTrue(System.currentTimeMillis() - start < 10000);
+            assertEquals(2, connectionPool.getActiveConnections());
+            destroy.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void evictIdleConnections_expiredConnectionsClosed()
+            throws Exception {
+        Connection conn = connectionPool.reserveConnection();
+        connectionPool.releaseConnection(conn);
+        assertEquals(2, connectionPool.getIdleConnections());
+
+        connectionPool.setMaxIdleMillis(1);
+        Thread.sleep(10);
+        connectionPool.evictIdleConnections();
+
+        assertEquals(0, connectionPool.getIdleConnections());
+        assertTrue(conn.isClosed());
+    }
+
+    @Test
+    public void destroy_shouldCloseAllConnections() throws SQLException {
+        Connection c1 = connectionPool.reserveConnection();
+        Connection c2 = connectionPool.reserveConnection();
+        connectionPool.releaseConnection(c2);
+
+        connectionPool.destroy();
+
+        assertTrue(c1.isClosed());
+        assertTrue(c2.isClosed());
+        try {
+            connectionPool.reserveConnection();
+            fail("Reserving a connection from a destroyed pool should fail");
+        } catch (SQLException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void sqlContainer_usesPool() throws SQLException {
+        DataGenerator.addPeopleToDatabase(connectionPool);
+        SQLContainer container = new SQLContainer(new TableQuery("people",
+                connectionPool, SQLTestsConstants.sqlGen));
+
+        assertEquals(4, container.size());
+        assertEquals(0, connectionPool.getActiveConnections());
+    }
+}
@@ -31,6 +31,7 @@ import com.vaadin.v7.data.util.sqlcontainer.SQLTestsConstants;
 import com.vaadin.v7.data.util.sqlcontainer.SQLTestsConstants.DB;
 import com.vaadin.v7.data.util.sqlcontainer.connection.JDBCConnectionPool;
 import com.vaadin.v7.data.util.sqlcontainer.query.generator.DefaultSQLGenerator;
+import com.vaadin.v7.data.util.sqlcontainer.query.generator.StatementHelper;
 
 public class TableQueryTest {
     private static final int offset = SQLTestsConstants.offset;
@@ -195,6 +196,123 @@ public class TableQueryTest {
         tQuery.commit();
     }
 
+    @Test
+    public void getResults_keysetPaging_seeksFromFetchedRows()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        List<Integer> offsets = new ArrayList<Integer>();
+        TableQuery tQuery = new TableQuery("people", connectionPool,
+                new OffsetRecordingSQLGenerator(offsets));
+        tQuery.setKeysetPagingEnabled(true);
+
+        List<Integer> ids = new ArrayList<Integer>();
+        for (int page = 0; page < 4; page++) {
+            ids.addAll(fetchIds(tQuery, page * 100, 100));
+        }
+        // Random jump only skips the rows after the last fetched one
+        ids.addAll(fetchIds(tQuery, 2000, 100));
+
+        assertEquals(Arrays.asList(0, 0, 0, 0, 1600), offsets);
+        for (int i = 0; i < 400; i++) {
+            assertEquals(i + offset, (int) ids.get(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2000 + i + offset, (int) ids.get(400 + i));
+        }
+    }
+
+    @Test
+    public void getResults_keysetPagingNullableSortColumn_usesOffsets()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        List<Integer> offsets = new ArrayList<Integer>();
+        TableQuery tQuery = new TableQuery("people", connectionPool,
+                new OffsetRecordingSQLGenerator(offsets));
+        tQuery.setKeysetPagingEnabled(true);
+        tQuery.setOrderBy(Arrays.asList(new OrderBy("NAME", true)));
+
+        fetchIds(tQuery, 0, 100);
+        fetchIds(tQuery, 100, 100);
+
+        assertEquals(Arrays.asList(0, 100), offsets);
+    }
+
+    @Test
+    public void getResults_keysetPagingOrderChanged_usesOffsets()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        List<Integer> offsets = new ArrayList<Integer>();
+        TableQuery tQuery = new TableQuery("people", connectionPool,
+                new OffsetRecordingSQLGenerator(offsets));
+        tQuery.setKeysetPagingEnabled(true);
+
+        fetchIds(tQuery, 0, 100);
+        tQuery.setOrderBy(Arrays.asList(new OrderBy("ID", false)));
+        List<Integer> ids = fetchIds(tQuery, 100, 100);
+        List<Integer> nextIds = fetchIds(tQuery, 200, 100);
+
+        assertEquals(Arrays.asList(0, 100, 0), offsets);
+        assertEquals(4999 - 100 + offset, (int) ids.get(0));
+        assertEquals(4999 - 200 + offset, (int) nextIds.get(0));
+    }
+
+    @Test
+    public void getResults_keysetPagingSameOrderListChanged_usesOffsets()
+            throws SQLException {
+        DataGenerator.addFiveThousandPeople(connectionPool);
+        List<Integer> offsets = new ArrayList<Integer>();
+        TableQuery tQuery = new TableQuery("people", connectionPool,
+                new OffsetRecordingSQLGenerator(offsets));
+        tQuery.setKeysetPagingEnabled(true);
+        // SQLContainer passes the same list instance after changing it
+        List<OrderBy> orderBys = new ArrayList<OrderBy>();
+        orderBys.add(new OrderBy("ID", true));
+        tQuery.setOrderBy(orderBys);
+
+        fetchIds(tQuery, 0, 100);
+        orderBys.set(0, new OrderBy("ID", false));
+        tQuery.setOrderBy(orderBys);
+        List<Integer> ids = fetchIds(tQuery, 100, 100);
+
+        assertEquals(Arrays.asList(0, 100), offsets);
+        assertEquals(4999 - 100 + offset, (int) ids.get(0));
+    }
+
+    private List<Integer> fetchIds(TableQuery tQuery, int offset,
+            int pagelength) throws SQLException {
+        List<Integer> ids = new ArrayList<Integer>();
+        tQuery.beginTransaction();
+        ResultSet rs = tQuery.getResults(offset, pagelength);
+        while (rs.next()) {
+            tQuery.rowFetched(offset + ids.size(), rs);
+            ids.add(rs.getInt(1));
+        }
+        rs.getStatement().close();
+        rs.close();
+        tQuery.commit();
+        return ids;
+    }
+
+    private static class OffsetRecordingSQLGenerator
+            extends DefaultSQLGenerator {
+        private final List<Integer> offsets;
+
+        public OffsetRecordingSQLGenerator(List<Integer> offsets) {
+            this.offsets = offsets;
+        }
+
+        @Override
+        public StatementHelper generateSelectQuery(String tableName,
+                List<Filter> filters, List<OrderBy> orderBys, int offset,
+                int pagelength, String toSelect) {
+            if (toSelect == null) {
+                offsets.add(offset);
+            }
+            return super.generateSelectQuery(tableName, filters, orderBys,
+                    offset, pagelength, toSelect);
+        }
+    }
+
     /**********************************************************************
      * TableQuery transaction management tests
      **********************************************************************/
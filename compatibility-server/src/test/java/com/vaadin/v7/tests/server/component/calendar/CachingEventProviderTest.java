@@ -0,0 +1,142 @@
+package com.vaadin.v7.tests.server.component.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.v7.ui.components.calendar.event.BasicEvent;
+import com.vaadin.v7.ui.components.calendar.event.BasicEventProvider;
+import com.vaadin.v7.ui.components.calendar.event.CachingEventProvider;
+import com.vaadin.v7.ui.components.calendar.event.CalendarEvent;
+
+public class CachingEventProviderTest {
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("UTC");
+
+    private List<Date[]> queries = new ArrayList<Date[]>();
+    private BasicEventProvider provider;
+    private CachingEventProvider cachingProvider;
+
+    @Before
+    public void setUp() {
+        provider = new BasicEventProvider() {
+            @Override
+            public List<CalendarEvent> getEvents(Date startDate, Date endDate) {
+                queries.add(new Date[] { startDate, endDate });
+                return super.getEvents(startDate, endDate);
+            }
+        };
+        for (int day = 1; day <= 28; day++) {
+            provider.addEvent(new BasicEvent("Event " + day, null,
+                    date(day, 10), date(day, 12)));
+        }
+        cachingProvider = new CachingEventProvider(provider, TIME_ZONE);
+    }
+
+    @Test
+    public void sameRangeRequestedAgain_providerQueriedOnce() {
+        List<CalendarEvent> events = cachingProvider.getEvents(date(1, 0),
+                endOfDay(7));
+        assertEquals(7, events.size());
+
+        events = cachingProvider.getEvents(date(1, 0), endOfDay(7));
+        assertEquals(7, events.size());
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    public void overlappingRangeRequested_onlyMissingDaysQueried() {
+        cachingProvider.getEvents(date(8, 0), endOfDay(14));
+        queries.clear();
+
+        List<CalendarEvent> events = cachingProvider.getEvents(date(1, 0),
+                endOfDay(21));
+
+        assertEquals(21, events.size());
+        assertEquals(2, queries.size());
+        assertEquals(date(1, 0), queries.get(0)[0]);
+        assertEquals(date(8, 0), new Date(queries.get(0)[1].getTime() + 1));
+        assertEquals(date(15, 0), queries.get(1)[0]);
+        assertEquals(date(22, 0), new Date(queries.get(1)[1].getTime() + 1));
+    }
+
+    @Test
+    public void eventSpanningCachedDays_notDuplicated() {
+        BasicEvent longEvent = new BasicEvent("Long", null, date(6, 10),
+                date(9, 12));
+        provider.addEvent(longEvent);
+
+        cachingProvider.getEvents(date(1, 0), endOfDay(7));
+        List<CalendarEvent> events = cachingProvider.getEvents(date(1, 0),
+                endOfDay(14));
+
+        int count = 0;
+        for (CalendarEvent event : events) {
+            if (event == longEvent) {
+                count++;
+            }
+        }
+        assertEquals(1, count);
+        assertEquals(15, events.size());
+    }
+
+    @Test
+    public void eventAddedThroughCache_onlyItsDaysQueriedAgain() {
+        cachingProvider.getEvents(date(1, 0), endOfDay(14));
+        AtomicInteger changes = new AtomicInteger();
+        cachingProvider
+                .addEventSetChangeListener(event -> changes.incrementAndGet());
+        queries.clear();
+
+        BasicEvent added = new BasicEvent("Added", null, date(10, 14),
+                date(10, 15));
+        cachingProvider.addEvent(added);
+        assertEquals(1, changes.get());
+
+        List<CalendarEvent> events = cachingProvider.getEvents(date(1, 0),
+                endOfDay(14));
+        assertEquals(15, events.size());
+        assertTrue(events.contains(added));
+        assertEquals(1, queries.size());
+        assertEquals(date(10, 0), queries.get(0)[0]);
+        assertEquals(date(11, 0), new Date(queries.get(0)[1].getTime() + 1));
+    }
+
+    @Test
+    public void wrappedProviderChanged_cacheInvalidated() {
+        List<CalendarEvent> events = cachingProvider.getEvents(date(1, 0),
+                endOfDay(7));
+        AtomicInteger changes = new AtomicInteger();
+        cachingProvider
+                .addEventSetChangeListener(event -> changes.incrementAndGet());
+        queries.clear();
+
+        // BasicEventProvider fires an event set change
+        ((BasicEvent) events.get(0)).setCaption("Changed");
+        assertEquals(1, changes.get());
+
+        events = cachingProvider.getEvents(date(1, 0), endOfDay(7));
+        assertEquals("Changed", events.get(0).getCaption());
+        assertEquals(1, queries.size());
+    }
+
+    private static Date date(int dayOfMonth, int hourOfDay) {
+        Calendar calendar = Calendar.getInstance(TIME_ZONE);
+        calendar.clear();
+        calendar.set(2018, Calendar.FEBRUARY, dayOfMonth, hourOfDay, 0);
+        return calendar.getTime();
+    }
+
+    private static Date endOfDay(int dayOfMonth) {
+        return new Date(date(dayOfMonth + 1, 0).getTime() - 1000);
+    }
+}
@@ -0,0 +1,118 @@
+package com.vaadin.v7.tests.server.component.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.server.JsonPaintTarget;
+import com.vaadin.server.LegacyCommunicationManager;
+import com.vaadin.server.PaintException;
+import com.vaadin.tests.util.MockUI;
+import com.vaadin.v7.data.Item;
+import com.vaadin.v7.data.util.IndexedContainer;
+import com.vaadin.v7.ui.Table;
+
+public class TablePartialRowUpdateTest {
+
+    private IndexedContainer container;
+    private Table table;
+    private List<Object> generatedItemIds = new ArrayList<Object>();
+
+    @Before
+    public void setup() throws PaintException {
+        container = new IndexedContainer();
+        container.addContainerProperty("name", String.class, null);
+        for (int i = 0; i < 20; i++) {
+            Item item = container.addItem(i);
+            item.getItemProperty("name").setValue("Item " + i);
+        }
+
+        table = new Table(null, container);
+        table.setPageLength(10);
+        table.addGeneratedColumn("generated", (source, itemId, columnId) -> {
+            generatedItemIds.add(itemId);
+            return "Generated " + itemId;
+        });
+        new MockUI().setContent(table);
+
+        paint(true);
+        generatedItemIds.clear();
+    }
+
+    @Test
+    public void propertyValueChanged_onlyChangedRowRendered() throws Exception {
+        container.getContainerProperty(3, "name").setValue("Changed");
+
+        assertEquals(1, generatedItemIds.size());
+        assertEquals(3, generatedItemIds.get(0));
+
+        String uidl = paint(false);
+        assertTrue(uidl.contains("[\"urows\""));
+        assertTrue(uidl.contains("Changed"));
+        assertFalse(uidl.contains("[\"rows\""));
+        assertFalse(uidl.contains("Item 4"));
+    }
+
+    @Test
+    public void itemAdded_onlyAddedRowRendered() throws Exception {
+        container.addItemAt(2, "new");
+
+        assertEquals(1, generatedItemIds.size());
+        assertEquals("new", generatedItemIds.get(0));
+        assertEquals(container.getItemIds(0, table.getVisibleItemIds().size()),
+                new ArrayList<Object>(table.getVisibleItemIds()));
+
+        String uidl = paint(false);
+        assertTrue(uidl.contains("[\"prows\""));
+        assertTrue(uidl.contains("Generated new"));
+        assertFalse(uidl.contains("[\"rows\""));
+        assertFalse(uidl.contains("Item 4"));
+    }
+
+    @Test
+    public void itemRemoved_rowsHiddenWithoutRenderingVisibleRows()
+            throws Exception {
+        container.removeItem(5);
+
+        assertFalse(table.getVisibleItemIds().contains(5));
+        assertFalse(generatedItemIds.contains(4));
+        assertFalse(generatedItemIds.contains(6));
+
+        String uidl = paint(false);
+        assertTrue(uidl.contains("[\"prows\""));
+        assertTrue(uidl.contains("\"hide\":true"));
+        assertFalse(uidl.contains("[\"rows\""));
+    }
+
+    @Test
+    public void containerSorted_allRowsRendered() throws Exception {
+        container.sort(new Object[] { "name" }, new boolean[] { false });
+
+        assertEquals(table.getVisibleItemIds().size(), generatedItemIds.size());
+
+        String uidl = paint(false);
+        assertTrue(uidl.contains("[\"rows\""));
+        assertFalse(uidl.contains("[\"urows\""));
+        assertFalse(uidl.contains("[\"prows\""));
+    }
+
+    private String paint(boolean fullRepaint) throws PaintException {
+        StringWriter writer = new StringWriter();
+        JsonPaintTarget target = new JsonPaintTarget(
+                Mockito.mock(LegacyCommunicationManager.class), writer,
+                !fullRepaint);
+        target.startTag("table");
+        table.paintContent(target);
+        target.endTag("table");
+        target.close();
+        return writer.toString();
+    }
+}
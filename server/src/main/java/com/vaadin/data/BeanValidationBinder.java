@@ -15,9 +15,7 @@
  */
 package com.vaadin.data;
 
-import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.ConstraintDescriptor;
-import javax.validation.metadata.PropertyDescriptor;
 
 import com.vaadin.data.BeanPropertySet.NestedBeanPropertyDefinition;
 import com.vaadin.data.util.BeanUtil;
@@ -128,15 +126,8 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
     private void configureRequired(BindingBuilder<BEAN, ?> binding,
             PropertyDefinition<BEAN, ?> definition, BeanValidator validator) {
         assert requiredConfigurator != null;
-        Class<?> propertyHolderType = definition.getPropertyHolderType();
-        BeanDescriptor descriptor = validator.getJavaxBeanValidator()
-                .getConstraintsForClass(propertyHolderType);
-        PropertyDescriptor propertyDescriptor = descriptor
-                .getConstraintsForProperty(definition.getTopLevelName());
-        if (propertyDescriptor == null) {
-            return;
-        }
-        if (propertyDescriptor.getConstraintDescriptors().stream()
+        // The validator is created for the property holder type
+        if (validator.getConstraintDescriptors().stream()
                 .map(ConstraintDescriptor::getAnnotation)
                 .anyMatch(requiredConfigurator)) {
             binding.getField().setRequiredIndicatorVisible(true);
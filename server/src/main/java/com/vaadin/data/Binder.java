@@ -19,11 +19,14 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -1014,6 +1017,14 @@ public class Binder<BEAN> implements Serializable {
          */
         private final Converter<FIELDVALUE, TARGET> converterValidatorChain;
 
+        /*
+         * Result of running the field value through the converters and
+         * validators, cached until the value changes when the binder uses
+         * incremental validation.
+         */
+        private Result<TARGET> conversionResult;
+        private BindingValidationStatus<TARGET> validationStatus;
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 ValueProvider<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -1093,6 +1104,16 @@ public class Binder<BEAN> implements Serializable {
          * @return the result of the conversion
          */
         private Result<TARGET> doConversion() {
+            if (binder == null || !binder.isIncrementalValidation()) {
+                return convertFieldValue();
+            }
+            if (conversionResult == null) {
+                conversionResult = convertFieldValue();
+            }
+            return conversionResult;
+        }
+
+        private Result<TARGET> convertFieldValue() {
             FIELDVALUE fieldValue = field.getValue();
             return converterValidatorChain.convertToModel(fieldValue,
                     createValueContext());
@@ -1111,7 +1132,22 @@ public class Binder<BEAN> implements Serializable {
          * @return the validation status
          */
         private BindingValidationStatus<TARGET> doValidation() {
-            return toValidationStatus(doConversion());
+            if (binder == null || !binder.isIncrementalValidation()) {
+                return toValidationStatus(doConversion());
+            }
+            if (validationStatus == null) {
+                validationStatus = toValidationStatus(doConversion());
+            }
+            return validationStatus;
+        }
+
+        /**
+         * Discards the cached validation status of this binding, causing the
+         * converters and validators to be run again on the next validation.
+         */
+        private void invalidateValidationStatus() {
+            conversionResult = null;
+            validationStatus = null;
         }
 
         /**
@@ -1160,6 +1196,10 @@ public class Binder<BEAN> implements Serializable {
          */
         private void handleFieldValueChange(
                 ValueChangeEvent<FIELDVALUE> event) {
+            if (binder != null) {
+                // Also initial values need to be validated again
+                getBinder().invalidateValidation(this);
+            }
             // Don't handle change events when setting initial value
             if (valueInit) {
                 return;
@@ -1338,6 +1378,33 @@ public class Binder<BEAN> implements Serializable {
 
     private Set<Binding<BEAN, ?>> changedBindings = new LinkedHashSet<>();
 
+    private boolean incrementalValidation = false;
+
+    /**
+     * Bindings to validate again when the key binding changes, in addition to
+     * the key binding itself.
+     */
+    private final Map<Binding<BEAN, ?>, Set<Binding<BEAN, ?>>> dependentBindings = new HashMap<>();
+
+    /**
+     * The bindings bean level validators depend on, validators without declared
+     * dependencies are always run.
+     */
+    private final Map<Validator<? super BEAN>, Set<Binding<BEAN, ?>>> validatorDependencies = new IdentityHashMap<>();
+
+    private final Map<Validator<? super BEAN>, ValidationResult> validatorResults = new IdentityHashMap<>();
+
+    /**
+     * Bindings whose field values have changed since bean level validators were
+     * last run.
+     */
+    private final Set<Binding<BEAN, ?>> changedSinceBeanValidation = new HashSet<>();
+
+    /**
+     * The bean validator results have been cached for.
+     */
+    private BEAN validatedBean;
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1883,6 +1950,134 @@ public class Binder<BEAN> implements Serializable {
         return this;
     }
 
+    /**
+     * Adds a bean level validator which only depends on the values of the given
+     * bindings.
+     * <p>
+     * When {@link #setIncrementalValidation(boolean) incremental validation} is
+     * used, the validator is only run again if the value of any of the given
+     * bindings has changed since it was last run for the same bean. Otherwise
+     * this is the same as {@link #withValidator(Validator)}.
+     *
+     * @see #withValidator(Validator)
+     * @see #setIncrementalValidation(boolean)
+     *
+     * @param validator
+     *            the validator to add, not null
+     * @param dependencies
+     *            the bindings whose values the validator reads from the bean
+     * @return this binder, for chaining
+     * @since 8.6
+     */
+    @SafeVarargs
+    public final Binder<BEAN> withValidator(Validator<? super BEAN> validator,
+            Binding<BEAN, ?>... dependencies) {
+        withValidator(validator);
+        validatorDependencies.put(validator,
+                new HashSet<>(Arrays.asList(dependencies)));
+        return this;
+    }
+
+    /**
+     * Declares that the validation status of a binding depends on the values of
+     * other bindings, e.g. when a validator of the binding compares the field
+     * value to the value of another field. When incremental validation is used,
+     * the binding is validated again whenever the value of any of the given
+     * bindings changes.
+     *
+     * @see #setIncrementalValidation(boolean)
+     *
+     * @param binding
+     *            the binding to validate again, not null
+     * @param dependencies
+     *            the bindings whose values the validation depends on
+     * @since 8.6
+     */
+    @SafeVarargs
+    public final void addValidationDependency(Binding<BEAN, ?> binding,
+            Binding<BEAN, ?>... dependencies) {
+        Objects.requireNonNull(binding, "binding cannot be null");
+        for (Binding<BEAN, ?> dependency : dependencies) {
+            dependentBindings
+                    .computeIfAbsent(dependency, key -> new HashSet<>())
+                    .add(binding);
+        }
+        invalidateValidation(binding);
+    }
+
+    /**
+     * Sets whether validation results are reused until the values they depend
+     * on change. By default, all converters and validators of all bindings and
+     * all bean level validators are run whenever the binder is validated.
+     * <p>
+     * With incremental validation, the converters and validators of a binding
+     * are only run again when the value of its field changes or the value of a
+     * binding declared using
+     * {@link #addValidationDependency(Binding, Binding...)} changes. Bean level
+     * validators added using {@link #withValidator(Validator, Binding...)} are
+     * only run again when the value of one of their dependencies changes or the
+     * bean changes. Other bean level validators are always run.
+     * <p>
+     * Incremental validation assumes that converters and validators only depend
+     * on the field value and the declared dependencies. Changes that do not
+     * fire value change events, such as changing the locale or modifying a
+     * mutable field value in place, are not noticed.
+     *
+     * @param incrementalValidation
+     *            {@code true} to reuse validation results, {@code false} to
+     *            always validate everything
+     * @since 8.6
+     */
+    public void setIncrementalValidation(boolean incrementalValidation) {
+        this.incrementalValidation = incrementalValidation;
+        getBindings().forEach(BindingImpl::invalidateValidationStatus);
+        changedSinceBeanValidation.clear();
+        validatorResults.clear();
+        validatedBean = null;
+    }
+
+    /**
+     * Gets whether validation results are reused until the values they depend
+     * on change.
+     *
+     * @see #setIncrementalValidation(boolean)
+     *
+     * @return {@code true} if validation is incremental, otherwise
+     *         {@code false}
+     * @since 8.6
+     */
+    public boolean isIncrementalValidation() {
+        return incrementalValidation;
+    }
+
+    /**
+     * Discards the cached validation status of the binding and the bindings
+     * depending on it after its value has changed.
+     *
+     * @param binding
+     *            the changed binding
+     */
+    private void invalidateValidation(Binding<BEAN, ?> binding) {
+        if (!incrementalValidation) {
+            return;
+        }
+        changedSinceBeanValidation.add(binding);
+        Set<Binding<BEAN, ?>> invalidated = new HashSet<>();
+        Deque<Binding<BEAN, ?>> pending = new ArrayDeque<>();
+        pending.add(binding);
+        while (!pending.isEmpty()) {
+            Binding<BEAN, ?> current = pending.poll();
+            if (invalidated.add(current)) {
+                if (current instanceof BindingImpl) {
+                    ((BindingImpl<BEAN, ?, ?>) current)
+                            .invalidateValidationStatus();
+                }
+                pending.addAll(dependentBindings.getOrDefault(current,
+                        Collections.emptySet()));
+            }
+        }
+    }
+
     /**
      * A convenience method to add a validator to this binder using the
      * {@link Validator#from(SerializablePredicate, String)} factory method.
@@ -2062,13 +2257,35 @@ public class Binder<BEAN> implements Serializable {
      */
     private List<ValidationResult> validateBean(BEAN bean) {
         Objects.requireNonNull(bean, "bean cannot be null");
+        if (bean != validatedBean) {
+            validatorResults.clear();
+        }
         List<ValidationResult> results = Collections.unmodifiableList(validators
-                .stream()
-                .map(validator -> validator.apply(bean, new ValueContext()))
+                .stream().map(validator -> validateBean(validator, bean))
                 .collect(Collectors.toList()));
+        if (incrementalValidation) {
+            validatedBean = bean;
+            changedSinceBeanValidation.clear();
+        }
         return results;
     }
 
+    private ValidationResult validateBean(Validator<? super BEAN> validator,
+            BEAN bean) {
+        if (!incrementalValidation) {
+            return validator.apply(bean, new ValueContext());
+        }
+        Set<Binding<BEAN, ?>> dependencies = validatorDependencies
+                .get(validator);
+        ValidationResult result = validatorResults.get(validator);
+        if (result == null || dependencies == null || !Collections
+                .disjoint(dependencies, changedSinceBeanValidation)) {
+            result = validator.apply(bean, new ValueContext());
+            validatorResults.put(validator, result);
+        }
+        return result;
+    }
+
     /**
      * Sets the label to show the binder level validation errors not related to
      * any specific field.
@@ -2440,6 +2657,9 @@ public class Binder<BEAN> implements Serializable {
 
     private void doRemoveBean(boolean fireStatusEvent) {
         changedBindings.clear();
+        // Other properties of the next bean may differ
+        validatorResults.clear();
+        validatedBean = null;
         if (bean != null) {
             bean = null;
         }
@@ -2857,6 +3077,12 @@ public class Binder<BEAN> implements Serializable {
             boundProperties.entrySet()
                     .removeIf(entry -> entry.getValue().equals(binding));
         }
+        dependentBindings.remove(binding);
+        dependentBindings.values()
+                .forEach(dependents -> dependents.remove(binding));
+        validatorDependencies.values()
+                .forEach(dependencies -> dependencies.remove(binding));
+        changedSinceBeanValidation.remove(binding);
     }
 
     /**
@@ -15,9 +15,21 @@
  */
 package com.vaadin.data.provider;
 
+import java.io.Serializable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.data.TreeData;
@@ -28,6 +40,14 @@ import com.vaadin.server.SerializablePredicate;
 /**
  * An in-memory data provider for listing components that display hierarchical
  * data. Uses an instance of {@link TreeData} as its source of data.
+ * <p>
+ * The filtered and sorted children of each item are cached for the query
+ * filters and in-memory sortings used most recently, so that fetching more
+ * pages of the same items does not filter and sort them again. The cache is
+ * cleared by {@link #refreshAll()}, and {@link #refreshItem(Object)} updates
+ * only the parts of it that depend on the refreshed item. The cache is safe to
+ * use from several sessions at the same time, so a data provider whose
+ * {@link TreeData} is not modified can be shared.
  *
  * @author Vaadin Ltd
  * @since 8.1
@@ -45,6 +65,20 @@ public class TreeDataProvider<T>
 
     private SerializableComparator<T> sortOrder = null;
 
+    private boolean recursiveFiltering = false;
+
+    /**
+     * The maximum number of query filter and in-memory sorting combinations
+     * for which the filtered children are cached.
+     */
+    private static final int MAX_FILTERED_TREES = 16;
+
+    /**
+     * Filtered trees by query filter and in-memory sorting, least recently
+     * used first. Guarded by this data provider.
+     */
+    private transient Map<List<Object>, FilteredTree<T>> filteredTrees;
+
     /**
      * Constructs a new TreeDataProvider.
      * <p>
@@ -81,12 +115,71 @@ public class TreeDataProvider<T>
     @Override
     public int getChildCount(
             HierarchicalQuery<T, SerializablePredicate<T>> query) {
-        return (int) fetchChildren(query).count();
+        return getFilteredChildren(query).size();
     }
 
     @Override
     public Stream<T> fetchChildren(
             HierarchicalQuery<T, SerializablePredicate<T>> query) {
+        return getFilteredChildren(query).stream().skip(query.getOffset())
+                .limit(query.getLimit());
+    }
+
+    @Override
+    public void refreshAll() {
+        synchronized (this) {
+            filteredTrees = null;
+        }
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        synchronized (this) {
+            if (filteredTrees != null) {
+                if (treeData.contains(item)) {
+                    filteredTrees.values().forEach(
+                            filteredTree -> filteredTree.refresh(item));
+                } else {
+                    filteredTrees = null;
+                }
+            }
+        }
+        super.refreshItem(item);
+    }
+
+    /**
+     * Sets whether the filters are applied recursively. By default, an item is
+     * shown if it and all its ancestors pass the filters. With recursive
+     * filtering, an item is shown if it or any of its descendants passes the
+     * filters, so that the items matching the filters are shown with all their
+     * ancestors.
+     *
+     * @param recursiveFiltering
+     *            <code>true</code> to show the ancestors of the items passing
+     *            the filters, <code>false</code> to hide the descendants of the
+     *            items not passing the filters
+     * @since 8.6
+     */
+    public void setRecursiveFiltering(boolean recursiveFiltering) {
+        this.recursiveFiltering = recursiveFiltering;
+        refreshAll();
+    }
+
+    /**
+     * Gets whether the filters are applied recursively.
+     *
+     * @return <code>true</code> if the ancestors of the items passing the
+     *         filters are shown, <code>false</code> otherwise
+     * @see #setRecursiveFiltering(boolean)
+     * @since 8.6
+     */
+    public boolean isRecursiveFiltering() {
+        return recursiveFiltering;
+    }
+
+    private List<T> getFilteredChildren(
+            HierarchicalQuery<T, SerializablePredicate<T>> query) {
         if (!treeData.contains(query.getParent())) {
             throw new IllegalArgumentException("The queried item "
                     + query.getParent()
@@ -94,20 +187,26 @@ public class TreeDataProvider<T>
                     + "Did you forget to refresh this data provider after item removal?");
         }
 
-        Stream<T> childStream = getFilteredStream(
-                treeData.getChildren(query.getParent()).stream(),
-                query.getFilter());
-
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(c -> c != null)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        return getFilteredTree(query.getFilter().orElse(null),
+                query.getInMemorySorting()).getChildren(query.getParent());
+    }
 
-        if (comparing.isPresent()) {
-            childStream = childStream.sorted(comparing.get());
+    private synchronized FilteredTree<T> getFilteredTree(
+            SerializablePredicate<T> queryFilter,
+            Comparator<T> inMemorySorting) {
+        if (filteredTrees == null) {
+            filteredTrees = new LinkedHashMap<List<Object>, FilteredTree<T>>(
+                    16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Entry<List<Object>, FilteredTree<T>> eldest) {
+                    return size() > MAX_FILTERED_TREES;
+                }
+            };
         }
-
-        return childStream.skip(query.getOffset()).limit(query.getLimit());
+        return filteredTrees.computeIfAbsent(
+                Arrays.asList(queryFilter, inMemorySorting),
+                key -> new FilteredTree<>(this, queryFilter, inMemorySorting));
     }
 
     @Override
@@ -139,9 +238,23 @@ public class TreeDataProvider<T>
                 "Filter converter can't be null");
         return new DataProviderWrapper<T, C, SerializablePredicate<T>>(this) {
 
+            // Converted again only when the filter changes, so that the
+            // cached filtered tree can be used for the following queries
+            private volatile Entry<C, SerializablePredicate<T>> lastConversion;
+
             @Override
             protected SerializablePredicate<T> getFilter(Query<T, C> query) {
-                return query.getFilter().map(filterConverter).orElse(null);
+                C filter = query.getFilter().orElse(null);
+                if (filter == null) {
+                    return null;
+                }
+                Entry<C, SerializablePredicate<T>> conversion = lastConversion;
+                if (conversion == null || !filter.equals(conversion.getKey())) {
+                    conversion = new SimpleImmutableEntry<>(filter,
+                            filterConverter.apply(filter));
+                    lastConversion = conversion;
+                }
+                return conversion.getValue();
             }
 
             @Override
@@ -170,11 +283,121 @@ public class TreeDataProvider<T>
         };
     }
 
-    private Stream<T> getFilteredStream(Stream<T> stream,
-            Optional<SerializablePredicate<T>> queryFilter) {
-        if (filter != null) {
-            stream = stream.filter(filter);
+    /**
+     * The filtered and sorted children of the items for one query filter and
+     * in-memory sorting, computed when they are first needed. Synchronized
+     * since queries from several sessions may use the same filtered tree.
+     *
+     * @param <T>
+     *            data type
+     */
+    private static class FilteredTree<T> implements Serializable {
+        private final TreeDataProvider<T> provider;
+        private final SerializablePredicate<T> queryFilter;
+        private final Comparator<T> inMemorySorting;
+
+        // Null key for the root items
+        private final Map<T, List<T>> children = new HashMap<>();
+        // Only used with recursive filtering
+        private final Map<T, Boolean> visibility = new HashMap<>();
+
+        private FilteredTree(TreeDataProvider<T> provider,
+                SerializablePredicate<T> queryFilter,
+                Comparator<T> inMemorySorting) {
+            this.provider = provider;
+            this.queryFilter = queryFilter;
+            this.inMemorySorting = inMemorySorting;
+        }
+
+        private synchronized List<T> getChildren(T parent) {
+            List<T> filtered = children.get(parent);
+            if (filtered == null) {
+                Stream<T> childStream = provider.treeData.getChildren(parent)
+                        .stream().filter(this::isVisible);
+
+                Optional<Comparator<T>> comparing = Stream
+                        .of(inMemorySorting, provider.sortOrder)
+                        .filter(c -> c != null)
+                        .reduce((c1, c2) -> c1.thenComparing(c2));
+                if (comparing.isPresent()) {
+                    childStream = childStream.sorted(comparing.get());
+                }
+
+                filtered = childStream.collect(Collectors.toList());
+                children.put(parent, filtered);
+            }
+            return filtered;
+        }
+
+        private boolean matches(T item) {
+            return (provider.filter == null || provider.filter.test(item))
+                    && (queryFilter == null || queryFilter.test(item));
+        }
+
+        private boolean isVisible(T item) {
+            if (!provider.recursiveFiltering) {
+                return matches(item);
+            }
+            Boolean visible = visibility.get(item);
+            return visible != null ? visible : computeVisibility(item);
+        }
+
+        /**
+         * Checks whether the item or any of its descendants matches. The
+         * descendants are visited depth first until a match is found, and the
+         * result for each visited item is stored.
+         */
+        private boolean computeVisibility(T item) {
+            if (matches(item)) {
+                visibility.put(item, Boolean.TRUE);
+                return true;
+            }
+            Deque<T> items = new ArrayDeque<>();
+            Deque<Iterator<T>> childIterators = new ArrayDeque<>();
+            items.push(item);
+            childIterators.push(provider.treeData.getChildren(item).iterator());
+            boolean childVisible = false;
+            while (!items.isEmpty()) {
+                if (childVisible || !childIterators.peek().hasNext()) {
+                    // All children have been visited or one is visible
+                    visibility.put(items.pop(), childVisible);
+                    childIterators.pop();
+                    continue;
+                }
+                T child = childIterators.peek().next();
+                Boolean known = visibility.get(child);
+                if (known != null) {
+                    childVisible = known;
+                } else if (matches(child)) {
+                    visibility.put(child, Boolean.TRUE);
+                    childVisible = true;
+                } else {
+                    items.push(child);
+                    childIterators.push(
+                            provider.treeData.getChildren(child).iterator());
+                }
+            }
+            return visibility.get(item);
+        }
+
+        /**
+         * Removes the cached data which depends on the given item.
+         */
+        private synchronized void refresh(T item) {
+            // The item may now be sorted or filtered differently
+            children.remove(provider.treeData.getParent(item));
+            Boolean oldVisibility = visibility.remove(item);
+            if (oldVisibility == null
+                    || oldVisibility.booleanValue() == isVisible(item)) {
+                return;
+            }
+            // The visibility of the ancestors may have changed
+            T ancestor = provider.treeData.getParent(item);
+            while (ancestor != null) {
+                visibility.remove(ancestor);
+                ancestor = provider.treeData.getParent(ancestor);
+                children.remove(ancestor);
+            }
         }
-        return queryFilter.map(stream::filter).orElse(stream);
     }
 }
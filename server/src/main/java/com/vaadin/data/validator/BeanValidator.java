@@ -16,17 +16,22 @@
 
 package com.vaadin.data.validator;
 
+import java.beans.IntrospectionException;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.MessageInterpolator.Context;
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
 import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 
 import com.vaadin.data.ValidationResult;
 import com.vaadin.data.Validator;
@@ -71,9 +76,38 @@ public class BeanValidator implements Validator<Object> {
 
     }
 
+    /**
+     * Constraint metadata of the properties of bean types, as seen by the
+     * shared validator.
+     */
+    private static final Map<Class<?>, Map<String, PropertyConstraints>> SHARED_CONSTRAINTS = new ConcurrentHashMap<>();
+
+    /**
+     * The constraints of a bean property.
+     */
+    private static final class PropertyConstraints implements Serializable {
+
+        private final Set<ConstraintDescriptor<?>> descriptors;
+
+        /*
+         * Whether the property is known to have no constraints. Property paths
+         * and names which are not bean properties are always passed to the
+         * validator.
+         */
+        private final boolean unconstrained;
+
+        private PropertyConstraints(Set<ConstraintDescriptor<?>> descriptors,
+                boolean unconstrained) {
+            this.descriptors = descriptors;
+            this.unconstrained = unconstrained;
+        }
+    }
+
     private String propertyName;
     private Class<?> beanType;
 
+    private transient PropertyConstraints constraints;
+
     /**
      * Creates a new JSR-303 {@code BeanValidator} that validates values of the
      * specified property. Localizes validation messages using the
@@ -117,7 +151,11 @@ public class BeanValidator implements Validator<Object> {
      */
     @Override
     public ValidationResult apply(final Object value, ValueContext context) {
-        Set<? extends ConstraintViolation<?>> violations = getJavaxBeanValidator()
+        javax.validation.Validator validator = getJavaxBeanValidator();
+        if (getConstraints(validator).unconstrained) {
+            return ValidationResult.ok();
+        }
+        Set<? extends ConstraintViolation<?>> violations = validator
                 .validateValue(beanType, propertyName, value);
 
         Locale locale = context.getLocale().orElse(Locale.getDefault());
@@ -146,12 +184,64 @@ public class BeanValidator implements Validator<Object> {
     }
 
     /**
-     * Returns a shared JSR-303 validator instance to use.
+     * Returns a shared JSR-303 validator instance to use. The default
+     * implementation returns a validator shared by all bean validators, since
+     * validators are thread safe.
      *
      * @return the validator to use
      */
     public javax.validation.Validator getJavaxBeanValidator() {
-        return getJavaxBeanValidatorFactory().getValidator();
+        return LazyFactoryInitializer.VALIDATOR;
+    }
+
+    /**
+     * Returns the constraints declared for the validated property.
+     *
+     * @return an unmodifiable set of constraint descriptors, empty if the
+     *         property has no constraints or is not a property of the bean type
+     * @since 8.6
+     */
+    public Set<ConstraintDescriptor<?>> getConstraintDescriptors() {
+        return getConstraints(getJavaxBeanValidator()).descriptors;
+    }
+
+    private PropertyConstraints getConstraints(
+            javax.validation.Validator validator) {
+        if (constraints == null) {
+            if (validator == LazyFactoryInitializer.VALIDATOR) {
+                // Same metadata for all validators of the same property
+                constraints = SHARED_CONSTRAINTS
+                        .computeIfAbsent(beanType,
+                                type -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(propertyName,
+                                name -> findConstraints(validator));
+            } else {
+                constraints = findConstraints(validator);
+            }
+        }
+        return constraints;
+    }
+
+    private PropertyConstraints findConstraints(
+            javax.validation.Validator validator) {
+        PropertyDescriptor descriptor = validator
+                .getConstraintsForClass(beanType)
+                .getConstraintsForProperty(propertyName);
+        if (descriptor != null) {
+            return new PropertyConstraints(Collections.unmodifiableSet(
+                    descriptor.getConstraintDescriptors()), false);
+        }
+        return new PropertyConstraints(Collections.emptySet(),
+                isBeanProperty());
+    }
+
+    private boolean isBeanProperty() {
+        try {
+            return propertyName.indexOf('.') == -1 && BeanUtil
+                    .getPropertyDescriptor(beanType, propertyName) != null;
+        } catch (IntrospectionException e) {
+            return false;
+        }
     }
 
     /**
@@ -185,6 +275,8 @@ public class BeanValidator implements Validator<Object> {
 
     private static class LazyFactoryInitializer implements Serializable {
         private static final ValidatorFactory FACTORY = getFactory();
+        private static final javax.validation.Validator VALIDATOR = FACTORY
+                .getValidator();
 
         private static ValidatorFactory getFactory() {
             return Validation.buildDefaultValidatorFactory();
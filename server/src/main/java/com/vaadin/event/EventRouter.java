@@ -20,9 +20,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EventObject;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import com.vaadin.server.ErrorEvent;
@@ -47,6 +49,14 @@ public class EventRouter implements MethodEventSource {
      */
     private LinkedHashSet<ListenerMethod> listenerList = null;
 
+    /**
+     * Listeners triggered by each fired event class, in registration order.
+     * Built lazily by {@link #fireEvent(EventObject, ErrorHandler)} and cleared
+     * whenever the listeners change, so that firing does not need to check the
+     * event type of every registered listener.
+     */
+    private transient Map<Class<?>, ListenerMethod[]> dispatchIndex = null;
+
     /*
      * Registers a new listener with the specified activation method to listen
      * events generated by this component. Don't add a JavaDoc comment here, we
@@ -61,8 +71,8 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, object,
                 method);
-        listenerList.add(listenerMethod);
-        return () -> listenerList.remove(listenerMethod);
+        addListenerMethod(listenerMethod);
+        return () -> removeListenerMethod(listenerMethod);
     }
 
     /**
@@ -114,13 +124,13 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, target,
                 method);
-        listenerList.add(listenerMethod);
+        addListenerMethod(listenerMethod);
 
         Registration registration = ComponentStateUtil
                 .addRegisteredEventListener(state, eventIdentifier);
 
         return () -> {
-            listenerList.remove(listenerMethod);
+            removeListenerMethod(listenerMethod);
             if (!hasListeners(eventType)) {
                 registration.remove();
             }
@@ -141,8 +151,18 @@ public class EventRouter implements MethodEventSource {
         }
         ListenerMethod listenerMethod = new ListenerMethod(eventType, object,
                 methodName);
+        addListenerMethod(listenerMethod);
+        return () -> removeListenerMethod(listenerMethod);
+    }
+
+    private void addListenerMethod(ListenerMethod listenerMethod) {
         listenerList.add(listenerMethod);
-        return () -> listenerList.remove(listenerMethod);
+        dispatchIndex = null;
+    }
+
+    private void removeListenerMethod(ListenerMethod listenerMethod) {
+        listenerList.remove(listenerMethod);
+        dispatchIndex = null;
     }
 
     /*
@@ -158,6 +178,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target)) {
                     i.remove();
+                    dispatchIndex = null;
                     return;
                 }
             }
@@ -178,6 +199,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target, method)) {
                     i.remove();
+                    dispatchIndex = null;
                     return;
                 }
             }
@@ -213,6 +235,7 @@ public class EventRouter implements MethodEventSource {
                 final ListenerMethod lm = i.next();
                 if (lm.matches(eventType, target, method)) {
                     i.remove();
+                    dispatchIndex = null;
                     return;
                 }
             }
@@ -224,6 +247,7 @@ public class EventRouter implements MethodEventSource {
      */
     public void removeAllListeners() {
         listenerList = null;
+        dispatchIndex = null;
     }
 
     /**
@@ -256,13 +280,11 @@ public class EventRouter implements MethodEventSource {
         // It is not necessary to send any events if there are no listeners
         if (listenerList != null) {
 
-            // Make a copy of the listener list to allow listeners to be added
-            // inside listener methods. Fixes #3605.
-
-            // Send the event to all listeners. The listeners themselves
-            // will filter out unwanted events.
-            for (Object l : listenerList.toArray()) {
-                ListenerMethod listenerMethod = (ListenerMethod) l;
+            // The indexed listener array is never modified, but replaced when
+            // listeners change, to allow listeners to be added inside listener
+            // methods. Fixes #3605.
+            for (ListenerMethod listenerMethod : getListenerMethods(
+                    event.getClass())) {
                 if (null != errorHandler) {
                     try {
                         listenerMethod.receiveEvent(event);
@@ -276,6 +298,32 @@ public class EventRouter implements MethodEventSource {
         }
     }
 
+    /**
+     * Gets the listeners triggered by events of the given class, using the
+     * dispatch index.
+     *
+     * @param eventClass
+     *            the class of the fired event
+     * @return the listeners to notify, in registration order
+     */
+    private ListenerMethod[] getListenerMethods(Class<?> eventClass) {
+        if (dispatchIndex == null) {
+            dispatchIndex = new HashMap<>();
+        }
+        ListenerMethod[] listeners = dispatchIndex.get(eventClass);
+        if (listeners == null) {
+            List<ListenerMethod> matching = new ArrayList<>();
+            for (ListenerMethod lm : listenerList) {
+                if (lm.acceptsEventType(eventClass)) {
+                    matching.add(lm);
+                }
+            }
+            listeners = matching.toArray(new ListenerMethod[matching.size()]);
+            dispatchIndex.put(eventClass, listeners);
+        }
+        return listeners;
+    }
+
     /**
      * Checks if the given Event type is listened by a listener registered to
      * this router.
@@ -21,6 +21,9 @@ import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -85,6 +88,19 @@ public class ListenerMethod implements EventListener, Serializable {
      */
     private int eventArgumentIndex;
 
+    /**
+     * Method handle calling the trigger method on the target with the event as
+     * the only parameter, regardless of whether the trigger method takes the
+     * event. Created lazily when the listener is first triggered and
+     * <code>null</code> if the method must be invoked using reflection.
+     */
+    private transient MethodHandle invoker;
+
+    /**
+     * Whether an {@link #invoker} has already been looked up.
+     */
+    private transient boolean invokerResolved;
+
     /* Special serialization to handle method references */
     private void writeObject(ObjectOutputStream out) throws IOException {
         try {
@@ -493,6 +509,18 @@ public class ListenerMethod implements EventListener, Serializable {
     public void receiveEvent(EventObject event) {
         // Only send events supported by the method
         if (eventType.isAssignableFrom(event.getClass())) {
+            MethodHandle handle = getInvoker();
+            if (handle != null) {
+                try {
+                    handle.invokeExact((Object) event);
+                } catch (Throwable t) {
+                    throw new MethodException(
+                            "Invocation of method " + method.getName() + " in "
+                                    + target.getClass().getName() + " failed.",
+                            t);
+                }
+                return;
+            }
             try {
                 if (eventArgumentIndex >= 0) {
                     if (eventArgumentIndex == 0 && arguments.length == 1) {
@@ -521,6 +549,53 @@ public class ListenerMethod implements EventListener, Serializable {
         }
     }
 
+    /**
+     * Gets a method handle for calling the trigger method with the event
+     * object. Only listeners that take no parameters or just the event are
+     * invoked through a method handle, other listeners and methods not
+     * accessible through a method handle use reflection.
+     *
+     * @return the method handle or <code>null</code> to use reflection
+     */
+    private MethodHandle getInvoker() {
+        if (!invokerResolved) {
+            invokerResolved = true;
+            boolean eventOnly = eventArgumentIndex == 0
+                    && arguments.length == 1;
+            if (eventOnly || arguments.length == 0) {
+                try {
+                    MethodHandle handle = MethodHandles.lookup()
+                            .unreflect(method).bindTo(target);
+                    if (eventOnly) {
+                        invoker = handle.asType(MethodType
+                                .methodType(void.class, Object.class));
+                    } else {
+                        invoker = MethodHandles.dropArguments(
+                                handle.asType(
+                                        MethodType.methodType(void.class)),
+                                0, Object.class);
+                    }
+                } catch (IllegalAccessException e) {
+                    getLogger().log(Level.FINEST,
+                            "Using reflection to invoke " + method, e);
+                }
+            }
+        }
+        return invoker;
+    }
+
+    /**
+     * Checks whether events of the given type trigger this listener.
+     *
+     * @param eventClass
+     *            the class of a fired event
+     * @return <code>true</code> if the event type of this listener is the same
+     *         as or a superclass of the given type
+     */
+    boolean acceptsEventType(Class<?> eventClass) {
+        return eventType.isAssignableFrom(eventClass);
+    }
+
     /**
      * Checks if the given object and event match with the ones stored in this
      * listener.
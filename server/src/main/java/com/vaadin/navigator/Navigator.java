@@ -454,6 +454,8 @@ public class Navigator implements Serializable {
     private List<ViewProvider> providers = new LinkedList<>();
     private String currentNavigationState = null;
     private ViewProvider errorProvider;
+    private ViewCache viewCache;
+    private transient boolean prefetchScheduled;
 
     /**
      * Creates a navigator that is tracking the active view using URI fragments
@@ -648,8 +650,8 @@ public class Navigator implements Serializable {
         View viewWithLongestName = null;
 
         if (longestViewName != null) {
-            viewWithLongestName = longestViewNameProvider
-                    .getView(longestViewName);
+            viewWithLongestName = getView(longestViewNameProvider,
+                    longestViewName);
         }
 
         if (viewWithLongestName == null && errorProvider != null) {
@@ -778,6 +780,8 @@ public class Navigator implements Serializable {
         view.enter(event);
 
         fireAfterViewChange(event);
+
+        schedulePrefetch();
     }
 
     /**
@@ -1095,11 +1099,16 @@ public class Navigator implements Serializable {
      * <p>
      * This method only applies to views registered using
      * {@link #addView(String, View)} or {@link #addView(String, Class)}.
+     * <p>
+     * A cached view with the given name is also removed from the view cache.
      *
      * @param viewName
      *            name of the view to remove
      */
     public void removeView(String viewName) {
+        if (viewCache != null) {
+            viewCache.invalidate(viewName);
+        }
         Iterator<ViewProvider> it = providers.iterator();
         while (it.hasNext()) {
             ViewProvider provider = it.next();
@@ -1138,12 +1147,89 @@ public class Navigator implements Serializable {
 
     /**
      * Unregister a view provider (factory).
+     * <p>
+     * All views are removed from the view cache, if there is one, since the
+     * cache does not know which provider created each view.
      *
      * @param provider
      *            provider to unregister
      */
     public void removeProvider(ViewProvider provider) {
-        providers.remove(provider);
+        if (providers.remove(provider) && viewCache != null) {
+            viewCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Sets the cache to use for view instances. By default there is no cache
+     * and a view is requested from its view provider on every navigation.
+     * <p>
+     * Views marked for prefetching in the cache are created after the current
+     * request has been handled.
+     *
+     * @param viewCache
+     *            the view cache to use, or <code>null</code> to not cache views
+     * @since 8.6
+     */
+    public void setViewCache(ViewCache viewCache) {
+        this.viewCache = viewCache;
+        schedulePrefetch();
+    }
+
+    /**
+     * Gets the cache used for view instances.
+     *
+     * @return the view cache, or <code>null</code> if views are not cached
+     * @since 8.6
+     */
+    public ViewCache getViewCache() {
+        return viewCache;
+    }
+
+    /**
+     * Gets a view from the given provider, using the view cache if there is
+     * one.
+     *
+     * @param provider
+     *            the provider of the view
+     * @param viewName
+     *            the name of the view
+     * @return the view, or <code>null</code> if the provider did not return a
+     *         view
+     */
+    private View getView(ViewProvider provider, String viewName) {
+        if (viewCache == null) {
+            return provider.getView(viewName);
+        }
+        return viewCache.getView(viewName, () -> provider.getView(viewName));
+    }
+
+    private void schedulePrefetch() {
+        if (viewCache == null || prefetchScheduled
+                || viewCache.getPrefetchViewNames().isEmpty() || ui == null
+                || ui.getSession() == null) {
+            return;
+        }
+        prefetchScheduled = true;
+        // Run after the current request if the session is locked
+        ui.access(() -> {
+            prefetchScheduled = false;
+            prefetchViews();
+        });
+    }
+
+    private void prefetchViews() {
+        if (viewCache == null) {
+            return;
+        }
+        for (String viewName : new ArrayList<>(
+                viewCache.getPrefetchViewNames())) {
+            ViewProvider provider = getViewProvider(viewName);
+            if (provider != null
+                    && viewName.equals(provider.getViewName(viewName))) {
+                viewCache.prefetch(viewName, () -> provider.getView(viewName));
+            }
+        }
     }
 
     /**
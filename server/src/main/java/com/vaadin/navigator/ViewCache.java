@@ -0,0 +1,395 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.navigator;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A cache of view instances for a {@link Navigator}. When a cache is set using
+ * {@link Navigator#setViewCache(ViewCache)}, views are requested from the view
+ * providers only when there is no cached view for the view name, so returning
+ * to a previously visited view does not create its component tree again.
+ * <p>
+ * The {@link KeepAlive} policy of a view decides whether it is cached at all
+ * and whether it can be evicted. At most {@link #getMaxSize()} views with the
+ * {@link KeepAlive#LRU} policy are kept, the least recently used view is
+ * evicted when the limit is exceeded.
+ * <p>
+ * Views marked with {@link #setPrefetch(String, boolean)} are created before
+ * they are navigated to, using {@link com.vaadin.ui.UI#access(Runnable)} so
+ * that they are built after the response for the current request has been
+ * written.
+ * <p>
+ * A view cache contains views of one UI and must not be shared between
+ * navigators.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public class ViewCache implements Serializable {
+
+    /**
+     * Defines how long a view is kept in the cache.
+     */
+    public enum KeepAlive {
+        /**
+         * The view is not cached, a new view is requested from the view
+         * provider every time.
+         */
+        NEVER,
+        /**
+         * The view is cached until it is evicted as the least recently used
+         * view.
+         */
+        LRU,
+        /**
+         * The view is cached until it is invalidated and is not counted against
+         * the maximum size of the cache.
+         */
+        ALWAYS;
+    }
+
+    private final int maxSize;
+    private KeepAlive defaultKeepAlive = KeepAlive.LRU;
+    private final Map<String, KeepAlive> keepAlive = new HashMap<>();
+    private final Set<String> prefetchViewNames = new LinkedHashSet<>();
+
+    // In access order, the least recently used view first
+    private final LinkedHashMap<String, View> views = new LinkedHashMap<>(16,
+            0.75f, true);
+
+    private long hitCount;
+    private long missCount;
+    private long buildCount;
+    private long buildTime;
+    private long evictionCount;
+    private long prefetchCount;
+
+    /**
+     * Creates a view cache.
+     *
+     * @param maxSize
+     *            the maximum number of views with the {@link KeepAlive#LRU}
+     *            policy to keep, not negative
+     */
+    public ViewCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(
+                    "The maximum size cannot be negative");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the maximum number of views with the {@link KeepAlive#LRU} policy to
+     * keep.
+     *
+     * @return the maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the policy for views which have no policy set using
+     * {@link #setKeepAlive(String, KeepAlive)}. The default is
+     * {@link KeepAlive#LRU}.
+     *
+     * @param defaultKeepAlive
+     *            the default policy, not <code>null</code>
+     */
+    public void setDefaultKeepAlive(KeepAlive defaultKeepAlive) {
+        Objects.requireNonNull(defaultKeepAlive,
+                "The default policy cannot be null");
+        this.defaultKeepAlive = defaultKeepAlive;
+        evict();
+    }
+
+    /**
+     * Gets the policy for views which have no policy of their own.
+     *
+     * @return the default policy
+     */
+    public KeepAlive getDefaultKeepAlive() {
+        return defaultKeepAlive;
+    }
+
+    /**
+     * Sets the policy for the view with the given name.
+     *
+     * @param viewName
+     *            the name of the view, not <code>null</code>
+     * @param policy
+     *            the policy, or <code>null</code> to use the default policy
+     */
+    public void setKeepAlive(String viewName, KeepAlive policy) {
+        Objects.requireNonNull(viewName, "The view name cannot be null");
+        if (policy == null) {
+            keepAlive.remove(viewName);
+        } else {
+            keepAlive.put(viewName, policy);
+        }
+        evict();
+    }
+
+    /**
+     * Gets the policy for the view with the given name.
+     *
+     * @param viewName
+     *            the name of the view
+     * @return the policy of the view
+     */
+    public KeepAlive getKeepAlive(String viewName) {
+        return keepAlive.getOrDefault(viewName, defaultKeepAlive);
+    }
+
+    /**
+     * Sets whether the view with the given name should be created before it is
+     * navigated to. Views are prefetched when the cache is set to a navigator
+     * and after each view change if they are not in the cache.
+     * <p>
+     * Prefetching has no effect for views with the {@link KeepAlive#NEVER}
+     * policy.
+     *
+     * @param viewName
+     *            the name of the view, not <code>null</code>
+     * @param prefetch
+     *            <code>true</code> to prefetch the view, <code>false</code> to
+     *            create it when it is navigated to
+     */
+    public void setPrefetch(String viewName, boolean prefetch) {
+        Objects.requireNonNull(viewName, "The view name cannot be null");
+        if (prefetch) {
+            prefetchViewNames.add(viewName);
+        } else {
+            prefetchViewNames.remove(viewName);
+        }
+    }
+
+    /**
+     * Gets whether the view with the given name is prefetched.
+     *
+     * @param viewName
+     *            the name of the view
+     * @return <code>true</code> if the view is prefetched, <code>false</code>
+     *         otherwise
+     */
+    public boolean isPrefetch(String viewName) {
+        return prefetchViewNames.contains(viewName);
+    }
+
+    /**
+     * Gets the names of the views to prefetch.
+     *
+     * @return an unmodifiable set of view names
+     */
+    public Set<String> getPrefetchViewNames() {
+        return Collections.unmodifiableSet(prefetchViewNames);
+    }
+
+    /**
+     * Checks whether there is a cached view for the given name.
+     *
+     * @param viewName
+     *            the name of the view
+     * @return <code>true</code> if the view is cached, <code>false</code>
+     *         otherwise
+     */
+    public boolean isCached(String viewName) {
+        return views.containsKey(viewName);
+    }
+
+    /**
+     * Gets the number of cached views.
+     *
+     * @return the number of views in the cache
+     */
+    public int size() {
+        return views.size();
+    }
+
+    /**
+     * Removes the view with the given name from the cache. A new view is
+     * requested from the view provider the next time the view is navigated to.
+     *
+     * @param viewName
+     *            the name of the view
+     */
+    public void invalidate(String viewName) {
+        views.remove(viewName);
+    }
+
+    /**
+     * Removes all views from the cache.
+     */
+    public void invalidateAll() {
+        views.clear();
+    }
+
+    /**
+     * Gets the number of times a view was found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of times a view had to be created because it was not in
+     * the cache. Views with the {@link KeepAlive#NEVER} policy are not counted.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of views created, including prefetched views.
+     *
+     * @return the number of views created
+     */
+    public long getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Gets the total time spent creating views.
+     *
+     * @return the time spent in view providers, in nanoseconds
+     */
+    public long getTotalBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Gets the average time spent creating a view.
+     *
+     * @return the average build time in nanoseconds, or 0 if no views have been
+     *         created
+     */
+    public long getAverageBuildTime() {
+        return buildCount == 0 ? 0 : buildTime / buildCount;
+    }
+
+    /**
+     * Gets the number of views evicted because the cache was full.
+     *
+     * @return the number of evicted views
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the number of views created by prefetching.
+     *
+     * @return the number of prefetched views
+     */
+    public long getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Gets a view from the cache, creating and caching it if needed.
+     *
+     * @param viewName
+     *            the name of the view
+     * @param factory
+     *            creates the view if it is not cached
+     * @return the view, or <code>null</code> if the factory returned
+     *         <code>null</code>
+     */
+    View getView(String viewName, Supplier<View> factory) {
+        if (getKeepAlive(viewName) == KeepAlive.NEVER) {
+            return build(factory);
+        }
+        View view = views.get(viewName);
+        if (view != null) {
+            hitCount++;
+            return view;
+        }
+        missCount++;
+        view = build(factory);
+        put(viewName, view);
+        return view;
+    }
+
+    /**
+     * Creates and caches a view if it is marked for prefetching and not cached.
+     *
+     * @param viewName
+     *            the name of the view
+     * @param factory
+     *            creates the view
+     */
+    void prefetch(String viewName, Supplier<View> factory) {
+        if (!isPrefetch(viewName) || isCached(viewName)
+                || getKeepAlive(viewName) == KeepAlive.NEVER) {
+            return;
+        }
+        View view = build(factory);
+        if (view != null) {
+            prefetchCount++;
+            put(viewName, view);
+        }
+    }
+
+    private View build(Supplier<View> factory) {
+        long start = System.nanoTime();
+        View view = factory.get();
+        buildTime += System.nanoTime() - start;
+        buildCount++;
+        return view;
+    }
+
+    private void put(String viewName, View view) {
+        if (view != null) {
+            views.put(viewName, view);
+            evict();
+        }
+    }
+
+    private void evict() {
+        views.keySet().removeIf(
+                viewName -> getKeepAlive(viewName) == KeepAlive.NEVER);
+        int lruViews = 0;
+        for (String viewName : views.keySet()) {
+            if (getKeepAlive(viewName) == KeepAlive.LRU) {
+                lruViews++;
+            }
+        }
+        Iterator<Entry<String, View>> iterator = views.entrySet().iterator();
+        while (lruViews > maxSize && iterator.hasNext()) {
+            if (getKeepAlive(iterator.next().getKey()) == KeepAlive.LRU) {
+                iterator.remove();
+                lruViews--;
+                evictionCount++;
+            }
+        }
+    }
+}
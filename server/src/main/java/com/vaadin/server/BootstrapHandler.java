@@ -18,13 +18,13 @@ package com.vaadin.server;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -33,6 +33,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import javax.servlet.http.HttpServletResponse;
@@ -64,6 +65,13 @@ import elemental.json.impl.JsonUtil;
 
 /**
  * Handles the initial request to start the application.
+ * <p>
+ * If the {@value Constants#SERVLET_PARAMETER_BOOTSTRAP_PAGE_CACHE} parameter is
+ * set to <code>true</code>, rendered standalone pages are cached and reused for
+ * requests with the same UI class, theme, widgetset, locale and request path
+ * dependent URLs. Pages are only cached when no dependency filters are used and
+ * all {@link BootstrapListener}s provide a
+ * {@link BootstrapListener#getCacheKey(BootstrapResponse) cache key}.
  *
  * @author Vaadin Ltd
  * @since 7.0.0
@@ -80,6 +88,23 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
      */
     public static final String IGNORE_RESTART_PARAM = "ignoreRestart";
 
+    private static final int MAX_CACHED_PAGES = 100;
+
+    private final Map<List<Object>, CachedPage> pageCache = new ConcurrentHashMap<>();
+
+    /**
+     * A rendered bootstrap page with the headers set for it.
+     */
+    private static class CachedPage implements Serializable {
+        private final byte[] html;
+        private final Map<String, Object> headers;
+
+        private CachedPage(byte[] html, Map<String, Object> headers) {
+            this.html = html;
+            this.headers = headers;
+        }
+    }
+
     /**
      * Provides context information for the bootstrap process.
      */
@@ -419,15 +444,35 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
                     bootstrapResponse);
             bootstrapResponse.setUriResolver(context.getUriResolver());
 
-            setupMainDiv(context);
+            List<Object> cacheKey = getPageCacheKey(context);
+            CachedPage page = cacheKey == null ? null : pageCache.get(cacheKey);
+            if (page == null) {
+                setupMainDiv(context);
 
-            BootstrapFragmentResponse fragmentResponse = context
-                    .getBootstrapResponse();
-            session.modifyBootstrapResponse(fragmentResponse);
+                BootstrapFragmentResponse fragmentResponse = context
+                        .getBootstrapResponse();
+                session.modifyBootstrapResponse(fragmentResponse);
 
-            String html = getBootstrapHtml(context);
+                Map<String, Object> headers = new LinkedHashMap<>();
+                String html = getBootstrapHtml(context, headers);
+                page = new CachedPage(html.getBytes(UTF_8), headers);
+                if (cacheKey != null && pageCache.size() < MAX_CACHED_PAGES) {
+                    pageCache.put(cacheKey, page);
+                }
+            } else {
+                /*
+                 * The cached page refers to the published files of the UI
+                 * class, which must still be registered for this session to
+                 * be served.
+                 */
+                Dependency.findDependencies(
+                        Collections.singletonList(uiClass),
+                        session.getCommunicationManager(),
+                        new FilterContext(session));
+            }
 
-            writeBootstrapPage(response, html);
+            sendBootstrapHeaders(response, page.headers);
+            writeBootstrapPage(response, page.html);
         } catch (JsonException e) {
             writeError(response, e);
         }
@@ -435,16 +480,63 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
         return true;
     }
 
-    private String getBootstrapHtml(BootstrapContext context) {
+    /**
+     * Gets the key for caching the bootstrap page for the given context. The
+     * key contains all values the page depends on.
+     *
+     * @param context
+     *            the bootstrap context
+     * @return the cache key, or <code>null</code> if the page should not be
+     *         cached
+     */
+    private List<Object> getPageCacheKey(BootstrapContext context) {
+        VaadinRequest request = context.getRequest();
+        VaadinService vaadinService = request.getService();
+        if (!vaadinService.isStandalone(request)
+                || !Boolean.parseBoolean(vaadinService
+                        .getDeploymentConfiguration()
+                        .getApplicationOrSystemProperty(
+                                Constants.SERVLET_PARAMETER_BOOTSTRAP_PAGE_CACHE,
+                                "false"))
+                || vaadinService.getDependencyFilters().iterator().hasNext()) {
+            return null;
+        }
+
+        List<Object> listenerKeys = new ArrayList<>();
+        for (BootstrapListener listener : context.getSession()
+                .getBootstrapListeners()) {
+            Object key = listener.getCacheKey(context.getBootstrapResponse());
+            if (key == null) {
+                return null;
+            }
+            listenerKeys.add(key);
+        }
+
+        WidgetsetInfo widgetsetInfo = context.getWidgetsetInfo();
+        return Arrays.asList(context.getUIClass(), context.getThemeName(),
+                widgetsetInfo.getWidgetsetName(),
+                widgetsetInfo.getWidgetsetUrl(), widgetsetInfo.isCdn(),
+                ServletPortletHelper.findLocale(null, context.getSession(),
+                        request),
+                context.getPushMode(), context.getAppId(),
+                getContextRootPath(context), getServiceUrl(context),
+                vaadinService.getStaticFileLocation(request),
+                context.getUriResolver().getFrontendUrl(),
+                request.getParameter(
+                        VaadinService.URL_PARAMETER_RESTART_APPLICATION) != null,
+                getMainDivStyle(context), getPageTitle(context),
+                getViewportContent(context), listenerKeys);
+    }
+
+    private String getBootstrapHtml(BootstrapContext context,
+            Map<String, Object> headers) {
         VaadinRequest request = context.getRequest();
-        VaadinResponse response = context.getResponse();
         VaadinService vaadinService = request.getService();
 
         BootstrapFragmentResponse fragmentResponse = context
                 .getBootstrapResponse();
 
         if (vaadinService.isStandalone(request)) {
-            Map<String, Object> headers = new LinkedHashMap<>();
             Document document = Document.createShell("");
             BootstrapPageResponse pageResponse = new BootstrapPageResponse(this,
                     request, context.getSession(), context.getUIClass(),
@@ -459,8 +551,6 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
             setupStandaloneDocument(context, pageResponse);
             context.getSession().modifyBootstrapResponse(pageResponse);
 
-            sendBootstrapHeaders(response, headers);
-
             return document.outerHtml();
         } else {
             StringBuilder sb = new StringBuilder();
@@ -492,13 +582,12 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
         }
     }
 
-    private void writeBootstrapPage(VaadinResponse response, String html)
+    private void writeBootstrapPage(VaadinResponse response, byte[] html)
             throws IOException {
         response.setContentType(
                 ApplicationConstants.CONTENT_TYPE_TEXT_HTML_UTF_8);
-        try (BufferedWriter writer = new BufferedWriter(
-                new OutputStreamWriter(response.getOutputStream(), UTF_8))) {
-            writer.append(html);
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(html);
         }
     }
 
@@ -522,44 +611,13 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
         head.appendElement("meta").attr("http-equiv", "X-UA-Compatible")
                 .attr("content", "IE=11");
 
-        Class<? extends UI> uiClass = context.getUIClass();
-
-        String viewportContent = null;
-        Viewport viewportAnnotation = uiClass.getAnnotation(Viewport.class);
-        ViewportGeneratorClass viewportGeneratorClassAnnotation = uiClass
-                .getAnnotation(ViewportGeneratorClass.class);
-        if (viewportAnnotation != null
-                && viewportGeneratorClassAnnotation != null) {
-            throw new IllegalStateException(uiClass.getCanonicalName()
-                    + " cannot be annotated with both @"
-                    + Viewport.class.getSimpleName() + " and @"
-                    + ViewportGeneratorClass.class.getSimpleName());
-        }
-
-        if (viewportAnnotation != null) {
-            viewportContent = viewportAnnotation.value();
-        } else if (viewportGeneratorClassAnnotation != null) {
-            Class<? extends ViewportGenerator> viewportGeneratorClass = viewportGeneratorClassAnnotation
-                    .value();
-            try {
-                viewportContent = ReflectTools
-                        .createInstance(viewportGeneratorClass)
-                        .getViewport(context.getRequest());
-            } catch (Exception e) {
-                throw new RuntimeException(
-                        "Error processing viewport generator "
-                                + viewportGeneratorClass.getCanonicalName(),
-                        e);
-            }
-        }
-
+        String viewportContent = getViewportContent(context);
         if (viewportContent != null) {
             head.appendElement("meta").attr("name", "viewport").attr("content",
                     viewportContent);
         }
 
-        String title = response.getUIProvider().getPageTitle(
-                new UICreateEvent(context.getRequest(), context.getUIClass()));
+        String title = getPageTitle(context);
         if (title != null) {
             head.appendElement("title").appendText(title);
         }
@@ -580,7 +638,7 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
         }
 
         Collection<? extends Dependency> deps = Dependency.findDependencies(
-                Collections.singletonList(uiClass),
+                Collections.singletonList(context.getUIClass()),
                 context.getSession().getCommunicationManager(),
                 new FilterContext(context.getSession()));
         for (Dependency dependency : deps) {
@@ -607,6 +665,45 @@ public abstract class BootstrapHandler extends SynchronizedRequestHandler {
         body.addClass(ApplicationConstants.GENERATED_BODY_CLASSNAME);
     }
 
+    private String getViewportContent(BootstrapContext context) {
+        Class<? extends UI> uiClass = context.getUIClass();
+        String viewportContent = null;
+        Viewport viewportAnnotation = uiClass.getAnnotation(Viewport.class);
+        ViewportGeneratorClass viewportGeneratorClassAnnotation = uiClass
+                .getAnnotation(ViewportGeneratorClass.class);
+        if (viewportAnnotation != null
+                && viewportGeneratorClassAnnotation != null) {
+            throw new IllegalStateException(uiClass.getCanonicalName()
+                    + " cannot be annotated with both @"
+                    + Viewport.class.getSimpleName() + " and @"
+                    + ViewportGeneratorClass.class.getSimpleName());
+        }
+
+        if (viewportAnnotation != null) {
+            viewportContent = viewportAnnotation.value();
+        } else if (viewportGeneratorClassAnnotation != null) {
+            Class<? extends ViewportGenerator> viewportGeneratorClass = viewportGeneratorClassAnnotation
+                    .value();
+            try {
+                viewportContent = ReflectTools
+                        .createInstance(viewportGeneratorClass)
+                        .getViewport(context.getRequest());
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "Error processing viewport generator "
+                                + viewportGeneratorClass.getCanonicalName(),
+                        e);
+            }
+        }
+
+        return viewportContent;
+    }
+
+    private String getPageTitle(BootstrapContext context) {
+        return context.getBootstrapResponse().getUIProvider().getPageTitle(
+                new UICreateEvent(context.getRequest(), context.getUIClass()));
+    }
+
     private static Logger getLogger() {
         return Logger.getLogger(BootstrapHandler.class.getName());
     }
@@ -58,4 +58,27 @@ public interface BootstrapListener extends EventListener, Serializable {
      *            the generate HTML and in the HTTP headers of the response.
      */
     public void modifyBootstrapPage(BootstrapPageResponse response);
+
+    /**
+     * Gets a key identifying the changes this listener would make to the
+     * bootstrap response. When the bootstrap page cache is enabled, a cached
+     * page is reused for requests for which all listeners return keys equal to
+     * the keys returned when the page was generated, without invoking the
+     * listeners again.
+     * <p>
+     * The default implementation returns <code>null</code>, which means that
+     * the changes cannot be described by a key and the page is never cached
+     * while this listener is registered.
+     *
+     * @param response
+     *            the bootstrap response for the request, not yet modified
+     * @return a key with proper <code>equals</code> and <code>hashCode</code>
+     *         implementations, or <code>null</code> if pages should not be
+     *         cached
+     * @see Constants#SERVLET_PARAMETER_BOOTSTRAP_PAGE_CACHE
+     * @since 8.6
+     */
+    public default Object getCacheKey(BootstrapResponse response) {
+        return null;
+    }
 }
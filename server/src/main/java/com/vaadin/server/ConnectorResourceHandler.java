@@ -16,6 +16,8 @@
 package com.vaadin.server;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,7 +30,7 @@ import com.vaadin.shared.ApplicationConstants;
 import com.vaadin.ui.UI;
 import com.vaadin.util.CurrentInstance;
 
-public class ConnectorResourceHandler implements RequestHandler {
+public class ConnectorResourceHandler implements RoutedRequestHandler {
     // APP/connector/[uiid]/[cid]/[filename.xyz]
     private static final String CONNECTOR_RESOURCE_PREFIX = "/"
             + ApplicationConstants.APP_PATH + "/"
@@ -136,4 +138,9 @@ public class ConnectorResourceHandler implements RequestHandler {
         // Request handled (though not in a nice way)
         return true;
     }
+
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections.singleton(CONNECTOR_RESOURCE_PREFIX);
+    }
 }
@@ -126,6 +126,16 @@ public interface Constants {
      */
     static final String SERVLET_PARAMETER_LEGACY_DESIGN_PREFIX = "legacyDesignPrefix";
 
+    /**
+     * Name of system or context property to enable caching of the rendered
+     * bootstrap page.
+     *
+     * @see BootstrapHandler
+     * @see BootstrapListener#getCacheKey(BootstrapResponse)
+     * @since 8.6
+     */
+    static final String SERVLET_PARAMETER_BOOTSTRAP_PAGE_CACHE = "bootstrapPageCache";
+
     // Configurable parameter names
     static final String PARAMETER_VAADIN_RESOURCES = "Resources";
 
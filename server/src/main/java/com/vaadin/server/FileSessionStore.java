@@ -0,0 +1,171 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Session store that keeps each session in a directory of its own, with one
+ * file for each chunk. The directory can be on a file system shared by the
+ * nodes of a cluster.
+ * <p>
+ * Chunk files are replaced atomically when the file system supports it, so a
+ * session being loaded never sees partially written chunks.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public class FileSessionStore implements SessionStore {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+
+    /**
+     * Creates a file session store using the given directory. The directory is
+     * created if it does not exist.
+     *
+     * @param directory
+     *            the directory to store the sessions in, not <code>null</code>
+     */
+    public FileSessionStore(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the directory the sessions are stored in.
+     *
+     * @return the directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Map<String, byte[]> load(String sessionId) throws IOException {
+        Path sessionDirectory = getSessionDirectory(sessionId);
+        if (!Files.isDirectory(sessionDirectory)) {
+            return Collections.emptyMap();
+        }
+        Map<String, byte[]> chunks = new HashMap<>();
+        try (DirectoryStream<Path> files = Files
+                .newDirectoryStream(sessionDirectory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(TEMP_SUFFIX)) {
+                    chunks.put(decode(fileName), Files.readAllBytes(file));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public void store(String sessionId, Map<String, byte[]> changedChunks,
+            Collection<String> removedChunks) throws IOException {
+        Path sessionDirectory = getSessionDirectory(sessionId);
+        Files.createDirectories(sessionDirectory);
+        for (Map.Entry<String, byte[]> chunk : changedChunks.entrySet()) {
+            Path file = sessionDirectory.resolve(encode(chunk.getKey()));
+            Path tempFile = sessionDirectory
+                    .resolve(file.getFileName() + TEMP_SUFFIX);
+            Files.write(tempFile, chunk.getValue());
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        for (String chunk : removedChunks) {
+            Files.deleteIfExists(sessionDirectory.resolve(encode(chunk)));
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) throws IOException {
+        Path sessionDirectory = getSessionDirectory(sessionId);
+        if (!Files.isDirectory(sessionDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files
+                .newDirectoryStream(sessionDirectory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        try {
+            Files.deleteIfExists(sessionDirectory);
+        } catch (NoSuchFileException e) {
+            // Removed concurrently
+        }
+    }
+
+    private Path getSessionDirectory(String sessionId) {
+        return directory.toPath().resolve(encode(sessionId));
+    }
+
+    /**
+     * Encodes a session id or a chunk name into a safe file name by replacing
+     * all characters except letters, digits, '-' and '_' with their UTF-8 bytes
+     * in hexadecimal, prefixed with '%'.
+     */
+    private static String encode(String name) {
+        StringBuilder encoded = new StringBuilder(name.length());
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                    || c >= '0' && c <= '9' || c == '-' || c == '_') {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(Character.forDigit(c >> 4, 16))
+                        .append(Character.forDigit(c & 0xf, 16));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String decode(String fileName) {
+        byte[] bytes = new byte[fileName.length()];
+        int length = 0;
+        for (int i = 0; i < fileName.length(); i++) {
+            char c = fileName.charAt(i);
+            if (c == '%' && i + 2 < fileName.length()) {
+                bytes[length++] = (byte) Integer
+                        .parseInt(fileName.substring(i + 1, i + 3), 16);
+                i += 2;
+            } else {
+                bytes[length++] = (byte) c;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
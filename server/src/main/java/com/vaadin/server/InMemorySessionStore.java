@@ -0,0 +1,70 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store that keeps the chunks of the sessions in memory. Mainly useful
+ * for testing and as a reference implementation of {@link SessionStore}.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private final Map<String, Map<String, byte[]>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, byte[]> load(String sessionId) {
+        Map<String, byte[]> chunks = sessions.get(sessionId);
+        if (chunks == null) {
+            return Collections.emptyMap();
+        }
+        synchronized (chunks) {
+            return new HashMap<>(chunks);
+        }
+    }
+
+    @Override
+    public void store(String sessionId, Map<String, byte[]> changedChunks,
+            Collection<String> removedChunks) {
+        Map<String, byte[]> chunks = sessions.computeIfAbsent(sessionId,
+                id -> new HashMap<>());
+        synchronized (chunks) {
+            chunks.keySet().removeAll(removedChunks);
+            chunks.putAll(changedChunks);
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Gets the ids of the sessions in this store.
+     *
+     * @return an unmodifiable set of session ids
+     */
+    public Collection<String> getSessionIds() {
+        return Collections.unmodifiableSet(sessions.keySet());
+    }
+}
@@ -29,6 +29,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,6 +45,7 @@ import com.vaadin.server.communication.DateSerializer;
 import com.vaadin.server.communication.JSONSerializer;
 import com.vaadin.shared.Connector;
 import com.vaadin.shared.JsonConstants;
+import com.vaadin.shared.communication.SharedState;
 import com.vaadin.shared.communication.UidlValue;
 import com.vaadin.ui.Component;
 import com.vaadin.ui.ConnectorTracker;
@@ -109,6 +111,30 @@ public class JsonCodec implements Serializable {
         public Type getType();
     }
 
+    /**
+     * Decodes JSON values into a specific Java type. A decoder is created once
+     * for a type using {@link JsonCodec#getDecoder(Type)}, which allows
+     * skipping the type resolution done by
+     * {@link JsonCodec#decodeInternalOrCustomType(Type, JsonValue, ConnectorTracker)}
+     * for every decoded value.
+     *
+     * @since 8.6
+     */
+    @FunctionalInterface
+    public static interface ValueDecoder extends Serializable {
+        /**
+         * Decodes a JSON value.
+         *
+         * @param value
+         *            the JSON value to decode
+         * @param connectorTracker
+         *            the connector tracker to use for finding connectors
+         * @return the decoded value
+         */
+        public Object decode(JsonValue value,
+                ConnectorTracker connectorTracker);
+    }
+
     private static class FieldProperty implements BeanProperty {
         private final Field field;
 
@@ -294,6 +320,52 @@ public class JsonCodec implements Serializable {
         }
     }
 
+    /**
+     * Gets a decoder for values of the given type. Using the decoder gives the
+     * same result as
+     * {@link #decodeInternalOrCustomType(Type, JsonValue, ConnectorTracker)},
+     * but the type is only resolved once and the most common simple types are
+     * decoded directly.
+     *
+     * @since 8.6
+     * @param targetType
+     *            the type to decode values to
+     * @return a decoder for the type
+     */
+    public static ValueDecoder getDecoder(Type targetType) {
+        if (targetType == String.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : value.asString();
+        } else if (targetType == int.class || targetType == Integer.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : (int) value.asNumber();
+        } else if (targetType == long.class || targetType == Long.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : (long) value.asNumber();
+        } else if (targetType == double.class || targetType == Double.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : value.asNumber();
+        } else if (targetType == float.class || targetType == Float.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : (float) value.asNumber();
+        } else if (targetType == boolean.class || targetType == Boolean.class) {
+            return (value, connectorTracker) -> value.getType() == JsonType.NULL
+                    ? null
+                    : value.asBoolean();
+        } else if (isInternalType(targetType)) {
+            return (value, connectorTracker) -> decodeInternalType(targetType,
+                    false, value, connectorTracker);
+        } else {
+            return (value, connectorTracker) -> decodeCustomType(targetType,
+                    value, connectorTracker);
+        }
+    }
+
     public static Object decodeCustomType(Type targetType, JsonValue value,
             ConnectorTracker connectorTracker) {
         if (isInternalType(targetType)) {
@@ -686,7 +758,8 @@ public class JsonCodec implements Serializable {
                 // needs to return it directly rather than assigning it to
                 // toReturn.
                 return encodeObject(value, (Class<?>) valueType,
-                        (JsonObject) diffState, connectorTracker);
+                        (JsonObject) diffState, connectorTracker,
+                        Collections.emptySet());
             }
         } else {
             throw new JsonException("Can not encode type " + valueType);
@@ -694,6 +767,40 @@ public class JsonCodec implements Serializable {
         return new EncodeResult(toReturn);
     }
 
+    /**
+     * Encodes a bean, reusing the values in the diff state for the given
+     * properties instead of encoding them again. This is used for shared state
+     * fields with change tracking that have not been marked as changed.
+     *
+     * @see SharedState#pollUnchangedFields()
+     *
+     * @param value
+     *            the bean to encode, not <code>null</code>
+     * @param diffState
+     *            the previously encoded value of the bean, or <code>null</code>
+     *            to encode all properties
+     * @param valueType
+     *            the type of the bean
+     * @param connectorTracker
+     *            the connector tracker to use
+     * @param unchangedProperties
+     *            names of the properties that have not changed since the diff
+     *            state was encoded
+     * @return the encode result
+     * @since 8.6
+     */
+    public static EncodeResult encode(Object value, JsonValue diffState,
+            Type valueType, ConnectorTracker connectorTracker,
+            Set<String> unchangedProperties) {
+        if (value == null || unchangedProperties.isEmpty()
+                || !(diffState instanceof JsonObject)
+                || !(valueType instanceof Class<?>)) {
+            return encode(value, diffState, valueType, connectorTracker);
+        }
+        return encodeObject(value, (Class<?>) valueType, (JsonObject) diffState,
+                connectorTracker, unchangedProperties);
+    }
+
     public static Collection<BeanProperty> getProperties(Class<?> type)
             throws IntrospectionException {
         Collection<BeanProperty> cachedProperties = TYPE_PROPERTY_CACHE
@@ -716,17 +823,14 @@ public class JsonCodec implements Serializable {
      * Loops through the fields of value and encodes them.
      */
     private static EncodeResult encodeObject(Object value, Class<?> valueType,
-            JsonObject referenceValue, ConnectorTracker connectorTracker) {
+            JsonObject referenceValue, ConnectorTracker connectorTracker,
+            Set<String> unchangedProperties) {
         JsonObject encoded = Json.createObject();
         JsonObject diff = Json.createObject();
 
         try {
             for (BeanProperty property : getProperties(valueType)) {
                 String fieldName = property.getName();
-                // We can't use PropertyDescriptor.getPropertyType() as it does
-                // not support generics
-                Type fieldType = property.getType();
-                Object fieldValue = property.getValue(value);
 
                 if (encoded.hasKey(fieldName)) {
                     throw new RuntimeException("Can't encode "
@@ -736,6 +840,19 @@ public class JsonCodec implements Serializable {
                             + ". This can happen if there are getters and setters for a public field (the framework can't know which to ignore) or if there are properties with only casing distinguishing between the names (e.g. getFoo() and getFOO())");
                 }
 
+                if (unchangedProperties.contains(fieldName)
+                        && referenceValue.hasKey(fieldName)) {
+                    // Same as last time, no need to encode or diff
+                    encoded.put(fieldName,
+                            (JsonValue) referenceValue.get(fieldName));
+                    continue;
+                }
+
+                // We can't use PropertyDescriptor.getPropertyType() as it does
+                // not support generics
+                Type fieldType = property.getType();
+                Object fieldValue = property.getValue(value);
+
                 JsonValue fieldReference;
                 if (referenceValue != null) {
                     fieldReference = referenceValue.get(fieldName);
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.GeneralSecurityException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -94,8 +95,10 @@ public class LegacyCommunicationManager implements Serializable {
         ConnectorTracker connectorTracker = uI.getConnectorTracker();
         Class<? extends SharedState> stateType = connector.getStateType();
         JsonValue diffState = connectorTracker.getDiffState(connector);
+        Set<String> unchangedFields = state.pollUnchangedFields();
 
         if (diffState == null) {
+            unchangedFields = Collections.emptySet();
             // Use an empty state object as reference for full
             // repaints
             diffState = REFERENCE_DIFF_STATES.get(stateType);
@@ -105,7 +108,7 @@ public class LegacyCommunicationManager implements Serializable {
             }
         }
         EncodeResult encodeResult = JsonCodec.encode(state, diffState,
-                stateType, uI.getConnectorTracker());
+                stateType, uI.getConnectorTracker(), unchangedFields);
         connectorTracker.setDiffState(connector,
                 (JsonObject) encodeResult.getEncodedValue());
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Routing table for the request handlers of a {@link VaadinService}. For each
+ * path prefix declared by a {@link RoutedRequestHandler}, the handlers which
+ * may handle a request with that prefix are computed once, in the original
+ * order. Handlers which do not declare any prefixes are included in every route
+ * and form the fallback chain for requests no prefix matches.
+ * <p>
+ * The prefixes of a handler are only used if its own class declares
+ * {@link RoutedRequestHandler#getPathPrefixes()}. Subclasses of routed
+ * handlers which do not override the method may handle other requests by
+ * overriding other methods, so they are included in every route.
+ *
+ * @since 8.6
+ * @author Vaadin Ltd
+ */
+class RequestHandlerRouter implements Serializable {
+
+    // Longest prefix first
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<List<RequestHandler>> routes = new ArrayList<>();
+    private final List<RequestHandler> fallback;
+
+    /**
+     * Creates a routing table for the given handlers.
+     *
+     * @param handlers
+     *            the handlers in the order they should be invoked
+     */
+    RequestHandlerRouter(Collection<RequestHandler> handlers) {
+        Set<String> allPrefixes = new HashSet<>();
+        for (RequestHandler handler : handlers) {
+            Collection<String> handlerPrefixes = getPathPrefixes(handler);
+            if (handlerPrefixes != null) {
+                allPrefixes.addAll(handlerPrefixes);
+            }
+        }
+        prefixes.addAll(allPrefixes);
+        prefixes.sort(Comparator.comparingInt(String::length).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        for (String prefix : prefixes) {
+            routes.add(Collections
+                    .unmodifiableList(getHandlers(handlers, prefix)));
+        }
+        fallback = Collections.unmodifiableList(getHandlers(handlers, null));
+    }
+
+    /**
+     * Gets the handlers to invoke for the given request.
+     *
+     * @param request
+     *            the request to handle
+     * @return the handlers which may handle the request, in invocation order
+     */
+    List<RequestHandler> getHandlers(VaadinRequest request) {
+        String pathInfo = request.getPathInfo();
+        if (pathInfo != null) {
+            for (int i = 0; i < prefixes.size(); i++) {
+                if (pathInfo.startsWith(prefixes.get(i))) {
+                    return routes.get(i);
+                }
+            }
+        }
+        return fallback;
+    }
+
+    /*
+     * A request whose longest matching prefix is the given one also matches all
+     * prefixes of it, and no longer prefixes.
+     */
+    private static List<RequestHandler> getHandlers(
+            Collection<RequestHandler> handlers, String prefix) {
+        List<RequestHandler> route = new ArrayList<>();
+        for (RequestHandler handler : handlers) {
+            Collection<String> handlerPrefixes = getPathPrefixes(handler);
+            if (handlerPrefixes == null || (prefix != null
+                    && handlerPrefixes.stream().anyMatch(prefix::startsWith))) {
+                route.add(handler);
+            }
+        }
+        return route;
+    }
+
+    private static Collection<String> getPathPrefixes(RequestHandler handler) {
+        if (handler instanceof RoutedRequestHandler
+                && declaresPathPrefixes(handler.getClass())) {
+            return ((RoutedRequestHandler) handler).getPathPrefixes();
+        }
+        return null;
+    }
+
+    private static boolean declaresPathPrefixes(Class<?> handlerType) {
+        try {
+            handlerType.getDeclaredMethod("getPathPrefixes");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.util.Collection;
+
+/**
+ * A specialized RequestHandler which only handles requests with given path
+ * prefixes. {@link VaadinService} uses the prefixes to skip the handler for
+ * requests it would not handle anyway, without calling it.
+ * <p>
+ * The handler must return <code>false</code> from
+ * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)} for all
+ * requests which do not have any of the prefixes.
+ * <p>
+ * The prefixes are only used if the class of the handler itself declares
+ * {@link #getPathPrefixes()}. A subclass of a routed handler is invoked for
+ * all requests, as any other request handler, unless it also overrides
+ * {@link #getPathPrefixes()}.
+ *
+ * @since 8.6
+ * @author Vaadin Ltd
+ */
+public interface RoutedRequestHandler extends RequestHandler {
+
+    /**
+     * Gets the prefixes of the request paths this handler can handle. The
+     * prefixes are matched against {@link VaadinRequest#getPathInfo()} and
+     * should start with a slash, e.g. <code>"/UIDL/"</code>.
+     *
+     * @return the path prefixes, or <code>null</code> if the handler can handle
+     *         requests with any path
+     */
+    Collection<String> getPathPrefixes();
+
+}
@@ -15,22 +15,132 @@
  */
 package com.vaadin.server;
 
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import com.vaadin.server.JsonCodec.ValueDecoder;
 import com.vaadin.shared.communication.MethodInvocation;
 import com.vaadin.shared.communication.ServerRpc;
+import com.vaadin.ui.ConnectorTracker;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
 
 public class ServerRpcMethodInvocation extends MethodInvocation {
 
-    private static final Map<String, Method> INVOCATION_METHOD_CACHE = new ConcurrentHashMap<>(
-            128, 0.75f, 1);
+    /**
+     * Invocation plans of each RPC interface, by method name and parameter
+     * count.
+     */
+    private static final ConcurrentMap<Class<?>, Map<String, InvocationPlan>> INVOCATION_PLAN_CACHE = new ConcurrentHashMap<>();
 
-    private final Method method;
+    private final InvocationPlan plan;
 
     private final Class<? extends ServerRpc> interfaceClass;
 
+    /**
+     * Everything needed for decoding the parameters of and invoking one RPC
+     * interface method, resolved once per method and shared by all invocations
+     * of the method.
+     *
+     * @since 8.6
+     */
+    public static class InvocationPlan implements Serializable {
+        private final Method method;
+        private final transient MethodHandle invoker;
+        private final ValueDecoder[] decoders;
+
+        private InvocationPlan(Method method) {
+            this.method = method;
+
+            Type[] parameterTypes = method.getGenericParameterTypes();
+            decoders = new ValueDecoder[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                decoders[i] = JsonCodec.getDecoder(parameterTypes[i]);
+            }
+
+            MethodHandle handle = null;
+            try {
+                handle = MethodHandles.lookup().unreflect(method)
+                        .asSpreader(Object[].class, parameterTypes.length)
+                        .asType(MethodType.methodType(void.class, Object.class,
+                                Object[].class));
+            } catch (IllegalAccessException e) {
+                getLogger().log(Level.FINEST,
+                        "Using reflection to invoke " + method, e);
+            }
+            invoker = handle;
+        }
+
+        /**
+         * Gets the RPC interface method.
+         *
+         * @return the method, not <code>null</code>
+         */
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Decodes the JSON encoded parameters of an invocation of the method.
+         *
+         * @param parametersJson
+         *            the encoded parameters
+         * @param connectorTracker
+         *            the connector tracker to use for finding connectors
+         * @return the decoded parameters
+         */
+        public Object[] decodeParameters(JsonArray parametersJson,
+                ConnectorTracker connectorTracker) {
+            if (parametersJson.length() != decoders.length) {
+                throw new JsonException("Invalid parameters for "
+                        + method.getName() + ". Expected " + decoders.length
+                        + ", was " + parametersJson.length());
+            }
+            Object[] parameters = new Object[decoders.length];
+            for (int i = 0; i < decoders.length; i++) {
+                parameters[i] = decoders[i].decode(parametersJson.get(i),
+                        connectorTracker);
+            }
+            return parameters;
+        }
+
+        /**
+         * Invokes the method on an RPC implementation.
+         *
+         * @param implementation
+         *            the RPC interface implementation
+         * @param parameters
+         *            the parameters to pass to the method
+         * @throws InvocationTargetException
+         *             wrapping any exception thrown by the method
+         * @throws IllegalAccessException
+         *             if the method is not accessible
+         */
+        public void invoke(Object implementation, Object[] parameters)
+                throws InvocationTargetException, IllegalAccessException {
+            if (invoker == null) {
+                method.invoke(implementation, parameters);
+                return;
+            }
+            try {
+                invoker.invokeExact(implementation, parameters);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
     public ServerRpcMethodInvocation(String connectorId,
             Class<? extends ServerRpc> interfaceClass, String methodName,
             int parameterCount) {
@@ -39,8 +149,7 @@ public class ServerRpcMethodInvocation extends MethodInvocation {
         assert ServerRpc.class.isAssignableFrom(interfaceClass);
         this.interfaceClass = interfaceClass;
 
-        method = findInvocationMethod(interfaceClass, methodName,
-                parameterCount);
+        plan = findInvocationPlan(interfaceClass, methodName, parameterCount);
     }
 
     public Class<? extends ServerRpc> getInterfaceClass() {
@@ -48,12 +157,23 @@ public class ServerRpcMethodInvocation extends MethodInvocation {
     }
 
     public Method getMethod() {
-        return method;
+        return plan.getMethod();
     }
 
     /**
-     * Tries to find the method from the cache or alternatively by invoking
-     * {@link #doFindInvocationMethod(Class, String, int)} and updating the
+     * Gets the shared invocation plan for the invoked method.
+     *
+     * @since 8.6
+     * @return the invocation plan, not <code>null</code>
+     */
+    public InvocationPlan getInvocationPlan() {
+        return plan;
+    }
+
+    /**
+     * Tries to find the invocation plan from the cache or alternatively creates
+     * one for the method found by invoking
+     * {@link #doFindInvocationMethod(Class, String, int)} and updates the
      * cache.
      *
      * @param targetType
@@ -61,30 +181,31 @@ public class ServerRpcMethodInvocation extends MethodInvocation {
      * @param parameterCount
      * @return
      */
-    private Method findInvocationMethod(Class<?> targetType, String methodName,
-            int parameterCount) {
+    private InvocationPlan findInvocationPlan(Class<?> targetType,
+            String methodName, int parameterCount) {
         // TODO currently only using method name and number of parameters as the
         // signature
-        String signature = targetType.getName() + "." + methodName + "("
-                + parameterCount;
-        Method invocationMethod = INVOCATION_METHOD_CACHE.get(signature);
-
-        if (invocationMethod == null) {
-            invocationMethod = doFindInvocationMethod(targetType, methodName,
-                    parameterCount);
-
-            if (invocationMethod != null) {
-                INVOCATION_METHOD_CACHE.put(signature, invocationMethod);
+        Map<String, InvocationPlan> interfacePlans = INVOCATION_PLAN_CACHE
+                .computeIfAbsent(targetType,
+                        type -> new ConcurrentHashMap<>(8, 0.75f, 1));
+        String signature = methodName + "(" + parameterCount;
+        InvocationPlan invocationPlan = interfacePlans.get(signature);
+
+        if (invocationPlan == null) {
+            Method invocationMethod = doFindInvocationMethod(targetType,
+                    methodName, parameterCount);
+
+            if (invocationMethod == null) {
+                throw new IllegalStateException("Can't find method "
+                        + methodName + " with " + parameterCount
+                        + " parameters in " + targetType.getName());
             }
-        }
 
-        if (invocationMethod == null) {
-            throw new IllegalStateException("Can't find method " + methodName
-                    + " with " + parameterCount + " parameters in "
-                    + targetType.getName());
+            invocationPlan = new InvocationPlan(invocationMethod);
+            interfacePlans.put(signature, invocationPlan);
         }
 
-        return invocationMethod;
+        return invocationPlan;
     }
 
     /**
@@ -109,4 +230,8 @@ public class ServerRpcMethodInvocation extends MethodInvocation {
         return null;
     }
 
+    private static Logger getLogger() {
+        return Logger.getLogger(ServerRpcMethodInvocation.class.getName());
+    }
+
 }
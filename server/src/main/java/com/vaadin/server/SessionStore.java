@@ -0,0 +1,88 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Storage for persisting Vaadin sessions outside the HTTP session, e.g. in a
+ * database or a distributed cache shared by the nodes of a cluster.
+ * <p>
+ * When a store is set using
+ * {@link VaadinService#setSessionStore(SessionStore)}, the session is written
+ * to the store at the end of each request and read from the store when a
+ * request arrives for an HTTP session that does not contain a Vaadin session,
+ * e.g. after failing over to another node.
+ * <p>
+ * A session is stored as a set of named chunks of serialized data: one for the
+ * session itself and one for each of its UIs. Only the chunks that have changed
+ * are passed to the store at the end of a request, typically the session chunk
+ * and the chunk of the UI that handled the request. If the UIs and the session
+ * cannot be serialized separately, the whole session is stored as one chunk.
+ * <p>
+ * Implementations must be thread safe. The same session is never stored or
+ * loaded concurrently, since the session is locked when the store is used.
+ *
+ * @see InMemorySessionStore
+ * @see FileSessionStore
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public interface SessionStore extends Serializable {
+
+    /**
+     * Loads all chunks of a stored session.
+     *
+     * @param sessionId
+     *            the id of the HTTP session, not <code>null</code>
+     * @return a map from chunk name to the chunk data, empty if nothing has
+     *         been stored for the session
+     * @throws IOException
+     *             if reading from the store fails
+     */
+    public Map<String, byte[]> load(String sessionId) throws IOException;
+
+    /**
+     * Stores the changed chunks of a session and removes the chunks that are no
+     * longer used. Chunks that are not mentioned must be left as they are.
+     *
+     * @param sessionId
+     *            the id of the HTTP session, not <code>null</code>
+     * @param changedChunks
+     *            a map from chunk name to the new chunk data, not
+     *            <code>null</code>
+     * @param removedChunks
+     *            the names of the chunks to remove, not <code>null</code>
+     * @throws IOException
+     *             if writing to the store fails
+     */
+    public void store(String sessionId, Map<String, byte[]> changedChunks,
+            Collection<String> removedChunks) throws IOException;
+
+    /**
+     * Removes all chunks of a session from the store.
+     *
+     * @param sessionId
+     *            the id of the HTTP session, not <code>null</code>
+     * @throws IOException
+     *             if removing from the store fails
+     */
+    public void remove(String sessionId) throws IOException;
+}
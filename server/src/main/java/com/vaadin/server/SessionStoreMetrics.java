@@ -0,0 +1,135 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the sessions written to the {@link SessionStore} of a
+ * {@link VaadinService}.
+ *
+ * @see VaadinService#getSessionStoreMetrics()
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public class SessionStoreMetrics implements Serializable {
+
+    private final AtomicLong saveCount = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong chunksWritten = new AtomicLong();
+    private final AtomicLong chunksSkipped = new AtomicLong();
+    private final AtomicLong fullSessionCount = new AtomicLong();
+    private final AtomicLong restoreCount = new AtomicLong();
+
+    /**
+     * Records a session save at the end of a request.
+     *
+     * @param bytes
+     *            the number of bytes passed to the store
+     * @param written
+     *            the number of chunks passed to the store
+     * @param skipped
+     *            the number of chunks that did not need to be written
+     * @param fullSession
+     *            <code>true</code> if the session was written as one chunk
+     */
+    void recordSave(long bytes, int written, int skipped, boolean fullSession) {
+        saveCount.incrementAndGet();
+        bytesWritten.addAndGet(bytes);
+        chunksWritten.addAndGet(written);
+        chunksSkipped.addAndGet(skipped);
+        if (fullSession) {
+            fullSessionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a session restored from the store.
+     */
+    void recordRestore() {
+        restoreCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of times a session has been saved, i.e. the number of
+     * requests handled with a session.
+     *
+     * @return the number of saves
+     */
+    public long getSaveCount() {
+        return saveCount.get();
+    }
+
+    /**
+     * Gets the total number of bytes passed to the store.
+     *
+     * @return the number of bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Gets the average number of bytes passed to the store per save.
+     *
+     * @return the average number of bytes written per request, or 0 if nothing
+     *         has been saved
+     */
+    public double getAverageBytesWritten() {
+        long saves = saveCount.get();
+        return saves == 0 ? 0 : (double) bytesWritten.get() / saves;
+    }
+
+    /**
+     * Gets the total number of chunks passed to the store.
+     *
+     * @return the number of chunks written
+     */
+    public long getChunksWritten() {
+        return chunksWritten.get();
+    }
+
+    /**
+     * Gets the total number of chunks that were not written because they had
+     * not changed.
+     *
+     * @return the number of chunks skipped
+     */
+    public long getChunksSkipped() {
+        return chunksSkipped.get();
+    }
+
+    /**
+     * Gets the number of saves that wrote the whole session as one chunk
+     * because its UIs could not be serialized separately.
+     *
+     * @return the number of full session saves
+     */
+    public long getFullSessionCount() {
+        return fullSessionCount.get();
+    }
+
+    /**
+     * Gets the number of sessions restored from the store.
+     *
+     * @return the number of restored sessions
+     */
+    public long getRestoreCount() {
+        return restoreCount.get();
+    }
+}
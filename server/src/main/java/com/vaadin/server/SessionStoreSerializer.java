@@ -0,0 +1,501 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.vaadin.ui.UI;
+import com.vaadin.util.CurrentInstance;
+
+/**
+ * Writes sessions to a {@link SessionStore} as separate chunks for the session
+ * and each of its UIs, and reads them back.
+ * <p>
+ * The session chunk contains everything reachable from the session except the
+ * map of its UIs, and each UI chunk everything reachable from the UI except the
+ * session. If a chunk would contain a UI or connector of another chunk, or an
+ * object that is also contained in another chunk, the session is written as
+ * one chunk instead, since the chunks could not be read back without losing
+ * the references or duplicating the shared objects.
+ * <p>
+ * A UI chunk is only written again when the UI has been in contact with the
+ * client, i.e. it has received a request, sent a response or push message, or
+ * has pending changes to send, or when the session chunk has changed. Chunks
+ * are passed to the store only if their content has changed.
+ * <p>
+ * The request durations and the last request timestamp of the session change
+ * on every request, so they are not stored in the session chunk. A session
+ * restored from separate chunks starts with no recorded request durations, and
+ * its last request timestamp is the time it was restored.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+final class SessionStoreSerializer {
+
+    static final String SESSION_CHUNK = "session";
+    static final String FULL_SESSION_CHUNK = "full";
+    static final String UI_CHUNK_PREFIX = "ui-";
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * Request times stored in the session chunk instead of the actual values:
+     * no durations and no timestamp.
+     */
+    private static final long[] STORED_REQUEST_TIMES = { 0, -1, 0 };
+
+    /** Classes without instance state, which may be shared by chunks */
+    private static final Map<Class<?>, Boolean> STATELESS_CLASSES = new ConcurrentHashMap<>();
+
+    private SessionStoreSerializer() {
+        // Only static helpers
+    }
+
+    /**
+     * What has been written to the store for a session, kept in a transient
+     * field of the session.
+     */
+    static class StoredState implements Serializable {
+        private String sessionId;
+        private boolean fullSession;
+        private final Map<String, byte[]> chunkDigests = new HashMap<>();
+        private final Map<Integer, long[]> uiFingerprints = new HashMap<>();
+
+        String getSessionId() {
+            return sessionId;
+        }
+    }
+
+    /**
+     * Thrown when the session cannot be split into chunks.
+     */
+    private static class CrossChunkReferenceException extends IOException {
+        private CrossChunkReferenceException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Stands for the UI map of the session in the session chunk.
+     */
+    private static class UIMapPlaceholder implements Serializable {
+    }
+
+    /**
+     * Stands for the session in UI chunks.
+     */
+    private static class SessionPlaceholder implements Serializable {
+    }
+
+    /**
+     * Writes the changed parts of a session to the store. The session must be
+     * locked.
+     *
+     * @param session
+     *            the session to write
+     * @param sessionId
+     *            the id of the session in the store
+     * @param store
+     *            the store to write to
+     * @param metrics
+     *            the metrics to update
+     * @throws IOException
+     *             if serializing the session or writing to the store fails
+     */
+    static void save(VaadinSession session, String sessionId,
+            SessionStore store, SessionStoreMetrics metrics)
+            throws IOException {
+        assert session.hasLock();
+
+        StoredState oldState = session.getStoredState();
+        if (oldState != null && !sessionId.equals(oldState.sessionId)) {
+            // The HTTP session has changed, start from scratch
+            store.remove(oldState.sessionId);
+            oldState = null;
+        }
+        StoredState state = new StoredState();
+        state.sessionId = sessionId;
+        if (oldState != null) {
+            state.fullSession = oldState.fullSession;
+            state.chunkDigests.putAll(oldState.chunkDigests);
+        }
+
+        Map<String, byte[]> chunks = null;
+        if (!state.fullSession) {
+            try {
+                chunks = writeChunks(session, oldState, state);
+            } catch (CrossChunkReferenceException e) {
+                getLogger().log(Level.FINE,
+                        "Storing the whole session as one chunk: {0}",
+                        e.getMessage());
+                state.fullSession = true;
+                state.uiFingerprints.clear();
+            }
+        }
+        if (state.fullSession) {
+            chunks = new HashMap<>();
+            chunks.put(FULL_SESSION_CHUNK, serialize(session, null, session,
+                    FULL_SESSION_CHUNK, null));
+        }
+
+        Set<String> currentChunks = new HashSet<>(chunks.keySet());
+        if (!state.fullSession) {
+            for (UI ui : session.getUIs()) {
+                currentChunks.add(UI_CHUNK_PREFIX + ui.getUIId());
+            }
+        }
+        List<String> removedChunks = new ArrayList<>(
+                state.chunkDigests.keySet());
+        removedChunks.removeAll(currentChunks);
+
+        Map<String, byte[]> changedChunks = new HashMap<>();
+        long bytes = 0;
+        for (Map.Entry<String, byte[]> chunk : chunks.entrySet()) {
+            byte[] digest = digest(chunk.getValue());
+            if (!Arrays.equals(digest,
+                    state.chunkDigests.get(chunk.getKey()))) {
+                changedChunks.put(chunk.getKey(), chunk.getValue());
+                state.chunkDigests.put(chunk.getKey(), digest);
+                bytes += chunk.getValue().length;
+            }
+        }
+        state.chunkDigests.keySet().removeAll(removedChunks);
+
+        if (!changedChunks.isEmpty() || !removedChunks.isEmpty()) {
+            store.store(sessionId, changedChunks, removedChunks);
+        }
+        // Only remember what was written once it has been stored
+        session.setStoredState(state);
+
+        int skipped = currentChunks.size() - changedChunks.size();
+        metrics.recordSave(bytes, changedChunks.size(), skipped,
+                state.fullSession);
+        getLogger().log(Level.FINEST,
+                "Stored {0} bytes in {1} chunks for session {2}",
+                new Object[] { bytes, changedChunks.size(), sessionId });
+    }
+
+    private static Map<String, byte[]> writeChunks(VaadinSession session,
+            StoredState oldState, StoredState state) throws IOException {
+        Map<Object, String> chunkOfObject = new IdentityHashMap<>();
+        Map<String, byte[]> chunks = new LinkedHashMap<>();
+        byte[] sessionChunk;
+        long[] requestTimes = session.getRequestTimes();
+        session.setRequestTimes(STORED_REQUEST_TIMES);
+        try {
+            sessionChunk = serialize(session, null, session, SESSION_CHUNK,
+                    chunkOfObject);
+        } finally {
+            session.setRequestTimes(requestTimes);
+        }
+        chunks.put(SESSION_CHUNK, sessionChunk);
+
+        /*
+         * Objects shared by the session and a UI are only detected when both
+         * chunks are written, so all UIs are written if the session changed.
+         */
+        boolean sessionChanged = oldState == null || !Arrays.equals(
+                digest(sessionChunk),
+                oldState.chunkDigests.get(SESSION_CHUNK));
+
+        for (UI ui : session.getUIs()) {
+            String chunkName = UI_CHUNK_PREFIX + ui.getUIId();
+            long[] fingerprint = getFingerprint(ui);
+            state.uiFingerprints.put(ui.getUIId(), fingerprint);
+            if (sessionChanged || oldState.fullSession
+                    || !oldState.chunkDigests.containsKey(chunkName)
+                    || ui.getConnectorTracker().hasDirtyConnectors()
+                    || !Arrays.equals(fingerprint,
+                            oldState.uiFingerprints.get(ui.getUIId()))) {
+                chunks.put(chunkName,
+                        serialize(ui, ui, session, chunkName, chunkOfObject));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Values that change whenever the UI is in contact with the client.
+     */
+    private static long[] getFingerprint(UI ui) {
+        return new long[] { ui.getConnectorTracker().getCurrentSyncId(),
+                ui.getLastProcessedClientToServerId(),
+                ui.getLastHeartbeatTimestamp() };
+    }
+
+    private static byte[] serialize(Object root, UI ui, VaadinSession session,
+            String chunkName, Map<Object, String> chunkOfObject)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ChunkOutputStream(bytes, session, ui,
+                chunkName, chunkOfObject)) {
+            out.writeObject(root);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a session from the store.
+     *
+     * @param sessionId
+     *            the id of the session in the store
+     * @param store
+     *            the store to read from
+     * @param classLoader
+     *            the class loader to use for the classes of the session
+     * @param metrics
+     *            the metrics to update
+     * @return the restored session, or <code>null</code> if the store contains
+     *         no session with the given id
+     * @throws IOException
+     *             if reading from the store or deserializing fails
+     * @throws ClassNotFoundException
+     *             if a class of a stored object cannot be found
+     */
+    static VaadinSession restore(String sessionId, SessionStore store,
+            ClassLoader classLoader, SessionStoreMetrics metrics)
+            throws IOException, ClassNotFoundException {
+        Map<String, byte[]> chunks = store.load(sessionId);
+        if (chunks.isEmpty()) {
+            return null;
+        }
+
+        StoredState state = new StoredState();
+        state.sessionId = sessionId;
+        for (Map.Entry<String, byte[]> chunk : chunks.entrySet()) {
+            state.chunkDigests.put(chunk.getKey(), digest(chunk.getValue()));
+        }
+
+        VaadinSession session;
+        byte[] fullSession = chunks.get(FULL_SESSION_CHUNK);
+        if (fullSession != null) {
+            state.fullSession = true;
+            session = (VaadinSession) deserialize(fullSession, null,
+                    classLoader);
+        } else {
+            byte[] sessionChunk = chunks.get(SESSION_CHUNK);
+            if (sessionChunk == null) {
+                throw new IOException(
+                        "No session chunk stored for session " + sessionId);
+            }
+            session = (VaadinSession) deserialize(sessionChunk, null,
+                    classLoader);
+            session.setRequestTimes(new long[] { STORED_REQUEST_TIMES[0],
+                    STORED_REQUEST_TIMES[1], System.currentTimeMillis() });
+
+            List<UI> uis = new ArrayList<>();
+            Map<Class<?>, CurrentInstance> old = CurrentInstance
+                    .setCurrent(session);
+            try {
+                for (Map.Entry<String, byte[]> chunk : chunks.entrySet()) {
+                    if (chunk.getKey().startsWith(UI_CHUNK_PREFIX)) {
+                        UI ui = (UI) deserialize(chunk.getValue(), session,
+                                classLoader);
+                        uis.add(ui);
+                        state.uiFingerprints.put(ui.getUIId(),
+                                getFingerprint(ui));
+                    }
+                }
+            } finally {
+                CurrentInstance.restoreInstances(old);
+            }
+            session.restoreUIs(uis);
+        }
+        session.setStoredState(state);
+        metrics.recordRestore();
+        return session;
+    }
+
+    private static Object deserialize(byte[] chunk, VaadinSession session,
+            ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ChunkInputStream(
+                new ByteArrayInputStream(chunk), session, classLoader)) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(
+                    DIGEST_ALGORITHM + " should always be available", e);
+        }
+    }
+
+    /**
+     * Checks whether an object can be contained in several chunks without
+     * changing the behavior of the application after restoring the session,
+     * i.e. whether it is immutable or has no state.
+     */
+    private static boolean isSharable(Object object) {
+        if (object instanceof String || object instanceof Boolean
+                || object instanceof Character || object instanceof Enum
+                || object instanceof Class
+                || object instanceof ObjectStreamClass
+                || object instanceof Locale) {
+            return true;
+        }
+        if (object instanceof Number) {
+            String packageName = object.getClass().getPackage().getName();
+            return packageName.equals("java.lang")
+                    || packageName.equals("java.math");
+        }
+        return STATELESS_CLASSES.computeIfAbsent(object.getClass(),
+                SessionStoreSerializer::isStateless);
+    }
+
+    private static boolean isStateless(Class<?> type) {
+        if (type.isArray()) {
+            return false;
+        }
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers)
+                        && !Modifier.isTransient(modifiers)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces references to objects in other chunks with placeholders, and
+     * fails if that is not possible.
+     */
+    private static class ChunkOutputStream extends ObjectOutputStream {
+        private final VaadinSession session;
+        private final UI ui;
+        private final String chunkName;
+        private final Map<Object, String> chunkOfObject;
+
+        private ChunkOutputStream(OutputStream out, VaadinSession session,
+                UI ui, String chunkName, Map<Object, String> chunkOfObject)
+                throws IOException {
+            super(out);
+            this.session = session;
+            this.ui = ui;
+            this.chunkName = chunkName;
+            this.chunkOfObject = chunkOfObject;
+            enableReplaceObject(chunkOfObject != null);
+        }
+
+        @Override
+        protected Object replaceObject(Object object) throws IOException {
+            if (object == session) {
+                return ui == null ? object : new SessionPlaceholder();
+            } else if (object == ui) {
+                return object;
+            } else if (ui == null && session.isUIMap(object)) {
+                return new UIMapPlaceholder();
+            } else if (object instanceof ClientConnector) {
+                UI connectorUI = ((ClientConnector) object).getUI();
+                if (connectorUI != null && connectorUI != ui) {
+                    throw new CrossChunkReferenceException(chunkName
+                            + " refers to " + object.getClass().getName()
+                            + " of UI " + connectorUI.getUIId());
+                }
+            }
+            if (!isSharable(object)) {
+                String otherChunk = chunkOfObject.put(object, chunkName);
+                if (otherChunk != null && !otherChunk.equals(chunkName)) {
+                    throw new CrossChunkReferenceException(
+                            object.getClass().getName() + " is shared by "
+                                    + otherChunk + " and " + chunkName);
+                }
+            }
+            return object;
+        }
+    }
+
+    /**
+     * Resolves placeholders written by {@link ChunkOutputStream}.
+     */
+    private static class ChunkInputStream extends ObjectInputStream {
+        private final VaadinSession session;
+        private final ClassLoader classLoader;
+
+        private ChunkInputStream(InputStream in, VaadinSession session,
+                ClassLoader classLoader) throws IOException {
+            super(in);
+            this.session = session;
+            this.classLoader = classLoader;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Primitive types and classes of other loaders
+                }
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Object resolveObject(Object object) throws IOException {
+            if (object instanceof SessionPlaceholder) {
+                if (session == null) {
+                    throw new IOException(
+                            "Session placeholder without session");
+                }
+                return session;
+            } else if (object instanceof UIMapPlaceholder) {
+                // The UIs are put back in place when their chunks have been
+                // read
+                return new HashMap<Integer, UI>();
+            }
+            return object;
+        }
+    }
+
+    private static Logger getLogger() {
+        return Logger.getLogger(SessionStoreSerializer.class.getName());
+    }
+}
@@ -141,11 +141,16 @@ public abstract class VaadinService implements Serializable {
     private ClassLoader classLoader;
 
     private Iterable<RequestHandler> requestHandlers;
+
+    private RequestHandlerRouter requestHandlerRouter;
     private Iterable<DependencyFilter> dependencyFilters;
     private ConnectorIdGenerator connectorIdGenerator;
 
     private boolean atmosphereAvailable = checkAtmosphereSupport();
 
+    private SessionStore sessionStore;
+    private final SessionStoreMetrics sessionStoreMetrics = new SessionStoreMetrics();
+
     /**
      * Keeps track of whether a warning about missing push support has already
      * been logged. This is used to avoid spamming the log with the same message
@@ -227,6 +232,7 @@ public abstract class VaadinService implements Serializable {
         Collections.reverse(handlers);
 
         requestHandlers = Collections.unmodifiableCollection(handlers);
+        requestHandlerRouter = new RequestHandlerRouter(handlers);
 
         dependencyFilters = Collections.unmodifiableCollection(
                 initDependencyFilters(event.getAddedDependencyFilters()));
@@ -386,6 +392,52 @@ public abstract class VaadinService implements Serializable {
         return deploymentConfiguration;
     }
 
+    /**
+     * Sets the store to persist sessions in, in addition to the HTTP session.
+     * <p>
+     * When a store is set, the session is written to the store at the end of
+     * each request, and restored from the store if a request arrives for an
+     * HTTP session that does not contain a Vaadin session, e.g. after another
+     * node in a cluster has failed. Only the parts of the session that have
+     * changed during the request are written.
+     *
+     * @see SessionStore
+     *
+     * @param sessionStore
+     *            the session store to use, or <code>null</code> to not use a
+     *            session store
+     * @since 8.6
+     */
+    public void setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    /**
+     * Gets the store sessions are persisted in.
+     *
+     * @see #setSessionStore(SessionStore)
+     *
+     * @return the session store, or <code>null</code> if no session store is
+     *         used
+     * @since 8.6
+     */
+    public SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    /**
+     * Gets statistics about the sessions written to and restored from the
+     * session store of this service.
+     *
+     * @see #setSessionStore(SessionStore)
+     *
+     * @return the session store metrics, not <code>null</code>
+     * @since 8.6
+     */
+    public SessionStoreMetrics getSessionStoreMetrics() {
+        return sessionStoreMetrics;
+    }
+
     /**
      * Sets the system messages provider to use for getting system messages to
      * display to users of this service.
@@ -562,6 +614,7 @@ public abstract class VaadinService implements Serializable {
                 }
             }
             session.setState(State.CLOSED);
+            removeFromSessionStore(session);
         });
     }
 
@@ -1451,6 +1504,9 @@ public abstract class VaadinService implements Serializable {
                 final long duration = (System.nanoTime() - (Long) request
                         .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
                 session.setLastRequestDuration(duration);
+                if (session.getState() == State.OPEN) {
+                    saveToSessionStore(session);
+                }
             } finally {
                 session.unlock();
             }
@@ -1569,6 +1625,8 @@ public abstract class VaadinService implements Serializable {
     /**
      * Handles the incoming request and writes the response into the response
      * object. Uses {@link #getRequestHandlers()} for handling the request.
+     * Handlers implementing {@link RoutedRequestHandler} whose class declares
+     * the path prefixes are only invoked for requests matching the prefixes.
      * <p>
      * If a session expiration is detected during request handling then each
      * {@link RequestHandler request handler} has an opportunity to handle the
@@ -1597,7 +1655,7 @@ public abstract class VaadinService implements Serializable {
                 return;
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
+            for (RequestHandler handler : getRequestHandlers(request)) {
                 if (handler.handleRequest(vaadinSession, request, response)) {
                     return;
                 }
@@ -1616,6 +1674,15 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    private Iterable<RequestHandler> getRequestHandlers(VaadinRequest request) {
+        Iterable<RequestHandler> handlers = getRequestHandlers();
+        // The routes are only valid for the handlers they were computed for
+        if (requestHandlerRouter != null && handlers == requestHandlers) {
+            return requestHandlerRouter.getHandlers(request);
+        }
+        return handlers;
+    }
+
     private void handleExceptionDuringRequest(VaadinRequest request,
             VaadinResponse response, VaadinSession vaadinSession, Throwable t)
             throws ServiceException {
@@ -2186,12 +2253,101 @@ public abstract class VaadinService implements Serializable {
 
         VaadinSession vaadinSession = readFromHttpSession(wrappedSession);
         if (vaadinSession == null) {
-            return null;
+            vaadinSession = restoreFromSessionStore(wrappedSession);
+            if (vaadinSession == null) {
+                return null;
+            }
+            writeToHttpSession(wrappedSession, vaadinSession);
         }
         vaadinSession.refreshTransients(wrappedSession, this);
         return vaadinSession;
     }
 
+    /**
+     * Writes the changed parts of a session to the session store, if one is
+     * used. Failures are logged, since the session is still available in the
+     * HTTP session.
+     *
+     * @param session
+     *            the locked session to write
+     */
+    private void saveToSessionStore(VaadinSession session) {
+        SessionStore store = sessionStore;
+        WrappedSession wrappedSession = session.getSession();
+        if (store == null || wrappedSession == null) {
+            return;
+        }
+        try {
+            SessionStoreSerializer.save(session,
+                    getSessionStoreId(wrappedSession), store,
+                    sessionStoreMetrics);
+        } catch (IOException | RuntimeException e) {
+            getLogger().log(Level.WARNING,
+                    "Could not write session to the session store", e);
+        }
+    }
+
+    /**
+     * Reads a session from the session store, if one is used.
+     *
+     * @param wrappedSession
+     *            the HTTP session that does not contain a Vaadin session
+     * @return the restored session, or <code>null</code> if there is no session
+     *         to restore
+     */
+    private VaadinSession restoreFromSessionStore(
+            WrappedSession wrappedSession) {
+        SessionStore store = sessionStore;
+        if (store == null) {
+            return null;
+        }
+        String storeId = getSessionStoreId(wrappedSession);
+        try {
+            VaadinSession session = SessionStoreSerializer.restore(storeId,
+                    store, getClassLoader(), sessionStoreMetrics);
+            if (session != null) {
+                getLogger().log(Level.FINE,
+                        "Restored session {0} from the session store",
+                        wrappedSession.getId());
+            }
+            return session;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            getLogger().log(Level.WARNING,
+                    "Could not restore session from the session store", e);
+            return null;
+        }
+    }
+
+    /**
+     * Removes a closed session from the session store, if it has been written
+     * there.
+     *
+     * @param session
+     *            the closed session
+     */
+    private void removeFromSessionStore(VaadinSession session) {
+        SessionStore store = sessionStore;
+        SessionStoreSerializer.StoredState state = session.getStoredState();
+        if (store == null || state == null) {
+            return;
+        }
+        session.setStoredState(null);
+        try {
+            store.remove(state.getSessionId());
+        } catch (IOException | RuntimeException e) {
+            getLogger().log(Level.WARNING,
+                    "Could not remove session from the session store", e);
+        }
+    }
+
+    /**
+     * Gets the id used for a session in the session store. Includes the service
+     * name since one HTTP session can contain sessions of several services.
+     */
+    private String getSessionStoreId(WrappedSession wrappedSession) {
+        return wrappedSession.getId() + "." + getServiceName();
+    }
+
     /**
      * Performs the actual read of the VaadinSession from the underlying HTTP
      * session after sanity checks have been performed.
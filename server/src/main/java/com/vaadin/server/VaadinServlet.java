@@ -35,15 +35,19 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -75,7 +79,8 @@ public class VaadinServlet extends HttpServlet implements Constants {
 
         private final String css;
         private final List<String> sourceUris;
-        private final long timestamp;
+        private final List<String> sourceHashes;
+        private volatile long timestamp;
         private final String scssFileName;
 
         public ScssCacheEntry(String scssFileName, String css,
@@ -85,6 +90,7 @@ public class VaadinServlet extends HttpServlet implements Constants {
             this.sourceUris = sourceUris;
 
             timestamp = getLastModified();
+            sourceHashes = timestamp == -1 ? null : getSourceHashes();
         }
 
         public ScssCacheEntry(JsonObject json) {
@@ -98,6 +104,17 @@ public class VaadinServlet extends HttpServlet implements Constants {
                 sourceUris.add(uris.getString(i));
             }
 
+            if (json.hasKey("hashes")) {
+                sourceHashes = new ArrayList<>();
+                JsonArray hashes = json.getArray("hashes");
+                for (int i = 0; i < hashes.length(); i++) {
+                    sourceHashes.add(hashes.getString(i));
+                }
+            } else {
+                // Cache file written by an older version
+                sourceHashes = null;
+            }
+
             // Not set for cache entries read from disk
             scssFileName = null;
         }
@@ -112,6 +129,13 @@ public class VaadinServlet extends HttpServlet implements Constants {
             object.put("version", Version.getFullVersion());
             object.put("timestamp", Long.toString(timestamp));
             object.put("uris", uris);
+            if (sourceHashes != null) {
+                JsonArray hashes = Json.createArray();
+                for (String hash : sourceHashes) {
+                    hashes.set(hashes.length(), hash);
+                }
+                object.put("hashes", hashes);
+            }
             object.put("css", css);
 
             return object.toJson();
@@ -121,6 +145,10 @@ public class VaadinServlet extends HttpServlet implements Constants {
             return css;
         }
 
+        public List<String> getSourceUris() {
+            return sourceUris;
+        }
+
         private long getLastModified() {
             long newest = 0;
             for (String uri : sourceUris) {
@@ -159,6 +187,14 @@ public class VaadinServlet extends HttpServlet implements Constants {
             return newest;
         }
 
+        private List<String> getSourceHashes() {
+            List<String> hashes = new ArrayList<>(sourceUris.size());
+            for (String uri : sourceUris) {
+                hashes.add(getScssSourceHash(uri));
+            }
+            return hashes;
+        }
+
         public boolean isStillValid() {
             if (timestamp == -1) {
                 /*
@@ -166,7 +202,21 @@ public class VaadinServlet extends HttpServlet implements Constants {
                  * compilation were gone before the cache entry was created.
                  */
                 return false;
-            } else if (timestamp != getLastModified()) {
+            }
+            long lastModified = getLastModified();
+            if (timestamp == lastModified) {
+                return true;
+            } else if (lastModified != -1 && sourceHashes != null
+                    && sourceHashes.equals(getSourceHashes())) {
+                /*
+                 * Files have been touched (e.g. by a redeploy or a checkout)
+                 * but their contents are the same as when compiling, so the
+                 * result can still be used. Remember the new timestamp to avoid
+                 * hashing the files again on the next request.
+                 */
+                timestamp = lastModified;
+                return true;
+            } else {
                 /*
                  * Would in theory still be valid if the last modification is
                  * before the recorded timestamp, but that would still mean that
@@ -174,8 +224,6 @@ public class VaadinServlet extends HttpServlet implements Constants {
                  * invalidate in that case as well to be on the safe side.
                  */
                 return false;
-            } else {
-                return true;
             }
         }
 
@@ -741,22 +789,22 @@ public class VaadinServlet extends HttpServlet implements Constants {
      * This is a workaround needed as the scss compiler currently is not thread
      * safe (#10292).
      * <p>
-     * In addition, this is also used to protect the cached compilation results.
+     * Concurrent requests for a stylesheet that is being compiled wait for the
+     * result of that compilation instead of compiling it again.
      */
     private static final Object SCSS_MUTEX = new Object();
 
     /**
-     * Global cache of scss compilation results. This map is protected from
-     * concurrent access by {@link #SCSS_MUTEX}.
+     * Global cache of scss compilation results. Valid entries are served
+     * without acquiring the {@link #SCSS_MUTEX}.
      */
-    private final Map<String, ScssCacheEntry> scssCache = new HashMap<>();
+    private final ConcurrentMap<String, ScssCacheEntry> scssCache = new ConcurrentHashMap<>();
 
     /**
      * Keeps track of whether a warning about not being able to persist cache
-     * files has already been printed. The flag is protected from concurrent
-     * access by {@link #SCSS_MUTEX}.
+     * files has already been printed.
      */
-    private static boolean scssCompileWarWarningEmitted = false;
+    private static volatile boolean scssCompileWarWarningEmitted = false;
 
     /**
      * Returns the default theme. Must never return null.
@@ -1094,36 +1142,109 @@ public class VaadinServlet extends HttpServlet implements Constants {
             return true;
         }
 
-        synchronized (SCSS_MUTEX) {
-            ScssCacheEntry cacheEntry = scssCache.get(scssFilename);
+        ScssCacheEntry cacheEntry = getValidScssCacheEntry(scssFilename);
+        if (cacheEntry == null) {
+            synchronized (SCSS_MUTEX) {
+                // Another request might have compiled it while waiting
+                cacheEntry = getValidScssCacheEntry(scssFilename);
 
-            if (cacheEntry == null) {
-                try {
-                    cacheEntry = loadPersistedScssCache(scssFilename, sc);
-                } catch (Exception e) {
-                    getLogger().log(Level.WARNING,
-                            "Could not read persisted scss cache", e);
+                if (cacheEntry == null) {
+                    try {
+                        cacheEntry = loadPersistedScssCache(scssFilename, sc);
+                    } catch (Exception e) {
+                        getLogger().log(Level.WARNING,
+                                "Could not read persisted scss cache", e);
+                    }
+
+                    if (cacheEntry == null || !cacheEntry.isStillValid()) {
+                        cacheEntry = compileScssOnTheFly(filename, scssFilename,
+                                sc);
+                        if (cacheEntry != null) {
+                            persistCacheEntry(cacheEntry);
+                        }
+                    }
+                    putScssCacheEntry(scssFilename, cacheEntry);
                 }
             }
+        }
 
-            if (cacheEntry == null || !cacheEntry.isStillValid()) {
-                cacheEntry = compileScssOnTheFly(filename, scssFilename, sc);
-                persistCacheEntry(cacheEntry);
-            }
-            scssCache.put(scssFilename, cacheEntry);
+        if (cacheEntry == null) {
+            // compilation did not produce any result, but logged a message
+            return false;
+        }
 
-            if (cacheEntry == null) {
-                // compilation did not produce any result, but logged a message
-                return false;
-            }
+        // This is for development mode only so instruct the browser to
+        // never cache it
+        response.setHeader("Cache-Control", "no-cache");
+        final String mimetype = getService().getMimeType(filename);
+        writeResponse(response, mimetype, cacheEntry.getCss());
 
-            // This is for development mode only so instruct the browser to
-            // never cache it
-            response.setHeader("Cache-Control", "no-cache");
-            final String mimetype = getService().getMimeType(filename);
-            writeResponse(response, mimetype, cacheEntry.getCss());
+        return true;
+    }
 
-            return true;
+    /**
+     * Gets the cached compilation result for the given scss file if it is still
+     * up to date. Each entry lists all the files it was compiled from, so an
+     * outdated entry is detected on its own and removed from the cache.
+     *
+     * @param scssFilename
+     *            the scss file name
+     * @return a valid cache entry or <code>null</code> if there is none
+     */
+    private ScssCacheEntry getValidScssCacheEntry(String scssFilename) {
+        ScssCacheEntry cacheEntry = scssCache.get(scssFilename);
+        if (cacheEntry == null) {
+            return null;
+        }
+        if (cacheEntry.isStillValid()) {
+            return cacheEntry;
+        }
+        scssCache.remove(scssFilename, cacheEntry);
+        return null;
+    }
+
+    private void putScssCacheEntry(String scssFilename,
+            ScssCacheEntry cacheEntry) {
+        if (cacheEntry == null) {
+            scssCache.remove(scssFilename);
+        } else {
+            scssCache.put(scssFilename, cacheEntry);
+        }
+    }
+
+    /**
+     * Computes a hash of the contents of a source file used in an scss
+     * compilation. The uri is resolved in the same way as when checking the
+     * timestamps of the source files.
+     *
+     * @param uri
+     *            the source uri, a file name or a class loader resource
+     * @return a hash of the contents, or an empty string if the file could not
+     *         be read
+     */
+    private String getScssSourceHash(String uri) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            File file = new File(uri);
+            URL resource = null;
+            if (!file.exists()) {
+                resource = getService().getClassLoader().getResource(uri);
+                if (resource == null) {
+                    return "";
+                }
+            }
+            try (InputStream in = resource == null ? new FileInputStream(file)
+                    : resource.openStream()) {
+                byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            getLogger().log(Level.FINE, "Could not hash " + uri, e);
+            return "";
         }
     }
 
@@ -251,6 +251,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
 
+    /*
+     * What has been written to the session store of the service, null if the
+     * session has not been stored.
+     */
+    private transient SessionStoreSerializer.StoredState storedState;
+
     /**
      * Creates a new VaadinSession tied to a VaadinService.
      *
@@ -734,6 +740,68 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return Collections.unmodifiableCollection(uIs.values());
     }
 
+    /**
+     * Replaces the UIs of this session with UIs restored from a session store.
+     * Embed ids of UIs that were not restored are forgotten.
+     *
+     * @param restoredUIs
+     *            the restored UIs, all belonging to this session
+     */
+    void restoreUIs(Collection<UI> restoredUIs) {
+        uIs.clear();
+        for (UI ui : restoredUIs) {
+            uIs.put(Integer.valueOf(ui.getUIId()), ui);
+        }
+        embedIdMap.values().retainAll(uIs.keySet());
+    }
+
+    /**
+     * Checks whether the given object is the map holding the UIs of this
+     * session. The map is written to a session store without its UIs, which
+     * are stored separately.
+     *
+     * @param object
+     *            the object to check
+     * @return <code>true</code> if the object is the UI map of this session
+     */
+    boolean isUIMap(Object object) {
+        return object == uIs;
+    }
+
+    /**
+     * Gets the cumulative request duration, the last request duration and the
+     * last request timestamp of this session, which change on every request.
+     *
+     * @return the request times, in this order
+     */
+    long[] getRequestTimes() {
+        return new long[] { cumulativeRequestDuration, lastRequestDuration,
+                lastRequestTimestamp };
+    }
+
+    /**
+     * Sets the values returned by {@link #getRequestTimes()}. Does not require
+     * the session to be locked, so that it can be used for sessions being
+     * written to or read from a session store.
+     *
+     * @param requestTimes
+     *            the cumulative request duration, the last request duration
+     *            and the last request timestamp
+     */
+    void setRequestTimes(long[] requestTimes) {
+        cumulativeRequestDuration = requestTimes[0];
+        lastRequestDuration = requestTimes[1];
+        lastRequestTimestamp = requestTimes[2];
+    }
+
+    SessionStoreSerializer.StoredState getStoredState() {
+        return storedState;
+    }
+
+    void setStoredState(SessionStoreSerializer.StoredState storedState) {
+        this.storedState = storedState;
+    }
+
     private int connectorIdSequence = 0;
 
     /*
@@ -864,6 +932,17 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 BOOTSTRAP_PAGE_METHOD);
     }
 
+    /**
+     * Gets the registered bootstrap listeners.
+     *
+     * @return a collection of bootstrap listeners
+     */
+    @SuppressWarnings("unchecked")
+    Collection<BootstrapListener> getBootstrapListeners() {
+        return (Collection<BootstrapListener>) eventRouter
+                .getListeners(BootstrapPageResponse.class);
+    }
+
     /**
      * Fires a bootstrap event to all registered listeners. There are currently
      * two supported events, both inheriting from {@link BootstrapResponse}:
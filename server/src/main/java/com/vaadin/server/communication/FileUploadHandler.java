@@ -25,11 +25,14 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
 
 import com.vaadin.server.ClientConnector;
 import com.vaadin.server.NoInputStreamException;
 import com.vaadin.server.NoOutputStreamException;
 import com.vaadin.server.RequestHandler;
+import com.vaadin.server.RoutedRequestHandler;
 import com.vaadin.server.ServletPortletHelper;
 import com.vaadin.server.StreamVariable;
 import com.vaadin.server.StreamVariable.StreamingEndEvent;
@@ -48,7 +51,7 @@ import com.vaadin.ui.Upload.FailedEvent;
  * @author Vaadin Ltd
  * @since 7.1
  */
-public class FileUploadHandler implements RequestHandler {
+public class FileUploadHandler implements RoutedRequestHandler {
 
     public static final int MULTIPART_BOUNDARY_LINE_LIMIT = 20000;
 
@@ -697,4 +700,10 @@ public class FileUploadHandler implements RequestHandler {
         session.accessSynchronously(() -> ui.getConnectorTracker()
                 .cleanStreamVariable(owner.getConnectorId(), variableName));
     }
+
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections
+                .singleton("/" + ServletPortletHelper.UPLOAD_URL_PREFIX);
+    }
 }
@@ -17,15 +17,19 @@
 package com.vaadin.server.communication;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 
 import javax.servlet.http.HttpServletResponse;
 
+import com.vaadin.server.RoutedRequestHandler;
 import com.vaadin.server.ServletPortletHelper;
 import com.vaadin.server.SessionExpiredHandler;
 import com.vaadin.server.SynchronizedRequestHandler;
 import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinResponse;
 import com.vaadin.server.VaadinSession;
+import com.vaadin.shared.ApplicationConstants;
 import com.vaadin.shared.ui.ui.UIConstants;
 import com.vaadin.ui.UI;
 
@@ -41,7 +45,7 @@ import com.vaadin.ui.UI;
  * @since 7.1
  */
 public class HeartbeatHandler extends SynchronizedRequestHandler
-        implements SessionExpiredHandler {
+        implements SessionExpiredHandler, RoutedRequestHandler {
 
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
@@ -92,4 +96,10 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         response.sendError(HttpServletResponse.SC_GONE, "Session expired");
         return true;
     }
+
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections
+                .singleton("/" + ApplicationConstants.HEARTBEAT_PATH + "/");
+    }
 }
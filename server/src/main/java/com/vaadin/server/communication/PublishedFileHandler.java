@@ -19,6 +19,8 @@ package com.vaadin.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.logging.Logger;
 
 import javax.servlet.http.HttpServletResponse;
@@ -28,6 +30,7 @@ import com.vaadin.annotations.StyleSheet;
 import com.vaadin.server.Constants;
 import com.vaadin.server.LegacyCommunicationManager;
 import com.vaadin.server.RequestHandler;
+import com.vaadin.server.RoutedRequestHandler;
 import com.vaadin.server.ServletPortletHelper;
 import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinResponse;
@@ -46,7 +49,7 @@ import com.vaadin.shared.ApplicationConstants;
  * @author Vaadin Ltd
  * @since 7.1
  */
-public class PublishedFileHandler implements RequestHandler {
+public class PublishedFileHandler implements RoutedRequestHandler {
 
     /**
      * Writes the connector resource identified by the request URI to the
@@ -153,4 +156,10 @@ public class PublishedFileHandler implements RequestHandler {
     private static final Logger getLogger() {
         return Logger.getLogger(PublishedFileHandler.class.getName());
     }
+
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections.singleton(
+                "/" + ApplicationConstants.PUBLISHED_FILE_PATH + "/");
+    }
 }
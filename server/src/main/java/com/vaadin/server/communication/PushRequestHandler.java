@@ -17,6 +17,8 @@
 package com.vaadin.server.communication;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,6 +37,7 @@ import org.atmosphere.cpr.AtmosphereResponseImpl;
 import org.atmosphere.interceptor.HeartbeatInterceptor;
 import org.atmosphere.util.VoidAnnotationProcessor;
 
+import com.vaadin.server.RoutedRequestHandler;
 import com.vaadin.server.ServiceException;
 import com.vaadin.server.ServletPortletHelper;
 import com.vaadin.server.SessionExpiredHandler;
@@ -44,6 +47,7 @@ import com.vaadin.server.VaadinServletRequest;
 import com.vaadin.server.VaadinServletResponse;
 import com.vaadin.server.VaadinServletService;
 import com.vaadin.server.VaadinSession;
+import com.vaadin.shared.ApplicationConstants;
 import com.vaadin.shared.communication.PushConstants;
 
 /**
@@ -55,7 +59,8 @@ import com.vaadin.shared.communication.PushConstants;
  * @author Vaadin Ltd
  * @since 7.1
  */
-public class PushRequestHandler implements SessionExpiredHandler {
+public class PushRequestHandler
+        implements SessionExpiredHandler, RoutedRequestHandler {
 
     private AtmosphereFramework atmosphere;
     private PushHandler pushHandler;
@@ -272,4 +277,9 @@ public class PushRequestHandler implements SessionExpiredHandler {
         // PushRequestHandler handle it
         return handleRequest(null, request, response);
     }
+
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections.singleton("/" + ApplicationConstants.PUSH_PATH);
+    }
 }
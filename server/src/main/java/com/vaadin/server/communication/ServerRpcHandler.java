@@ -19,7 +19,6 @@ package com.vaadin.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Serializable;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -606,16 +605,8 @@ public class ServerRpcHandler implements Serializable {
         ServerRpcMethodInvocation invocation = new ServerRpcMethodInvocation(
                 connectorId, rpcInterface, methodName, parametersJson.length());
 
-        Object[] parameters = new Object[parametersJson.length()];
-        Type[] declaredRpcMethodParameterTypes = invocation.getMethod()
-                .getGenericParameterTypes();
-
-        for (int j = 0; j < parametersJson.length(); ++j) {
-            JsonValue parameterValue = parametersJson.get(j);
-            Type parameterType = declaredRpcMethodParameterTypes[j];
-            parameters[j] = JsonCodec.decodeInternalOrCustomType(parameterType,
-                    parameterValue, connectorTracker);
-        }
+        Object[] parameters = invocation.getInvocationPlan()
+                .decodeParameters(parametersJson, connectorTracker);
         invocation.setParameters(parameters);
         return invocation;
     }
@@ -19,10 +19,13 @@ package com.vaadin.server.communication;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.vaadin.server.LegacyCommunicationManager.InvalidUIDLSecurityKeyException;
+import com.vaadin.server.RoutedRequestHandler;
 import com.vaadin.server.ServletPortletHelper;
 import com.vaadin.server.SessionExpiredHandler;
 import com.vaadin.server.SynchronizedRequestHandler;
@@ -31,6 +34,7 @@ import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinResponse;
 import com.vaadin.server.VaadinService;
 import com.vaadin.server.VaadinSession;
+import com.vaadin.shared.ApplicationConstants;
 import com.vaadin.shared.JsonConstants;
 import com.vaadin.ui.UI;
 
@@ -47,7 +51,7 @@ import elemental.json.JsonException;
  * @since 7.1
  */
 public class UidlRequestHandler extends SynchronizedRequestHandler
-        implements SessionExpiredHandler {
+        implements SessionExpiredHandler, RoutedRequestHandler {
 
     public static final String UIDL_PATH = "UIDL/";
 
@@ -200,4 +204,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return json;
     }
 
+    @Override
+    public Collection<String> getPathPrefixes() {
+        return Collections
+                .singleton("/" + ApplicationConstants.UIDL_PATH + "/");
+    }
 }
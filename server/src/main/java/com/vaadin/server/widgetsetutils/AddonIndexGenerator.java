@@ -0,0 +1,168 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.server.widgetsetutils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.jar.Manifest;
+
+/**
+ * Build time helper for creating the widgetset and addon style index read by
+ * {@link ClassPathExplorer}. Having the index in an add-on JAR or a class
+ * directory lets {@link ClassPathExplorer} and {@link WidgetSetBuilder} skip
+ * scanning that class path entry.
+ * <p>
+ * The tool is meant to be run on the compiled classes directory before
+ * packaging, e.g. using exec-maven-plugin in the <code>prepare-package</code>
+ * phase. Widgetsets are collected from the <code>.gwt.xml</code> files in the
+ * directory and from the "Vaadin-Widgetsets" attribute of a manifest file in
+ * it, addon styles from the "Vaadin-Stylesheets" attribute of the manifest and
+ * from the command line.
+ *
+ * @since 8.6
+ */
+public class AddonIndexGenerator {
+
+    private static final String GWT_MODULE_EXTENSION = ".gwt.xml";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            printUsage();
+        } else {
+            Set<String> stylesheets = new LinkedHashSet<>();
+            for (int i = 1; i < args.length; i++) {
+                stylesheets.add(args[i]);
+            }
+            writeIndex(new File(args[0]), stylesheets);
+        }
+    }
+
+    /**
+     * Writes the widgetset and addon style index for the given class path
+     * directory to {@link ClassPathExplorer#INDEX_FILE} in that directory.
+     *
+     * @param classesDirectory
+     *            the class path directory to create the index for
+     * @param additionalStylesheets
+     *            addon stylesheets to include in the index in addition to the
+     *            ones listed in the manifest
+     * @return the written index file
+     * @throws IOException
+     *             if reading the manifest or writing the index fails
+     */
+    public static File writeIndex(File classesDirectory,
+            Set<String> additionalStylesheets) throws IOException {
+        if (!classesDirectory.isDirectory()) {
+            throw new IOException(
+                    classesDirectory.getPath() + " is not a directory");
+        }
+
+        Set<String> widgetsets = new LinkedHashSet<>();
+        Set<String> stylesheets = new LinkedHashSet<>();
+
+        File manifestFile = new File(classesDirectory, "META-INF/MANIFEST.MF");
+        if (manifestFile.isFile()) {
+            try (InputStream in = new FileInputStream(manifestFile)) {
+                Manifest manifest = new Manifest(in);
+                addListedValues(
+                        manifest.getMainAttributes().getValue(
+                                ClassPathExplorer.WIDGETSETS_ATTRIBUTE),
+                        widgetsets);
+                addListedValues(
+                        manifest.getMainAttributes().getValue(
+                                ClassPathExplorer.STYLESHEETS_ATTRIBUTE),
+                        stylesheets);
+            }
+        }
+        findWidgetsets(classesDirectory, "", widgetsets);
+        stylesheets.addAll(additionalStylesheets);
+
+        Properties index = new Properties();
+        index.setProperty(ClassPathExplorer.WIDGETSETS_ATTRIBUTE,
+                String.join(",", widgetsets));
+        index.setProperty(ClassPathExplorer.STYLESHEETS_ATTRIBUTE,
+                String.join(",", stylesheets));
+
+        File indexFile = new File(classesDirectory,
+                ClassPathExplorer.INDEX_FILE);
+        File parent = indexFile.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory for the index: "
+                    + parent.getPath());
+        }
+        try (OutputStream out = new FileOutputStream(indexFile)) {
+            index.store(out, "Generated by "
+                    + AddonIndexGenerator.class.getSimpleName());
+        }
+        return indexFile;
+    }
+
+    private static void findWidgetsets(File directory, String packageName,
+            Set<String> widgetsets) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isHidden() || name.startsWith(".")) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                findWidgetsets(file, packageName + name + ".", widgetsets);
+            } else if (name.endsWith(GWT_MODULE_EXTENSION)) {
+                String module = packageName + name.substring(0,
+                        name.length() - GWT_MODULE_EXTENSION.length());
+                if (WidgetSetBuilder.isWidgetset(module)) {
+                    widgetsets.add(module);
+                }
+            }
+        }
+    }
+
+    private static void addListedValues(String value, Set<String> target) {
+        if (value == null) {
+            return;
+        }
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                target.add(trimmed);
+            }
+        }
+    }
+
+    private static void printUsage() {
+        PrintStream o = System.out;
+        o.println(AddonIndexGenerator.class.getSimpleName() + " usage:");
+        o.println("    1. Give the compiled classes directory of the add-on"
+                + " as first parameter");
+        o.println("    2. Optionally give addon stylesheets to include"
+                + " as further parameters");
+        o.println();
+        o.println("The index is written to " + ClassPathExplorer.INDEX_FILE
+                + " in the given directory.");
+    }
+
+}
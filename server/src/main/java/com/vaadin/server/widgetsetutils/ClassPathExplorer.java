@@ -18,16 +18,20 @@ package com.vaadin.server.widgetsetutils;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -37,6 +41,12 @@ import java.util.jar.Manifest;
  * Utility will seek all directories from classpaths, and jar files having
  * "Vaadin-Widgetsets" key in their manifest file.
  * <p>
+ * Class path entries containing an {@link #INDEX_FILE} generated at build time
+ * by {@link AddonIndexGenerator} are not scanned, the widgetsets and addon
+ * styles listed in the index are used instead. Indexed and scanned entries are
+ * handled in class path order, so a widgetset or addon style found in several
+ * entries resolves to the same location as when scanning all of them.
+ * <p>
  * Used by WidgetMapGenerator and ide tools to implement some monkey coding for
  * you.
  * <p>
@@ -54,6 +64,27 @@ public class ClassPathExplorer {
 
     private static final String VAADIN_ADDON_VERSION_ATTRIBUTE = "Vaadin-Package-Version";
 
+    static final String WIDGETSETS_ATTRIBUTE = "Vaadin-Widgetsets";
+
+    static final String STYLESHEETS_ATTRIBUTE = "Vaadin-Stylesheets";
+
+    /**
+     * Location of the widgetset and addon style index in a JAR file or class
+     * path directory. The index is a properties file using the same keys as the
+     * manifest attributes, "Vaadin-Widgetsets" and "Vaadin-Stylesheets".
+     *
+     * @since 8.6
+     */
+    public static final String INDEX_FILE = "META-INF/vaadin/addon-index.properties";
+
+    /**
+     * System property which can be set to <code>false</code> to ignore any
+     * {@link #INDEX_FILE}s and always scan the full class path.
+     *
+     * @since 8.6
+     */
+    public static final String USE_INDEX_PROPERTY = "vaadin.classpath.index";
+
     /**
      * File filter that only accepts directories.
      */
@@ -88,20 +119,10 @@ public class ClassPathExplorer {
     }
 
     /**
-     * Raw class path entries as given in the java class path string. Only
-     * entries that could include widgets/widgetsets are listed (primarily
-     * directories, Vaadin JARs and add-on JARs).
+     * Raw class path entries as given in the java class path string.
      */
     private static final List<String> RAW_CLASSPATH_ENTRIES = getRawClasspathEntries();
 
-    /**
-     * Map from identifiers (either a package name preceded by the path and a
-     * slash, or a URL for a JAR file) to the corresponding URLs. This is
-     * constructed from the class path.
-     */
-    private static final Map<String, URL> CLASSPATH_LOCATIONS = getClasspathLocations(
-            RAW_CLASSPATH_ENTRIES);
-
     private static boolean debug = false;
 
     static {
@@ -135,12 +156,59 @@ public class ClassPathExplorer {
      * @return
      */
     public static LocationInfo getAvailableWidgetSetsAndStylesheets() {
+        return getAvailableWidgetSetsAndStylesheets(RAW_CLASSPATH_ENTRIES,
+                ClassPathExplorer.class.getClassLoader());
+    }
+
+    /**
+     * Finds the names and locations of widgetsets and themes available in the
+     * given class path entries.
+     *
+     * @param classpathEntries
+     *            raw class path entries as split from the Java class path
+     *            string
+     * @param classLoader
+     *            the class loader to find the {@link #INDEX_FILE}s with
+     * @return the widgetsets and addon styles found
+     */
+    static LocationInfo getAvailableWidgetSetsAndStylesheets(
+            List<String> classpathEntries, ClassLoader classLoader) {
         long start = System.currentTimeMillis();
         Map<String, URL> widgetsets = new HashMap<>();
         Map<String, URL> themes = new HashMap<>();
-        Set<String> keySet = CLASSPATH_LOCATIONS.keySet();
-        for (String location : keySet) {
-            searchForWidgetSetsAndAddonStyles(location, widgetsets, themes);
+
+        Map<String, LocationInfo> indexes = Collections.emptyMap();
+        if (!"false".equals(System.getProperty(USE_INDEX_PROPERTY))) {
+            indexes = readIndexes(classLoader);
+        }
+        Map<String, LocationInfo> unusedIndexes = new LinkedHashMap<>(indexes);
+
+        int indexedCount = 0;
+        int scannedCount = 0;
+        for (String classpathEntry : classpathEntries) {
+            String canonicalPath = indexes.isEmpty() ? null
+                    : getCanonicalPath(classpathEntry);
+            LocationInfo index = indexes.get(canonicalPath);
+            if (index != null) {
+                unusedIndexes.remove(canonicalPath);
+                addIndexedValues(index.getWidgetsets(), widgetsets);
+                addIndexedValues(index.getAddonStyles(), themes);
+                indexedCount++;
+            } else if (acceptClassPathEntry(classpathEntry)) {
+                Map<String, URL> classpathLocations = getClasspathLocations(
+                        Collections.singletonList(classpathEntry));
+                for (String location : classpathLocations.keySet()) {
+                    searchForWidgetSetsAndAddonStyles(location,
+                            classpathLocations, widgetsets, themes);
+                }
+                scannedCount++;
+            }
+        }
+        // Indexes found by the class loader outside the class path entries
+        for (LocationInfo index : unusedIndexes.values()) {
+            addIndexedValues(index.getWidgetsets(), widgetsets);
+            addIndexedValues(index.getAddonStyles(), themes);
+            indexedCount++;
         }
         long end = System.currentTimeMillis();
 
@@ -164,10 +232,126 @@ public class ClassPathExplorer {
         }
 
         log(sb.toString());
-        log("Search took " + (end - start) + "ms");
+        log("Search took " + (end - start) + "ms (" + indexedCount
+                + " indexed class path entries, " + scannedCount
+                + " scanned)");
         return new LocationInfo(widgetsets, themes);
     }
 
+    /**
+     * Reads all {@link #INDEX_FILE}s available through the given class loader.
+     *
+     * @param classLoader
+     *            the class loader to find the index files with
+     * @return the widgetsets and addon styles listed in each index, by the
+     *         canonical path of the class path entry (JAR file or directory)
+     *         containing the index, or by the location URL if the entry is
+     *         not on the local file system
+     */
+    static Map<String, LocationInfo> readIndexes(ClassLoader classLoader) {
+        Map<String, LocationInfo> indexes = new LinkedHashMap<>();
+        Enumeration<URL> indexUrls;
+        try {
+            indexUrls = classLoader.getResources(INDEX_FILE);
+        } catch (IOException e) {
+            error("Error finding widgetset indexes", e);
+            return indexes;
+        }
+
+        while (indexUrls.hasMoreElements()) {
+            URL index = indexUrls.nextElement();
+            String indexUrl = index.toExternalForm();
+            try {
+                URL location = new URL(indexUrl.substring(0,
+                        indexUrl.length() - INDEX_FILE.length()));
+
+                Properties properties = new Properties();
+                try (InputStream in = index.openStream()) {
+                    properties.load(in);
+                }
+                Map<String, URL> widgetsets = new LinkedHashMap<>();
+                Map<String, URL> addonStyles = new LinkedHashMap<>();
+                addListedValues(properties.getProperty(WIDGETSETS_ATTRIBUTE),
+                        location, widgetsets);
+                addListedValues(properties.getProperty(STYLESHEETS_ATTRIBUTE),
+                        location, addonStyles);
+
+                File entry = getClasspathEntryFile(location);
+                indexes.putIfAbsent(
+                        entry != null ? entry.getCanonicalPath()
+                                : location.toExternalForm(),
+                        new LocationInfo(widgetsets, addonStyles));
+                debug("Read widgetset index " + indexUrl);
+            } catch (IOException | URISyntaxException e) {
+                error("Error reading widgetset index " + indexUrl, e);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Adds the values read from an index the same way as
+     * {@link #searchForWidgetSetsAndAddonStyles(String, Map, Map, Map)} would
+     * add them when scanning the class path entry: values from a JAR file
+     * replace earlier ones, values from a directory do not.
+     */
+    private static void addIndexedValues(Map<String, URL> indexed,
+            Map<String, URL> target) {
+        indexed.forEach((name, location) -> {
+            if ("jar".equals(location.getProtocol())) {
+                target.put(name, location);
+            } else {
+                target.putIfAbsent(name, location);
+            }
+        });
+    }
+
+    private static void addListedValues(String value, URL location,
+            Map<String, URL> target) {
+        if (value == null) {
+            return;
+        }
+        for (String name : value.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                target.putIfAbsent(trimmed, location);
+            }
+        }
+    }
+
+    /**
+     * Gets the JAR file or directory on the file system corresponding to a
+     * class path location URL.
+     *
+     * @param location
+     *            a <code>jar:</code> URL to the root of a JAR file or a
+     *            <code>file:</code> URL to a directory
+     * @return the JAR file or directory, or <code>null</code> if the location
+     *         is not on the local file system
+     */
+    private static File getClasspathEntryFile(URL location)
+            throws URISyntaxException, MalformedURLException {
+        URL fileUrl = location;
+        if ("jar".equals(location.getProtocol())) {
+            String path = location.getPath();
+            int separator = path.indexOf("!/");
+            fileUrl = new URL(
+                    separator == -1 ? path : path.substring(0, separator));
+        }
+        if (!"file".equals(fileUrl.getProtocol())) {
+            return null;
+        }
+        return new File(fileUrl.toURI());
+    }
+
+    private static String getCanonicalPath(String classpathEntry) {
+        try {
+            return new File(classpathEntry).getCanonicalPath();
+        } catch (IOException e) {
+            return classpathEntry;
+        }
+    }
+
     /**
      * Finds all GWT modules / Vaadin widgetsets and Addon styles in a valid
      * location.
@@ -179,16 +363,21 @@ public class ClassPathExplorer {
      * "Vaadin-Widgetsets" attribute in its manifest are added to widgetsets.
      *
      * @param locationString
-     *            an entry in {@link #CLASSPATH_LOCATIONS}
+     *            an entry in the class path locations
+     * @param classpathLocations
+     *            the class path locations, see
+     *            {@link #getClasspathLocations(List)}
      * @param widgetsets
      *            a map from widgetset name (including package, with dots as
-     *            separators) to a URL (see {@link #CLASSPATH_LOCATIONS}) - new
-     *            entries are added to this map
+     *            separators) to a URL (see
+     *            {@link #getClasspathLocations(List)}) - new entries are added
+     *            to this map
      */
     private static void searchForWidgetSetsAndAddonStyles(String locationString,
-            Map<String, URL> widgetsets, Map<String, URL> addonStyles) {
+            Map<String, URL> classpathLocations, Map<String, URL> widgetsets,
+            Map<String, URL> addonStyles) {
 
-        URL location = CLASSPATH_LOCATIONS.get(locationString);
+        URL location = classpathLocations.get(locationString);
         File directory = new File(location.getFile());
 
         if (directory.exists() && !directory.isHidden()) {
@@ -260,7 +449,7 @@ public class ClassPathExplorer {
 
                     // Check for widgetset attribute
                     String value = manifest.getMainAttributes()
-                            .getValue("Vaadin-Widgetsets");
+                            .getValue(WIDGETSETS_ATTRIBUTE);
                     if (value != null) {
                         String[] widgetsetNames = value.split(",");
                         for (String widgetsetName : widgetsetNames) {
@@ -273,7 +462,7 @@ public class ClassPathExplorer {
 
                     // Check for theme attribute
                     value = manifest.getMainAttributes()
-                            .getValue("Vaadin-Stylesheets");
+                            .getValue(STYLESHEETS_ATTRIBUTE);
                     if (value != null) {
                         String[] stylesheets = value.split(",");
                         for (String stylesheet1 : stylesheets) {
@@ -292,12 +481,11 @@ public class ClassPathExplorer {
     }
 
     /**
-     * Splits the current class path into entries, and filters them accepting
-     * directories, Vaadin add-on JARs with widgetsets and Vaadin JARs.
-     *
-     * Some other non-JAR entries may also be included in the result.
+     * Splits the current class path into entries. The entries are filtered
+     * using {@link #acceptClassPathEntry(String)} only when scanning, to avoid
+     * opening JAR files that have an index.
      *
-     * @return filtered list of class path entries
+     * @return list of class path entries
      */
     private static final List<String> getRawClasspathEntries() {
         // try to keep the order of the classpath
@@ -317,24 +505,23 @@ public class ClassPathExplorer {
 
         String[] split = classpath.split(pathSep);
         for (String classpathEntry : split) {
-            if (acceptClassPathEntry(classpathEntry)) {
-                locations.add(classpathEntry);
-            }
+            locations.add(classpathEntry);
         }
 
         return locations;
     }
 
     /**
-     * Determine every URL location defined by the current classpath, and it's
-     * associated package name.
-     *
-     * See {@link #CLASSPATH_LOCATIONS} for information on output format.
+     * Determine every URL location defined by the given classpath entries, and
+     * it's associated package name.
+     * <p>
+     * The result is a map from identifiers (either a package name preceded by
+     * the path and a slash, or a URL for a JAR file) to the corresponding URLs.
      *
      * @param rawClasspathEntries
      *            raw class path entries as split from the Java class path
      *            string
-     * @return map of classpath locations, see {@link #CLASSPATH_LOCATIONS}
+     * @return map of classpath locations
      */
     private static final Map<String, URL> getClasspathLocations(
             List<String> rawClasspathEntries) {
@@ -394,11 +581,11 @@ public class ClassPathExplorer {
                         Attributes mainAttributes = manifest
                                 .getMainAttributes();
                         if (mainAttributes
-                                .getValue("Vaadin-Widgetsets") != null) {
+                                .getValue(WIDGETSETS_ATTRIBUTE) != null) {
                             return true;
                         }
                         if (mainAttributes
-                                .getValue("Vaadin-Stylesheets") != null) {
+                                .getValue(STYLESHEETS_ATTRIBUTE) != null) {
                             return true;
                         }
                     }
@@ -419,7 +606,7 @@ public class ClassPathExplorer {
 
     /**
      * Recursively add subdirectories and jar files to locations - see
-     * {@link #CLASSPATH_LOCATIONS}.
+     * {@link #getClasspathLocations(List)}.
      *
      * @param name
      * @param file
@@ -465,7 +652,7 @@ public class ClassPathExplorer {
     }
 
     /**
-     * Add a jar file to locations - see {@link #CLASSPATH_LOCATIONS}.
+     * Add a jar file to locations - see {@link #getClasspathLocations(List)}.
      *
      * @param file
      * @param locations
@@ -521,10 +708,9 @@ public class ClassPathExplorer {
     public static URL getWidgetsetSourceDirectory(String widgetsetFileName) {
         if (debug) {
             debug("classpathLocations values:");
-            List<String> locations = new ArrayList<>(
-                    CLASSPATH_LOCATIONS.keySet());
-            for (String location : locations) {
-                debug(String.valueOf(CLASSPATH_LOCATIONS.get(location)));
+            for (URL location : getClasspathLocations(RAW_CLASSPATH_ENTRIES)
+                    .values()) {
+                debug(String.valueOf(location));
             }
         }
 
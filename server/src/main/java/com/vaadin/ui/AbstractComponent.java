@@ -439,6 +439,11 @@ public abstract class AbstractComponent extends AbstractClientConnector
             // Must always repaint the parent (at least the hierarchy) when
             // visibility of a child component changes.
             getParent().markAsDirty();
+            if (getParent() instanceof AbstractComponent) {
+                // Child data keyed by connector only includes visible children
+                ((AbstractComponent) getParent()).getState(false)
+                        .markAllAsChanged();
+            }
         }
     }
 
@@ -923,8 +928,9 @@ public abstract class AbstractComponent extends AbstractClientConnector
     @Override
     public void readDesign(Element design, DesignContext designContext) {
         Attributes attr = design.attributes();
+        Collection<String> defaultAttributes = getDefaultAttributes();
         // handle default attributes
-        for (String attribute : getDefaultAttributes()) {
+        for (String attribute : defaultAttributes) {
             if (design.hasAttr(attribute)) {
                 DesignAttributeHandler.assignValue(this, attribute,
                         design.attr(attribute));
@@ -953,7 +959,7 @@ public abstract class AbstractComponent extends AbstractClientConnector
 
         // check for unsupported attributes
         Set<String> supported = new HashSet<>();
-        supported.addAll(getDefaultAttributes());
+        supported.addAll(defaultAttributes);
         supported.addAll(getCustomAttributes());
         for (Attribute a : attr) {
             if (!a.getKey().startsWith(":")
@@ -1209,7 +1215,7 @@ public abstract class AbstractComponent extends AbstractClientConnector
     private Collection<String> getDefaultAttributes() {
         Collection<String> attributes = DesignAttributeHandler
                 .getSupportedAttributes(this.getClass());
-        attributes.removeAll(getCustomAttributes());
+        attributes.removeAll(new HashSet<>(getCustomAttributes()));
         return attributes;
     }
 
@@ -156,12 +156,14 @@ public abstract class AbstractOrderedLayout extends AbstractLayout
 
     private void componentRemoved(Component c) {
         getState().childData.remove(c);
+        getState().markAsChanged("childData");
     }
 
     private void componentAdded(Component c) {
         ChildComponentData ccd = new ChildComponentData();
         ccd.alignmentBitmask = getDefaultComponentAlignment().getBitMask();
         getState().childData.put(c, ccd);
+        getState().markAsChanged("childData");
     }
 
     /**
@@ -253,6 +255,7 @@ public abstract class AbstractOrderedLayout extends AbstractLayout
         if (childData != null) {
             // Alignments are bit masks
             childData.alignmentBitmask = alignment.getBitMask();
+            getState().markAsChanged("childData");
         } else {
             throw new IllegalArgumentException(
                     "Component must be added to layout before using setComponentAlignment()");
@@ -297,6 +300,39 @@ public abstract class AbstractOrderedLayout extends AbstractLayout
         return getState(false).spacing;
     }
 
+    /**
+     * Sets whether the alignments and expand ratios of the children are only
+     * sent to the client when they have been changed through the methods of
+     * this layout. This avoids encoding them whenever something else changes
+     * in a layout with many children.
+     * <p>
+     * Subclasses that modify <code>getState().childData</code> directly must
+     * call <code>getState().markAsChanged("childData")</code> afterwards when
+     * change tracking is enabled, since the changes are otherwise not sent.
+     * Change tracking is disabled by default.
+     *
+     * @param enabled
+     *            <code>true</code> to send the child data only when changed,
+     *            <code>false</code> to check it for changes in every response
+     * @since 8.6
+     */
+    public void setChildDataChangeTrackingEnabled(boolean enabled) {
+        getState().trackChildDataChanges(enabled);
+    }
+
+    /**
+     * Returns whether the child data is only sent when changed through the
+     * methods of this layout.
+     *
+     * @see #setChildDataChangeTrackingEnabled(boolean)
+     *
+     * @return <code>true</code> if change tracking is enabled
+     * @since 8.6
+     */
+    public boolean isChildDataChangeTrackingEnabled() {
+        return getState(false).isChangeTracked("childData");
+    }
+
     /**
      * <p>
      * This method is used to control how excess space in layout is distributed
@@ -342,6 +378,7 @@ public abstract class AbstractOrderedLayout extends AbstractLayout
         }
 
         childData.expandRatio = ratio;
+        getState().markAsChanged("childData");
     }
 
     /**
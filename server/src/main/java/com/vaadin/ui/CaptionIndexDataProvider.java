@@ -0,0 +1,339 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.ui;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.data.provider.DataProviderWrapper;
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.server.SerializablePredicate;
+import com.vaadin.server.SerializableSupplier;
+import com.vaadin.shared.Registration;
+
+/**
+ * A wrapper for a list data provider which filters the items by a case
+ * insensitive substring match against their captions using an index of the
+ * lower case captions, so that the cost of filtering is proportional to the
+ * number of matching items instead of the number of all items.
+ * <p>
+ * The index is built when the items are filtered for the first time and rebuilt
+ * when the wrapped data provider fires a data change event, or when the locale
+ * or the item caption generator has changed.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ *
+ * @param <T>
+ *            the item type
+ */
+class CaptionIndexDataProvider<T>
+        extends DataProviderWrapper<T, String, SerializablePredicate<T>> {
+
+    private final ListDataProvider<T> listDataProvider;
+    private final SerializableSupplier<ItemCaptionGenerator<T>> captionGenerator;
+    private final SerializableSupplier<Locale> locale;
+    private final Registration changeRegistration;
+
+    private transient CaptionIndex<T> index;
+
+    // Fetch and size are called with the same filter for each change
+    private transient String lastFilter;
+    private transient List<T> lastMatches;
+
+    /**
+     * Creates a new caption indexing wrapper for the given list data provider.
+     *
+     * @param listDataProvider
+     *            the list data provider to wrap, not <code>null</code>
+     * @param captionGenerator
+     *            supplies the current item caption generator
+     * @param locale
+     *            supplies the current locale used for case folding
+     */
+    CaptionIndexDataProvider(ListDataProvider<T> listDataProvider,
+            SerializableSupplier<ItemCaptionGenerator<T>> captionGenerator,
+            SerializableSupplier<Locale> locale) {
+        super(listDataProvider);
+        this.listDataProvider = listDataProvider;
+        this.captionGenerator = captionGenerator;
+        this.locale = locale;
+        changeRegistration = listDataProvider
+                .addDataProviderListener(event -> invalidate());
+    }
+
+    /**
+     * Stops listening to the wrapped data provider. Called when this wrapper is
+     * no longer used.
+     */
+    void remove() {
+        changeRegistration.remove();
+        invalidate();
+    }
+
+    /**
+     * Discards the index, it is rebuilt when it is needed next time.
+     */
+    void invalidate() {
+        index = null;
+        lastFilter = null;
+        lastMatches = null;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, String> query) {
+        Optional<String> filterText = query.getFilter();
+        if (!filterText.isPresent() || filterText.get().isEmpty()) {
+            return super.fetch(query);
+        }
+
+        Stream<T> stream = getMatches(filterText.get()).stream();
+
+        Optional<Comparator<T>> comparing = Stream
+                .of(query.getInMemorySorting(),
+                        listDataProvider.getSortComparator())
+                .filter(c -> c != null)
+                .reduce((c1, c2) -> c1.thenComparing(c2));
+        if (comparing.isPresent()) {
+            stream = stream.sorted(comparing.get());
+        }
+
+        return stream.skip(query.getOffset()).limit(query.getLimit());
+    }
+
+    @Override
+    public int size(Query<T, String> query) {
+        Optional<String> filterText = query.getFilter();
+        if (!filterText.isPresent() || filterText.get().isEmpty()) {
+            return super.size(query);
+        }
+        return getMatches(filterText.get()).size();
+    }
+
+    @Override
+    protected SerializablePredicate<T> getFilter(Query<T, String> query) {
+        // Only used for queries without filter text
+        return null;
+    }
+
+    private List<T> getMatches(String filterText) {
+        CaptionIndex<T> currentIndex = getIndex();
+        if (!filterText.equals(lastFilter)) {
+            Stream<T> matches = currentIndex
+                    .find(filterText.toLowerCase(currentIndex.locale));
+            SerializablePredicate<T> filter = listDataProvider.getFilter();
+            if (filter != null) {
+                matches = matches.filter(filter);
+            }
+            lastMatches = matches.collect(Collectors.toList());
+            lastFilter = filterText;
+        }
+        return lastMatches;
+    }
+
+    private CaptionIndex<T> getIndex() {
+        Locale currentLocale = locale.get();
+        if (currentLocale == null) {
+            currentLocale = Locale.getDefault();
+        }
+        ItemCaptionGenerator<T> currentGenerator = captionGenerator.get();
+        if (index == null || !index.locale.equals(currentLocale)
+                || index.captionGenerator != currentGenerator) {
+            invalidate();
+            index = new CaptionIndex<>(listDataProvider.getItems(),
+                    currentGenerator, currentLocale);
+        }
+        return index;
+    }
+
+    /**
+     * A suffix array of the lower case captions of the items. All suffixes
+     * starting with the filter text are next to each other in the array, so the
+     * matching items are found with two binary searches.
+     *
+     * @param <T>
+     *            the item type
+     */
+    private static class CaptionIndex<T> implements Serializable {
+
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        private final ItemCaptionGenerator<T> captionGenerator;
+        private final Locale locale;
+
+        private final List<T> items;
+        // The lower case captions of all items after each other
+        private final char[] text;
+        // The index of the item owning each char of the text
+        private final int[] owners;
+        // The start of the caption of each item in the text, and the end
+        private final int[] starts;
+        // The positions of the text in the order of the suffixes starting there
+        private final int[] suffixes;
+
+        private CaptionIndex(Collection<T> items,
+                ItemCaptionGenerator<T> captionGenerator, Locale locale) {
+            this.captionGenerator = captionGenerator;
+            this.locale = locale;
+            this.items = new ArrayList<>(items);
+
+            starts = new int[this.items.size() + 1];
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < this.items.size(); i++) {
+                starts[i] = builder.length();
+                String caption = captionGenerator.apply(this.items.get(i));
+                if (caption != null) {
+                    builder.append(caption.toLowerCase(locale));
+                }
+            }
+            starts[this.items.size()] = builder.length();
+
+            text = new char[builder.length()];
+            builder.getChars(0, text.length, text, 0);
+            owners = new int[text.length];
+            suffixes = new int[text.length];
+            for (int i = 0; i < this.items.size(); i++) {
+                Arrays.fill(owners, starts[i], starts[i + 1], i);
+            }
+            for (int i = 0; i < suffixes.length; i++) {
+                suffixes[i] = i;
+            }
+            sort(0, suffixes.length, 0);
+        }
+
+        /**
+         * Finds the items whose caption contains the given lower case text.
+         *
+         * @param filterText
+         *            the lower case filter text, not empty
+         * @return the matching items, in the original order
+         */
+        private Stream<T> find(String filterText) {
+            int from = bound(filterText, false);
+            int to = bound(filterText, true);
+
+            int[] matches = new int[to - from];
+            for (int i = from; i < to; i++) {
+                matches[i - from] = owners[suffixes[i]];
+            }
+            return Arrays.stream(matches).sorted().distinct()
+                    .mapToObj(items::get);
+        }
+
+        /**
+         * Finds the first suffix which does not start with a prefix smaller
+         * than the filter text, or, if <code>after</code> is <code>true</code>,
+         * the first suffix which starts with a prefix greater than it.
+         */
+        private int bound(String filterText, boolean after) {
+            int low = 0;
+            int high = suffixes.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = comparePrefix(suffixes[middle], filterText);
+                if (comparison < 0 || after && comparison == 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int comparePrefix(int position, String filterText) {
+            for (int i = 0; i < filterText.length(); i++) {
+                int c = charAt(position, i);
+                if (c != filterText.charAt(i)) {
+                    return c < filterText.charAt(i) ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Gets the char at the given depth of the suffix starting at the given
+         * position, or -1 if the suffix ends before it.
+         */
+        private int charAt(int position, int depth) {
+            int index = position + depth;
+            return index < starts[owners[position] + 1] ? text[index] : -1;
+        }
+
+        /**
+         * Sorts the suffixes in the given range using multikey quicksort,
+         * assuming they have the same first <code>depth</code> chars.
+         */
+        private void sort(int from, int to, int depth) {
+            while (to - from > INSERTION_SORT_THRESHOLD) {
+                int pivot = charAt(suffixes[(from + to) >>> 1], depth);
+                int less = from;
+                int greater = to - 1;
+                int i = from;
+                while (i <= greater) {
+                    int c = charAt(suffixes[i], depth);
+                    if (c < pivot) {
+                        swap(less++, i++);
+                    } else if (c > pivot) {
+                        swap(i, greater--);
+                    } else {
+                        i++;
+                    }
+                }
+                sort(from, less, depth);
+                if (pivot >= 0) {
+                    sort(less, greater + 1, depth + 1);
+                }
+                from = greater + 1;
+            }
+            insertionSort(from, to, depth);
+        }
+
+        private void insertionSort(int from, int to, int depth) {
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; j > from && compareSuffixes(suffixes[j - 1],
+                        suffixes[j], depth) > 0; j--) {
+                    swap(j - 1, j);
+                }
+            }
+        }
+
+        private int compareSuffixes(int position1, int position2, int depth) {
+            while (true) {
+                int c1 = charAt(position1, depth);
+                int c2 = charAt(position2, depth);
+                if (c1 != c2 || c1 < 0) {
+                    return Integer.compare(c1, c2);
+                }
+                depth++;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int tmp = suffixes[i];
+            suffixes[i] = suffixes[j];
+            suffixes[j] = tmp;
+        }
+    }
+}
@@ -228,6 +228,16 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         // Just ignore when neither setDataProvider nor setItems has been called
     };
 
+    private boolean indexedFiltering = false;
+
+    /**
+     * The list data provider filtered with the default caption filter, or null
+     * if another kind of data provider is used.
+     */
+    private ListDataProvider<T> defaultFilteredDataProvider;
+
+    private CaptionIndexDataProvider<T> captionIndexDataProvider;
+
     /**
      * Constructs an empty combo box without a caption. The content of the combo
      * box can be set with {@link #setDataProvider(DataProvider)} or
@@ -401,16 +411,73 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
      *
      * @param listDataProvider
      *            the list data provider to use, not <code>null</code>
+     * @see #setIndexedFiltering(boolean)
      * @since 8.0
      */
     public void setDataProvider(ListDataProvider<T> listDataProvider) {
-        // Cannot use the case insensitive contains shorthand from
-        // ListDataProvider since it wouldn't react to locale changes
-        CaptionFilter defaultCaptionFilter = (itemText, filterText) -> itemText
-                .toLowerCase(getLocale())
-                .contains(filterText.toLowerCase(getLocale()));
+        Objects.requireNonNull(listDataProvider,
+                "List data provider cannot be null");
+
+        if (isIndexedFiltering()) {
+            CaptionIndexDataProvider<T> indexed = new CaptionIndexDataProvider<>(
+                    listDataProvider, this::getItemCaptionGenerator,
+                    this::getLocale);
+            setDataProvider(indexed, SerializableFunction.identity());
+            captionIndexDataProvider = indexed;
+        } else {
+            // Cannot use the case insensitive contains shorthand from
+            // ListDataProvider since it wouldn't react to locale changes
+            CaptionFilter defaultCaptionFilter = (itemText,
+                    filterText) -> itemText.toLowerCase(getLocale())
+                            .contains(filterText.toLowerCase(getLocale()));
+
+            setDataProvider(defaultCaptionFilter, listDataProvider);
+        }
+        defaultFilteredDataProvider = listDataProvider;
+    }
+
+    /**
+     * Sets whether the case insensitive caption filtering of in-memory items
+     * uses an index of the item captions. The index applies to items set using
+     * {@link #setItems(Collection)} or
+     * {@link #setDataProvider(ListDataProvider)} and makes filtering large item
+     * collections faster, at the cost of the memory needed for the index.
+     * <p>
+     * The index is built when the items are filtered for the first time. It is
+     * rebuilt after {@link ListDataProvider#refreshAll()} or
+     * {@link ListDataProvider#refreshItem(Object)} has been called, and when
+     * the locale or the item caption generator of this combo box changes.
+     * Changes to the items or their captions are not seen by the filtering
+     * until the data provider has been refreshed.
+     * <p>
+     * When indexed filtering is enabled, {@link #getDataProvider()} returns a
+     * wrapper of the list data provider. The default is <code>false</code>.
+     *
+     * @param indexedFiltering
+     *            <code>true</code> to use an index for filtering,
+     *            <code>false</code> to test the caption of every item
+     * @since 8.6
+     */
+    public void setIndexedFiltering(boolean indexedFiltering) {
+        if (this.indexedFiltering == indexedFiltering) {
+            return;
+        }
+        this.indexedFiltering = indexedFiltering;
+        if (defaultFilteredDataProvider != null) {
+            setDataProvider(defaultFilteredDataProvider);
+        }
+    }
 
-        setDataProvider(defaultCaptionFilter, listDataProvider);
+    /**
+     * Gets whether the caption filtering of in-memory items uses an index.
+     *
+     * @return <code>true</code> if an index is used for filtering,
+     *         <code>false</code> otherwise
+     * @see #setIndexedFiltering(boolean)
+     * @since 8.6
+     */
+    public boolean isIndexedFiltering() {
+        return indexedFiltering;
     }
 
     /**
@@ -930,6 +997,12 @@ public class ComboBox<T> extends AbstractSingleSelect<T>
         Objects.requireNonNull(filterConverter,
                 "filterConverter cannot be null");
 
+        defaultFilteredDataProvider = null;
+        if (captionIndexDataProvider != null) {
+            captionIndexDataProvider.remove();
+            captionIndexDataProvider = null;
+        }
+
         SerializableFunction<String, C> convertOrNull = filterText -> {
             if (filterText == null || filterText.isEmpty()) {
                 return null;
@@ -26,9 +26,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -98,6 +100,7 @@ import com.vaadin.shared.ui.grid.SectionState;
 import com.vaadin.ui.components.grid.ColumnReorderListener;
 import com.vaadin.ui.components.grid.ColumnResizeListener;
 import com.vaadin.ui.components.grid.ColumnVisibilityChangeListener;
+import com.vaadin.ui.components.grid.ComponentRecycler;
 import com.vaadin.ui.components.grid.DetailsGenerator;
 import com.vaadin.ui.components.grid.Editor;
 import com.vaadin.ui.components.grid.EditorImpl;
@@ -724,6 +727,14 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         private final Set<T> visibleDetails = new HashSet<>();
         private final Map<T, Component> components = new HashMap<>();
         private DetailsGenerator<T> generator;
+        private ComponentRecycler<T, Component> recycler;
+
+        /*
+         * Hidden details components and the sync id of the response in which
+         * they were hidden. They are not reused in the same response since the
+         * client updates the details rows one at a time.
+         */
+        private final Map<Component, Integer> hiddenComponents = new LinkedHashMap<>();
 
         /**
          * Sets the details component generator.
@@ -732,10 +743,30 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
          *            the generator for details components
          */
         public void setDetailsGenerator(DetailsGenerator<T> generator) {
+            setDetailsGenerator(generator, null);
+        }
+
+        /**
+         * Sets a component recycler for generating the details components. The
+         * components of hidden details rows are reused for other rows.
+         *
+         * @param recycler
+         *            the recycler for details components
+         * @since 8.6
+         */
+        public void setDetailsRecycler(ComponentRecycler<T, ?> recycler) {
+            setDetailsGenerator(recycler == null ? null : recycler::acquire,
+                    recycler);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void setDetailsGenerator(DetailsGenerator<T> generator,
+                ComponentRecycler<T, ?> recycler) {
             if (this.generator != generator) {
                 removeAllComponents();
             }
             this.generator = generator;
+            this.recycler = (ComponentRecycler<T, Component>) recycler;
             visibleDetails.forEach(this::refresh);
         }
 
@@ -750,6 +781,40 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             // Clean up old components
             components.values().forEach(this::removeComponentFromGrid);
             components.clear();
+            hiddenComponents.keySet().forEach(this::removeComponentFromGrid);
+            hiddenComponents.clear();
+            if (recycler != null) {
+                recycler.clear().forEach(this::removeComponentFromGrid);
+            }
+        }
+
+        private void hideComponent(Component component) {
+            if (recycler != null) {
+                hiddenComponents.put(component, getCurrentSyncId());
+            } else {
+                removeComponentFromGrid(component);
+            }
+        }
+
+        private void recycleHiddenComponents() {
+            int syncId = getCurrentSyncId();
+            Iterator<Entry<Component, Integer>> iterator = hiddenComponents
+                    .entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<Component, Integer> entry = iterator.next();
+                if (entry.getValue() < syncId) {
+                    iterator.remove();
+                    if (!recycler.release(entry.getKey())) {
+                        removeComponentFromGrid(entry.getKey());
+                    }
+                }
+            }
+        }
+
+        private int getCurrentSyncId() {
+            UI ui = getUI();
+            return ui == null ? -1
+                    : ui.getConnectorTracker().getCurrentSyncId();
         }
 
         @Override
@@ -759,15 +824,22 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             }
 
             if (!components.containsKey(item)) {
+                if (recycler != null) {
+                    recycleHiddenComponents();
+                }
                 Component detailsComponent = generator.apply(item);
                 Objects.requireNonNull(detailsComponent,
                         "Details generator can't create null components");
-                if (detailsComponent.getParent() != null) {
+                if (detailsComponent.getParent() == null) {
+                    addComponentToGrid(detailsComponent);
+                } else if (recycler == null
+                        || detailsComponent.getParent() != getParent()) {
                     throw new IllegalStateException(
                             "Details component was already attached");
                 }
-                addComponentToGrid(detailsComponent);
                 components.put(item, detailsComponent);
+            } else if (recycler != null) {
+                recycler.update(components.get(item), item);
             }
 
             jsonObject.put(GridState.JSONKEY_DETAILS_VISIBLE,
@@ -794,7 +866,7 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             if (!visible) {
                 refresh = visibleDetails.remove(item);
                 if (components.containsKey(item)) {
-                    removeComponentFromGrid(components.remove(item));
+                    hideComponent(components.remove(item));
                 }
             } else {
                 refresh = visibleDetails.add(item);
@@ -909,6 +981,7 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
 
         private Binding<T, ?> editorBinding;
         private Map<Object, Component> activeComponents = new HashMap<>();
+        private ComponentRecycler<T, Component> componentRecycler;
 
         private String userId;
 
@@ -1053,6 +1126,12 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         @SuppressWarnings("unchecked")
         private <P> JsonValue generateRendererValue(T item,
                 ValueProvider<V, P> presentationProvider, Connector renderer) {
+            if (componentRecycler != null
+                    && renderer instanceof ComponentRenderer) {
+                return ((ComponentRenderer) renderer)
+                        .encode(getRecycledComponent(item));
+            }
+
             P presentationValue = presentationProvider
                     .apply(valueProvider.apply(item));
 
@@ -1079,11 +1158,38 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
 
         private void removeComponent(Object item) {
             Component component = activeComponents.remove(item);
-            if (component != null) {
+            if (component != null && (componentRecycler == null
+                    || !componentRecycler.release(component))) {
                 getGrid().removeExtensionComponent(component);
             }
         }
 
+        private Component getRecycledComponent(T item) {
+            Object id = getGrid().getDataProvider().getId(item);
+            Component component = activeComponents.get(id);
+            if (component != null) {
+                componentRecycler.update(component, item);
+                return component;
+            }
+            // Idle components are still attached to the grid
+            component = componentRecycler.acquire(item);
+            if (component.getParent() == null) {
+                getGrid().addExtensionComponent(component);
+            }
+            activeComponents.put(id, component);
+            return component;
+        }
+
+        private void removeRecycledComponents() {
+            if (componentRecycler != null) {
+                activeComponents.values()
+                        .forEach(getGrid()::removeExtensionComponent);
+                activeComponents.clear();
+                componentRecycler.clear()
+                        .forEach(getGrid()::removeExtensionComponent);
+            }
+        }
+
         /**
          * Gets a data object with the given key from the given JsonObject. If
          * there is no object with the key, this method creates a new
@@ -2837,6 +2943,32 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         return addColumn(componentProvider, new ComponentRenderer());
     }
 
+    /**
+     * Adds a column that shows components which are reused for other rows when
+     * their rows are no longer shown.
+     * <p>
+     * The value provider of the column returns <code>null</code>, so the column
+     * is not sortable in memory.
+     *
+     * @param recycler
+     *            the recycler creating and updating the components, not
+     *            <code>null</code>
+     * @return the new column
+     * @param <V>
+     *            the column value type, extends component
+     * @see ComponentRecycler
+     * @since 8.6
+     */
+    @SuppressWarnings("unchecked")
+    public <V extends Component> Column<T, V> addRecycledComponentColumn(
+            ComponentRecycler<T, V> recycler) {
+        Objects.requireNonNull(recycler, "Recycler cannot be null");
+        Column<T, V> column = addColumn(item -> null, new ComponentRenderer());
+        column.componentRecycler = (ComponentRecycler<T, Component>) recycler;
+        column.setSortable(false);
+        return column;
+    }
+
     /**
      * Creates a column instance from a value provider, presentation provider
      * and a renderer.
@@ -2900,6 +3032,7 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
             assert displayIndex != -1 : "Tried to remove a column which is not included in columnOrder. This should not be possible as all columns should be in columnOrder.";
             columnKeys.remove(columnId);
             columnIds.remove(column.getId());
+            column.removeRecycledComponents();
             column.remove();
             removeDataGenerator(column.getDataGenerator());
             getHeader().removeColumn(columnId);
@@ -2970,6 +3103,20 @@ public class Grid<T> extends AbstractListing<T> implements HasComponents,
         this.detailsManager.setDetailsGenerator(generator);
     }
 
+    /**
+     * Sets a component recycler for generating the details components. The
+     * components of hidden details rows are reused for other rows instead of
+     * creating new components.
+     *
+     * @param recycler
+     *            the recycler for details components
+     * @see ComponentRecycler
+     * @since 8.6
+     */
+    public void setDetailsRecycler(ComponentRecycler<T, ?> recycler) {
+        this.detailsManager.setDetailsRecycler(recycler);
+    }
+
     /**
      * Sets the visibility of details component for given item.
      *
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.ui.components.grid;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import com.vaadin.server.SerializableSupplier;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.Grid;
+
+/**
+ * A pool of components for a component column or the details rows of a
+ * {@link Grid}. Instead of creating a new component for each row, components of
+ * rows which are no longer shown are kept attached to the grid and updated with
+ * the data of another row when needed. This avoids creating and unregistering
+ * connectors on both the server and the client while scrolling.
+ * <p>
+ * Since a component can be updated with the data of any item, the updater must
+ * set all the properties of the component that depend on the item, and
+ * listeners added to the component must find out the current item when they are
+ * invoked instead of capturing it.
+ * <p>
+ * Example of a recycled button column:
+ *
+ * <pre>
+ * grid.addRecycledComponentColumn(new ComponentRecycler&lt;&gt;(Button::new,
+ *         (button, person) -&gt; button.setCaption(person.getName())));
+ * </pre>
+ * <p>
+ * A component recycler must be used with only one column or details generator.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ *
+ * @param <T>
+ *            the grid bean type
+ * @param <C>
+ *            the component type
+ *
+ * @see Grid#addRecycledComponentColumn(ComponentRecycler)
+ * @see Grid#setDetailsRecycler(ComponentRecycler)
+ */
+public class ComponentRecycler<T, C extends Component> implements Serializable {
+
+    /**
+     * A callback for updating a component to show the data of an item.
+     *
+     * @param <C>
+     *            the component type
+     * @param <T>
+     *            the item type
+     */
+    @FunctionalInterface
+    public interface ComponentUpdater<C, T> extends Serializable {
+
+        /**
+         * Updates the given component to show the data of the given item.
+         *
+         * @param component
+         *            the new or recycled component, not <code>null</code>
+         * @param item
+         *            the item to show
+         */
+        public void update(C component, T item);
+    }
+
+    /**
+     * The default maximum number of idle components.
+     */
+    public static final int DEFAULT_MAX_IDLE = 100;
+
+    private final SerializableSupplier<C> factory;
+    private final ComponentUpdater<? super C, ? super T> updater;
+    private final int maxIdle;
+
+    private final Deque<C> idleComponents = new ArrayDeque<>();
+
+    private long createdCount;
+    private long reusedCount;
+
+    /**
+     * Creates a new component recycler which keeps at most
+     * {@value #DEFAULT_MAX_IDLE} idle components.
+     *
+     * @param factory
+     *            the function creating new components, not <code>null</code>
+     * @param updater
+     *            the function updating a component with the data of an item,
+     *            not <code>null</code>
+     */
+    public ComponentRecycler(SerializableSupplier<C> factory,
+            ComponentUpdater<? super C, ? super T> updater) {
+        this(factory, updater, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Creates a new component recycler.
+     *
+     * @param factory
+     *            the function creating new components, not <code>null</code>
+     * @param updater
+     *            the function updating a component with the data of an item,
+     *            not <code>null</code>
+     * @param maxIdle
+     *            the maximum number of idle components to keep, not negative
+     */
+    public ComponentRecycler(SerializableSupplier<C> factory,
+            ComponentUpdater<? super C, ? super T> updater, int maxIdle) {
+        Objects.requireNonNull(factory, "The factory cannot be null");
+        Objects.requireNonNull(updater, "The updater cannot be null");
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of idle components cannot be negative");
+        }
+        this.factory = factory;
+        this.updater = updater;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Gets an idle component, or creates a new one if there are no idle
+     * components, and updates it with the data of the given item.
+     * <p>
+     * This method is called by the grid when a row is shown.
+     *
+     * @param item
+     *            the item to show
+     * @return the updated component
+     */
+    public C acquire(T item) {
+        C component = idleComponents.pollFirst();
+        if (component == null) {
+            component = Objects.requireNonNull(factory.get(),
+                    "The factory cannot create null components");
+            createdCount++;
+        } else {
+            reusedCount++;
+        }
+        update(component, item);
+        return component;
+    }
+
+    /**
+     * Updates a component with the data of the given item.
+     * <p>
+     * This method is called by the grid when the data of a shown row is
+     * refreshed.
+     *
+     * @param component
+     *            the component to update
+     * @param item
+     *            the item to show
+     */
+    public void update(C component, T item) {
+        updater.update(component, item);
+    }
+
+    /**
+     * Returns a component which is no longer shown to this recycler. The
+     * component is kept if there are less than {@link #getMaxIdle()} idle
+     * components.
+     * <p>
+     * This method is called by the grid when a row is no longer shown.
+     *
+     * @param component
+     *            the component to release
+     * @return <code>true</code> if the component was kept and should stay
+     *         attached to the grid, <code>false</code> if it should be removed
+     */
+    public boolean release(C component) {
+        if (idleComponents.size() >= maxIdle) {
+            return false;
+        }
+        idleComponents.addFirst(component);
+        return true;
+    }
+
+    /**
+     * Removes all idle components from this recycler.
+     * <p>
+     * This method is called by the grid when the recycler is no longer used.
+     *
+     * @return the removed components, to be removed from the grid
+     */
+    public List<C> clear() {
+        List<C> components = new ArrayList<>(idleComponents);
+        idleComponents.clear();
+        return components;
+    }
+
+    /**
+     * Gets the maximum number of idle components to keep.
+     *
+     * @return the maximum number of idle components
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * Gets the number of idle components.
+     *
+     * @return the number of idle components
+     */
+    public int getIdleCount() {
+        return idleComponents.size();
+    }
+
+    /**
+     * Gets the number of components created by this recycler.
+     *
+     * @return the number of created components
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Gets the number of times an idle component was reused.
+     *
+     * @return the number of reused components
+     */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+}
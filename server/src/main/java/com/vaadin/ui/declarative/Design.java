@@ -25,6 +25,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +40,7 @@ import org.jsoup.parser.Parser;
 import org.jsoup.select.Elements;
 
 import com.vaadin.annotations.DesignRoot;
+import com.vaadin.server.VaadinService;
 import com.vaadin.server.VaadinServiceClassLoaderUtil;
 import com.vaadin.shared.util.SharedUtil;
 import com.vaadin.ui.Component;
@@ -153,22 +156,19 @@ public class Design implements Serializable {
         @Override
         public Component createComponent(String fullyQualifiedClassName,
                 DesignContext context) {
-            Class<? extends Component> componentClass;
-            try {
-                componentClass = resolveComponentClass(fullyQualifiedClassName,
+            // Designs read from a template remember the resolved classes
+            Map<String, Class<? extends Component>> resolvedClasses = context
+                    .getResolvedComponentClasses();
+            Class<? extends Component> componentClass = resolvedClasses == null
+                    ? null
+                    : resolvedClasses.get(fullyQualifiedClassName);
+            if (componentClass == null) {
+                componentClass = findComponentClass(fullyQualifiedClassName,
                         context);
-            } catch (DesignException e) {
-                // Try with an inner class.
-                int lastDot = fullyQualifiedClassName.lastIndexOf('.');
-                if (lastDot != -1) {
-                    String qualifiedInnerClassName = fullyQualifiedClassName
-                            .substring(0, lastDot) + "$"
-                            + fullyQualifiedClassName.substring(lastDot + 1);
-                    return createComponent(qualifiedInnerClassName, context);
-                } else {
-                    throw e;
+                if (resolvedClasses != null) {
+                    resolvedClasses.put(fullyQualifiedClassName,
+                            componentClass);
                 }
-
             }
             assert Component.class.isAssignableFrom(
                     componentClass) : "resolveComponentClass returned "
@@ -184,6 +184,24 @@ public class Design implements Serializable {
             }
         }
 
+        private Class<? extends Component> findComponentClass(
+                String fullyQualifiedClassName, DesignContext context) {
+            try {
+                return resolveComponentClass(fullyQualifiedClassName, context);
+            } catch (DesignException e) {
+                // Try with an inner class.
+                int lastDot = fullyQualifiedClassName.lastIndexOf('.');
+                if (lastDot != -1) {
+                    String qualifiedInnerClassName = fullyQualifiedClassName
+                            .substring(0, lastDot) + "$"
+                            + fullyQualifiedClassName.substring(lastDot + 1);
+                    return findComponentClass(qualifiedInnerClassName, context);
+                } else {
+                    throw e;
+                }
+            }
+        }
+
         /**
          * Resolves a component class based on the fully qualified name of the
          * class.
@@ -315,6 +333,8 @@ public class Design implements Serializable {
     private static volatile ComponentFactory componentFactory = new DefaultComponentFactory();
     private static volatile ComponentMapper componentMapper = new DefaultComponentMapper();
 
+    private static final Map<Class<?>, DesignTemplate> templateCache = new ConcurrentHashMap<>();
+
     /**
      * Sets the component factory that is used for creating component instances
      * based on fully qualified class names derived from a design file.
@@ -389,7 +409,7 @@ public class Design implements Serializable {
      * @return the parsed jsoup document
      * @throws IOException
      */
-    private static Document parse(InputStream html) {
+    static Document parse(InputStream html) {
         try {
             Document doc = Jsoup.parse(html, UTF_8.name(), "",
                     Parser.htmlParser());
@@ -459,7 +479,14 @@ public class Design implements Serializable {
      */
     private static DesignContext designToComponentTree(Document doc,
             Component componentRoot, Class<?> classWithFields) {
+        return designToComponentTree(doc, componentRoot, classWithFields, null);
+    }
+
+    static DesignContext designToComponentTree(Document doc,
+            Component componentRoot, Class<?> classWithFields,
+            Map<String, Class<? extends Component>> resolvedComponentClasses) {
         DesignContext designContext = new DesignContext(doc);
+        designContext.setResolvedComponentClasses(resolvedComponentClasses);
         designContext.readPackageMappings(doc);
         // No special handling for a document without a body element - should be
         // taken care of by jsoup.
@@ -594,8 +621,55 @@ public class Design implements Serializable {
                     + " or any of its superclasses do not have an @DesignRoot annotation");
         }
 
+        return getTemplate(annotatedClass).read(rootComponent, annotatedClass);
+    }
+
+    /**
+     * Gets the parsed design of a class annotated with {@link DesignRoot}. The
+     * design file is located in the same way as in {@link #read(Component)}.
+     * <p>
+     * Templates are cached and shared between sessions unless the current
+     * service is running in development mode, to make changes to the design
+     * files visible without redeploying the application. When there is no
+     * current service, templates are always cached.
+     *
+     * @param annotatedClass
+     *            the class with an {@link DesignRoot} annotation, not
+     *            <code>null</code>
+     * @return the template of the design
+     * @throws DesignException
+     *             If the design could not be loaded
+     * @since 8.6
+     */
+    public static DesignTemplate getTemplate(
+            Class<? extends Component> annotatedClass) throws DesignException {
+        if (!isTemplateCachingEnabled()) {
+            return loadTemplate(annotatedClass);
+        }
+        DesignTemplate template = templateCache.get(annotatedClass);
+        if (template == null) {
+            // Parsing twice in a race is harmless
+            template = loadTemplate(annotatedClass);
+            templateCache.put(annotatedClass, template);
+        }
+        return template;
+    }
+
+    private static boolean isTemplateCachingEnabled() {
+        VaadinService service = VaadinService.getCurrent();
+        return service == null
+                || service.getDeploymentConfiguration().isProductionMode();
+    }
+
+    private static DesignTemplate loadTemplate(
+            Class<? extends Component> annotatedClass) {
         DesignRoot designAnnotation = annotatedClass
                 .getAnnotation(DesignRoot.class);
+        if (designAnnotation == null) {
+            throw new IllegalArgumentException(
+                    "The class " + annotatedClass.getName()
+                            + " does not have an @DesignRoot annotation");
+        }
         String filename = designAnnotation.value();
         if (filename.isEmpty()) {
             // No value, assume the html file is named as the class
@@ -608,11 +682,7 @@ public class Design implements Serializable {
                     + " in " + annotatedClass.getPackage().getName());
         }
         try {
-            Document doc = parse(stream);
-            DesignContext context = designToComponentTree(doc, rootComponent,
-                    annotatedClass);
-
-            return context;
+            return DesignTemplate.parse(stream);
         } finally {
             try {
                 stream.close();
@@ -97,6 +97,8 @@ public class DesignContext implements Serializable {
 
     private boolean shouldWriteDefaultValues = false;
 
+    private Map<String, Class<? extends Component>> resolvedComponentClasses;
+
     public DesignContext(Document doc) {
         this.doc = doc;
         // Initialize the mapping between prefixes and package names.
@@ -879,4 +881,21 @@ public class DesignContext implements Serializable {
     public boolean shouldWriteDefaultValues() {
         return shouldWriteDefaultValues;
     }
+
+    /**
+     * Gets the cache of component classes resolved by
+     * {@link Design.DefaultComponentFactory}, shared by all reads of the same
+     * {@link DesignTemplate}.
+     *
+     * @return a map from fully qualified class names to classes, or
+     *         <code>null</code> if classes should not be cached
+     */
+    Map<String, Class<? extends Component>> getResolvedComponentClasses() {
+        return resolvedComponentClasses;
+    }
+
+    void setResolvedComponentClasses(
+            Map<String, Class<? extends Component>> resolvedComponentClasses) {
+        this.resolvedComponentClasses = resolvedComponentClasses;
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2000-2018 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.ui.declarative;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+
+import com.vaadin.ui.Component;
+
+/**
+ * A parsed design which can be used for creating any number of component
+ * hierarchies without parsing the design again. Templates are immutable and can
+ * be shared between sessions.
+ * <p>
+ * Reading a design from a template is equivalent to reading it using
+ * {@link Design#read(InputStream, Component)}, the configured
+ * {@link Design.ComponentFactory} and {@link Design.ComponentMapper} are used
+ * as usual.
+ * <p>
+ * Templates of designs loaded using {@link Design#read(Component)} are cached
+ * automatically in production mode, see {@link Design#getTemplate(Class)}.
+ *
+ * @author Vaadin Ltd
+ * @since 8.6
+ */
+public class DesignTemplate implements Serializable {
+
+    private final String html;
+
+    /*
+     * Never modified, a copy is given to DesignContext since components may
+     * modify their elements while reading them.
+     */
+    private transient Document document;
+
+    // Component classes resolved by the default component factory
+    private final Map<String, Class<? extends Component>> resolvedComponentClasses = new ConcurrentHashMap<>();
+
+    private DesignTemplate(String html, Document document) {
+        this.html = html;
+        this.document = document;
+    }
+
+    /**
+     * Parses a design into a template.
+     *
+     * @param stream
+     *            the stream to read the design from, not <code>null</code>
+     * @return the parsed template
+     * @throws DesignException
+     *             if the design cannot be read
+     */
+    public static DesignTemplate parse(InputStream stream) {
+        if (stream == null) {
+            throw new DesignException("Stream cannot be null");
+        }
+        Document document = Design.parse(stream);
+        return new DesignTemplate(document.outerHtml(), document);
+    }
+
+    /**
+     * Parses a design into a template.
+     *
+     * @param html
+     *            the design, not <code>null</code>
+     * @return the parsed template
+     */
+    public static DesignTemplate parse(String html) {
+        if (html == null) {
+            throw new DesignException("Design cannot be null");
+        }
+        return new DesignTemplate(html, parseDocument(html));
+    }
+
+    /**
+     * Creates the component hierarchy of this template.
+     *
+     * @return the root component of the design, or <code>null</code> if the
+     *         design is empty
+     */
+    public Component read() {
+        return read(null).getRootComponent();
+    }
+
+    /**
+     * Creates the component hierarchy of this template using the given root
+     * component, in the same way as {@link Design#read(InputStream, Component)}
+     * .
+     *
+     * @param rootComponent
+     *            the root component of the layout, or <code>null</code> to
+     *            create the root component based on the design
+     * @return the design context used in the read operation
+     * @throws DesignException
+     *             if the design could not be read
+     */
+    public DesignContext read(Component rootComponent) {
+        return read(rootComponent,
+                rootComponent == null ? null : rootComponent.getClass());
+    }
+
+    DesignContext read(Component rootComponent, Class<?> classWithFields) {
+        Document copy;
+        // Cloning only reads the nodes but jsoup does not promise that
+        synchronized (document) {
+            copy = document.clone();
+        }
+        return Design.designToComponentTree(copy, rootComponent,
+                classWithFields, resolvedComponentClasses);
+    }
+
+    private static Document parseDocument(String html) {
+        return Jsoup.parse(html, "", Parser.htmlParser());
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        document = parseDocument(html);
+    }
+}
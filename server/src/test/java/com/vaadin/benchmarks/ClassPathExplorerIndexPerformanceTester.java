@@ -0,0 +1,54 @@
+package com.vaadin.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import com.vaadin.server.widgetsetutils.AddonIndexGenerator;
+import com.vaadin.server.widgetsetutils.ClassPathExplorer;
+
+/*
+ * Compares the time ClassPathExplorer takes to find widgetsets and addon
+ * styles when scanning the whole class path and when class path entries
+ * contain an index generated by AddonIndexGenerator.
+ *
+ * Run with the class path of a real application (preferably one with many
+ * add-on JARs) and generate indexes for the class directories or add-on JARs
+ * of interest before running, e.g.
+ *
+ * java -cp ... com.vaadin.server.widgetsetutils.AddonIndexGenerator target/classes
+ */
+public class ClassPathExplorerIndexPerformanceTester {
+
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            // Shortcut for generating an index for a directory before running
+            try {
+                AddonIndexGenerator.writeIndex(new File(args[0]),
+                        Collections.emptySet());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        // warmup
+        runBenchmark(false);
+        runBenchmark(true);
+
+        System.out.println("scanning: " + runBenchmark(false) + " ms/round");
+        System.out.println("indexed: " + runBenchmark(true) + " ms/round");
+    }
+
+    private static long runBenchmark(boolean useIndex) {
+        System.setProperty(ClassPathExplorer.USE_INDEX_PROPERTY,
+                Boolean.toString(useIndex));
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < ROUNDS; i++) {
+            ClassPathExplorer.getAvailableWidgetSetsAndStylesheets();
+        }
+        return (System.currentTimeMillis() - start) / ROUNDS;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.vaadin.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.vaadin.ui.declarative.Design;
+import com.vaadin.ui.declarative.DesignTemplate;
+
+/*
+ * Compares the time it takes to create a component hierarchy by parsing a
+ * design with Design.read and by reading a parsed DesignTemplate, which is what
+ * Design.read(Component) does for @DesignRoot classes in production mode.
+ */
+public class DesignReadPerformanceTester {
+
+    private static final int ROUNDS = 20000;
+    private static final int ROWS = 20;
+
+    public static void main(String[] args) {
+        byte[] design = createDesign().getBytes(StandardCharsets.UTF_8);
+        DesignTemplate template = DesignTemplate
+                .parse(new ByteArrayInputStream(design));
+
+        // warmup
+        runParsing(design);
+        runTemplate(template);
+
+        System.out.println("Design.read: " + runParsing(design) + " us/read");
+        System.out.println(
+                "DesignTemplate.read: " + runTemplate(template) + " us/read");
+    }
+
+    private static long runParsing(byte[] design) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            Design.read(new ByteArrayInputStream(design));
+        }
+        return (System.nanoTime() - start) / 1000 / ROUNDS;
+    }
+
+    private static long runTemplate(DesignTemplate template) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            template.read();
+        }
+        return (System.nanoTime() - start) / 1000 / ROUNDS;
+    }
+
+    private static String createDesign() {
+        StringBuilder design = new StringBuilder(
+                "<vaadin-vertical-layout margin spacing>");
+        for (int i = 0; i < ROWS; i++) {
+            design.append("<vaadin-horizontal-layout width-full>")
+                    .append("<vaadin-label>Field ").append(i)
+                    .append("</vaadin-label>")
+                    .append("<vaadin-text-field _id='field").append(i)
+                    .append("' placeholder='Value' width='200px'/>")
+                    .append("<vaadin-button style-name='primary'>Save")
+                    .append("</vaadin-button></vaadin-horizontal-layout>");
+        }
+        return design.append("</vaadin-vertical-layout>").toString();
+    }
+}
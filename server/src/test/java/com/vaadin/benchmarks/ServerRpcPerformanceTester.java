@@ -0,0 +1,96 @@
+package com.vaadin.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import com.vaadin.server.JsonCodec;
+import com.vaadin.server.ServerRpcMethodInvocation;
+import com.vaadin.server.ServerRpcMethodInvocation.InvocationPlan;
+import com.vaadin.shared.data.DataRequestRpc;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+/*
+ * Measures how many DataRequestRpc.requestRows calls per second can be
+ * decoded and invoked, comparing the reflective path used before invocation
+ * plans (resolving parameter types and decoding through
+ * JsonCodec.decodeInternalOrCustomType, then Method.invoke) with a cached
+ * InvocationPlan.
+ *
+ * Run with -server. Your results will vary.
+ */
+public class ServerRpcPerformanceTester {
+
+    private static final int CALLS = 5000000;
+
+    private static int rowsRequested = 0;
+
+    private static final DataRequestRpc RPC = new DataRequestRpc() {
+        @Override
+        public void requestRows(int firstRowIndex, int numberOfRows,
+                int firstCachedRowIndex, int cacheSize) {
+            rowsRequested += numberOfRows;
+        }
+
+        @Override
+        public void dropRows(JsonArray rowKeys) {
+        }
+    };
+
+    public static void main(String[] args) throws Exception {
+        JsonArray parametersJson = Json.createArray();
+        parametersJson.set(0, 100);
+        parametersJson.set(1, 50);
+        parametersJson.set(2, 80);
+        parametersJson.set(3, 120);
+
+        // warmup
+        runReflective(parametersJson, CALLS / 10);
+        runPlan(parametersJson, CALLS / 10);
+
+        long start = System.nanoTime();
+        runReflective(parametersJson, CALLS);
+        report("reflective", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        runPlan(parametersJson, CALLS);
+        report("invocation plan", System.nanoTime() - start);
+
+        System.out.println("(rows requested: " + rowsRequested + ")");
+    }
+
+    private static void runReflective(JsonArray parametersJson, int calls)
+            throws Exception {
+        for (int i = 0; i < calls; i++) {
+            ServerRpcMethodInvocation invocation = new ServerRpcMethodInvocation(
+                    "1", DataRequestRpc.class, "requestRows",
+                    parametersJson.length());
+            Method method = invocation.getMethod();
+            Type[] types = method.getGenericParameterTypes();
+            Object[] parameters = new Object[parametersJson.length()];
+            for (int j = 0; j < parameters.length; j++) {
+                parameters[j] = JsonCodec.decodeInternalOrCustomType(types[j],
+                        parametersJson.get(j), null);
+            }
+            method.invoke(RPC, parameters);
+        }
+    }
+
+    private static void runPlan(JsonArray parametersJson, int calls)
+            throws Exception {
+        for (int i = 0; i < calls; i++) {
+            ServerRpcMethodInvocation invocation = new ServerRpcMethodInvocation(
+                    "1", DataRequestRpc.class, "requestRows",
+                    parametersJson.length());
+            InvocationPlan plan = invocation.getInvocationPlan();
+            plan.invoke(RPC, plan.decodeParameters(parametersJson, null));
+        }
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.println(
+                name + ": " + (CALLS * 1000000000L / nanos) + " calls/s");
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.vaadin.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.vaadin.data.TreeData;
+import com.vaadin.data.provider.HierarchicalQuery;
+import com.vaadin.data.provider.TreeDataProvider;
+import com.vaadin.server.SerializablePredicate;
+
+/*
+ * Measures type-ahead filtering of a tree with about 111k items, where the
+ * matching items should be shown with their ancestors. For each typed filter
+ * text, the root level and the first page of three expanded levels below it
+ * are fetched like a TreeGrid would, with a size query and a page query for
+ * each level.
+ *
+ * Without recursive filtering, the filter must check the descendants of each
+ * item itself, and the filtered children are computed again for each query
+ * (the cache is cleared before each query). With recursive filtering, the
+ * visibility of each item is computed at most once per filter text and the
+ * filtered children of each level are reused between the size and page
+ * queries.
+ *
+ * Run with -server. Your results will vary.
+ */
+public class TreeDataProviderPerformanceTester {
+
+    private static final int BRANCHING = 10;
+    private static final int DEPTH = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final int EXPANDED_LEVELS = 3;
+    private static final String[] FILTERS = { "ab", "abc", "abcd", "abcde" };
+    private static final int ROUNDS = 5;
+
+    private static TreeData<String> treeData = new TreeData<>();
+    private static long fetched = 0;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        addChildren(random, null, 0);
+        System.out.println("items: " + countItems(null));
+
+        // warmup
+        runScanning(1);
+        runRecursive(1);
+
+        long start = System.nanoTime();
+        runScanning(ROUNDS);
+        report("scanning filter, no cache", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        runRecursive(ROUNDS);
+        report("recursive filtering, cached", System.nanoTime() - start);
+
+        System.out.println("(items fetched: " + fetched + ")");
+    }
+
+    private static void addChildren(Random random, String parent, int depth) {
+        if (depth == DEPTH) {
+            return;
+        }
+        for (int i = 0; i < BRANCHING; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int j = 0; j < 8; j++) {
+                name.append((char) ('a' + random.nextInt(8)));
+            }
+            String item = name.append('/').append(parent).toString();
+            treeData.addItem(parent, item);
+            addChildren(random, item, depth + 1);
+        }
+    }
+
+    private static int countItems(String parent) {
+        int count = 0;
+        for (String child : treeData.getChildren(parent)) {
+            count += 1 + countItems(child);
+        }
+        return count;
+    }
+
+    private static boolean matches(String item, String filterText) {
+        return item.substring(0, item.indexOf('/')).contains(filterText);
+    }
+
+    private static boolean matchesRecursively(String item, String filterText) {
+        return matches(item, filterText) || treeData.getChildren(item).stream()
+                .anyMatch(child -> matchesRecursively(child, filterText));
+    }
+
+    private static void runScanning(int rounds) {
+        TreeDataProvider<String> provider = new TreeDataProvider<>(treeData);
+        for (int round = 0; round < rounds; round++) {
+            for (String filterText : FILTERS) {
+                SerializablePredicate<String> filter = item -> matchesRecursively(
+                        item, filterText);
+                fetchLevels(provider, filter, null, 0, true);
+            }
+        }
+    }
+
+    private static void runRecursive(int rounds) {
+        TreeDataProvider<String> provider = new TreeDataProvider<>(treeData);
+        provider.setRecursiveFiltering(true);
+        for (int round = 0; round < rounds; round++) {
+            for (String filterText : FILTERS) {
+                SerializablePredicate<String> filter = item -> matches(item,
+                        filterText);
+                fetchLevels(provider, filter, null, 0, false);
+            }
+        }
+    }
+
+    private static void fetchLevels(TreeDataProvider<String> provider,
+            SerializablePredicate<String> filter, String parent, int level,
+            boolean clearCache) {
+        if (clearCache) {
+            provider.refreshAll();
+        }
+        int size = provider
+                .getChildCount(new HierarchicalQuery<>(filter, parent));
+        if (clearCache) {
+            provider.refreshAll();
+        }
+        List<String> page = provider
+                .fetchChildren(
+                        new HierarchicalQuery<>(0, Math.min(size, PAGE_SIZE),
+                                Collections.emptyList(), null, filter, parent))
+                .collect(Collectors.toList());
+        fetched += page.size();
+        if (level < EXPANDED_LEVELS) {
+            for (String child : page) {
+                fetchLevels(provider, filter, child, level + 1, clearCache);
+            }
+        }
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.println(
+                name + ": " + (nanos / 1000000 / (ROUNDS * FILTERS.length))
+                        + " ms per filter text");
+    }
+}
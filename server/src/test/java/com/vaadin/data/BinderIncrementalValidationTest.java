@@ -0,0 +1,191 @@
+package com.vaadin.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.data.Binder.Binding;
+import com.vaadin.tests.data.bean.Person;
+import com.vaadin.ui.TextField;
+
+public class BinderIncrementalValidationTest
+        extends BinderTestBase<Binder<Person>, Person> {
+
+    private final AtomicInteger nameValidations = new AtomicInteger();
+    private final AtomicInteger ageValidations = new AtomicInteger();
+    private final AtomicInteger beanValidations = new AtomicInteger();
+
+    private Binding<Person, String> nameBinding;
+    private Binding<Person, Integer> ageBinding;
+
+    @Before
+    public void setUp() {
+        binder = new Binder<>();
+        binder.setIncrementalValidation(true);
+        item = new Person();
+        item.setFirstName("Johannes");
+        item.setAge(32);
+
+        nameBinding = binder.forField(nameField)
+                .withValidator(countingValidator(nameValidations))
+                .withValidator(notEmpty)
+                .bind(Person::getFirstName, Person::setFirstName);
+        ageBinding = binder.forField(ageField).withConverter(stringToInteger)
+                .withValidator(countingValidator(ageValidations))
+                .withValidator(notNegative)
+                .bind(Person::getAge, Person::setAge);
+    }
+
+    private static <T> Validator<T> countingValidator(AtomicInteger counter) {
+        return (value, context) -> {
+            counter.incrementAndGet();
+            return ValidationResult.ok();
+        };
+    }
+
+    @Test
+    public void validate_unchangedBindingsNotValidatedAgain() {
+        binder.setBean(item);
+        binder.validate();
+        assertEquals(1, nameValidations.get());
+        assertEquals(1, ageValidations.get());
+
+        ageField.setValue("33");
+        binder.validate();
+
+        assertEquals(1, nameValidations.get());
+        assertEquals(2, ageValidations.get());
+        assertEquals(33, item.getAge());
+    }
+
+    @Test
+    public void validate_cachedErrorReported() {
+        binder.readBean(item);
+        nameField.setValue("");
+
+        assertFalse(binder.validate().isOk());
+        assertFalse(binder.validate().isOk());
+        assertEquals(1, nameValidations.get());
+
+        nameField.setValue("Foo");
+        assertTrue(binder.validate().isOk());
+        assertEquals(2, nameValidations.get());
+    }
+
+    @Test
+    public void validate_notIncremental_everythingValidated() {
+        binder.setIncrementalValidation(false);
+        binder.setBean(item);
+        binder.validate();
+        binder.validate();
+
+        assertEquals(2, nameValidations.get());
+        assertEquals(2, ageValidations.get());
+    }
+
+    @Test
+    public void readBean_newValuesValidated() {
+        binder.readBean(item);
+        binder.validate();
+
+        Person other = new Person();
+        other.setFirstName("Other");
+        other.setAge(-1);
+        binder.readBean(other);
+
+        assertFalse(binder.validate().isOk());
+        assertEquals(2, nameValidations.get());
+        assertEquals(2, ageValidations.get());
+    }
+
+    @Test
+    public void validationDependency_dependentBindingValidatedAgain() {
+        TextField confirmField = new TextField();
+        Binding<Person, String> confirmBinding = binder.forField(confirmField)
+                .withValidator(value -> value.equals(nameField.getValue()),
+                        "Names do not match")
+                .bind(Person::getLastName, Person::setLastName);
+        binder.addValidationDependency(confirmBinding, nameBinding);
+        binder.readBean(item);
+        confirmField.setValue("Johannes");
+        assertTrue(binder.validate().isOk());
+
+        nameField.setValue("Foo");
+
+        assertFalse(binder.validate().isOk());
+        assertEquals(2, nameValidations.get());
+        assertEquals(1, ageValidations.get());
+    }
+
+    @Test
+    public void beanValidatorWithDependencies_runOnlyWhenDependencyChanges() {
+        binder.withValidator((bean, context) -> {
+            beanValidations.incrementAndGet();
+            return bean.getAge() < 150 ? ValidationResult.ok()
+                    : ValidationResult.error("Too old");
+        }, ageBinding);
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        nameField.setValue("Bar");
+        assertEquals(1, beanValidations.get());
+
+        ageField.setValue("200");
+        assertEquals(2, beanValidations.get());
+        assertFalse(binder.validate().isOk());
+        assertEquals(2, beanValidations.get());
+        assertEquals(32, item.getAge());
+
+        ageField.setValue("40");
+        assertEquals(3, beanValidations.get());
+        assertEquals(40, item.getAge());
+    }
+
+    @Test
+    public void beanValidatorWithoutDependencies_alwaysRun() {
+        binder.withValidator(bean -> beanValidations.incrementAndGet() > 0,
+                "Never fails");
+        binder.setBean(item);
+
+        nameField.setValue("Foo");
+        nameField.setValue("Bar");
+        binder.validate();
+
+        assertEquals(3, beanValidations.get());
+    }
+
+    @Test
+    public void beanValidatorWithDependencies_newBean_runAgain() {
+        binder.withValidator((bean, context) -> {
+            beanValidations.incrementAndGet();
+            return ValidationResult.ok();
+        }, ageBinding);
+        binder.setBean(item);
+        binder.validate();
+
+        Person other = new Person();
+        other.setFirstName("Other");
+        binder.setBean(other);
+        binder.validate();
+
+        assertEquals(2, beanValidations.get());
+    }
+
+    @Test
+    public void removeBinding_dependenciesRemoved() {
+        binder.withValidator((bean, context) -> ValidationResult.ok(),
+                ageBinding);
+        binder.addValidationDependency(nameBinding, ageBinding);
+        binder.setBean(item);
+
+        binder.removeBinding(ageBinding);
+        nameField.setValue("Foo");
+
+        assertTrue(binder.validate().isOk());
+    }
+}
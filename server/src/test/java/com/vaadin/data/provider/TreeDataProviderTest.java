@@ -7,8 +7,12 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -230,6 +234,109 @@ public class TreeDataProviderTest
         assertEquals(5, sizeWithUnfilteredQuery());
     }
 
+    @Test
+    public void recursiveFiltering_ancestorsOfMatchesShown() {
+        TreeData<String> stringData = new TreeData<>();
+        stringData.addItems(null, "a", "b");
+        stringData.addItems("a", "a/a", "a/b");
+        stringData.addItems("a/a", "a/a/x");
+        stringData.addItems("b", "b/a");
+        TreeDataProvider<String> provider = new TreeDataProvider<>(stringData);
+        provider.setFilter(item -> item.endsWith("x"));
+
+        assertEquals(0,
+                provider.getChildCount(new HierarchicalQuery<>(null, null)));
+
+        provider.setRecursiveFiltering(true);
+        assertEquals(Arrays.asList("a"),
+                provider.fetchChildren(new HierarchicalQuery<>(null, null))
+                        .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a/a"),
+                provider.fetchChildren(new HierarchicalQuery<>(null, "a"))
+                        .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a/a/x"),
+                provider.fetchChildren(new HierarchicalQuery<>(null, "a/a"))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void filteredChildren_cachedForSameFilter() {
+        AtomicInteger tests = new AtomicInteger();
+        getDataProvider().setFilter(item -> tests.incrementAndGet() > 0);
+        HierarchicalQuery<StrBean, SerializablePredicate<StrBean>> query = new HierarchicalQuery<>(
+                null, null);
+
+        getDataProvider().getChildCount(query);
+        getDataProvider().fetchChildren(query).count();
+        getDataProvider().fetchChildren(new HierarchicalQuery<>(2, 3,
+                Collections.emptyList(), null, null, null)).count();
+
+        assertEquals(rootData.size(), tests.get());
+
+        getDataProvider().refreshAll();
+        getDataProvider().getChildCount(query);
+        assertEquals(2 * rootData.size(), tests.get());
+    }
+
+    @Test
+    public void filteredChildren_cachedForEachQueryFilter() {
+        AtomicInteger tests = new AtomicInteger();
+        SerializablePredicate<StrBean> first = item -> tests
+                .incrementAndGet() > 0;
+        SerializablePredicate<StrBean> second = item -> tests
+                .incrementAndGet() > 0;
+
+        getDataProvider().getChildCount(
+                new HierarchicalQuery<>(first, null));
+        getDataProvider().getChildCount(
+                new HierarchicalQuery<>(second, null));
+        assertEquals(2 * rootData.size(), tests.get());
+
+        // Alternating filters, as two components sharing the data provider
+        // would, reuse the filtered children of both
+        getDataProvider().getChildCount(
+                new HierarchicalQuery<>(first, null));
+        getDataProvider().getChildCount(
+                new HierarchicalQuery<>(second, null));
+        assertEquals(2 * rootData.size(), tests.get());
+    }
+
+    @Test
+    public void refreshItem_recursiveFiltering_ancestorsUpdated() {
+        Set<StrBean> matching = new HashSet<>();
+        getDataProvider().setRecursiveFiltering(true);
+        getDataProvider().setFilter(matching::contains);
+        assertEquals(0, sizeWithUnfilteredQuery());
+
+        // A child of a child of the first root item
+        StrBean leaf = flattenedData.get(2);
+        matching.add(leaf);
+        getDataProvider().refreshItem(leaf);
+        assertEquals(3, sizeWithUnfilteredQuery());
+
+        matching.remove(leaf);
+        getDataProvider().refreshItem(leaf);
+        assertEquals(0, sizeWithUnfilteredQuery());
+    }
+
+    @Test
+    public void refreshItem_sortOrderUpdated() {
+        Set<StrBean> first = new HashSet<>();
+        getDataProvider()
+                .setSortComparator(Comparator.<StrBean, Boolean> comparing(
+                        item -> !first.contains(item))::compare);
+        HierarchicalQuery<StrBean, SerializablePredicate<StrBean>> query = new HierarchicalQuery<>(
+                null, null);
+        StrBean last = getDataProvider().fetchChildren(query)
+                .reduce((item, next) -> next).get();
+
+        first.add(last);
+        getDataProvider().refreshItem(last);
+
+        assertEquals(last,
+                getDataProvider().fetchChildren(query).findFirst().get());
+    }
+
     @Override
     public void filteringListDataProvider_convertFilter() {
         DataProvider<StrBean, String> strFilterDataProvider = getDataProvider()
@@ -1,8 +1,14 @@
 package com.vaadin.data.validator;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 import java.util.Calendar;
 import java.util.Locale;
 
+import javax.validation.Validation;
+
 import org.junit.After;
 import org.junit.Test;
 
@@ -75,6 +81,42 @@ public class BeanValidatorTest extends ValidatorTestBase {
         assertPasses(null, validator("nickname"));
     }
 
+    @Test
+    public void testValidatorShared() {
+        assertSame(validator("firstname").getJavaxBeanValidator(),
+                validator("age").getJavaxBeanValidator());
+    }
+
+    @Test
+    public void testUnconstrainedPropertyPasses() {
+        assertPasses("foo", validator("readOnlyProperty"));
+        assertTrue(validator("readOnlyProperty").getConstraintDescriptors()
+                .isEmpty());
+    }
+
+    @Test
+    public void testConstraintDescriptors() {
+        assertEquals(2,
+                validator("firstname").getConstraintDescriptors().size());
+        assertTrue(validator("address.postalCode").getConstraintDescriptors()
+                .isEmpty());
+    }
+
+    @Test
+    public void testCustomJavaxValidatorUsed() {
+        javax.validation.Validator custom = Validation
+                .buildDefaultValidatorFactory().getValidator();
+        BeanValidator validator = new BeanValidator(BeanToValidate.class,
+                "age") {
+            @Override
+            public javax.validation.Validator getJavaxBeanValidator() {
+                return custom;
+            }
+        };
+        assertFails(14, "Must be 18 or above", validator);
+        assertEquals(2, validator.getConstraintDescriptors().size());
+    }
+
     @After
     public void tearDown() {
         UI.setCurrent(null);
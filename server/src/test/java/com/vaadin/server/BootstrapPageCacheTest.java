@@ -0,0 +1,212 @@
+package com.vaadin.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.annotations.JavaScript;
+import com.vaadin.server.communication.ServletBootstrapHandler;
+import com.vaadin.shared.ApplicationConstants;
+import com.vaadin.ui.UI;
+import com.vaadin.util.CurrentInstance;
+
+public class BootstrapPageCacheTest {
+
+    public static class TestUI extends UI {
+        @Override
+        protected void init(VaadinRequest request) {
+        }
+    }
+
+    @JavaScript("published.js")
+    public static class PublishedDependencyUI extends UI {
+        @Override
+        protected void init(VaadinRequest request) {
+        }
+    }
+
+    private static class CountingListener implements BootstrapListener {
+        private final AtomicInteger pageCount = new AtomicInteger();
+        private Object cacheKey;
+
+        private CountingListener(Object cacheKey) {
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public void modifyBootstrapFragment(
+                BootstrapFragmentResponse response) {
+        }
+
+        @Override
+        public void modifyBootstrapPage(BootstrapPageResponse response) {
+            pageCount.incrementAndGet();
+            response.getDocument().head().appendElement("meta")
+                    .attr("name", "key").attr("content", "" + cacheKey);
+            response.setHeader("X-Key", "" + cacheKey);
+        }
+
+        @Override
+        public Object getCacheKey(BootstrapResponse response) {
+            return cacheKey;
+        }
+    }
+
+    private MockVaadinSession session;
+    private VaadinServletService service;
+    private ServletBootstrapHandler handler = new ServletBootstrapHandler();
+
+    private Class<? extends UI> uiClass = TestUI.class;
+
+    private void setup(boolean cacheEnabled) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(Constants.SERVLET_PARAMETER_PRODUCTION_MODE,
+                "true");
+        properties.setProperty(Constants.SERVLET_PARAMETER_BOOTSTRAP_PAGE_CACHE,
+                Boolean.toString(cacheEnabled));
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig(properties));
+        service = (VaadinServletService) servlet.getService();
+        VaadinService.setCurrent(service);
+
+        createSession();
+    }
+
+    private void createSession() {
+        session = new MockVaadinSession(service);
+        session.lock();
+        session.setConfiguration(service.getDeploymentConfiguration());
+        session.setCommunicationManager(
+                new LegacyCommunicationManager(session));
+        session.addUIProvider(new UIProvider() {
+            @Override
+            public Class<? extends UI> getUIClass(UIClassSelectionEvent event) {
+                return uiClass;
+            }
+        });
+    }
+
+    @Before
+    public void enableCache() throws Exception {
+        setup(true);
+    }
+
+    @After
+    public void teardown() {
+        session.unlock();
+        CurrentInstance.clearAll();
+    }
+
+    private String bootstrap(String pathInfo) throws IOException {
+        HttpServletRequest httpRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(httpRequest.getServerName()).thenReturn("localhost");
+        Mockito.when(httpRequest.getServerPort()).thenReturn(8080);
+        Mockito.when(httpRequest.getContextPath()).thenReturn("/app");
+        Mockito.when(httpRequest.getServletPath()).thenReturn("");
+        Mockito.when(httpRequest.getPathInfo()).thenReturn(pathInfo);
+        Mockito.when(httpRequest.getRequestURI()).thenReturn("/app" + pathInfo);
+        Mockito.when(httpRequest.getMethod()).thenReturn("GET");
+        VaadinServletRequest request = new VaadinServletRequest(httpRequest,
+                service);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        assertTrue(
+                handler.synchronizedHandleRequest(session, request, response));
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    @Test
+    public void noListeners_pageReused() throws IOException {
+        String html = bootstrap("/");
+        assertEquals(html, bootstrap("/"));
+        assertTrue(html.contains("vaadin.initApplication"));
+    }
+
+    @Test
+    public void listenerWithKey_invokedOnlyForNewKeys() throws IOException {
+        CountingListener listener = new CountingListener("a");
+        session.addBootstrapListener(listener);
+
+        String first = bootstrap("/");
+        String second = bootstrap("/");
+        assertEquals(first, second);
+        assertEquals(1, listener.pageCount.get());
+
+        listener.cacheKey = "b";
+        String third = bootstrap("/");
+        assertEquals(2, listener.pageCount.get());
+        assertTrue(third.contains("content=\"b\""));
+    }
+
+    @Test
+    public void listenerWithoutKey_invokedEveryTime() throws IOException {
+        CountingListener listener = new CountingListener(null);
+        session.addBootstrapListener(listener);
+
+        bootstrap("/");
+        bootstrap("/");
+        assertEquals(2, listener.pageCount.get());
+    }
+
+    @Test
+    public void differentPathDepth_differentPage() throws IOException {
+        CountingListener listener = new CountingListener("a");
+        session.addBootstrapListener(listener);
+
+        String root = bootstrap("/");
+        String nested = bootstrap("/view/sub");
+        assertEquals(2, listener.pageCount.get());
+        assertNotEquals(root, nested);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void publishedDependency_registeredInNewSession()
+            throws IOException {
+        uiClass = PublishedDependencyUI.class;
+        CountingListener listener = new CountingListener("a");
+        session.addBootstrapListener(listener);
+
+        String first = bootstrap("/");
+        assertTrue(first.contains(
+                ApplicationConstants.PUBLISHED_FILE_PATH + "/published.js"));
+
+        session.unlock();
+        createSession();
+        session.addBootstrapListener(listener);
+
+        assertEquals(first, bootstrap("/"));
+        assertEquals(1, listener.pageCount.get());
+        assertEquals(PublishedDependencyUI.class, session
+                .getCommunicationManager().getDependencies()
+                .get("published.js"));
+    }
+
+    @Test
+    public void cacheDisabled_pageGeneratedEveryTime() throws Exception {
+        teardown();
+        setup(false);
+        CountingListener listener = new CountingListener("a");
+        session.addBootstrapListener(listener);
+
+        bootstrap("/");
+        bootstrap("/");
+        assertEquals(2, listener.pageCount.get());
+    }
+}
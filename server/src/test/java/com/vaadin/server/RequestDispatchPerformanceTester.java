@@ -0,0 +1,114 @@
+package com.vaadin.server;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Measures how many requests per second can be dispatched to the request
+ * handlers of a VaadinServletService from several threads, comparing walking
+ * all handlers with the routing table used by VaadinService.handleRequest.
+ *
+ * The requests are of the kinds which are passed through the whole handler
+ * chain (bootstrap, global resources), which is where routing saves the most.
+ * Handlers which do not declare path prefixes need a session and are counted
+ * but not called, in both modes.
+ *
+ * Kept in com.vaadin.server since the router is package private. Run with
+ * -server. Your results will vary.
+ */
+public class RequestDispatchPerformanceTester {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 2000000;
+
+    private static final String[] PATHS = { "/", "/some/view",
+            "/APP/global/0/legacy/1/image.png", "/VAADIN/themes/valo/x.css" };
+
+    private static final AtomicLong legacyHandlersSeen = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig());
+        Collection<RequestHandler> handlers = (Collection<RequestHandler>) servlet
+                .getService().getRequestHandlers();
+        RequestHandlerRouter router = new RequestHandlerRouter(handlers);
+
+        VaadinRequest[] requests = new VaadinRequest[PATHS.length];
+        for (int i = 0; i < PATHS.length; i++) {
+            requests[i] = createRequest(PATHS[i]);
+        }
+
+        // warmup
+        run(request -> handlers, requests, REQUESTS_PER_THREAD / 10);
+        run(router::getHandlers, requests, REQUESTS_PER_THREAD / 10);
+
+        report("all handlers",
+                run(request -> handlers, requests, REQUESTS_PER_THREAD));
+        report("routing table",
+                run(router::getHandlers, requests, REQUESTS_PER_THREAD));
+        System.out.println(
+                "(legacy handlers seen: " + legacyHandlersSeen.get() + ")");
+    }
+
+    @FunctionalInterface
+    private interface Dispatcher {
+        Iterable<RequestHandler> getHandlers(VaadinRequest request);
+    }
+
+    private static long run(Dispatcher dispatcher, VaadinRequest[] requests,
+            int count) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        dispatch(dispatcher, requests[i % requests.length]);
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void dispatch(Dispatcher dispatcher, VaadinRequest request)
+            throws IOException {
+        long seen = 0;
+        for (RequestHandler handler : dispatcher.getHandlers(request)) {
+            if (handler instanceof RoutedRequestHandler) {
+                if (handler.handleRequest(null, request, null)) {
+                    throw new IllegalStateException(
+                            "Request should not be handled");
+                }
+            } else {
+                seen++;
+            }
+        }
+        legacyHandlersSeen.addAndGet(seen);
+    }
+
+    private static VaadinRequest createRequest(String pathInfo) {
+        return (VaadinRequest) Proxy.newProxyInstance(
+                VaadinRequest.class.getClassLoader(),
+                new Class<?>[] { VaadinRequest.class },
+                (proxy, method, args) -> "getPathInfo".equals(method.getName())
+                        ? pathInfo
+                        : null);
+    }
+
+    private static void report(String name, long nanos) {
+        long requests = (long) THREADS * REQUESTS_PER_THREAD;
+        System.out.println(
+                name + ": " + (requests * 1000000000L / nanos) + " requests/s");
+    }
+}
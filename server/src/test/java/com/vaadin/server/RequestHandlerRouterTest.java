@@ -0,0 +1,120 @@
+package com.vaadin.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.server.communication.HeartbeatHandler;
+import com.vaadin.server.communication.UidlRequestHandler;
+
+public class RequestHandlerRouterTest {
+
+    private static class PrefixHandler implements RoutedRequestHandler {
+        private final Collection<String> prefixes;
+
+        private PrefixHandler(String... prefixes) {
+            this.prefixes = prefixes == null ? null : Arrays.asList(prefixes);
+        }
+
+        @Override
+        public boolean handleRequest(VaadinSession session,
+                VaadinRequest request, VaadinResponse response) {
+            return false;
+        }
+
+        @Override
+        public Collection<String> getPathPrefixes() {
+            return prefixes;
+        }
+    }
+
+    private final RequestHandler legacy1 = (session, request,
+            response) -> false;
+    private final RequestHandler legacy2 = (session, request,
+            response) -> false;
+    private final PrefixHandler app = new PrefixHandler("/APP/");
+    private final PrefixHandler upload = new PrefixHandler("/APP/UPLOAD/");
+    private final PrefixHandler uidl = new PrefixHandler("/UIDL/");
+    private final PrefixHandler any = new PrefixHandler((String[]) null);
+
+    private final RequestHandlerRouter router = new RequestHandlerRouter(
+            Arrays.asList(uidl, legacy1, upload, app, any, legacy2));
+
+    private static VaadinRequest request(String pathInfo) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getPathInfo()).thenReturn(pathInfo);
+        return request;
+    }
+
+    @Test
+    public void matchingPrefix_routedAndLegacyHandlersInOrder() {
+        assertEquals(Arrays.asList(uidl, legacy1, any, legacy2),
+                router.getHandlers(request("/UIDL/")));
+    }
+
+    @Test
+    public void longerPrefix_shorterPrefixHandlersIncluded() {
+        assertEquals(Arrays.asList(legacy1, upload, app, any, legacy2),
+                router.getHandlers(request("/APP/UPLOAD/1/2/3")));
+        assertEquals(Arrays.asList(legacy1, app, any, legacy2),
+                router.getHandlers(request("/APP/connector/1")));
+    }
+
+    @Test
+    public void noMatchingPrefix_fallbackChain() {
+        List<RequestHandler> fallback = Arrays.asList(legacy1, any, legacy2);
+        assertEquals(fallback, router.getHandlers(request("/")));
+        assertEquals(fallback, router.getHandlers(request(null)));
+    }
+
+    @Test
+    public void emptyPrefixes_neverInvoked() {
+        PrefixHandler none = new PrefixHandler();
+        RequestHandlerRouter router = new RequestHandlerRouter(
+                Arrays.asList(none, legacy1));
+        assertEquals(Collections.singletonList(legacy1),
+                router.getHandlers(request("/UIDL/")));
+    }
+
+    @Test
+    public void subclassWithoutPrefixes_invokedForAllRequests() {
+        HeartbeatHandler heartbeat = new HeartbeatHandler();
+        HeartbeatHandler customHeartbeat = new HeartbeatHandler() {
+            @Override
+            protected boolean canHandleRequest(VaadinRequest request) {
+                return true;
+            }
+        };
+        RequestHandlerRouter router = new RequestHandlerRouter(
+                Arrays.asList(heartbeat, customHeartbeat, legacy1));
+
+        assertEquals(Arrays.asList(customHeartbeat, legacy1),
+                router.getHandlers(request("/UIDL/")));
+        assertEquals(Arrays.asList(customHeartbeat, legacy1),
+                router.getHandlers(request("/")));
+    }
+
+    @Test
+    public void serviceHandlers_uidlRequestNotRoutedToHeartbeat()
+            throws Exception {
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig());
+        VaadinService service = servlet.getService();
+        List<RequestHandler> handlers = new RequestHandlerRouter(
+                (Collection<RequestHandler>) service.getRequestHandlers())
+                        .getHandlers(request("/UIDL/"));
+
+        assertTrue(handlers.stream()
+                .anyMatch(handler -> handler instanceof UidlRequestHandler));
+        assertFalse(handlers.stream()
+                .anyMatch(handler -> handler instanceof HeartbeatHandler));
+    }
+}
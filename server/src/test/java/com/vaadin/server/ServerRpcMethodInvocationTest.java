@@ -0,0 +1,70 @@
+package com.vaadin.server;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.vaadin.server.ServerRpcManager.RpcInvocationException;
+import com.vaadin.shared.communication.ServerRpc;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+public class ServerRpcMethodInvocationTest {
+
+    public interface TestRpc extends ServerRpc {
+        public void call(int number, String text, Double optional);
+    }
+
+    private Object[] received;
+
+    private final TestRpc rpc = (number, text, optional) -> {
+        if (number < 0) {
+            throw new IllegalArgumentException("negative");
+        }
+        received = new Object[] { number, text, optional };
+    };
+
+    @Test
+    public void invocationPlan_sharedBetweenInvocations() {
+        assertSame(createInvocation().getInvocationPlan(),
+                createInvocation().getInvocationPlan());
+    }
+
+    @Test
+    public void decodeAndApply_parametersPassed() throws Exception {
+        ServerRpcMethodInvocation invocation = createInvocation();
+        JsonArray parameters = Json.createArray();
+        parameters.set(0, 42);
+        parameters.set(1, "foo");
+        parameters.set(2, Json.createNull());
+        invocation.setParameters(invocation.getInvocationPlan()
+                .decodeParameters(parameters, null));
+
+        new ServerRpcManager<>(rpc, TestRpc.class).applyInvocation(invocation);
+
+        assertArrayEquals(new Object[] { 42, "foo", null }, received);
+    }
+
+    @Test
+    public void apply_exceptionFromImplementation_relevantThrowableFound() {
+        ServerRpcMethodInvocation invocation = createInvocation();
+        invocation.setParameters(new Object[] { -1, "foo", 1.0 });
+        try {
+            new ServerRpcManager<>(rpc, TestRpc.class)
+                    .applyInvocation(invocation);
+            fail("Exception should have been thrown");
+        } catch (RpcInvocationException e) {
+            Throwable relevant = DefaultErrorHandler.findRelevantThrowable(e);
+            assertEquals(IllegalArgumentException.class, relevant.getClass());
+            assertEquals("negative", relevant.getMessage());
+        }
+    }
+
+    private ServerRpcMethodInvocation createInvocation() {
+        return new ServerRpcMethodInvocation("1", TestRpc.class, "call", 3);
+    }
+}
@@ -0,0 +1,298 @@
+package com.vaadin.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.ui.Label;
+import com.vaadin.ui.UI;
+import com.vaadin.util.CurrentInstance;
+
+public class SessionStoreTest {
+
+    private static final String SESSION_ID = "abc.Mock Servlet";
+
+    public static class TestUI extends UI {
+        private final Label label = new Label("initial");
+
+        @Override
+        protected void init(VaadinRequest request) {
+            setContent(label);
+        }
+    }
+
+    private static class SerializationCounter implements Serializable {
+        private static int count = 0;
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            count++;
+            out.defaultWriteObject();
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private VaadinServletService service;
+    private MockVaadinSession session;
+    private InMemorySessionStore store = new InMemorySessionStore();
+    private SessionStoreMetrics metrics = new SessionStoreMetrics();
+    private TestUI ui0;
+    private TestUI ui1;
+
+    @Before
+    public void setup() throws Exception {
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig());
+        service = servlet.getService();
+
+        session = new MockVaadinSession(service);
+        session.lock();
+        ui0 = createUI(0);
+        ui1 = createUI(1);
+    }
+
+    @After
+    public void teardown() {
+        session.unlock();
+        CurrentInstance.clearAll();
+    }
+
+    private TestUI createUI(int uiId) {
+        TestUI ui = new TestUI();
+        ui.setSession(session);
+        ui.doInit(Mockito.mock(VaadinRequest.class), uiId, null);
+        session.addUI(ui);
+        return ui;
+    }
+
+    @Test
+    public void save_uisStoredAsSeparateChunks() throws IOException {
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(new HashSet<>(Arrays.asList("session", "ui-0", "ui-1")),
+                store.load(SESSION_ID).keySet());
+        assertEquals(3, metrics.getChunksWritten());
+        assertEquals(0, metrics.getFullSessionCount());
+    }
+
+    @Test
+    public void save_onlyChangedUIWritten() throws IOException {
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+        byte[] ui1Chunk = store.load(SESSION_ID).get("ui-1");
+
+        ui0.label.setValue("changed");
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(2, metrics.getSaveCount());
+        assertEquals(4, metrics.getChunksWritten());
+        assertSame(ui1Chunk, store.load(SESSION_ID).get("ui-1"));
+    }
+
+    @Test
+    public void requestEnd_untouchedUINotSerialized() throws Exception {
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getId()).thenReturn("abc");
+        Mockito.when(wrappedSession.getAttribute(Mockito.anyString()))
+                .thenReturn(session.getLockInstance());
+        session.refreshTransients(wrappedSession, service);
+        service.setSessionStore(store);
+        ui1.setData(new SerializationCounter());
+        ui0.getConnectorTracker().markAllConnectorsClean();
+        ui1.getConnectorTracker().markAllConnectorsClean();
+
+        handleRequest();
+        assertEquals(1, SerializationCounter.count);
+        long cumulativeDuration = session.getCumulativeRequestDuration();
+
+        SerializationCounter.count = 0;
+        handleRequest();
+
+        assertTrue(session
+                .getCumulativeRequestDuration() > cumulativeDuration);
+        assertEquals(0, SerializationCounter.count);
+        assertEquals(2, service.getSessionStoreMetrics().getSaveCount());
+    }
+
+    private void handleRequest() {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        // The request seems to have started 5 ms ago
+        Mockito.when(request.getAttribute(Mockito.anyString()))
+                .thenReturn(System.nanoTime() - 5000000);
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+        service.requestStart(request, response);
+        VaadinSession.setCurrent(session);
+        service.requestEnd(request, response, session);
+    }
+
+    @Test
+    public void save_removedUIRemovedFromStore() throws IOException {
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        UI.setCurrent(ui1);
+        session.removeUI(ui1);
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(new HashSet<>(Arrays.asList("session", "ui-0")),
+                store.load(SESSION_ID).keySet());
+    }
+
+    @Test
+    public void restore_sessionAndUIsRestored() throws Exception {
+        ui0.label.setValue("changed");
+        session.setAttribute("attribute", "value");
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        VaadinSession restored = restore();
+
+        assertEquals("value", restored.getAttribute("attribute"));
+        assertTrue(restored.getLastRequestTimestamp() > 0);
+        assertEquals(2, restored.getUIs().size());
+        TestUI restoredUI = (TestUI) restored.getUIById(0);
+        assertSame(restored, restoredUI.getSession());
+        assertSame(restoredUI.label, restoredUI.getContent());
+        assertEquals("changed", restoredUI.label.getValue());
+        assertEquals(1, metrics.getRestoreCount());
+    }
+
+    @Test
+    public void restore_unknownSession_returnsNull() throws Exception {
+        assertNull(restore());
+    }
+
+    @Test
+    public void save_sessionRefersToConnector_storedAsOneChunk()
+            throws Exception {
+        session.setAttribute(Label.class, ui0.label);
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(Collections.singleton("full"),
+                store.load(SESSION_ID).keySet());
+        assertEquals(1, metrics.getFullSessionCount());
+
+        VaadinSession restored = restore();
+        TestUI restoredUI = (TestUI) restored.getUIById(0);
+        assertSame(restoredUI.label, restored.getAttribute(Label.class));
+    }
+
+    @Test
+    public void save_objectSharedByUIs_storedAsOneChunk() throws Exception {
+        List<String> shared = new ArrayList<>();
+        ui0.setData(shared);
+        ui1.setData(shared);
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(Collections.singleton("full"),
+                store.load(SESSION_ID).keySet());
+
+        VaadinSession restored = restore();
+        assertSame(restored.getUIById(0).getData(),
+                restored.getUIById(1).getData());
+    }
+
+    @Test
+    public void save_sessionRefersToUI_storedAsOneChunk() throws Exception {
+        session.setAttribute(UI.class, ui1);
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(Collections.singleton("full"),
+                store.load(SESSION_ID).keySet());
+
+        VaadinSession restored = restore();
+        assertSame(restored.getUIById(1), restored.getAttribute(UI.class));
+    }
+
+    @Test
+    public void save_sessionSharesObjectWithUnchangedUI_storedAsOneChunk()
+            throws Exception {
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        // The UI has not been in contact with the client
+        List<String> shared = new ArrayList<>();
+        ui1.setData(shared);
+        session.setAttribute("shared", shared);
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+
+        assertEquals(Collections.singleton("full"),
+                store.load(SESSION_ID).keySet());
+
+        VaadinSession restored = restore();
+        assertSame(restored.getAttribute("shared"),
+                restored.getUIById(1).getData());
+    }
+
+    @Test
+    public void save_newSessionId_oldSessionRemoved() throws IOException {
+        SessionStoreSerializer.save(session, SESSION_ID, store, metrics);
+        SessionStoreSerializer.save(session, "other", store, metrics);
+
+        assertEquals(Collections.singleton("other"), store.getSessionIds());
+    }
+
+    @Test
+    public void fileStore_chunksStoredAndRemoved() throws IOException {
+        FileSessionStore fileStore = new FileSessionStore(folder.getRoot());
+        SessionStoreSerializer.save(session, SESSION_ID, fileStore, metrics);
+
+        Map<String, byte[]> chunks = fileStore.load(SESSION_ID);
+        assertEquals(new HashSet<>(Arrays.asList("session", "ui-0", "ui-1")),
+                chunks.keySet());
+
+        UI.setCurrent(ui1);
+        session.removeUI(ui1);
+        SessionStoreSerializer.save(session, SESSION_ID, fileStore, metrics);
+        assertEquals(new HashSet<>(Arrays.asList("session", "ui-0")),
+                fileStore.load(SESSION_ID).keySet());
+
+        fileStore.remove(SESSION_ID);
+        assertTrue(fileStore.load(SESSION_ID).isEmpty());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void fileStore_restoreFromOtherInstance() throws Exception {
+        File directory = folder.getRoot();
+        SessionStoreSerializer.save(session, SESSION_ID,
+                new FileSessionStore(directory), metrics);
+
+        VaadinSession restored = lock(SessionStoreSerializer.restore(SESSION_ID,
+                new FileSessionStore(directory), getClass().getClassLoader(),
+                metrics));
+
+        assertNotNull(restored);
+        assertEquals(2, restored.getUIs().size());
+    }
+
+    private VaadinSession restore() throws Exception {
+        return lock(SessionStoreSerializer.restore(SESSION_ID, store,
+                getClass().getClassLoader(), metrics));
+    }
+
+    private VaadinSession lock(VaadinSession restored) {
+        if (restored != null) {
+            // Locked until the end of the test like the original session
+            restored.lock();
+        }
+        return restored;
+    }
+}
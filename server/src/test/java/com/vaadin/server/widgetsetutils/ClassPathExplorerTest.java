@@ -0,0 +1,138 @@
+package com.vaadin.server.widgetsetutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.server.widgetsetutils.ClassPathExplorer.LocationInfo;
+
+public class ClassPathExplorerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writeIndex_widgetsetsFromModuleFiles() throws IOException {
+        File classes = folder.newFolder("classes");
+        File pkg = new File(classes, "org/example");
+        assertTrue(pkg.mkdirs());
+        assertTrue(new File(pkg, "MyWidgetset.gwt.xml").createNewFile());
+        assertTrue(new File(pkg, "OtherModule.gwt.xml").createNewFile());
+
+        File indexFile = AddonIndexGenerator.writeIndex(classes,
+                Collections.singleton("VAADIN/addons/my/my.scss"));
+
+        Properties index = new Properties();
+        try (InputStream in = new FileInputStream(indexFile)) {
+            index.load(in);
+        }
+        assertEquals("org.example.MyWidgetset",
+                index.getProperty(ClassPathExplorer.WIDGETSETS_ATTRIBUTE));
+        assertEquals("VAADIN/addons/my/my.scss",
+                index.getProperty(ClassPathExplorer.STYLESHEETS_ATTRIBUTE));
+    }
+
+    @Test
+    public void readIndexes_indexedDirectoryIsReported() throws IOException {
+        File classes = folder.newFolder("classes");
+        File pkg = new File(classes, "org/example");
+        assertTrue(pkg.mkdirs());
+        assertTrue(new File(pkg, "MyWidgetset.gwt.xml").createNewFile());
+        AddonIndexGenerator.writeIndex(classes,
+                Collections.singleton("VAADIN/addons/my/my.scss"));
+
+        Map<String, LocationInfo> indexes;
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { classes.toURI().toURL() }, null)) {
+            indexes = ClassPathExplorer.readIndexes(classLoader);
+        }
+
+        assertEquals(Collections.singleton(classes.getCanonicalPath()),
+                indexes.keySet());
+        LocationInfo index = indexes.get(classes.getCanonicalPath());
+        URL location = classes.toURI().toURL();
+        assertEquals(
+                Collections.singletonMap("org.example.MyWidgetset", location),
+                index.getWidgetsets());
+        assertEquals(
+                Collections.singletonMap("VAADIN/addons/my/my.scss", location),
+                index.getAddonStyles());
+    }
+
+    @Test
+    public void getAvailableWidgetSets_indexedAndScannedJars_lastJarWins()
+            throws IOException {
+        File indexed = createAddonJar("indexed.jar", true);
+        File scanned = createAddonJar("scanned.jar", false);
+
+        // Scanning a JAR file replaces widgetsets found earlier, an index must
+        // resolve the same way in both class path orders
+        assertEquals(jarLocation(scanned),
+                findSharedWidgetset(indexed, scanned));
+        assertEquals(jarLocation(indexed),
+                findSharedWidgetset(scanned, indexed));
+    }
+
+    private File createAddonJar(String name, boolean withIndex)
+            throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION,
+                "1.0");
+        manifest.getMainAttributes().putValue(
+                ClassPathExplorer.WIDGETSETS_ATTRIBUTE,
+                "org.example.SharedWidgetset");
+
+        File jar = new File(folder.getRoot(), name).getCanonicalFile();
+        try (JarOutputStream out = new JarOutputStream(
+                new FileOutputStream(jar), manifest)) {
+            if (withIndex) {
+                out.putNextEntry(new JarEntry(ClassPathExplorer.INDEX_FILE));
+                Properties index = new Properties();
+                index.setProperty(ClassPathExplorer.WIDGETSETS_ATTRIBUTE,
+                        "org.example.SharedWidgetset");
+                index.store(out, null);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static URL jarLocation(File jar) throws IOException {
+        return new URL("jar:" + jar.toURI().toURL().toExternalForm() + "!/");
+    }
+
+    private static URL findSharedWidgetset(File... jars) throws IOException {
+        List<String> classpathEntries = new ArrayList<>();
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            classpathEntries.add(jars[i].getPath());
+            urls[i] = jars[i].toURI().toURL();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(urls, null)) {
+            return ClassPathExplorer
+                    .getAvailableWidgetSetsAndStylesheets(classpathEntries,
+                            classLoader)
+                    .getWidgetsets().get("org.example.SharedWidgetset");
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.vaadin.tests.components.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.data.provider.DataProvider;
+import com.vaadin.server.VaadinSession;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockUI;
+import com.vaadin.ui.Component;
+import com.vaadin.ui.Grid;
+import com.vaadin.ui.Grid.Column;
+import com.vaadin.ui.Label;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.components.grid.ComponentRecycler;
+
+/**
+ * Test for reusing components in Grid with a ComponentRecycler.
+ */
+public class GridComponentRecyclerTest {
+
+    private Grid<String> grid;
+    private UI ui;
+    private List<String> backend;
+    private DataProvider<String, ?> dataProvider;
+    private ComponentRecycler<String, Label> recycler;
+
+    @Before
+    public void setUp() {
+        VaadinSession.setCurrent(new AlwaysLockedVaadinSession(null));
+        backend = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        dataProvider = DataProvider.ofCollection(backend);
+        grid = new Grid<>();
+        grid.setDataProvider(dataProvider);
+        recycler = new ComponentRecycler<>(Label::new, Label::setValue, 2);
+        ui = new MockUI() {
+            @Override
+            public Future<Void> access(Runnable runnable) {
+                runnable.run();
+                return null;
+            };
+        };
+        ui.setContent(grid);
+    }
+
+    private List<String> getLabelValues() {
+        List<String> values = new ArrayList<>();
+        for (Component component : grid) {
+            if (component.isAttached() && component instanceof Label) {
+                values.add(((Label) component).getValue());
+            }
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    private void generateDataForClient(boolean initial) {
+        grid.getDataCommunicator().beforeClientResponse(initial);
+    }
+
+    private void endResponse() {
+        ui.getConnectorTracker().setWritingResponse(true);
+        ui.getConnectorTracker().setWritingResponse(false);
+    }
+
+    @Test
+    public void componentColumn_componentsCreatedAndUpdated() {
+        grid.addRecycledComponentColumn(recycler);
+        generateDataForClient(true);
+
+        assertEquals(3, recycler.getCreatedCount());
+        assertEquals(Arrays.asList("a", "b", "c"), getLabelValues());
+
+        Label label = (Label) grid.iterator().next();
+        String item = label.getValue();
+        label.setValue("changed");
+        dataProvider.refreshItem(item);
+        generateDataForClient(false);
+
+        assertEquals(item, label.getValue());
+        assertEquals(0, recycler.getReusedCount());
+        assertEquals(3, recycler.getCreatedCount());
+    }
+
+    @Test
+    public void componentColumn_componentsReusedForNewRows() {
+        grid.addRecycledComponentColumn(recycler);
+        generateDataForClient(true);
+        List<Component> components = new ArrayList<>();
+        grid.forEach(components::add);
+
+        grid.setItems("d", "e", "f");
+        generateDataForClient(true);
+
+        // Two idle components were kept, one was removed
+        assertEquals(2, recycler.getReusedCount());
+        assertEquals(4, recycler.getCreatedCount());
+        assertEquals(2, components.stream()
+                .filter(component -> component.getParent() == grid).count());
+        assertEquals(Arrays.asList("d", "e", "f"), getLabelValues());
+    }
+
+    @Test
+    public void componentColumn_removeColumn_componentsRemoved() {
+        Column<String, Label> column = grid
+                .addRecycledComponentColumn(recycler);
+        generateDataForClient(true);
+        grid.setItems("d");
+
+        grid.removeColumn(column);
+
+        assertEquals(0, recycler.getIdleCount());
+        assertEquals(false, grid.iterator().hasNext());
+    }
+
+    @Test
+    public void details_hiddenComponentReusedInNextResponse() {
+        grid.setDetailsRecycler(recycler);
+        grid.setDetailsVisible("a", true);
+        generateDataForClient(true);
+        Label label = (Label) grid.iterator().next();
+        assertEquals("a", label.getValue());
+        endResponse();
+
+        grid.setDetailsVisible("a", false);
+        grid.setDetailsVisible("b", true);
+        generateDataForClient(false);
+
+        // Not reused in the same response
+        assertEquals(2, recycler.getCreatedCount());
+        assertSame(grid, label.getParent());
+        endResponse();
+
+        grid.setDetailsVisible("c", true);
+        generateDataForClient(false);
+
+        assertEquals(1, recycler.getReusedCount());
+        assertEquals("c", label.getValue());
+    }
+
+    @Test
+    public void details_newGenerator_componentsRemoved() {
+        grid.setDetailsRecycler(recycler);
+        grid.setDetailsVisible("a", true);
+        generateDataForClient(true);
+        Label label = (Label) grid.iterator().next();
+
+        grid.setDetailsGenerator(item -> new Label(item));
+        generateDataForClient(false);
+
+        assertNull(label.getParent());
+        assertNotSame(label, grid.iterator().next());
+    }
+}
@@ -0,0 +1,109 @@
+package com.vaadin.tests.design;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.vaadin.server.ExternalResource;
+import com.vaadin.tests.design.designroot.DesignWithAnnotation;
+import com.vaadin.tests.design.designroot.DesignWithEmptyAnnotation;
+import com.vaadin.ui.Button;
+import com.vaadin.ui.Label;
+import com.vaadin.ui.VerticalLayout;
+import com.vaadin.ui.Video;
+import com.vaadin.ui.declarative.Design;
+import com.vaadin.ui.declarative.DesignContext;
+import com.vaadin.ui.declarative.DesignTemplate;
+
+public class DesignTemplateTest {
+
+    private static final String DESIGN = "<vaadin-vertical-layout>"
+            + "<vaadin-button _id='ok'>OK</vaadin-button>"
+            + "<vaadin-video><poster href='http://example.com/poster.png'/>"
+            + "</vaadin-video></vaadin-vertical-layout>";
+
+    @Test
+    public void read_createsNewComponentsEachTime() {
+        DesignTemplate template = DesignTemplate.parse(DESIGN);
+
+        VerticalLayout first = (VerticalLayout) template.read();
+        VerticalLayout second = (VerticalLayout) template.read();
+
+        assertNotSame(first, second);
+        assertNotSame(first.getComponent(0), second.getComponent(0));
+        assertEquals("OK", ((Button) second.getComponent(0)).getCaption());
+    }
+
+    @Test
+    public void read_elementsModifiedByComponents_templateUnchanged() {
+        DesignTemplate template = DesignTemplate.parse(DESIGN);
+
+        template.read();
+        VerticalLayout layout = (VerticalLayout) template.read();
+
+        // Video removes the poster element when reading it
+        ExternalResource poster = (ExternalResource) ((Video) layout
+                .getComponent(1)).getPoster();
+        assertEquals("http://example.com/poster.png", poster.getURL());
+    }
+
+    @Test
+    public void read_sameResultAsDesignRead() {
+        DesignContext context = DesignTemplate.parse(new ByteArrayInputStream(
+                DESIGN.getBytes(StandardCharsets.UTF_8))).read(null);
+
+        assertNotNull(context.getComponentByLocalId("ok"));
+        assertEquals(VerticalLayout.class,
+                context.getRootComponent().getClass());
+    }
+
+    @Test
+    public void getTemplate_cached() {
+        assertSame(Design.getTemplate(DesignWithAnnotation.class),
+                Design.getTemplate(DesignWithAnnotation.class));
+    }
+
+    @Test
+    public void designRoot_readFromCachedTemplate_fieldsBound() {
+        new DesignWithAnnotation();
+        DesignWithAnnotation design = new DesignWithAnnotation();
+
+        assertNotNull(design.ok);
+        assertNotNull(design.cancel);
+        assertEquals("original", design.preInitializedField.getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getTemplate_noAnnotation_throws() {
+        Design.getTemplate(Label.class);
+    }
+
+    @Test
+    public void serialize_templateUsableAfterDeserialization()
+            throws Exception {
+        DesignTemplate template = Design
+                .getTemplate(DesignWithEmptyAnnotation.class);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(template);
+        }
+        DesignTemplate deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (DesignTemplate) in.readObject();
+        }
+
+        VerticalLayout layout = (VerticalLayout) deserialized.read();
+        assertEquals(3, layout.getComponentCount());
+    }
+}
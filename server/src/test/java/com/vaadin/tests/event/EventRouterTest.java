@@ -110,4 +110,51 @@ public class EventRouterTest {
         registration.remove();
         assertNull(state.registeredEventListeners);
     }
+
+    @Test
+    public void fireEvent_listenersForOtherEventTypes_notCalled() {
+        Listener clickListener = EasyMock.createMock(Component.Listener.class);
+        router.addListener(ClickEvent.class, clickListener,
+                COMPONENT_EVENT_METHOD);
+
+        listener.componentEvent(EasyMock.anyObject());
+
+        EasyMock.replay(component, listener, clickListener);
+        router.fireEvent(new Component.Event(component));
+        EasyMock.verify(listener, clickListener);
+    }
+
+    @Test
+    public void fireEvent_listenerRemovedAfterFiring_notCalledAgain() {
+        Listener listener2 = EasyMock.createMock(Component.Listener.class);
+        Registration registration = router.addListener(Component.Event.class,
+                listener2, COMPONENT_EVENT_METHOD);
+
+        listener.componentEvent(EasyMock.anyObject());
+        EasyMock.expectLastCall().times(2);
+        listener2.componentEvent(EasyMock.anyObject());
+
+        EasyMock.replay(component, listener, listener2);
+        router.fireEvent(new Component.Event(component));
+        registration.remove();
+        router.fireEvent(new Component.Event(component));
+        EasyMock.verify(listener, listener2);
+    }
+
+    @Test
+    public void fireEvent_listenerAddedByListener_calledForNextEvent() {
+        Listener listener2 = EasyMock.createMock(Component.Listener.class);
+        listener.componentEvent(EasyMock.anyObject());
+        EasyMock.expectLastCall().andAnswer(() -> {
+            router.addListener(Component.Event.class, listener2,
+                    COMPONENT_EVENT_METHOD);
+            return null;
+        }).times(2);
+        listener2.componentEvent(EasyMock.anyObject());
+
+        EasyMock.replay(component, listener, listener2);
+        router.fireEvent(new Component.Event(component));
+        router.fireEvent(new Component.Event(component));
+        EasyMock.verify(listener, listener2);
+    }
 }
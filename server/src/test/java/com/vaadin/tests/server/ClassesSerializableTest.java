@@ -75,6 +75,7 @@ public class ClassesSerializableTest {
             // class level filtering, also affecting nested classes and
             // interfaces
             "com\\.vaadin\\.server\\.LegacyCommunicationManager.*", //
+            "com\\.vaadin\\.server\\.SessionStoreSerializer.*", //
             "com\\.vaadin\\.buildhelpers.*", //
             "com\\.vaadin\\.util\\.EncodeUtil.*", //
             "com\\.vaadin\\.util\\.ReflectTools.*", //
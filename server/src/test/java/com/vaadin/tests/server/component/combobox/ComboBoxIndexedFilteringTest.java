@@ -0,0 +1,155 @@
+package com.vaadin.tests.server.component.combobox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.data.provider.DataProvider;
+import com.vaadin.data.provider.ListDataProvider;
+import com.vaadin.data.provider.Query;
+import com.vaadin.ui.ComboBox;
+
+public class ComboBoxIndexedFilteringTest {
+
+    private ComboBox<String> comboBox;
+    private List<String> items;
+    private ListDataProvider<String> dataProvider;
+
+    @Before
+    public void setup() {
+        comboBox = new ComboBox<>();
+        comboBox.setLocale(Locale.US);
+        comboBox.setIndexedFiltering(true);
+        items = new ArrayList<>(Arrays.asList("Enrique Iglesias",
+                "Henry Dunant", "Erwin Engelbrecht", "ISTANBUL", ""));
+        dataProvider = new ListDataProvider<>(items);
+        comboBox.setDataProvider(dataProvider);
+    }
+
+    private List<String> filter(String filterText) {
+        List<String> result = filter(filterText, 0, Integer.MAX_VALUE);
+        assertEquals(result.size(), getDataProvider().size(new Query<>(0,
+                Integer.MAX_VALUE, Collections.emptyList(), null, filterText)));
+        return result;
+    }
+
+    private List<String> filter(String filterText, int offset, int limit) {
+        return getDataProvider().fetch(new Query<>(offset, limit,
+                Collections.emptyList(), null, filterText))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataProvider<String, String> getDataProvider() {
+        return (DataProvider<String, String>) comboBox.getDataProvider();
+    }
+
+    @Test
+    public void filter_caseInsensitiveSubstringMatch() {
+        assertEquals(Arrays.asList("Enrique Iglesias", "Henry Dunant",
+                "Erwin Engelbrecht"), filter("EN"));
+        assertEquals(Arrays.asList("Erwin Engelbrecht"), filter("brecht"));
+        assertEquals(Arrays.asList(), filter("ennen"));
+        assertEquals(items, filter(null));
+        assertEquals(items, filter(""));
+    }
+
+    @Test
+    public void filter_sameResultsAsWithoutIndex() {
+        Random random = new Random(42);
+        items.clear();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder caption = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                caption.append("aAbB c".charAt(random.nextInt(6)));
+            }
+            items.add(caption.toString());
+        }
+        dataProvider.refreshAll();
+
+        for (String filterText : Arrays.asList("a", "ab", "Ba", "b c", "aaa",
+                "abab", "c", " ", "x", "bbbbbbbb")) {
+            String lowerCase = filterText.toLowerCase(Locale.US);
+            List<String> expected = items.stream().filter(
+                    item -> item.toLowerCase(Locale.US).contains(lowerCase))
+                    .collect(Collectors.toList());
+            assertEquals(filterText, expected, filter(filterText));
+        }
+    }
+
+    @Test
+    public void filter_offsetLimitAndSorting() {
+        dataProvider
+                .setSortComparator(Comparator.<String> naturalOrder()::compare);
+        assertEquals(Arrays.asList("Erwin Engelbrecht", "Henry Dunant"),
+                filter("en", 1, 2));
+    }
+
+    @Test
+    public void refreshAll_indexRebuilt() {
+        assertEquals(0, filter("vaadin").size());
+        items.add("Vaadin");
+        assertEquals(0, filter("vaadin").size());
+
+        dataProvider.refreshAll();
+        assertEquals(Arrays.asList("Vaadin"), filter("vaadin"));
+    }
+
+    @Test
+    public void localeChanged_indexRebuilt() {
+        assertEquals(Arrays.asList("ISTANBUL"), filter("ist"));
+
+        comboBox.setLocale(new Locale("tr", "TR"));
+        assertEquals(Arrays.asList(), filter("ist"));
+        assertEquals(Arrays.asList("ISTANBUL"), filter("IST"));
+    }
+
+    @Test
+    public void captionGeneratorChanged_indexRebuilt() {
+        assertEquals(Arrays.asList("Henry Dunant"), filter("dun"));
+
+        comboBox.setItemCaptionGenerator(item -> item.replace('u', 'o'));
+        assertEquals(Arrays.asList(), filter("dun"));
+        assertEquals(Arrays.asList("Henry Dunant"), filter("don"));
+    }
+
+    @Test
+    public void providerFilter_applied() {
+        dataProvider.setFilter(item -> !item.startsWith("H"));
+        assertEquals(Arrays.asList("Enrique Iglesias", "Erwin Engelbrecht"),
+                filter("en"));
+    }
+
+    @Test
+    public void setIndexedFiltering_dataProviderReplaced() {
+        assertNotSame(dataProvider, comboBox.getDataProvider());
+        assertTrue(comboBox.isIndexedFiltering());
+
+        comboBox.setIndexedFiltering(false);
+        assertSame(dataProvider, comboBox.getDataProvider());
+
+        comboBox.setIndexedFiltering(true);
+        assertNotSame(dataProvider, comboBox.getDataProvider());
+    }
+
+    @Test
+    public void customCaptionFilter_notIndexed() {
+        comboBox.setItems(String::startsWith, items);
+        assertSame(ListDataProvider.class,
+                comboBox.getDataProvider().getClass());
+    }
+}
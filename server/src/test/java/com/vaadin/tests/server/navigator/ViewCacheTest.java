@@ -0,0 +1,164 @@
+package com.vaadin.tests.server.navigator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.navigator.Navigator;
+import com.vaadin.navigator.View;
+import com.vaadin.navigator.ViewCache;
+import com.vaadin.navigator.ViewCache.KeepAlive;
+import com.vaadin.server.DefaultDeploymentConfiguration;
+import com.vaadin.server.MockServletConfig;
+import com.vaadin.server.MockVaadinSession;
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.server.VaadinServlet;
+import com.vaadin.server.VaadinServletService;
+import com.vaadin.tests.server.navigator.NavigatorTest.NullDisplay;
+import com.vaadin.tests.server.navigator.NavigatorTest.NullFragmentManager;
+import com.vaadin.ui.Label;
+import com.vaadin.ui.UI;
+import com.vaadin.util.CurrentInstance;
+
+public class ViewCacheTest {
+
+    private static final AtomicInteger created = new AtomicInteger();
+
+    public static class CountingView extends Label implements View {
+        public CountingView() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class OtherView extends CountingView {
+    }
+
+    public static class ThirdView extends CountingView {
+    }
+
+    private MockVaadinSession session;
+    private Navigator navigator;
+    private ViewCache cache = new ViewCache(2);
+
+    @Before
+    public void setup() throws Exception {
+        created.set(0);
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig());
+        session = new MockVaadinSession(new VaadinServletService(servlet,
+                new DefaultDeploymentConfiguration(UI.class,
+                        new Properties())));
+        session.lock();
+
+        UI ui = new UI() {
+            @Override
+            protected void init(VaadinRequest request) {
+            }
+        };
+        ui.setSession(session);
+        navigator = new Navigator(ui, new NullFragmentManager(),
+                new NullDisplay());
+        navigator.addView("a", CountingView.class);
+        navigator.addView("b", OtherView.class);
+        navigator.addView("c", ThirdView.class);
+    }
+
+    @After
+    public void teardown() {
+        if (session.hasLock()) {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void noCache_newViewOnEveryNavigation() {
+        navigator.navigateTo("a");
+        View first = navigator.getCurrentView();
+        navigator.navigateTo("b");
+        navigator.navigateTo("a");
+
+        assertNotSame(first, navigator.getCurrentView());
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    public void cache_viewReused() {
+        navigator.setViewCache(cache);
+        navigator.navigateTo("a");
+        View first = navigator.getCurrentView();
+        navigator.navigateTo("b");
+        navigator.navigateTo("a/param");
+
+        assertSame(first, navigator.getCurrentView());
+        assertEquals(2, created.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getBuildCount());
+    }
+
+    @Test
+    public void cache_leastRecentlyUsedEvicted() {
+        navigator.setViewCache(cache);
+        navigator.navigateTo("a");
+        navigator.navigateTo("b");
+        navigator.navigateTo("a");
+        navigator.navigateTo("c");
+
+        assertTrue(cache.isCached("a"));
+        assertFalse(cache.isCached("b"));
+        assertTrue(cache.isCached("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void keepAlive_alwaysNotEvicted_neverNotCached() {
+        cache.setKeepAlive("a", KeepAlive.ALWAYS);
+        cache.setKeepAlive("c", KeepAlive.NEVER);
+        navigator.setViewCache(cache);
+        navigator.navigateTo("a");
+        navigator.navigateTo("b");
+        navigator.navigateTo("c");
+
+        assertTrue(cache.isCached("a"));
+        assertTrue(cache.isCached("b"));
+        assertFalse(cache.isCached("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void removeView_invalidated() {
+        navigator.setViewCache(cache);
+        navigator.navigateTo("a");
+        navigator.removeView("a");
+
+        assertFalse(cache.isCached("a"));
+    }
+
+    @Test
+    public void prefetch_builtAfterSessionUnlocked() {
+        cache.setPrefetch("b", true);
+        navigator.setViewCache(cache);
+        navigator.navigateTo("a");
+        assertFalse(cache.isCached("b"));
+
+        session.unlock();
+
+        assertTrue(cache.isCached("b"));
+        assertEquals(1, cache.getPrefetchCount());
+
+        session.lock();
+        navigator.navigateTo("b");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, created.get());
+    }
+}
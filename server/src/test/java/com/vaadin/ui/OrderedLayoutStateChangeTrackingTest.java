@@ -0,0 +1,121 @@
+package com.vaadin.ui;
+
+import static com.vaadin.ui.ComponentTest.syncToClient;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.shared.ui.orderedlayout.AbstractOrderedLayoutState;
+import com.vaadin.tests.util.MockUI;
+
+import elemental.json.JsonObject;
+
+public class OrderedLayoutStateChangeTrackingTest {
+
+    private VerticalLayout layout;
+    private Label label;
+
+    @Before
+    public void setup() {
+        label = new Label("label");
+        layout = new VerticalLayout(label, new Label("other"));
+        layout.setChildDataChangeTrackingEnabled(true);
+        new MockUI().setContent(layout);
+        syncToClient(layout);
+    }
+
+    @Test
+    public void unrelatedChange_childDataNotSent() {
+        layout.setCaption("caption");
+
+        JsonObject diff = layout.encodeState();
+
+        assertFalse(diff.hasKey("childData"));
+        assertTrue(diff.hasKey("caption"));
+        assertEquals(2, getEncodedChildData().keys().length);
+    }
+
+    @Test
+    public void expandRatioChanged_childDataSent() {
+        layout.setExpandRatio(label, 1);
+
+        JsonObject diff = layout.encodeState();
+
+        assertEquals(1, diff.getObject("childData")
+                .getObject(label.getConnectorId()).getNumber("expandRatio"), 0);
+    }
+
+    @Test
+    public void componentAlignmentChanged_childDataSent() {
+        layout.setComponentAlignment(label, Alignment.BOTTOM_RIGHT);
+
+        JsonObject diff = layout.encodeState();
+
+        assertEquals(Alignment.BOTTOM_RIGHT.getBitMask(),
+                (int) diff.getObject("childData")
+                        .getObject(label.getConnectorId())
+                        .getNumber("alignmentBitmask"));
+    }
+
+    @Test
+    public void componentRemoved_childDataSent() {
+        layout.removeComponent(label);
+
+        JsonObject diff = layout.encodeState();
+
+        assertEquals(1, diff.getObject("childData").keys().length);
+    }
+
+    @Test
+    public void childVisibilityChanged_childDataSent() {
+        label.setVisible(false);
+
+        JsonObject diff = layout.encodeState();
+
+        assertFalse(diff.getObject("childData").hasKey(label.getConnectorId()));
+    }
+
+    @Test
+    public void trackingDisabled_directChildDataChangeSent() {
+        layout.setChildDataChangeTrackingEnabled(false);
+        syncToClient(layout);
+
+        layout.getState().childData.get(label).expandRatio = 1;
+
+        JsonObject diff = layout.encodeState();
+
+        assertFalse(layout.isChildDataChangeTrackingEnabled());
+        assertEquals(1, diff.getObject("childData")
+                .getObject(label.getConnectorId()).getNumber("expandRatio"), 0);
+    }
+
+    @Test
+    public void pollUnchangedFields_trackingRounds() {
+        AbstractOrderedLayoutState state = new AbstractOrderedLayoutState();
+        assertFalse(state.isChangeTracked("childData"));
+        assertTrue(state.pollUnchangedFields().isEmpty());
+
+        state.trackChildDataChanges(true);
+        assertTrue(state.isChangeTracked("childData"));
+        assertFalse(state.isChangeTracked("spacing"));
+
+        // Everything is considered changed before the first round
+        assertTrue(state.pollUnchangedFields().isEmpty());
+        assertEquals(1, state.pollUnchangedFields().size());
+
+        state.markAsChanged("childData");
+        assertTrue(state.pollUnchangedFields().isEmpty());
+
+        state.markAllAsChanged();
+        assertTrue(state.pollUnchangedFields().isEmpty());
+        assertEquals(1, state.pollUnchangedFields().size());
+    }
+
+    private JsonObject getEncodedChildData() {
+        return layout.getUI().getConnectorTracker().getDiffState(layout)
+                .getObject("childData");
+    }
+}
@@ -17,7 +17,10 @@
 package com.vaadin.shared.communication;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -48,6 +51,13 @@ import com.vaadin.shared.annotations.NoLayout;
  * subclass of the shared state class of the parent class to extend the state. A
  * single {@link Connector} can only have one shared state object.
  *
+ * A shared state class can opt in to change tracking for some of its fields
+ * using {@link #enableChangeTracking(String...)}. The server then only encodes
+ * a tracked field if it has been marked using {@link #markAsChanged(String...)}
+ * since the state was last sent to the client, and otherwise reuses the
+ * previously sent value. This avoids encoding and comparing large fields, e.g.
+ * data for every child of a layout, when something else in the state changed.
+ *
  * @since 7.0
  */
 public class SharedState implements Serializable {
@@ -69,4 +79,119 @@ public class SharedState implements Serializable {
     @NoLayout
     public Set<String> registeredEventListeners;
 
+    private Set<String> trackedFields;
+
+    /**
+     * Names of tracked fields marked as changed since the last encoding, or
+     * <code>null</code> if all fields should be considered changed.
+     */
+    private transient Set<String> changedFields;
+
+    /**
+     * Enables change tracking for the given fields. A tracked field is only
+     * encoded and sent to the client when it has been marked as changed using
+     * {@link #markAsChanged(String...)}, so every modification of a tracked
+     * field, also of the contents of a collection or bean in it, must be
+     * followed by a call to that method.
+     * <p>
+     * This method is meant to be called by shared state subclasses. All fields
+     * are sent in the next response after enabling tracking.
+     *
+     * @param fieldNames
+     *            the names of the state properties to track
+     * @since 8.6
+     */
+    protected void enableChangeTracking(String... fieldNames) {
+        if (trackedFields == null) {
+            trackedFields = new HashSet<>();
+        }
+        Collections.addAll(trackedFields, fieldNames);
+        markAllAsChanged();
+    }
+
+    /**
+     * Disables change tracking for the given fields, so that they are encoded
+     * and compared with the previously sent value in every response again.
+     *
+     * @param fieldNames
+     *            the names of the state properties to stop tracking
+     * @since 8.6
+     */
+    protected void disableChangeTracking(String... fieldNames) {
+        if (trackedFields != null) {
+            trackedFields.removeAll(Arrays.asList(fieldNames));
+        }
+    }
+
+    /**
+     * Checks whether change tracking has been enabled for the given field.
+     *
+     * @param fieldName
+     *            the name of the state property
+     * @return <code>true</code> if changes to the field are tracked,
+     *         <code>false</code> if the field is always encoded
+     * @since 8.6
+     */
+    public boolean isChangeTracked(String fieldName) {
+        return trackedFields != null && trackedFields.contains(fieldName);
+    }
+
+    /**
+     * Marks the given tracked fields as changed so that they are sent to the
+     * client in the next response. Marking a field that is not tracked has no
+     * effect.
+     *
+     * @param fieldNames
+     *            the names of the modified state properties
+     * @since 8.6
+     */
+    public void markAsChanged(String... fieldNames) {
+        if (trackedFields == null || changedFields == null) {
+            // Nothing tracked or everything already considered changed
+            return;
+        }
+        Collections.addAll(changedFields, fieldNames);
+    }
+
+    /**
+     * Marks all fields as changed so that tracked fields are encoded again in
+     * the next response even if they have not been explicitly marked. This is
+     * needed when the encoded form of a field depends on something else than
+     * the field itself, e.g. on the visibility of the connectors it refers to.
+     *
+     * @since 8.6
+     */
+    public void markAllAsChanged() {
+        changedFields = null;
+    }
+
+    /**
+     * Returns the names of the tracked fields that have not been marked as
+     * changed since the previous call to this method, and starts a new tracking
+     * round. The previously sent values of these fields can be reused instead
+     * of encoding them again.
+     * <p>
+     * This method is used by the framework when encoding the state and should
+     * not be called from application code.
+     *
+     * @return a set of names of unchanged fields, empty if nothing is tracked
+     *         or everything should be encoded
+     * @since 8.6
+     */
+    public Set<String> pollUnchangedFields() {
+        if (trackedFields == null) {
+            return Collections.emptySet();
+        }
+        Set<String> unchanged;
+        if (changedFields == null) {
+            unchanged = Collections.emptySet();
+            changedFields = new HashSet<>();
+        } else {
+            unchanged = new HashSet<>(trackedFields);
+            unchanged.removeAll(changedFields);
+            changedFields.clear();
+        }
+        return unchanged;
+    }
+
 }
@@ -29,6 +29,26 @@ public class AbstractOrderedLayoutState extends AbstractLayoutState {
 
     public int marginsBitmask = 0;
 
+    /**
+     * Sets whether {@link #childData} is only sent when it has been marked as
+     * changed using {@link #markAsChanged(String...)}. Every modification of
+     * the child data must then be followed by
+     * <code>markAsChanged("childData")</code>. Change tracking is disabled by
+     * default.
+     *
+     * @param tracked
+     *            <code>true</code> to track changes of the child data,
+     *            <code>false</code> to always send it
+     * @since 8.6
+     */
+    public void trackChildDataChanges(boolean tracked) {
+        if (tracked) {
+            enableChangeTracking("childData");
+        } else {
+            disableChangeTracking("childData");
+        }
+    }
+
     public static class ChildComponentData implements Serializable {
 
         public int alignmentBitmask = AlignmentInfo.TOP_LEFT.getBitMask();